@@ -5,17 +5,34 @@ import com.excelninja.domain.exception.EntityMappingException;
 import com.excelninja.domain.exception.HeaderMismatchException;
 import com.excelninja.domain.model.*;
 import com.excelninja.domain.port.WorkbookReader;
+import com.excelninja.domain.port.WorkbookWriter;
 import com.excelninja.infrastructure.converter.DefaultConverter;
+import com.excelninja.infrastructure.io.ColumnarReader;
+import com.excelninja.infrastructure.io.ColumnarSink;
+import com.excelninja.infrastructure.io.ColumnarWriter;
+import com.excelninja.infrastructure.io.CsvWorkbookReader;
+import com.excelninja.infrastructure.io.CsvWorkbookWriter;
+import com.excelninja.infrastructure.io.EntityCache;
+import com.excelninja.infrastructure.io.HssfWorkbookReader;
 import com.excelninja.infrastructure.io.PoiWorkbookReader;
 import com.excelninja.infrastructure.io.PoiWorkbookWriter;
+import com.excelninja.infrastructure.io.SheetCache;
 import com.excelninja.infrastructure.io.StreamingWorkbookReader;
+import com.excelninja.infrastructure.io.StreamingWorkbookWriter;
+import com.excelninja.infrastructure.io.TemplateWorkbookWriter;
+import com.excelninja.infrastructure.io.WorkbookAppender;
+import com.excelninja.infrastructure.io.WorkbookFormat;
+import com.excelninja.infrastructure.io.XlsbWorkbookReader;
 import com.excelninja.infrastructure.metadata.EntityMetadata;
-import com.excelninja.infrastructure.metadata.FieldMapping;
+import com.excelninja.infrastructure.metadata.EntityRowMapper;
 
 import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -25,12 +42,19 @@ public final class NinjaExcel {
     // Thread-safe: All reader/writer implementations are stateless
     private static final PoiWorkbookReader POI_WORKBOOK_READER = new PoiWorkbookReader();
     private static final StreamingWorkbookReader STREAMING_WORKBOOK_READER = new StreamingWorkbookReader();
+    private static final HssfWorkbookReader HSSF_WORKBOOK_READER = new HssfWorkbookReader();
+    private static final XlsbWorkbookReader XLSB_WORKBOOK_READER = new XlsbWorkbookReader();
     private static final PoiWorkbookWriter WORKBOOK_WRITER = new PoiWorkbookWriter();
+    private static final StreamingWorkbookWriter STREAMING_WORKBOOK_WRITER = new StreamingWorkbookWriter();
+    private static final WorkbookAppender WORKBOOK_APPENDER = new WorkbookAppender();
     private static final DefaultConverter CONVERTER = new DefaultConverter();
 
     private static final long STREAMING_THRESHOLD_BYTES = 10 * 1024 * 1024; // 10MB
     private static volatile long streamingThreshold = STREAMING_THRESHOLD_BYTES;
+    private static volatile SheetCache sheetCache;
+    private static volatile EntityCache entityCache;
     private static final int DEFAULT_CHUNK_SIZE = 1000;
+    private static final int DEFAULT_INSPECTION_SAMPLE_ROWS = 100;
 
     private NinjaExcel() {}
 
@@ -59,6 +83,32 @@ public final class NinjaExcel {
         return streamingThreshold;
     }
 
+    /**
+     * Routes {@link #readSheet} through a cache of decoded sheets, so repeated reads of an unchanged workbook skip
+     * parsing. Pass {@code null} to disable caching, which is the default.
+     */
+    public static void setSheetCache(SheetCache cache) {
+        sheetCache = cache;
+        logger.info(cache != null ? "[NINJA-EXCEL] Sheet cache enabled" : "[NINJA-EXCEL] Sheet cache disabled");
+    }
+
+    public static SheetCache getSheetCache() {
+        return sheetCache;
+    }
+
+    /**
+     * Lets {@link #read(File, Class)} return the entities of unchanged files from a cache of converted results.
+     * Pass {@code null} to disable caching, which is the default.
+     */
+    public static void setEntityCache(EntityCache cache) {
+        entityCache = cache;
+        logger.info(cache != null ? "[NINJA-EXCEL] Entity cache enabled" : "[NINJA-EXCEL] Entity cache disabled");
+    }
+
+    public static EntityCache getEntityCache() {
+        return entityCache;
+    }
+
     public static <T> List<T> read(
             String filePath,
             Class<T> clazz
@@ -66,23 +116,47 @@ public final class NinjaExcel {
         return read(toValidatedFile(filePath), clazz);
     }
 
+    /**
+     * Reads the first sheet. When an {@link #setEntityCache entity cache} is set, an unchanged file that was read
+     * before with the same entity type is served from it as an unmodifiable list of shared entities.
+     */
     public static <T> List<T> read(
             File file,
             Class<T> clazz
     ) {
         validateReadInputs(file, clazz);
 
+        EntityCache cache = entityCache;
+        if (cache == null) {
+            return readFirstSheetEntities(file, clazz);
+        }
+        try {
+            return cache.get(file, EntityMetadata.of(clazz), () -> readFirstSheetEntities(file, clazz));
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to read Excel file: " + file.getName(), e);
+        }
+    }
+
+    private static <T> List<T> readFirstSheetEntities(
+            File file,
+            Class<T> clazz
+    ) {
         long startTime = System.currentTimeMillis();
         String fileName = file.getName();
         long fileSize = file.length();
         boolean useStreaming = shouldUseStreaming(fileSize);
+        WorkbookFormat format = detectFormat(file);
 
         logger.info(String.format("[NINJA-EXCEL] Reading Excel file: %s (%.2f MB) using %s reader",
                 fileName, fileSize / (1024.0 * 1024.0),
-                useStreaming ? "STREAMING" : "POI"));
+                readerName(format, useStreaming)));
 
         try {
-            ExcelSheet sheet = useStreaming
+            ExcelSheet sheet = format == WorkbookFormat.XLS
+                    ? HSSF_WORKBOOK_READER.readFirstSheet(file)
+                    : format == WorkbookFormat.XLSB
+                    ? XLSB_WORKBOOK_READER.readFirstSheet(file)
+                    : useStreaming
                     ? STREAMING_WORKBOOK_READER.readFirstSheet(file)
                     : POI_WORKBOOK_READER.readFirstSheet(file);
             return convertSheetToEntities(sheet, clazz);
@@ -117,16 +191,23 @@ public final class NinjaExcel {
         String fileName = file.getName();
         long fileSize = file.length();
         boolean useStreaming = shouldUseStreaming(fileSize);
+        WorkbookFormat format = detectFormat(file);
 
         logger.info(String.format("[NINJA-EXCEL] Reading sheet '%s' from Excel file: %s (%.2f MB) using %s reader [Cache size: %d]",
                 normalizedSheetName, fileName, fileSize / (1024.0 * 1024.0),
-                useStreaming ? "STREAMING" : "POI",
+                readerName(format, useStreaming),
                 EntityMetadata.getCacheSize()));
 
         try {
-            ExcelSheet sheet = useStreaming
+            SheetCache.Loader loader = () -> format == WorkbookFormat.XLS
+                    ? HSSF_WORKBOOK_READER.readSheet(file, normalizedSheetName)
+                    : format == WorkbookFormat.XLSB
+                    ? XLSB_WORKBOOK_READER.readSheet(file, normalizedSheetName)
+                    : useStreaming
                     ? STREAMING_WORKBOOK_READER.readSheet(file, normalizedSheetName)
                     : POI_WORKBOOK_READER.readSheet(file, normalizedSheetName);
+            SheetCache cache = sheetCache;
+            ExcelSheet sheet = cache != null ? cache.get(file, normalizedSheetName, loader) : loader.load();
 
             if (sheet == null) {
                 throw new DocumentConversionException("Sheet not found: " + normalizedSheetName);
@@ -139,7 +220,7 @@ public final class NinjaExcel {
 
             logger.info(String.format("[NINJA-EXCEL] Successfully read %d records from sheet '%s' in %s in %d ms (%.2f records/sec) using %s [Cache size: %d]",
                     result.size(), normalizedSheetName, fileName, duration, recordsPerSecond,
-                    useStreaming ? "STREAMING" : "POI", EntityMetadata.getCacheSize()));
+                    readerName(format, useStreaming), EntityMetadata.getCacheSize()));
 
             return result;
         } catch (IOException e) {
@@ -166,14 +247,19 @@ public final class NinjaExcel {
         String fileName = file.getName();
         long fileSize = file.length();
         boolean useStreaming = shouldUseStreaming(fileSize);
+        WorkbookFormat format = detectFormat(file);
 
         logger.info(String.format("[NINJA-EXCEL] Reading all sheets from Excel file: %s (%.2f MB) using %s reader [Cache size: %d]",
                 fileName, fileSize / (1024.0 * 1024.0),
-                useStreaming ? "STREAMING" : "POI",
+                readerName(format, useStreaming),
                 EntityMetadata.getCacheSize()));
 
         try {
-            WorkbookReader reader = useStreaming ? STREAMING_WORKBOOK_READER : POI_WORKBOOK_READER;
+            WorkbookReader reader = format == WorkbookFormat.XLS
+                    ? HSSF_WORKBOOK_READER
+                    : format == WorkbookFormat.XLSB
+                    ? XLSB_WORKBOOK_READER
+                    : useStreaming ? STREAMING_WORKBOOK_READER : POI_WORKBOOK_READER;
             ExcelWorkbook workbook = reader.read(file);
             Map<String, List<T>> result = new LinkedHashMap<>();
 
@@ -187,7 +273,7 @@ public final class NinjaExcel {
 
             logger.info(String.format("[NINJA-EXCEL] Successfully read %d sheets with %d total records from %s in %d ms using %s [Cache size: %d]",
                     result.size(), totalRecords, fileName, duration,
-                    useStreaming ? "STREAMING" : "POI", EntityMetadata.getCacheSize()));
+                    readerName(format, useStreaming), EntityMetadata.getCacheSize()));
 
             return result;
         } catch (IOException e) {
@@ -223,6 +309,32 @@ public final class NinjaExcel {
             File file,
             Class<T> clazz,
             int chunkSize
+    ) {
+        return readInChunks(file, clazz, chunkSize, false);
+    }
+
+    public static <T> ChunkReader<T> readInChunks(
+            String filePath,
+            Class<T> clazz,
+            int chunkSize,
+            boolean recycleInstances
+    ) {
+        return readInChunks(toValidatedFile(filePath), clazz, chunkSize, recycleInstances);
+    }
+
+    /**
+     * Creates a chunk reader for the first sheet.
+     *
+     * @param recycleInstances when {@code true}, chunks passed back through {@link ChunkReader#release(List)}
+     *                         are refilled with later rows, so steady-state reads allocate no new entities;
+     *                         ignored for xls and xlsb files
+     * @throws DocumentConversionException if the inputs are invalid or the file cannot be opened
+     */
+    public static <T> ChunkReader<T> readInChunks(
+            File file,
+            Class<T> clazz,
+            int chunkSize,
+            boolean recycleInstances
     ) {
         validateReadInputs(file, clazz);
 
@@ -233,16 +345,198 @@ public final class NinjaExcel {
         long fileSize = file.length();
         String fileName = file.getName();
 
-        logger.info(String.format("[NINJA-EXCEL] Creating chunk iterator for Excel file: %s (%.2f MB) with chunk size: %d",
-                fileName, fileSize / (1024.0 * 1024.0), chunkSize));
+        logger.info(String.format("[NINJA-EXCEL] Creating chunk iterator for Excel file: %s (%.2f MB) with chunk size: %d%s",
+                fileName, fileSize / (1024.0 * 1024.0), chunkSize, recycleInstances ? " recycling released chunks" : ""));
 
         try {
-            return STREAMING_WORKBOOK_READER.readInChunks(file, clazz, chunkSize);
+            WorkbookFormat format = detectFormat(file);
+            if (format == WorkbookFormat.XLS) {
+                return HSSF_WORKBOOK_READER.readInChunks(file, clazz, chunkSize);
+            }
+            if (format == WorkbookFormat.XLSB) {
+                return XLSB_WORKBOOK_READER.readInChunks(file, clazz, chunkSize);
+            }
+            return STREAMING_WORKBOOK_READER.readInChunks(file, clazz, chunkSize, recycleInstances);
         } catch (IOException e) {
             throw new DocumentConversionException("Failed to create chunk iterator for file: " + fileName, e);
         }
     }
 
+    public static <T> ChunkReader<T> readChangedInChunks(
+            String filePath,
+            Class<T> clazz,
+            RowHashIndex rowHashIndex
+    ) {
+        return readChangedInChunks(toValidatedFile(filePath), clazz, DEFAULT_CHUNK_SIZE, rowHashIndex);
+    }
+
+    public static <T> ChunkReader<T> readChangedInChunks(
+            File file,
+            Class<T> clazz,
+            RowHashIndex rowHashIndex
+    ) {
+        return readChangedInChunks(file, clazz, DEFAULT_CHUNK_SIZE, rowHashIndex);
+    }
+
+    /**
+     * Reads the first sheet in chunks and emits only rows that are new or changed compared to the previous run
+     * recorded in {@code rowHashIndex}. Once iteration completes, save or commit the index for the next run.
+     *
+     * @param rowHashIndex hashes of the previous run; receives the hashes of this run
+     * @throws DocumentConversionException if the inputs are invalid or the file cannot be opened
+     */
+    public static <T> ChunkReader<T> readChangedInChunks(
+            File file,
+            Class<T> clazz,
+            int chunkSize,
+            RowHashIndex rowHashIndex
+    ) {
+        validateReadInputs(file, clazz);
+
+        if (chunkSize <= 0) {
+            throw new DocumentConversionException("Chunk size must be positive");
+        }
+        if (rowHashIndex == null) {
+            throw new DocumentConversionException("Row hash index cannot be null");
+        }
+
+        String fileName = file.getName();
+
+        logger.info(String.format("[NINJA-EXCEL] Creating incremental chunk iterator for Excel file: %s (%.2f MB) with chunk size: %d against %d known rows",
+                fileName, file.length() / (1024.0 * 1024.0), chunkSize, rowHashIndex.getPreviousSize()));
+
+        requireXlsx(file, "incremental reads");
+
+        try {
+            return STREAMING_WORKBOOK_READER.readChangedInChunks(file, clazz, chunkSize, rowHashIndex);
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to create incremental chunk iterator for file: " + fileName, e);
+        }
+    }
+
+    public static <T> long forEach(
+            String filePath,
+            Class<T> clazz,
+            RowConsumer<? super T> consumer
+    ) {
+        return forEach(toValidatedFile(filePath), clazz, consumer, false);
+    }
+
+    public static <T> long forEach(
+            File file,
+            Class<T> clazz,
+            RowConsumer<? super T> consumer
+    ) {
+        return forEach(file, clazz, consumer, false);
+    }
+
+    /**
+     * Streams the first sheet and invokes {@code consumer} for every row on the calling thread, inline with parsing.
+     * No chunk lists or producer thread are involved.
+     *
+     * @param reuseInstance when {@code true}, the same entity instance is refilled for every row;
+     *                      the consumer must not keep references to it after returning; ignored for xls and xlsb files
+     * @return the number of rows passed to the consumer
+     * @throws DocumentConversionException if reading, conversion or the consumer fails
+     */
+    public static <T> long forEach(
+            File file,
+            Class<T> clazz,
+            RowConsumer<? super T> consumer,
+            boolean reuseInstance
+    ) {
+        validateReadInputs(file, clazz);
+        if (consumer == null) {
+            throw new DocumentConversionException("Row consumer cannot be null");
+        }
+
+        long startTime = System.currentTimeMillis();
+        String fileName = file.getName();
+
+        logger.info(String.format("[NINJA-EXCEL] Streaming rows from Excel file: %s (%.2f MB)%s",
+                fileName, file.length() / (1024.0 * 1024.0), reuseInstance ? " reusing one entity instance" : ""));
+
+        try {
+            WorkbookFormat format = detectFormat(file);
+            long rowCount = format == WorkbookFormat.XLS
+                    ? HSSF_WORKBOOK_READER.forEach(file, clazz, consumer)
+                    : format == WorkbookFormat.XLSB
+                    ? XLSB_WORKBOOK_READER.forEach(file, clazz, consumer)
+                    : STREAMING_WORKBOOK_READER.forEach(file, clazz, consumer, reuseInstance);
+
+            long duration = System.currentTimeMillis() - startTime;
+            logger.info(String.format("[NINJA-EXCEL] Successfully streamed %d records from %s in %d ms (%.2f records/sec)",
+                    rowCount, fileName, duration, calculateRecordsPerSecond(rowCount, duration)));
+
+            return rowCount;
+        } catch (IOException e) {
+            long duration = System.currentTimeMillis() - startTime;
+            logger.log(Level.SEVERE, String.format("[NINJA-EXCEL] Failed to stream Excel file: %s after %d ms", fileName, duration), e);
+            throw new DocumentConversionException("Failed to read Excel file: " + fileName, e);
+        }
+    }
+
+    public static <T> long exportColumnar(
+            File source,
+            Class<T> clazz,
+            File target
+    ) {
+        return exportColumnar(source, clazz, target, ColumnarWriter.DEFAULT_ROW_GROUP_SIZE);
+    }
+
+    /**
+     * Converts the first sheet into a columnar file that {@link ColumnarReader} scans column by column. Rows are
+     * streamed through {@link #forEach} into row groups of {@code rowGroupSize} rows, so memory use is bounded by
+     * one row group; no entity list is built. The read fields of {@code clazz} define the columns.
+     *
+     * <p>If the read fails, the partially written target is deleted.
+     *
+     * @return the number of rows exported
+     * @throws DocumentConversionException if reading, conversion or writing fails
+     */
+    public static <T> long exportColumnar(
+            File source,
+            Class<T> clazz,
+            File target,
+            int rowGroupSize
+    ) {
+        validateReadInputs(source, clazz);
+        if (target == null) {
+            throw new DocumentConversionException("Target file cannot be null");
+        }
+
+        long startTime = System.currentTimeMillis();
+        ColumnarSink<T> sink;
+        try {
+            sink = new ColumnarWriter(rowGroupSize).open(clazz, target);
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to create columnar file: " + target.getName(), e);
+        }
+
+        boolean completed = false;
+        try {
+            long rowCount = forEach(source, clazz, sink, true);
+            sink.close();
+            completed = true;
+            logger.info(String.format("[NINJA-EXCEL] Exported %d records from %s to columnar file %s (%.2f MB) in %d ms",
+                    rowCount, source.getName(), target.getName(), target.length() / (1024.0 * 1024.0), System.currentTimeMillis() - startTime));
+            return rowCount;
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to write columnar file: " + target.getName(), e);
+        } finally {
+            if (!completed) {
+                try {
+                    sink.close();
+                } catch (IOException | RuntimeException e) {
+                    logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing columnar file: " + target.getName(), e);
+                }
+                if (!target.delete()) {
+                    logger.warning("[NINJA-EXCEL] Could not delete incomplete columnar file: " + target.getName());
+                }
+            }
+        }
+    }
+
     public static <T> Map<String, List<T>> readSheets(
             String filePath,
             Class<T> clazz,
@@ -266,16 +560,21 @@ public final class NinjaExcel {
         String fileName = file.getName();
         long fileSize = file.length();
         boolean useStreaming = shouldUseStreaming(fileSize);
+        WorkbookFormat format = detectFormat(file);
 
         logger.info(String.format("[NINJA-EXCEL] Reading specified sheets %s from Excel file: %s (%.2f MB) using %s reader [Cache size: %d]",
                 normalizedSheetNames, fileName, fileSize / (1024.0 * 1024.0),
-                useStreaming ? "STREAMING" : "POI",
+                readerName(format, useStreaming),
                 EntityMetadata.getCacheSize()));
 
         try {
             Map<String, List<T>> result = new LinkedHashMap<>();
 
-            List<ExcelSheet> selectedSheets = useStreaming
+            List<ExcelSheet> selectedSheets = format == WorkbookFormat.XLS
+                    ? HSSF_WORKBOOK_READER.readSheets(file, normalizedSheetNames)
+                    : format == WorkbookFormat.XLSB
+                    ? XLSB_WORKBOOK_READER.readSheets(file, normalizedSheetNames)
+                    : useStreaming
                     ? STREAMING_WORKBOOK_READER.readSheets(file, normalizedSheetNames)
                     : POI_WORKBOOK_READER.readSheets(file, normalizedSheetNames);
 
@@ -288,7 +587,7 @@ public final class NinjaExcel {
 
             logger.info(String.format("[NINJA-EXCEL] Successfully read %d sheets with %d records from %s in %d ms using %s [Cache size: %d]",
                     result.size(), totalRecords, fileName, duration,
-                    useStreaming ? "STREAMING" : "POI", EntityMetadata.getCacheSize()));
+                    readerName(format, useStreaming), EntityMetadata.getCacheSize()));
 
             return result;
         } catch (IOException e) {
@@ -306,11 +605,67 @@ public final class NinjaExcel {
         validateReadInputs(file, Object.class);
 
         try {
-            long fileSize = file.length();
-            boolean useStreaming = shouldUseStreaming(fileSize);
-            return useStreaming
-                    ? STREAMING_WORKBOOK_READER.getSheetNames(file)
-                    : POI_WORKBOOK_READER.getSheetNames(file);
+            // Only workbook.xml or the xls globals are read, so the file size does not matter
+            WorkbookFormat format = detectFormat(file);
+            return format == WorkbookFormat.XLS
+                    ? HSSF_WORKBOOK_READER.getSheetNames(file)
+                    : format == WorkbookFormat.XLSB
+                    ? XLSB_WORKBOOK_READER.getSheetNames(file)
+                    : STREAMING_WORKBOOK_READER.getSheetNames(file);
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to read Excel file: " + file.getName(), e);
+        }
+    }
+
+    public static List<SheetInfo> getSheetInfo(String filePath) {
+        return getSheetInfo(toValidatedFile(filePath));
+    }
+
+    /**
+     * Describes the sheets of a file without reading their rows: names, visibility and the row counts recorded in
+     * the sheets' {@code dimension} records. Suited to previews of uploaded files, whatever their size.
+     */
+    public static List<SheetInfo> getSheetInfo(File file) {
+        validateReadInputs(file, Object.class);
+
+        try {
+            WorkbookFormat format = detectFormat(file);
+            return format == WorkbookFormat.XLS
+                    ? HSSF_WORKBOOK_READER.getSheetInfo(file)
+                    : format == WorkbookFormat.XLSB
+                    ? XLSB_WORKBOOK_READER.getSheetInfo(file)
+                    : STREAMING_WORKBOOK_READER.getSheetInfo(file);
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to read Excel file: " + file.getName(), e);
+        }
+    }
+
+    public static List<SheetInspection> inspect(String filePath) {
+        return inspect(toValidatedFile(filePath), DEFAULT_INSPECTION_SAMPLE_ROWS);
+    }
+
+    public static List<SheetInspection> inspect(File file) {
+        return inspect(file, DEFAULT_INSPECTION_SAMPLE_ROWS);
+    }
+
+    /**
+     * Summarizes every sheet before an import: header row, data row count and the column types of the first
+     * {@code sampleRows} data rows. Rows past the sample are counted, not parsed, so large files inspect quickly.
+     */
+    public static List<SheetInspection> inspect(
+            File file,
+            int sampleRows
+    ) {
+        validateReadInputs(file, Object.class);
+
+        requireXlsx(file, "inspection");
+
+        long startTime = System.currentTimeMillis();
+        try {
+            List<SheetInspection> inspections = STREAMING_WORKBOOK_READER.inspect(file, sampleRows);
+            logger.fine(String.format("[NINJA-EXCEL] Inspected %d sheets of %s in %d ms",
+                    inspections.size(), file.getName(), System.currentTimeMillis() - startTime));
+            return inspections;
         } catch (IOException e) {
             throw new DocumentConversionException("Failed to read Excel file: " + file.getName(), e);
         }
@@ -329,6 +684,348 @@ public final class NinjaExcel {
     public static void write(
             ExcelWorkbook workbook,
             File file
+    ) {
+        writeWith(WORKBOOK_WRITER, workbook, file);
+    }
+
+    public static void write(
+            ExcelWorkbook workbook,
+            OutputStream outputStream
+    ) {
+        writeWith(WORKBOOK_WRITER, workbook, outputStream);
+    }
+
+    /**
+     * Writes the workbook with the given options, e.g. {@link WriteOptions#fast()} to skip cell borders and the
+     * shared strings table and to compress with the fastest level.
+     */
+    public static void write(
+            ExcelWorkbook workbook,
+            File file,
+            WriteOptions options
+    ) {
+        writeWith(poiWriter(options), workbook, file);
+    }
+
+    public static void write(
+            ExcelWorkbook workbook,
+            OutputStream outputStream,
+            WriteOptions options
+    ) {
+        writeWith(poiWriter(options), workbook, outputStream);
+    }
+
+    /**
+     * Writes the workbook with the direct OOXML writer, which encodes the sheet XML without building a POI cell
+     * model. Auto-sized columns use estimated widths.
+     */
+    public static void writeStreaming(
+            ExcelWorkbook workbook,
+            String fileName
+    ) {
+        if (workbook == null) {
+            throw new DocumentConversionException("ExcelWorkbook cannot be null");
+        }
+        writeStreaming(workbook, toValidatedFile(fileName));
+    }
+
+    public static void writeStreaming(
+            ExcelWorkbook workbook,
+            File file
+    ) {
+        writeWith(STREAMING_WORKBOOK_WRITER, workbook, file);
+    }
+
+    public static void writeStreaming(
+            ExcelWorkbook workbook,
+            OutputStream outputStream
+    ) {
+        writeWith(STREAMING_WORKBOOK_WRITER, workbook, outputStream);
+    }
+
+    /**
+     * Writes the workbook with the direct OOXML writer, encoding the sheets concurrently on the given executor.
+     * The sheets are stitched into the file in workbook order.
+     */
+    public static void writeStreaming(
+            ExcelWorkbook workbook,
+            File file,
+            Executor executor
+    ) {
+        if (executor == null) {
+            throw new DocumentConversionException("Executor cannot be null");
+        }
+        writeWith(new StreamingWorkbookWriter(true, executor), workbook, file);
+    }
+
+    public static void writeStreaming(
+            ExcelWorkbook workbook,
+            OutputStream outputStream,
+            Executor executor
+    ) {
+        if (executor == null) {
+            throw new DocumentConversionException("Executor cannot be null");
+        }
+        writeWith(new StreamingWorkbookWriter(true, executor), workbook, outputStream);
+    }
+
+    public static void writeStreaming(
+            ExcelWorkbook workbook,
+            File file,
+            WriteOptions options
+    ) {
+        writeWith(streamingWriter(options), workbook, file);
+    }
+
+    public static void writeStreaming(
+            ExcelWorkbook workbook,
+            OutputStream outputStream,
+            WriteOptions options
+    ) {
+        writeWith(streamingWriter(options), workbook, outputStream);
+    }
+
+    /**
+     * Writes a copy of the template with the rows of each workbook sheet appended to the template sheet of the same
+     * name. All other parts of the template are copied unchanged.
+     */
+    public static void writeFromTemplate(
+            ExcelWorkbook workbook,
+            File template,
+            File file
+    ) {
+        writeWith(templateWriter(template), workbook, file);
+    }
+
+    public static void writeFromTemplate(
+            ExcelWorkbook workbook,
+            File template,
+            OutputStream outputStream
+    ) {
+        writeWith(templateWriter(template), workbook, outputStream);
+    }
+
+    /**
+     * Appends the data rows of each workbook sheet after the last row of the sheet with the same name in an
+     * existing file. Existing rows are not read back, and all other parts of the file are copied unchanged.
+     */
+    public static void append(
+            ExcelWorkbook workbook,
+            File file
+    ) {
+        if (workbook == null) {
+            throw new DocumentConversionException("ExcelWorkbook cannot be null");
+        }
+        if (file == null || !file.isFile()) {
+            throw new DocumentConversionException("File not found: " + (file != null ? file.getPath() : null));
+        }
+
+        long startTime = System.currentTimeMillis();
+        int totalRecords = workbook.getSheetNames().stream()
+                .mapToInt(sheetName -> workbook.getSheet(sheetName).getRows().size())
+                .sum();
+        logger.info(String.format("[NINJA-EXCEL] Appending %d records to %d sheets of file: %s (%.2f KB)",
+                totalRecords, workbook.getSheetNames().size(), file.getName(), file.length() / 1024.0));
+
+        try {
+            WORKBOOK_APPENDER.append(workbook, file);
+            long duration = System.currentTimeMillis() - startTime;
+            logger.info(String.format("[NINJA-EXCEL] Successfully appended %d records to %s in %d ms (%.2f records/sec)",
+                    totalRecords, file.getName(), duration, calculateRecordsPerSecond(totalRecords, duration)));
+        } catch (IOException e) {
+            long duration = System.currentTimeMillis() - startTime;
+            logger.log(Level.SEVERE, String.format("[NINJA-EXCEL] Failed to append to Excel file: %s after %d ms", file.getName(), duration), e);
+            throw new DocumentConversionException("Failed to append to Excel file: " + file.getName(), e);
+        }
+    }
+
+    public static <T> void append(
+            List<T> entities,
+            String sheetName,
+            File file
+    ) {
+        String normalizedSheetName = validateSheetName(sheetName);
+        append(ExcelWorkbook.builder().sheet(normalizedSheetName, entities).build(), file);
+    }
+
+    private static TemplateWorkbookWriter templateWriter(File template) {
+        if (template == null || !template.isFile()) {
+            throw new DocumentConversionException("Template file not found: " + (template != null ? template.getPath() : null));
+        }
+        return new TemplateWorkbookWriter(template);
+    }
+
+    private static PoiWorkbookWriter poiWriter(WriteOptions options) {
+        if (options == null) {
+            throw new DocumentConversionException("WriteOptions cannot be null");
+        }
+        return options == WriteOptions.defaults() ? WORKBOOK_WRITER : new PoiWorkbookWriter(options);
+    }
+
+    private static StreamingWorkbookWriter streamingWriter(WriteOptions options) {
+        if (options == null) {
+            throw new DocumentConversionException("WriteOptions cannot be null");
+        }
+        return options == WriteOptions.defaults() ? STREAMING_WORKBOOK_WRITER : new StreamingWorkbookWriter(options);
+    }
+
+    public static <T> CompletableFuture<List<T>> readAsync(
+            String filePath,
+            Class<T> clazz,
+            Executor executor
+    ) {
+        return AsyncTask.submit(() -> read(filePath, clazz), executor);
+    }
+
+    /**
+     * Runs {@link #read(File, Class)} on {@code executor}. Cancelling the returned future interrupts the read; the
+     * streaming, xls and xlsb readers stop at the next row and close the file.
+     *
+     * <p>xlsx files below the {@link #setStreamingThreshold streaming threshold} are read with the POI reader, which
+     * does not check the interrupt: cancelling such a read does not stop it, it runs to completion and its result is
+     * discarded.
+     */
+    public static <T> CompletableFuture<List<T>> readAsync(
+            File file,
+            Class<T> clazz,
+            Executor executor
+    ) {
+        return AsyncTask.submit(() -> read(file, clazz), executor);
+    }
+
+    public static <T> CompletableFuture<Long> readInChunksAsync(
+            File file,
+            Class<T> clazz,
+            RowConsumer<? super List<T>> chunkConsumer,
+            Executor executor
+    ) {
+        return readInChunksAsync(file, clazz, DEFAULT_CHUNK_SIZE, chunkConsumer, executor);
+    }
+
+    /**
+     * Reads the first sheet in chunks on {@code executor} and passes every chunk to {@code chunkConsumer} on that
+     * thread. Cancelling the returned future interrupts the task, which closes the chunk reader: its SAX producer
+     * thread stops at the next row and closes the package.
+     *
+     * @return a future of the number of rows passed to the consumer
+     */
+    public static <T> CompletableFuture<Long> readInChunksAsync(
+            File file,
+            Class<T> clazz,
+            int chunkSize,
+            RowConsumer<? super List<T>> chunkConsumer,
+            Executor executor
+    ) {
+        if (chunkConsumer == null) {
+            throw new DocumentConversionException("Chunk consumer cannot be null");
+        }
+        return AsyncTask.submit(() -> {
+            long rowCount = 0;
+            try (ChunkReader<T> chunks = readInChunks(file, clazz, chunkSize)) {
+                while (chunks.hasNext()) {
+                    List<T> chunk = chunks.next();
+                    try {
+                        chunkConsumer.accept(chunk);
+                    } catch (DocumentConversionException e) {
+                        throw e;
+                    } catch (Exception e) {
+                        throw new DocumentConversionException("Chunk consumer failed after row " + rowCount, e);
+                    }
+                    rowCount += chunk.size();
+                    if (Thread.currentThread().isInterrupted()) {
+                        throw new DocumentConversionException("Chunk read interrupted after row " + rowCount);
+                    }
+                }
+            }
+            return rowCount;
+        }, executor);
+    }
+
+    /**
+     * Runs {@link #write(ExcelWorkbook, File)} on {@code executor}. Cancelling the returned future before the write
+     * starts skips it; a write in progress runs to completion.
+     */
+    public static CompletableFuture<Void> writeAsync(
+            ExcelWorkbook workbook,
+            File file,
+            Executor executor
+    ) {
+        return AsyncTask.submit(() -> {
+            write(workbook, file);
+            return null;
+        }, executor);
+    }
+
+    public static CompletableFuture<Void> writeAsync(
+            ExcelWorkbook workbook,
+            OutputStream outputStream,
+            Executor executor
+    ) {
+        return AsyncTask.submit(() -> {
+            write(workbook, outputStream);
+            return null;
+        }, executor);
+    }
+
+    public static <T> List<T> readCsv(
+            File file,
+            Class<T> clazz
+    ) {
+        return readCsv(file, clazz, CsvFormat.csv());
+    }
+
+    /**
+     * Reads a CSV or TSV file with the same column mapping and value conversion as Excel reads.
+     */
+    public static <T> List<T> readCsv(
+            File file,
+            Class<T> clazz,
+            CsvFormat format
+    ) {
+        validateReadInputs(file, clazz);
+
+        long startTime = System.currentTimeMillis();
+        try {
+            List<T> entities = new ArrayList<>();
+            new CsvWorkbookReader(format).forEach(file, clazz, entities::add);
+            logger.info(String.format("[NINJA-EXCEL] Successfully read %d records from %s in %d ms using CSV reader",
+                    entities.size(), file.getName(), System.currentTimeMillis() - startTime));
+            return entities;
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to read delimited file: " + file.getName(), e);
+        }
+    }
+
+    public static <T> ChunkReader<T> readCsvInChunks(
+            File file,
+            Class<T> clazz,
+            int chunkSize,
+            CsvFormat format
+    ) {
+        validateReadInputs(file, clazz);
+
+        try {
+            return new CsvWorkbookReader(format).readInChunks(file, clazz, chunkSize);
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to create chunk iterator for file: " + file.getName(), e);
+        }
+    }
+
+    /**
+     * Writes the workbook's only sheet as a CSV or TSV file.
+     */
+    public static void writeCsv(
+            ExcelWorkbook workbook,
+            File file,
+            CsvFormat format
+    ) {
+        writeWith(new CsvWorkbookWriter(format), workbook, file);
+    }
+
+    private static void writeWith(
+            WorkbookWriter writer,
+            ExcelWorkbook workbook,
+            File file
     ) {
         if (workbook == null) {
             throw new DocumentConversionException("ExcelWorkbook cannot be null");
@@ -347,7 +1044,7 @@ public final class NinjaExcel {
                 workbook.getSheetNames().size(), totalRecords, fileName, EntityMetadata.getCacheSize()));
 
         try {
-            WORKBOOK_WRITER.write(workbook, file);
+            writer.write(workbook, file);
 
             long fileSize = file.length();
             long duration = System.currentTimeMillis() - startTime;
@@ -363,7 +1060,8 @@ public final class NinjaExcel {
         }
     }
 
-    public static void write(
+    private static void writeWith(
+            WorkbookWriter writer,
             ExcelWorkbook workbook,
             OutputStream outputStream
     ) {
@@ -383,7 +1081,7 @@ public final class NinjaExcel {
                 workbook.getSheetNames().size(), totalRecords, EntityMetadata.getCacheSize()));
 
         try {
-            WORKBOOK_WRITER.write(workbook, outputStream);
+            writer.write(workbook, outputStream);
 
             long duration = System.currentTimeMillis() - startTime;
             double recordsPerSecond = calculateRecordsPerSecond(totalRecords, duration);
@@ -398,6 +1096,41 @@ public final class NinjaExcel {
         }
     }
 
+    /**
+     * Tells xls, xlsb and xlsx files apart by their content, so a renamed file is still read by the right reader.
+     */
+    private static WorkbookFormat detectFormat(File file) {
+        try {
+            return WorkbookFormat.detect(file);
+        } catch (IOException e) {
+            throw new DocumentConversionException("Failed to read Excel file: " + file.getName(), e);
+        }
+    }
+
+    private static void requireXlsx(
+            File file,
+            String operation
+    ) {
+        WorkbookFormat format = detectFormat(file);
+        if (format == WorkbookFormat.XLS || format == WorkbookFormat.XLSB) {
+            throw new DocumentConversionException("Cannot use " + operation + " on " + format.name().toLowerCase(Locale.ROOT)
+                    + " workbook " + file.getName() + "; convert it to xlsx first");
+        }
+    }
+
+    private static String readerName(
+            WorkbookFormat format,
+            boolean useStreaming
+    ) {
+        if (format == WorkbookFormat.XLS) {
+            return "HSSF";
+        }
+        if (format == WorkbookFormat.XLSB) {
+            return "XLSB";
+        }
+        return useStreaming ? "STREAMING" : "POI";
+    }
+
     private static boolean shouldUseStreaming(long fileSize) {
         boolean useStreaming = fileSize > streamingThreshold;
         logger.fine(String.format(
@@ -414,50 +1147,22 @@ public final class NinjaExcel {
             Class<T> entityType
     ) {
         EntityMetadata<T> metadata = EntityMetadata.of(entityType);
-        List<Integer> fieldToColumnMapping = createFieldToColumnMapping(sheet.getHeaders(), metadata);
-        return convertRowsToEntities(sheet.getRows(), entityType, metadata, fieldToColumnMapping);
-    }
-
-    private static List<Integer> createFieldToColumnMapping(
-            Headers headers,
-            EntityMetadata<?> metadata
-    ) {
-        List<Integer> mapping = new ArrayList<>();
-        for (FieldMapping fieldMapping : metadata.getReadFieldMappings()) {
-            String headerName = fieldMapping.getHeaderName();
-            if (!headers.containsHeader(headerName)) {
-                throw HeaderMismatchException.headerNotFound(headerName);
-            }
-            mapping.add(headers.getPositionOf(headerName));
-        }
-        return mapping;
+        EntityRowMapper<T> rowMapper = EntityRowMapper.forHeaders(metadata, sheet.getHeaders(), CONVERTER);
+        return convertRowsToEntities(sheet.getRows(), entityType, rowMapper);
     }
 
     private static <T> List<T> convertRowsToEntities(
             DocumentRows rows,
             Class<T> entityType,
-            EntityMetadata<T> metadata,
-            List<Integer> fieldToColumnMapping
+            EntityRowMapper<T> rowMapper
     ) {
-        List<T> entities = new ArrayList<>();
-        List<FieldMapping> fieldMappings = metadata.getReadFieldMappings();
+        List<T> entities = new ArrayList<>(rows.size());
 
         for (int rowIndex = 0; rowIndex < rows.size(); rowIndex++) {
             DocumentRow row = rows.getRow(rowIndex);
 
             try {
-                T entity = metadata.createInstance();
-
-                for (int fieldIndex = 0; fieldIndex < fieldMappings.size(); fieldIndex++) {
-                    FieldMapping fieldMapping = fieldMappings.get(fieldIndex);
-                    int columnIndex = fieldToColumnMapping.get(fieldIndex);
-
-                    Object cellValue = row.getValue(columnIndex);
-                    fieldMapping.setValue(entity, cellValue, CONVERTER);
-                }
-
-                entities.add(entity);
-
+                entities.add(rowMapper.map(row.getValues()));
             } catch (Exception e) {
                 throw new DocumentConversionException("Failed to create entity of type " + entityType.getName() + " for row " + (rowIndex + 1), e);
             }
@@ -521,9 +1226,70 @@ public final class NinjaExcel {
     }
 
     private static double calculateRecordsPerSecond(
-            int recordCount,
+            long recordCount,
             long duration
     ) {
         return duration > 0 ? (recordCount * 1000.0 / duration) : 0;
     }
+
+    /**
+     * Runs a blocking call on an executor for a {@link CompletableFuture}. Cancelling the future interrupts the
+     * thread running the call; the interrupt is cleared before the thread goes back to the executor.
+     */
+    private static final class AsyncTask<R> implements Runnable {
+        private final Supplier<R> call;
+        private final CompletableFuture<R> future = new CompletableFuture<>();
+        private Thread runner;
+        private boolean interrupted;
+
+        private AsyncTask(Supplier<R> call) {
+            this.call = call;
+        }
+
+        static <R> CompletableFuture<R> submit(
+                Supplier<R> call,
+                Executor executor
+        ) {
+            if (executor == null) {
+                throw new DocumentConversionException("Executor cannot be null");
+            }
+            AsyncTask<R> task = new AsyncTask<>(call);
+            task.future.whenComplete((result, error) -> {
+                if (task.future.isCancelled()) {
+                    task.interruptRunner();
+                }
+            });
+            executor.execute(task);
+            return task.future;
+        }
+
+        @Override
+        public void run() {
+            synchronized (this) {
+                if (future.isDone()) {
+                    return;
+                }
+                runner = Thread.currentThread();
+            }
+            try {
+                future.complete(call.get());
+            } catch (Throwable e) {
+                future.completeExceptionally(e);
+            } finally {
+                synchronized (this) {
+                    runner = null;
+                    if (interrupted) {
+                        Thread.interrupted();
+                    }
+                }
+            }
+        }
+
+        private synchronized void interruptRunner() {
+            if (runner != null) {
+                interrupted = true;
+                runner.interrupt();
+            }
+        }
+    }
 }
@@ -3,4 +3,25 @@ package com.excelninja.application.port;
 
 public interface ConverterPort {
     Object convert(Object rawValue, Class<?> targetType);
+
+    /**
+     * Primitive-specialized conversions used for {@code int}, {@code long}, {@code double} and {@code boolean} fields.
+     * The defaults delegate to {@link #convert(Object, Class)}; implementations may override them to avoid boxing.
+     * The raw value is never {@code null}.
+     */
+    default int convertToInt(Object rawValue) {
+        return ((Number) convert(rawValue, int.class)).intValue();
+    }
+
+    default long convertToLong(Object rawValue) {
+        return ((Number) convert(rawValue, long.class)).longValue();
+    }
+
+    default double convertToDouble(Object rawValue) {
+        return ((Number) convert(rawValue, double.class)).doubleValue();
+    }
+
+    default boolean convertToBoolean(Object rawValue) {
+        return (Boolean) convert(rawValue, boolean.class);
+    }
 }
@@ -0,0 +1,17 @@
+package com.excelninja.domain.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks the constructor used to create entities on read.
+ *
+ * <p>Parameters are matched to {@code @ExcelReadColumn} fields by name when the class is compiled with
+ * {@code -parameters}, otherwise by position in field declaration order.
+ */
+@Target(ElementType.CONSTRUCTOR)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ExcelCreator {
+}
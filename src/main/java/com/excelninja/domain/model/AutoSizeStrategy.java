@@ -0,0 +1,18 @@
+package com.excelninja.domain.model;
+
+/**
+ * How column widths are computed when a sheet enables {@code autoSizeColumns}.
+ */
+public enum AutoSizeStrategy {
+    /**
+     * Lays out every cell with the font metrics of the JVM, as Excel would render it.
+     * Exact, but expensive on large sheets and dependent on fonts being installed.
+     */
+    MEASURED,
+
+    /**
+     * Estimates widths from a fixed per-character width table while the rows are written.
+     * Needs no fonts and adds almost no cost; may be a character off for proportional text.
+     */
+    ESTIMATED
+}
@@ -10,6 +10,15 @@ import java.util.List;
  */
 public interface ChunkReader<T> extends Iterator<List<T>>, AutoCloseable {
 
+    /**
+     * Signals that the caller is done with a chunk returned by {@link #next()}.
+     *
+     * <p>Readers created with instance recycling refill the released list and its entities for a later chunk,
+     * so neither may be used after this call. Other readers ignore it.
+     */
+    default void release(List<T> chunk) {
+    }
+
     @Override
     void close();
 }
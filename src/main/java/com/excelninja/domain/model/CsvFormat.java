@@ -0,0 +1,135 @@
+package com.excelninja.domain.model;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.Objects;
+
+/**
+ * The dialect of a delimited text file: delimiter, quote character, charset and the line separator written.
+ *
+ * <p>{@link #csv()} is RFC 4180: comma separated, double-quoted, CRLF line ends, UTF-8. {@link #tsv()} is the same
+ * with tab separators. Readers accept CRLF, LF and CR line ends whatever the configured separator, and skip a
+ * leading byte order mark.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ */
+public final class CsvFormat {
+    private static final CsvFormat CSV = builder().build();
+    private static final CsvFormat TSV = builder().delimiter('\t').build();
+
+    private final char delimiter;
+    private final char quote;
+    private final Charset charset;
+    private final String lineSeparator;
+
+    private CsvFormat(
+            char delimiter,
+            char quote,
+            Charset charset,
+            String lineSeparator
+    ) {
+        if (isLineBreak(delimiter) || isLineBreak(quote)) {
+            throw new DocumentConversionException("Delimiter and quote cannot be line breaks");
+        }
+        if (delimiter == quote) {
+            throw new DocumentConversionException("Delimiter and quote must differ: " + delimiter);
+        }
+        if (!"\r\n".equals(lineSeparator) && !"\n".equals(lineSeparator)) {
+            throw new DocumentConversionException("Line separator must be CRLF or LF");
+        }
+        this.delimiter = delimiter;
+        this.quote = quote;
+        this.charset = Objects.requireNonNull(charset, "Charset cannot be null");
+        this.lineSeparator = lineSeparator;
+    }
+
+    public static CsvFormat csv() {
+        return CSV;
+    }
+
+    public static CsvFormat tsv() {
+        return TSV;
+    }
+
+    public static CsvFormatBuilder builder() {
+        return new CsvFormatBuilder();
+    }
+
+    /**
+     * Returns a builder initialized with the values of this format.
+     */
+    public CsvFormatBuilder toBuilder() {
+        return new CsvFormatBuilder()
+                .delimiter(delimiter)
+                .quote(quote)
+                .charset(charset)
+                .lineSeparator(lineSeparator);
+    }
+
+    public char getDelimiter() {
+        return delimiter;
+    }
+
+    public char getQuote() {
+        return quote;
+    }
+
+    public Charset getCharset() {
+        return charset;
+    }
+
+    public String getLineSeparator() {
+        return lineSeparator;
+    }
+
+    private static boolean isLineBreak(char c) {
+        return c == '\r' || c == '\n';
+    }
+
+    @Override
+    public String toString() {
+        return "CsvFormat{delimiter=" + (delimiter == '\t' ? "\\t" : String.valueOf(delimiter))
+                + ", quote=" + quote
+                + ", charset=" + charset
+                + ", lineSeparator=" + ("\r\n".equals(lineSeparator) ? "CRLF" : "LF") + '}';
+    }
+
+    public static class CsvFormatBuilder {
+        private char delimiter = ',';
+        private char quote = '"';
+        private Charset charset = StandardCharsets.UTF_8;
+        private String lineSeparator = "\r\n";
+
+        public CsvFormatBuilder delimiter(char delimiter) {
+            this.delimiter = delimiter;
+            return this;
+        }
+
+        public CsvFormatBuilder quote(char quote) {
+            this.quote = quote;
+            return this;
+        }
+
+        /**
+         * Sets the charset of the file. Malformed input fails the read rather than being replaced.
+         */
+        public CsvFormatBuilder charset(Charset charset) {
+            this.charset = charset;
+            return this;
+        }
+
+        /**
+         * Sets the line separator written, {@code "\r\n"} or {@code "\n"}.
+         */
+        public CsvFormatBuilder lineSeparator(String lineSeparator) {
+            this.lineSeparator = lineSeparator;
+            return this;
+        }
+
+        public CsvFormat build() {
+            return new CsvFormat(delimiter, quote, charset, lineSeparator);
+        }
+    }
+}
@@ -6,6 +6,7 @@ import com.excelninja.infrastructure.metadata.EntityMetadata;
 import com.excelninja.infrastructure.metadata.FieldMapping;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
 
@@ -14,17 +15,20 @@ public class ExcelSheet {
     private final Headers headers;
     private final DocumentRows rows;
     private final SheetMetadata metadata;
+    private final List<Class<?>> columnTypes;
 
     private ExcelSheet(
             SheetName name,
             Headers headers,
             DocumentRows rows,
-            SheetMetadata metadata
+            SheetMetadata metadata,
+            List<Class<?>> columnTypes
     ) {
         this.name = Objects.requireNonNull(name);
         this.headers = Objects.requireNonNull(headers);
         this.rows = Objects.requireNonNull(rows);
         this.metadata = metadata != null ? metadata : new SheetMetadata();
+        this.columnTypes = Collections.unmodifiableList(new ArrayList<>(columnTypes));
     }
 
     public static <T> ExcelSheet fromEntities(
@@ -55,12 +59,17 @@ public class ExcelSheet {
 
         Headers headers = createHeadersFromFields(writeFields);
         DocumentRows rows = createRowsFromEntities(entities, writeFields, headers.size());
+        List<Class<?>> columnTypes = new ArrayList<>();
+        for (FieldMapping fieldMapping : writeFields) {
+            columnTypes.add(fieldMapping.getTargetType());
+        }
 
         return new ExcelSheet(
                 new SheetName(actualSheetName),
                 headers,
                 rows,
-                metadata
+                metadata,
+                columnTypes
         );
     }
 
@@ -119,6 +128,15 @@ public class ExcelSheet {
         return metadata;
     }
 
+    /**
+     * Returns the declared type of each column, taken from the entity fields the sheet was created from, or an
+     * empty list when the column types are unknown. The type is a hint: values read through a getter may have a
+     * different type than the field.
+     */
+    public List<Class<?>> getColumnTypes() {
+        return columnTypes;
+    }
+
     public static class SheetBuilder {
         private SheetName name;
         private Headers headers;
@@ -162,6 +180,22 @@ public class ExcelSheet {
             return this;
         }
 
+        /**
+         * Enables auto-sized columns computed with the given strategy.
+         */
+        public SheetBuilder autoSizeColumns(AutoSizeStrategy strategy) {
+            this.metadata = this.metadata.withAutoSizeColumns(true).withAutoSizeStrategy(strategy);
+            return this;
+        }
+
+        /**
+         * Limits {@link AutoSizeStrategy#ESTIMATED} auto-sizing to the first {@code sampleRows} data rows.
+         */
+        public SheetBuilder autoSizeSampleRows(int sampleRows) {
+            this.metadata = this.metadata.withAutoSizeSampleRows(sampleRows);
+            return this;
+        }
+
         public SheetBuilder columnWidth(
                 int columnIndex,
                 int width
@@ -188,7 +222,7 @@ public class ExcelSheet {
             if (rows == null) {
                 rows = DocumentRows.empty(headers.size());
             }
-            return new ExcelSheet(name, headers, rows, metadata);
+            return new ExcelSheet(name, headers, rows, metadata, Collections.<Class<?>>emptyList());
         }
     }
 
@@ -0,0 +1,13 @@
+package com.excelninja.domain.model;
+
+/**
+ * Receives converted rows from push-style reads, one call per data row.
+ *
+ * <p>Exceptions thrown by the consumer stop the read and are reported as a
+ * {@link com.excelninja.domain.exception.DocumentConversionException}.
+ */
+@FunctionalInterface
+public interface RowConsumer<T> {
+
+    void accept(T row) throws Exception;
+}
@@ -0,0 +1,108 @@
+package com.excelninja.domain.model;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+
+import java.util.Arrays;
+
+/**
+ * Row content hashes used by incremental imports to skip rows that did not change since the previous run.
+ *
+ * <p>An index holds two generations: the hashes of the previous run, which decide whether a row is emitted,
+ * and the hashes recorded while the current run parses the sheet. Persist the current generation from
+ * {@link #toHashes()} or keep the instance in memory and call {@link #commit()} once the import succeeded.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Use one index per import at a time.
+ */
+public final class RowHashIndex {
+    private static final int INITIAL_CAPACITY = 1024;
+
+    private long[] previousHashes;
+    private long[] currentHashes = new long[INITIAL_CAPACITY];
+    private int currentSize;
+    private long skippedRows;
+
+    public RowHashIndex() {
+        this(new long[0]);
+    }
+
+    private RowHashIndex(long[] previousHashes) {
+        this.previousHashes = sortedDistinct(previousHashes, previousHashes.length);
+    }
+
+    public static RowHashIndex fromHashes(long[] previousHashes) {
+        if (previousHashes == null) {
+            throw new DocumentConversionException("Previous row hashes cannot be null");
+        }
+        return new RowHashIndex(previousHashes.clone());
+    }
+
+    /**
+     * Makes the hashes recorded by the current run the baseline for the next run.
+     */
+    public void commit() {
+        previousHashes = sortedDistinct(currentHashes, currentSize);
+        currentHashes = new long[INITIAL_CAPACITY];
+        currentSize = 0;
+        skippedRows = 0;
+    }
+
+    public boolean isUnchanged(long rowHash) {
+        return Arrays.binarySearch(previousHashes, rowHash) >= 0;
+    }
+
+    /**
+     * Records a row of the current run and reports whether it also existed in the previous run.
+     *
+     * @return {@code true} if the row is unchanged and can be skipped
+     */
+    public boolean recordAndCheck(long rowHash) {
+        if (currentSize == currentHashes.length) {
+            currentHashes = Arrays.copyOf(currentHashes, currentSize * 2);
+        }
+        currentHashes[currentSize++] = rowHash;
+
+        boolean unchanged = isUnchanged(rowHash);
+        if (unchanged) {
+            skippedRows++;
+        }
+        return unchanged;
+    }
+
+    public long[] toHashes() {
+        return sortedDistinct(currentHashes, currentSize);
+    }
+
+    public int getPreviousSize() {
+        return previousHashes.length;
+    }
+
+    public int getRecordedRows() {
+        return currentSize;
+    }
+
+    public long getSkippedRows() {
+        return skippedRows;
+    }
+
+    private static long[] sortedDistinct(
+            long[] hashes,
+            int length
+    ) {
+        long[] sorted = Arrays.copyOf(hashes, length);
+        Arrays.sort(sorted);
+
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return distinct == sorted.length ? sorted : Arrays.copyOf(sorted, distinct);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("RowHashIndex{previous=%d, recorded=%d, skipped=%d}",
+                previousHashes.length, currentSize, skippedRows);
+    }
+}
@@ -0,0 +1,69 @@
+package com.excelninja.domain.model;
+
+import java.util.Objects;
+
+/**
+ * What a workbook declares about one of its sheets without its rows being read: the name, the visibility and the
+ * row count of the sheet's {@code dimension} (used range) record.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ */
+public final class SheetInfo {
+    /**
+     * The row count of sheets that carry no {@code dimension} record.
+     */
+    public static final int UNKNOWN_ROW_COUNT = -1;
+
+    private final String name;
+    private final SheetVisibility visibility;
+    private final int rowCount;
+
+    public SheetInfo(
+            String name,
+            SheetVisibility visibility,
+            int rowCount
+    ) {
+        this.name = Objects.requireNonNull(name, "Sheet name cannot be null");
+        this.visibility = Objects.requireNonNull(visibility, "Sheet visibility cannot be null");
+        this.rowCount = rowCount;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public SheetVisibility getVisibility() {
+        return visibility;
+    }
+
+    public boolean isVisible() {
+        return visibility == SheetVisibility.VISIBLE;
+    }
+
+    /**
+     * Returns the number of rows the used range spans, header row included, as recorded by the application that saved
+     * the file; {@link #UNKNOWN_ROW_COUNT} when the sheet has no {@code dimension} record. Writers keep the record
+     * current, but it is not verified against the rows themselves.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        SheetInfo sheetInfo = (SheetInfo) o;
+        return rowCount == sheetInfo.rowCount && name.equals(sheetInfo.name) && visibility == sheetInfo.visibility;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, visibility, rowCount);
+    }
+
+    @Override
+    public String toString() {
+        return "SheetInfo{name='" + name + "', visibility=" + visibility + ", rowCount=" + rowCount + "}";
+    }
+}
@@ -0,0 +1,86 @@
+package com.excelninja.domain.model;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * A summary of one sheet for import previews: its header row, how many data rows follow it and the value types of
+ * its columns in a sampled prefix of those rows.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ */
+public final class SheetInspection {
+    private final String name;
+    private final List<String> headers;
+    private final long rowCount;
+    private final boolean rowCountExact;
+    private final List<Class<?>> columnTypes;
+    private final int sampledRows;
+
+    public SheetInspection(
+            String name,
+            List<String> headers,
+            long rowCount,
+            boolean rowCountExact,
+            List<Class<?>> columnTypes,
+            int sampledRows
+    ) {
+        this.name = Objects.requireNonNull(name, "Sheet name cannot be null");
+        this.headers = Collections.unmodifiableList(new ArrayList<>(headers));
+        this.rowCount = rowCount;
+        this.rowCountExact = rowCountExact;
+        this.columnTypes = Collections.unmodifiableList(new ArrayList<>(columnTypes));
+        this.sampledRows = sampledRows;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * Returns the header row, trimmed; empty when the sheet has no rows.
+     */
+    public List<String> getHeaders() {
+        return headers;
+    }
+
+    /**
+     * Returns the number of data rows below the header. See {@link #isRowCountExact()}.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns {@code true} when every row was read and blank rows were left out, as {@code read} would. Otherwise
+     * the count is the span from the header to the last row in the sheet's {@code dimension} record or, without
+     * one, to the last row tag, and blank rows within that span are included.
+     */
+    public boolean isRowCountExact() {
+        return rowCountExact;
+    }
+
+    /**
+     * Returns the value type of each header column in the sampled rows: {@code String}, {@code Long}, {@code Double},
+     * {@code Boolean} or {@code java.util.Date}. Columns mixing whole and fractional numbers are {@code Double};
+     * columns with other mixed types or no sampled value are {@code Object}.
+     */
+    public List<Class<?>> getColumnTypes() {
+        return columnTypes;
+    }
+
+    /**
+     * Returns the number of data rows the column types were inferred from.
+     */
+    public int getSampledRows() {
+        return sampledRows;
+    }
+
+    @Override
+    public String toString() {
+        return "SheetInspection{name='" + name + "', headers=" + headers + ", rowCount=" + rowCount
+                + (rowCountExact ? "" : " (estimated)") + ", sampledRows=" + sampledRows + "}";
+    }
+}
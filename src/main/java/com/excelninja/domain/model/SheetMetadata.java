@@ -1,13 +1,18 @@
 package com.excelninja.domain.model;
 
+import com.excelninja.domain.exception.DocumentConversionException;
+
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.Objects;
 
 public class SheetMetadata {
     private final Map<Integer, Integer> columnWidths;
     private final Map<Integer, Short> rowHeights;
     private final boolean autoSizeColumns;
+    private final AutoSizeStrategy autoSizeStrategy;
+    private final int autoSizeSampleRows;
 
     public SheetMetadata() {
         this(new HashMap<>(), new HashMap<>(), false);
@@ -18,9 +23,24 @@ public class SheetMetadata {
             Map<Integer, Short> rowHeights,
             boolean autoSizeColumns
     ) {
+        this(columnWidths, rowHeights, autoSizeColumns, AutoSizeStrategy.MEASURED, 0);
+    }
+
+    public SheetMetadata(
+            Map<Integer, Integer> columnWidths,
+            Map<Integer, Short> rowHeights,
+            boolean autoSizeColumns,
+            AutoSizeStrategy autoSizeStrategy,
+            int autoSizeSampleRows
+    ) {
+        if (autoSizeSampleRows < 0) {
+            throw new DocumentConversionException("Auto-size sample rows cannot be negative: " + autoSizeSampleRows);
+        }
         this.columnWidths = new HashMap<>(columnWidths);
         this.rowHeights = new HashMap<>(rowHeights);
         this.autoSizeColumns = autoSizeColumns;
+        this.autoSizeStrategy = Objects.requireNonNull(autoSizeStrategy, "Auto-size strategy cannot be null");
+        this.autoSizeSampleRows = autoSizeSampleRows;
     }
 
     public Map<Integer, Integer> getColumnWidths() {
@@ -35,13 +55,24 @@ public class SheetMetadata {
         return autoSizeColumns;
     }
 
+    public AutoSizeStrategy getAutoSizeStrategy() {
+        return autoSizeStrategy;
+    }
+
+    /**
+     * Returns how many data rows the {@link AutoSizeStrategy#ESTIMATED} strategy measures; {@code 0} measures all rows.
+     */
+    public int getAutoSizeSampleRows() {
+        return autoSizeSampleRows;
+    }
+
     public SheetMetadata withColumnWidth(
             int columnIndex,
             int width
     ) {
         Map<Integer, Integer> newColumnWidths = new HashMap<>(this.columnWidths);
         newColumnWidths.put(columnIndex, width);
-        return new SheetMetadata(newColumnWidths, rowHeights, autoSizeColumns);
+        return new SheetMetadata(newColumnWidths, rowHeights, autoSizeColumns, autoSizeStrategy, autoSizeSampleRows);
     }
 
     public SheetMetadata withRowHeight(
@@ -50,10 +81,18 @@ public class SheetMetadata {
     ) {
         Map<Integer, Short> newRowHeights = new HashMap<>(this.rowHeights);
         newRowHeights.put(rowIndex, height);
-        return new SheetMetadata(columnWidths, newRowHeights, autoSizeColumns);
+        return new SheetMetadata(columnWidths, newRowHeights, autoSizeColumns, autoSizeStrategy, autoSizeSampleRows);
     }
 
     public SheetMetadata withAutoSizeColumns(boolean enabled) {
-        return new SheetMetadata(columnWidths, rowHeights, enabled);
+        return new SheetMetadata(columnWidths, rowHeights, enabled, autoSizeStrategy, autoSizeSampleRows);
+    }
+
+    public SheetMetadata withAutoSizeStrategy(AutoSizeStrategy strategy) {
+        return new SheetMetadata(columnWidths, rowHeights, autoSizeColumns, strategy, autoSizeSampleRows);
+    }
+
+    public SheetMetadata withAutoSizeSampleRows(int sampleRows) {
+        return new SheetMetadata(columnWidths, rowHeights, autoSizeColumns, autoSizeStrategy, sampleRows);
     }
 }
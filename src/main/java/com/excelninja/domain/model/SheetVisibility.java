@@ -0,0 +1,18 @@
+package com.excelninja.domain.model;
+
+/**
+ * Whether a sheet is shown in Excel's tab bar, from the {@code state} attribute of the workbook's sheet list.
+ */
+public enum SheetVisibility {
+    VISIBLE,
+
+    /**
+     * Hidden, but the user can unhide it from Excel.
+     */
+    HIDDEN,
+
+    /**
+     * Hidden and not listed in Excel's unhide dialog; only VBA or another tool can show it again.
+     */
+    VERY_HIDDEN
+}
@@ -0,0 +1,152 @@
+package com.excelninja.domain.model;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+
+/**
+ * Options that trade file size and formatting for write speed.
+ *
+ * <p>{@link #defaults()} keeps the established output: default zip compression, a shared strings table and thin
+ * borders on every data cell. {@link #fast()} minimizes the work per cell: data cells keep the default style
+ * (date cells only get their number format), strings are written inline instead of being looked up in a shared
+ * strings table, and parts are compressed with the fastest deflate level. Fast files are larger and unbordered but
+ * read back identically.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ */
+public final class WriteOptions {
+    public static final int DEFAULT_COMPRESSION = -1;
+    public static final int NO_COMPRESSION = 0;
+    public static final int BEST_SPEED = 1;
+    public static final int BEST_COMPRESSION = 9;
+    public static final int UNLIMITED_SHARED_STRINGS = Integer.MAX_VALUE;
+
+    private static final WriteOptions DEFAULTS = builder().build();
+    private static final WriteOptions FAST = builder()
+            .compressionLevel(BEST_SPEED)
+            .sharedStrings(false)
+            .borderedCells(false)
+            .build();
+
+    private final int compressionLevel;
+    private final boolean sharedStrings;
+    private final int sharedStringsLimit;
+    private final boolean borderedCells;
+
+    private WriteOptions(
+            int compressionLevel,
+            boolean sharedStrings,
+            int sharedStringsLimit,
+            boolean borderedCells
+    ) {
+        if (compressionLevel < DEFAULT_COMPRESSION || compressionLevel > BEST_COMPRESSION) {
+            throw new DocumentConversionException("Compression level must be between -1 and 9: " + compressionLevel);
+        }
+        if (sharedStringsLimit < 1) {
+            throw new DocumentConversionException("Shared strings limit must be positive: " + sharedStringsLimit);
+        }
+        this.compressionLevel = compressionLevel;
+        this.sharedStrings = sharedStrings;
+        this.sharedStringsLimit = sharedStringsLimit;
+        this.borderedCells = borderedCells;
+    }
+
+    public static WriteOptions defaults() {
+        return DEFAULTS;
+    }
+
+    public static WriteOptions fast() {
+        return FAST;
+    }
+
+    public static WriteOptionsBuilder builder() {
+        return new WriteOptionsBuilder();
+    }
+
+    /**
+     * Returns a builder initialized with the values of these options.
+     */
+    public WriteOptionsBuilder toBuilder() {
+        return new WriteOptionsBuilder()
+                .compressionLevel(compressionLevel)
+                .sharedStrings(sharedStrings)
+                .sharedStringsLimit(sharedStringsLimit)
+                .borderedCells(borderedCells);
+    }
+
+    /**
+     * Returns the zip deflate level: 1 to 9, {@link #DEFAULT_COMPRESSION}, or {@link #NO_COMPRESSION}.
+     */
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public boolean isSharedStrings() {
+        return sharedStrings;
+    }
+
+    /**
+     * Returns the number of distinct strings the shared strings table may hold before further strings are written
+     * inline. Applies to the direct OOXML writer.
+     */
+    public int getSharedStringsLimit() {
+        return sharedStringsLimit;
+    }
+
+    public boolean isBorderedCells() {
+        return borderedCells;
+    }
+
+    @Override
+    public String toString() {
+        return "WriteOptions{compressionLevel=" + compressionLevel
+                + ", sharedStrings=" + sharedStrings
+                + ", sharedStringsLimit=" + sharedStringsLimit
+                + ", borderedCells=" + borderedCells + '}';
+    }
+
+    public static class WriteOptionsBuilder {
+        private int compressionLevel = DEFAULT_COMPRESSION;
+        private boolean sharedStrings = true;
+        private int sharedStringsLimit = UNLIMITED_SHARED_STRINGS;
+        private boolean borderedCells = true;
+
+        /**
+         * Sets the zip deflate level from 1 to 9, {@link #DEFAULT_COMPRESSION}, or {@link #NO_COMPRESSION} for
+         * uncompressed parts.
+         */
+        public WriteOptionsBuilder compressionLevel(int compressionLevel) {
+            this.compressionLevel = compressionLevel;
+            return this;
+        }
+
+        /**
+         * Sets whether strings go to a shared strings table ({@code true}) or are written inline in each cell.
+         */
+        public WriteOptionsBuilder sharedStrings(boolean sharedStrings) {
+            this.sharedStrings = sharedStrings;
+            return this;
+        }
+
+        /**
+         * Caps the shared strings table of the direct OOXML writer at the given number of distinct strings.
+         * Strings first seen after the table is full are written inline, which keeps low-cardinality columns
+         * deduplicated without letting unique values grow the table.
+         */
+        public WriteOptionsBuilder sharedStringsLimit(int sharedStringsLimit) {
+            this.sharedStringsLimit = sharedStringsLimit;
+            return this;
+        }
+
+        /**
+         * Sets whether data cells get the thin bordered style. Header cells are always styled.
+         */
+        public WriteOptionsBuilder borderedCells(boolean borderedCells) {
+            this.borderedCells = borderedCells;
+            return this;
+        }
+
+        public WriteOptions build() {
+            return new WriteOptions(compressionLevel, sharedStrings, sharedStringsLimit, borderedCells);
+        }
+    }
+}
@@ -75,6 +75,81 @@ public class DefaultConverter implements ConverterPort {
         }
     }
 
+    @Override
+    public int convertToInt(Object rawValue) {
+        if (rawValue instanceof Number) {
+            Number num = (Number) rawValue;
+            if (num.doubleValue() > Integer.MAX_VALUE || num.doubleValue() < Integer.MIN_VALUE) {
+                throw new DocumentConversionException(String.format("Number %s is out of Integer range (%d to %d)", num, Integer.MIN_VALUE, Integer.MAX_VALUE));
+            }
+            return num.intValue();
+        }
+
+        if (rawValue instanceof String && isPlainInteger((String) rawValue, 9)) {
+            return Integer.parseInt((String) rawValue);
+        }
+
+        return ((Number) convert(rawValue, int.class)).intValue();
+    }
+
+    @Override
+    public long convertToLong(Object rawValue) {
+        if (rawValue instanceof Number) {
+            Number num = (Number) rawValue;
+            if (num.doubleValue() > Long.MAX_VALUE || num.doubleValue() < Long.MIN_VALUE) {
+                throw new DocumentConversionException(String.format("Number %s is out of Long range (%d to %d)", num, Long.MIN_VALUE, Long.MAX_VALUE));
+            }
+            return num.longValue();
+        }
+
+        if (rawValue instanceof String && isPlainInteger((String) rawValue, 18)) {
+            return Long.parseLong((String) rawValue);
+        }
+
+        return ((Number) convert(rawValue, long.class)).longValue();
+    }
+
+    @Override
+    public double convertToDouble(Object rawValue) {
+        if (rawValue instanceof Number) {
+            return ((Number) rawValue).doubleValue();
+        }
+
+        return ((Number) convert(rawValue, double.class)).doubleValue();
+    }
+
+    @Override
+    public boolean convertToBoolean(Object rawValue) {
+        if (rawValue instanceof Boolean) {
+            return (Boolean) rawValue;
+        }
+
+        return (Boolean) convert(rawValue, boolean.class);
+    }
+
+    /**
+     * Returns whether the string is an optionally signed run of at most {@code maxDigits} digits, which the JDK parsers
+     * accept without the {@link BigDecimal} round trip and without overflow.
+     */
+    private static boolean isPlainInteger(
+            String value,
+            int maxDigits
+    ) {
+        int length = value.length();
+        int start = length > 0 && (value.charAt(0) == '-' || value.charAt(0) == '+') ? 1 : 0;
+        if (length == start || length - start > maxDigits) {
+            return false;
+        }
+
+        for (int i = start; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private Object convertNumber(
             Number num,
             Class<?> targetType
@@ -0,0 +1,67 @@
+package com.excelninja.infrastructure.io;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Physical type of a column in a columnar export, derived from the Java type of the entity field.
+ *
+ * <p><b>Thread Safety:</b> This enum is immutable and thread-safe.
+ */
+public enum ColumnType {
+    /**
+     * {@code boolean} and {@link Boolean}, read back as {@link Boolean}.
+     */
+    BOOLEAN,
+    /**
+     * {@code byte}, {@code short}, {@code int} and their wrappers, read back as {@link Integer}.
+     */
+    INT32,
+    /**
+     * {@code long} and {@link Long}, read back as {@link Long}.
+     */
+    INT64,
+    /**
+     * {@code float}, {@code double} and their wrappers, read back as {@link Double}.
+     */
+    FLOAT64,
+    /**
+     * {@link LocalDate} stored as days since the epoch, read back as {@link LocalDate}.
+     */
+    DATE,
+    /**
+     * {@link LocalDateTime} and {@link Date} stored as microseconds since the epoch in local time, read back as
+     * {@link LocalDateTime}.
+     */
+    TIMESTAMP,
+    /**
+     * Any other type, stored as UTF-8 text formatted by the default converter and read back as {@link String}.
+     */
+    STRING;
+
+    public static ColumnType of(Class<?> javaType) {
+        if (javaType == boolean.class || javaType == Boolean.class) {
+            return BOOLEAN;
+        }
+        if (javaType == int.class || javaType == Integer.class
+                || javaType == short.class || javaType == Short.class
+                || javaType == byte.class || javaType == Byte.class) {
+            return INT32;
+        }
+        if (javaType == long.class || javaType == Long.class) {
+            return INT64;
+        }
+        if (javaType == double.class || javaType == Double.class
+                || javaType == float.class || javaType == Float.class) {
+            return FLOAT64;
+        }
+        if (javaType == LocalDate.class) {
+            return DATE;
+        }
+        if (javaType == LocalDateTime.class || javaType == Date.class) {
+            return TIMESTAMP;
+        }
+        return STRING;
+    }
+}
@@ -0,0 +1,187 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.model.Header;
+import com.excelninja.domain.model.Headers;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+
+/**
+ * Font-free column width estimation for {@link com.excelninja.domain.model.AutoSizeStrategy#ESTIMATED}.
+ *
+ * <p>Widths are tracked in pixels of the default Calibri 11 font while the rows are written, using a static
+ * per-character width table. East Asian wide characters count as two digits. The result is converted to Excel's
+ * 1/256-character units once at the end, using the same formula Excel applies to typed column widths.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Use one estimator per sheet.
+ */
+public final class ColumnWidthEstimator {
+    private static final int MAX_DIGIT_WIDTH = 7;
+    private static final int CELL_PADDING = 5;
+    private static final int MAX_COLUMN_WIDTH = 255 * 256;
+    private static final int WIDE_CHAR_WIDTH = 2 * MAX_DIGIT_WIDTH;
+    private static final double HEADER_BOLD_FACTOR = 1.1;
+    private static final int GENERAL_FORMAT_MAX_CHARS = 11;
+
+    /**
+     * Calibri 11 advance widths in pixels at 96 DPI for the printable ASCII range, starting at the space character.
+     */
+    private static final byte[] ASCII_WIDTHS = {
+            3, 3, 4, 7, 7, 10, 10, 2, 4, 4, 7, 7, 3, 4, 3, 5,     // space ! " # $ % & ' ( ) * + , - . /
+            7, 7, 7, 7, 7, 7, 7, 7, 7, 7, 3, 3, 7, 7, 7, 6,       // 0-9 : ; < = > ?
+            12, 8, 8, 7, 9, 7, 6, 9, 9, 3, 4, 7, 6, 12, 9, 9,    // @ A-O
+            7, 9, 7, 6, 7, 9, 8, 13, 7, 7, 7, 4, 5, 4, 7, 7,     // P-Z [ \ ] ^ _
+            4, 7, 7, 6, 7, 7, 4, 6, 7, 3, 3, 6, 3, 11, 7, 7,     // ` a-o
+            7, 7, 5, 5, 4, 7, 6, 10, 6, 6, 5, 4, 6, 4, 7         // p-z { | } ~
+    };
+
+    private static final int DATE_WIDTH = textWidth("2000-01-01");
+    private static final int DATE_TIME_WIDTH = textWidth("2000-01-01 00:00:00");
+
+    private final int[] maxWidths;
+    private final int sampleRows;
+
+    private ColumnWidthEstimator(
+            int columnCount,
+            int sampleRows
+    ) {
+        this.maxWidths = new int[columnCount];
+        this.sampleRows = sampleRows;
+    }
+
+    /**
+     * Creates an estimator seeded with the header widths.
+     *
+     * @param sampleRows number of data rows to measure, or {@code 0} to measure every row
+     */
+    public static ColumnWidthEstimator forHeaders(
+            Headers headers,
+            int sampleRows
+    ) {
+        ColumnWidthEstimator estimator = new ColumnWidthEstimator(headers.size(), sampleRows);
+        for (Header header : headers.getHeaders()) {
+            int position = header.getPosition();
+            if (position < estimator.maxWidths.length) {
+                estimator.maxWidths[position] = (int) Math.ceil(textWidth(header.getName()) * HEADER_BOLD_FACTOR);
+            }
+        }
+        return estimator;
+    }
+
+    /**
+     * Returns whether the data row with the given zero-based index should be measured.
+     */
+    public boolean isSampled(int dataRowIndex) {
+        return sampleRows == 0 || dataRowIndex < sampleRows;
+    }
+
+    public void measure(
+            int columnIndex,
+            Object value
+    ) {
+        if (value == null || columnIndex >= maxWidths.length) {
+            return;
+        }
+
+        int width = valueWidth(value);
+        if (width > maxWidths[columnIndex]) {
+            maxWidths[columnIndex] = width;
+        }
+    }
+
+    /**
+     * Returns the estimated width of a column in units of 1/256 of a character, as expected by
+     * {@code Sheet.setColumnWidth}.
+     */
+    public int getColumnWidth(int columnIndex) {
+        int pixels = maxWidths[columnIndex] + CELL_PADDING;
+        int width = (int) ((double) pixels / MAX_DIGIT_WIDTH * 256);
+        return Math.min(width, MAX_COLUMN_WIDTH);
+    }
+
+    public int getColumnCount() {
+        return maxWidths.length;
+    }
+
+    private static int valueWidth(Object value) {
+        if (value instanceof CharSequence) {
+            return textWidth((CharSequence) value);
+        }
+        if (value instanceof Number) {
+            double number = value instanceof BigDecimal ? ((BigDecimal) value).doubleValue() : ((Number) value).doubleValue();
+            return numberWidth(number);
+        }
+        if (value instanceof LocalDate) {
+            return DATE_WIDTH;
+        }
+        if (value instanceof LocalDateTime || value instanceof Date) {
+            return DATE_TIME_WIDTH;
+        }
+        if (value instanceof Boolean) {
+            return textWidth((Boolean) value ? "TRUE" : "FALSE");
+        }
+        return textWidth(value.toString());
+    }
+
+    /**
+     * Estimates the width of a number shown in the General format, which prints at most eleven characters.
+     */
+    private static int numberWidth(double number) {
+        if (Double.isNaN(number) || Double.isInfinite(number)) {
+            return textWidth("#NUM!");
+        }
+
+        double magnitude = Math.abs(number);
+        int signWidth = number < 0 ? ASCII_WIDTHS['-' - ' '] : 0;
+        if (magnitude < 1.0E11 && magnitude == Math.rint(magnitude)) {
+            int digits = 1;
+            for (long remaining = (long) magnitude; remaining >= 10; remaining /= 10) {
+                digits++;
+            }
+            return signWidth + digits * MAX_DIGIT_WIDTH;
+        }
+
+        int characters = Math.min(Double.toString(magnitude).length(), GENERAL_FORMAT_MAX_CHARS);
+        return signWidth + characters * MAX_DIGIT_WIDTH;
+    }
+
+    /**
+     * Returns the estimated pixel width of the widest line of the given text.
+     */
+    static int textWidth(CharSequence text) {
+        int widest = 0;
+        int line = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '\n') {
+                widest = Math.max(widest, line);
+                line = 0;
+            } else {
+                line += charWidth(c);
+            }
+        }
+        return Math.max(widest, line);
+    }
+
+    private static int charWidth(char c) {
+        if (c >= ' ' && c <= '~') {
+            return ASCII_WIDTHS[c - ' '];
+        }
+        if (c < ' ') {
+            return 0;
+        }
+        return isWide(c) ? WIDE_CHAR_WIDTH : MAX_DIGIT_WIDTH;
+    }
+
+    private static boolean isWide(char c) {
+        return (c >= 0x1100 && c <= 0x115F)
+                || (c >= 0x2E80 && c <= 0xA4CF)
+                || (c >= 0xAC00 && c <= 0xD7A3)
+                || (c >= 0xF900 && c <= 0xFAFF)
+                || (c >= 0xFE30 && c <= 0xFE4F)
+                || (c >= 0xFF00 && c <= 0xFF60)
+                || (c >= 0xFFE0 && c <= 0xFFE6);
+    }
+}
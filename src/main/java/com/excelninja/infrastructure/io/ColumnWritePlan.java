@@ -0,0 +1,158 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.model.ExcelSheet;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Date;
+import java.util.List;
+
+/**
+ * The kind of cell each column of a sheet is written as, resolved once per sheet from its
+ * {@linkplain ExcelSheet#getColumnTypes() column types}.
+ *
+ * <p>Sheets created from entities know the declared field type of every column, so the writers can dispatch each
+ * cell straight to the matching emitter after a single {@link Class#isInstance(Object)} check, instead of testing
+ * the value against every supported type. Columns whose type is unknown or too general, such as {@code Object} or
+ * {@code Number}, are {@link CellKind#DYNAMIC}, and they, like values that a getter returned with another type than
+ * the field's, are resolved per value with {@link #kindOf(Object)}.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ */
+final class ColumnWritePlan {
+
+    enum CellKind {
+        TEXT,
+        NUMBER,
+        DECIMAL,
+        BOOLEAN,
+        DATE_TIME,
+        DATE,
+        LEGACY_DATE,
+        DYNAMIC
+    }
+
+    /**
+     * Decimals with at most this many significant digits survive the conversion to {@code double}.
+     */
+    private static final int EXACT_DOUBLE_DIGITS = 15;
+
+    /**
+     * Decimal exponents inside this range stay clear of {@code double} overflow and subnormal precision loss.
+     */
+    private static final int EXACT_DOUBLE_EXPONENT = 300;
+
+    private final CellKind[] kinds;
+    private final Class<?>[] types;
+
+    private ColumnWritePlan(
+            CellKind[] kinds,
+            Class<?>[] types
+    ) {
+        this.kinds = kinds;
+        this.types = types;
+    }
+
+    static ColumnWritePlan of(ExcelSheet sheet) {
+        List<Class<?>> columnTypes = sheet.getColumnTypes();
+        CellKind[] kinds = new CellKind[columnTypes.size()];
+        Class<?>[] types = new Class<?>[columnTypes.size()];
+        for (int i = 0; i < kinds.length; i++) {
+            types[i] = boxed(columnTypes.get(i));
+            kinds[i] = kindOf(types[i]);
+        }
+        return new ColumnWritePlan(kinds, types);
+    }
+
+    /**
+     * Returns how the non-null value of the given column is written.
+     */
+    CellKind kindOf(
+            int columnIndex,
+            Object value
+    ) {
+        if (columnIndex < kinds.length && kinds[columnIndex] != CellKind.DYNAMIC && types[columnIndex].isInstance(value)) {
+            return kinds[columnIndex];
+        }
+        return kindOf(value);
+    }
+
+    /**
+     * Returns how a non-null value of unknown type is written.
+     */
+    static CellKind kindOf(Object value) {
+        if (value instanceof Number) {
+            return value instanceof BigDecimal ? CellKind.DECIMAL : CellKind.NUMBER;
+        } else if (value instanceof Boolean) {
+            return CellKind.BOOLEAN;
+        } else if (value instanceof LocalDateTime) {
+            return CellKind.DATE_TIME;
+        } else if (value instanceof LocalDate) {
+            return CellKind.DATE;
+        } else if (value instanceof Date) {
+            return CellKind.LEGACY_DATE;
+        }
+        return CellKind.TEXT;
+    }
+
+    /**
+     * Returns whether the decimal is stored as a number, which holds when its {@code double} value prints as the
+     * same decimal. Inexact values are stored as text.
+     *
+     * <p>Decimals with at most 15 significant digits in the normal {@code double} range always round-trip, which is
+     * decided from the cached precision without allocating. Only longer decimals are compared with the
+     * {@code double}'s decimal form.
+     */
+    static boolean canStoreAsExactNumeric(BigDecimal value) {
+        int precision = value.precision();
+        if (precision <= EXACT_DOUBLE_DIGITS) {
+            long exponent = (long) precision - value.scale() - 1;
+            if (exponent > -EXACT_DOUBLE_EXPONENT && exponent < EXACT_DOUBLE_EXPONENT) {
+                return true;
+            }
+        }
+
+        double doubleValue = value.doubleValue();
+        if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
+            return false;
+        }
+
+        BigDecimal roundTripped = BigDecimal.valueOf(doubleValue);
+        return value.stripTrailingZeros().compareTo(roundTripped.stripTrailingZeros()) == 0;
+    }
+
+    private static CellKind kindOf(Class<?> type) {
+        if (type == String.class) {
+            return CellKind.TEXT;
+        } else if (BigDecimal.class.isAssignableFrom(type)) {
+            return CellKind.DECIMAL;
+        } else if (Number.class.isAssignableFrom(type) && type != Number.class) {
+            return CellKind.NUMBER;
+        } else if (type == Boolean.class) {
+            return CellKind.BOOLEAN;
+        } else if (type == LocalDateTime.class) {
+            return CellKind.DATE_TIME;
+        } else if (type == LocalDate.class) {
+            return CellKind.DATE;
+        } else if (Date.class.isAssignableFrom(type)) {
+            return CellKind.LEGACY_DATE;
+        }
+        return CellKind.DYNAMIC;
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        if (type == short.class) return Short.class;
+        return Void.class;
+    }
+}
@@ -0,0 +1,238 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+
+import java.io.ByteArrayInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads columns of a file written by {@link ColumnarWriter}.
+ *
+ * <p>Opening reads only the footer. {@link #readColumn(String, int)} then seeks to the chunk of one column in one
+ * row group and decodes nothing else, so a scan over a few columns costs a fraction of reading the rows.
+ * Values have the Java types listed on {@link ColumnType}; absent values are {@code null}.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+public final class ColumnarReader implements Closeable {
+    private static final int TRAILER_LENGTH = 8;
+
+    private final RandomAccessFile file;
+    private final Map<String, Integer> columnIndexes = new LinkedHashMap<>();
+    private final List<ColumnType> columnTypes = new ArrayList<>();
+    private final long rowCount;
+    private final int[] rowGroupRowCounts;
+    private final long[][] chunkOffsets;
+    private final int[][] chunkLengths;
+    private final int[][] chunkRawLengths;
+    private final Inflater inflater = new Inflater();
+
+    private ColumnarReader(
+            RandomAccessFile file,
+            DataInputStream footer
+    ) throws IOException {
+        this.file = file;
+        int columnCount = footer.readInt();
+        for (int col = 0; col < columnCount; col++) {
+            columnIndexes.putIfAbsent(footer.readUTF(), col);
+            columnTypes.add(ColumnType.values()[footer.readUnsignedByte()]);
+        }
+        this.rowCount = footer.readLong();
+        int rowGroupCount = footer.readInt();
+        this.rowGroupRowCounts = new int[rowGroupCount];
+        this.chunkOffsets = new long[rowGroupCount][columnCount];
+        this.chunkLengths = new int[rowGroupCount][columnCount];
+        this.chunkRawLengths = new int[rowGroupCount][columnCount];
+        for (int group = 0; group < rowGroupCount; group++) {
+            rowGroupRowCounts[group] = footer.readInt();
+            for (int col = 0; col < columnCount; col++) {
+                chunkOffsets[group][col] = footer.readLong();
+                chunkLengths[group][col] = footer.readInt();
+                chunkRawLengths[group][col] = footer.readInt();
+            }
+        }
+    }
+
+    /**
+     * @throws DocumentConversionException if the file is not a columnar file
+     * @throws IOException                 if the file cannot be read
+     */
+    public static ColumnarReader open(File columnarFile) throws IOException {
+        if (columnarFile == null) {
+            throw new DocumentConversionException("File cannot be null");
+        }
+        RandomAccessFile file = new RandomAccessFile(columnarFile, "r");
+        try {
+            long length = file.length();
+            if (length < 4 + TRAILER_LENGTH) {
+                throw notColumnar(columnarFile);
+            }
+            file.seek(0);
+            int leadingMagic = file.readInt();
+            file.seek(length - TRAILER_LENGTH);
+            int footerLength = file.readInt();
+            if (leadingMagic != ColumnarWriter.MAGIC || file.readInt() != ColumnarWriter.MAGIC
+                    || footerLength < 0 || footerLength > length - 4 - TRAILER_LENGTH) {
+                throw notColumnar(columnarFile);
+            }
+            byte[] footer = new byte[footerLength];
+            file.seek(length - TRAILER_LENGTH - footerLength);
+            file.readFully(footer);
+            return new ColumnarReader(file, new DataInputStream(new ByteArrayInputStream(footer)));
+        } catch (IOException | RuntimeException e) {
+            file.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the column names in field order.
+     */
+    public List<String> getColumnNames() {
+        return Collections.unmodifiableList(new ArrayList<>(columnIndexes.keySet()));
+    }
+
+    public ColumnType getColumnType(String columnName) {
+        return columnTypes.get(columnIndex(columnName));
+    }
+
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    public int getRowGroupCount() {
+        return rowGroupRowCounts.length;
+    }
+
+    public int getRowGroupRowCount(int rowGroup) {
+        return rowGroupRowCounts[checkRowGroup(rowGroup)];
+    }
+
+    /**
+     * Reads the values of one column in one row group.
+     */
+    public List<Object> readColumn(
+            String columnName,
+            int rowGroup
+    ) throws IOException {
+        int col = columnIndex(columnName);
+        int group = checkRowGroup(rowGroup);
+        List<Object> values = new ArrayList<>(rowGroupRowCounts[group]);
+        decodeChunk(group, col, values);
+        return values;
+    }
+
+    /**
+     * Reads the values of one column in all row groups.
+     */
+    public List<Object> readColumn(String columnName) throws IOException {
+        int col = columnIndex(columnName);
+        List<Object> values = new ArrayList<>((int) Math.min(rowCount, Integer.MAX_VALUE));
+        for (int group = 0; group < rowGroupRowCounts.length; group++) {
+            decodeChunk(group, col, values);
+        }
+        return values;
+    }
+
+    @Override
+    public void close() throws IOException {
+        inflater.end();
+        file.close();
+    }
+
+    private void decodeChunk(
+            int group,
+            int col,
+            List<Object> values
+    ) throws IOException {
+        int rows = rowGroupRowCounts[group];
+        byte[] chunk = inflateChunk(group, col);
+        int presenceLength = (rows + 7) / 8;
+        DataInputStream data = new DataInputStream(new ByteArrayInputStream(chunk, presenceLength, chunk.length - presenceLength));
+        ColumnType type = columnTypes.get(col);
+        for (int row = 0; row < rows; row++) {
+            boolean present = (chunk[row >>> 3] & (1 << (row & 7))) != 0;
+            values.add(present ? readValue(type, data) : null);
+        }
+    }
+
+    private byte[] inflateChunk(
+            int group,
+            int col
+    ) throws IOException {
+        byte[] compressed = new byte[chunkLengths[group][col]];
+        file.seek(chunkOffsets[group][col]);
+        file.readFully(compressed);
+        byte[] chunk = new byte[chunkRawLengths[group][col]];
+        inflater.reset();
+        inflater.setInput(compressed);
+        try {
+            if (inflater.inflate(chunk) != chunk.length || !inflater.finished()) {
+                throw new DocumentConversionException("Corrupt columnar chunk for row group " + group + ", column " + col);
+            }
+        } catch (DataFormatException e) {
+            throw new DocumentConversionException("Corrupt columnar chunk for row group " + group + ", column " + col, e);
+        }
+        return chunk;
+    }
+
+    private static Object readValue(
+            ColumnType type,
+            DataInputStream data
+    ) throws IOException {
+        switch (type) {
+            case BOOLEAN:
+                return data.readBoolean();
+            case INT32:
+                return data.readInt();
+            case INT64:
+                return data.readLong();
+            case FLOAT64:
+                return data.readDouble();
+            case DATE:
+                return LocalDate.ofEpochDay(data.readInt());
+            case TIMESTAMP:
+                long micros = data.readLong();
+                return LocalDateTime.ofEpochSecond(Math.floorDiv(micros, 1_000_000L),
+                        (int) Math.floorMod(micros, 1_000_000L) * 1_000, ZoneOffset.UTC);
+            default:
+                byte[] text = new byte[data.readInt()];
+                data.readFully(text);
+                return new String(text, StandardCharsets.UTF_8);
+        }
+    }
+
+    private int columnIndex(String columnName) {
+        Integer col = columnIndexes.get(columnName);
+        if (col == null) {
+            throw new DocumentConversionException("Unknown column: " + columnName);
+        }
+        return col;
+    }
+
+    private int checkRowGroup(int rowGroup) {
+        if (rowGroup < 0 || rowGroup >= rowGroupRowCounts.length) {
+            throw new DocumentConversionException("Row group " + rowGroup + " out of range [0, " + rowGroupRowCounts.length + ")");
+        }
+        return rowGroup;
+    }
+
+    private static DocumentConversionException notColumnar(File file) {
+        return new DocumentConversionException("Not a columnar file: " + file.getName());
+    }
+}
@@ -0,0 +1,253 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.EntityMappingException;
+import com.excelninja.domain.model.RowConsumer;
+import com.excelninja.infrastructure.converter.DefaultConverter;
+import com.excelninja.infrastructure.metadata.EntityMetadata;
+import com.excelninja.infrastructure.metadata.FieldMapping;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.Deflater;
+
+/**
+ * Receives entities one at a time and writes them as row groups of a columnar file; see {@link ColumnarWriter}
+ * for the layout.
+ *
+ * <p>The field values of an entity are encoded as soon as it is accepted, so the sink keeps no reference to it and
+ * can be fed from reads that reuse one entity instance.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+public final class ColumnarSink<T> implements RowConsumer<T>, Closeable {
+    private static final DefaultConverter CONVERTER = new DefaultConverter();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final List<FieldMapping> fields;
+    private final ColumnBuffer[] columns;
+    private final PositionOutputStream output;
+    private final boolean closeOutput;
+    private final int rowGroupSize;
+    private final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+    private final byte[] deflateBuffer = new byte[BUFFER_SIZE];
+    private final ByteArrayOutputStream footer = new ByteArrayOutputStream();
+    private final DataOutputStream footerData = new DataOutputStream(footer);
+    private int rowGroupCount;
+    private int bufferedRows;
+    private long rowCount;
+    private boolean closed;
+
+    ColumnarSink(
+            Class<T> entityType,
+            OutputStream outputStream,
+            boolean closeOutput,
+            int rowGroupSize
+    ) throws IOException {
+        this.fields = EntityMetadata.of(entityType).getReadFieldMappings();
+        if (fields.isEmpty()) {
+            throw EntityMappingException.noAnnotatedFields(entityType);
+        }
+        this.columns = new ColumnBuffer[fields.size()];
+        for (int col = 0; col < columns.length; col++) {
+            columns[col] = new ColumnBuffer(ColumnType.of(fields.get(col).getField().getType()), rowGroupSize);
+        }
+        this.output = new PositionOutputStream(new BufferedOutputStream(outputStream, BUFFER_SIZE));
+        this.closeOutput = closeOutput;
+        this.rowGroupSize = rowGroupSize;
+        new DataOutputStream(output).writeInt(ColumnarWriter.MAGIC);
+    }
+
+    @Override
+    public void accept(T entity) throws IOException {
+        if (closed) {
+            throw new DocumentConversionException("Columnar sink is closed");
+        }
+        for (int col = 0; col < columns.length; col++) {
+            columns[col].append(bufferedRows, fields.get(col).getValue(entity));
+        }
+        bufferedRows++;
+        rowCount++;
+        if (bufferedRows == rowGroupSize) {
+            writeRowGroup();
+        }
+    }
+
+    /**
+     * Returns the number of rows accepted so far.
+     */
+    public long getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Writes the last row group and the footer. The output is closed only if the sink was opened on a file.
+     */
+    @Override
+    public void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        try {
+            if (bufferedRows > 0) {
+                writeRowGroup();
+            }
+            writeFooter();
+            output.flush();
+        } finally {
+            deflater.end();
+            if (closeOutput) {
+                output.close();
+            }
+        }
+    }
+
+    /**
+     * Writes the chunk of every column and records its offset and lengths in the footer.
+     */
+    private void writeRowGroup() throws IOException {
+        footerData.writeInt(bufferedRows);
+        for (ColumnBuffer column : columns) {
+            byte[] chunk = column.finish(bufferedRows);
+            long offset = output.position;
+            deflater.reset();
+            deflater.setInput(chunk);
+            deflater.finish();
+            while (!deflater.finished()) {
+                int length = deflater.deflate(deflateBuffer);
+                output.write(deflateBuffer, 0, length);
+            }
+            footerData.writeLong(offset);
+            footerData.writeInt((int) (output.position - offset));
+            footerData.writeInt(chunk.length);
+        }
+        rowGroupCount++;
+        bufferedRows = 0;
+    }
+
+    private void writeFooter() throws IOException {
+        ByteArrayOutputStream schema = new ByteArrayOutputStream();
+        DataOutputStream schemaData = new DataOutputStream(schema);
+        schemaData.writeInt(columns.length);
+        for (int col = 0; col < columns.length; col++) {
+            schemaData.writeUTF(fields.get(col).getHeaderName());
+            schemaData.writeByte(columns[col].type.ordinal());
+        }
+        schemaData.writeLong(rowCount);
+        schemaData.writeInt(rowGroupCount);
+
+        DataOutputStream data = new DataOutputStream(output);
+        schema.writeTo(data);
+        footer.writeTo(data);
+        data.writeInt(schema.size() + footer.size());
+        data.writeInt(ColumnarWriter.MAGIC);
+    }
+
+    /**
+     * Encodes the values of one column for the current row group: a presence bit per row and the non-null values.
+     */
+    private static final class ColumnBuffer {
+        private final ColumnType type;
+        private final byte[] presence;
+        private final ByteArrayOutputStream values = new ByteArrayOutputStream();
+        private final DataOutputStream data = new DataOutputStream(values);
+
+        private ColumnBuffer(
+                ColumnType type,
+                int rowGroupSize
+        ) {
+            this.type = type;
+            this.presence = new byte[(rowGroupSize + 7) / 8];
+        }
+
+        void append(
+                int row,
+                Object value
+        ) throws IOException {
+            if (value == null) {
+                return;
+            }
+            presence[row >>> 3] |= (byte) (1 << (row & 7));
+            switch (type) {
+                case BOOLEAN:
+                    data.writeBoolean((Boolean) value);
+                    break;
+                case INT32:
+                    data.writeInt(((Number) value).intValue());
+                    break;
+                case INT64:
+                    data.writeLong(((Number) value).longValue());
+                    break;
+                case FLOAT64:
+                    data.writeDouble(((Number) value).doubleValue());
+                    break;
+                case DATE:
+                    data.writeInt((int) ((LocalDate) value).toEpochDay());
+                    break;
+                case TIMESTAMP:
+                    data.writeLong(epochMicros((LocalDateTime) CONVERTER.convert(value, LocalDateTime.class)));
+                    break;
+                default:
+                    byte[] text = ((String) CONVERTER.convert(value, String.class)).getBytes(StandardCharsets.UTF_8);
+                    data.writeInt(text.length);
+                    data.write(text);
+            }
+        }
+
+        /**
+         * Returns the chunk of {@code rowCount} rows and clears the buffer for the next row group.
+         */
+        byte[] finish(int rowCount) {
+            int presenceLength = (rowCount + 7) / 8;
+            byte[] chunk = new byte[presenceLength + values.size()];
+            System.arraycopy(presence, 0, chunk, 0, presenceLength);
+            System.arraycopy(values.toByteArray(), 0, chunk, presenceLength, values.size());
+            Arrays.fill(presence, 0, presenceLength, (byte) 0);
+            values.reset();
+            return chunk;
+        }
+
+        private static long epochMicros(LocalDateTime value) {
+            return value.toEpochSecond(ZoneOffset.UTC) * 1_000_000L + value.getNano() / 1_000;
+        }
+    }
+
+    /**
+     * Tracks the file offset of the next byte written.
+     */
+    private static final class PositionOutputStream extends FilterOutputStream {
+        private long position;
+
+        private PositionOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            position++;
+        }
+
+        @Override
+        public void write(
+                byte[] bytes,
+                int offset,
+                int length
+        ) throws IOException {
+            out.write(bytes, offset, length);
+            position += length;
+        }
+    }
+}
@@ -0,0 +1,235 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.CsvFormat;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.List;
+
+/**
+ * Splits delimited text read from a channel into records of fields.
+ *
+ * <p>Bytes are read into a direct buffer and decoded straight into a reused char array. Fields are scanned in
+ * place and materialized as one {@code String} each. Only fields that span two buffer fills or contain escaped
+ * quotes go through an intermediate builder. Quoted fields may contain delimiters and line breaks. An empty
+ * unquoted field is {@code null} (a blank cell), while {@code ""} is the empty string.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+final class CsvTokenizer {
+    private static final int BYTE_BUFFER_SIZE = 64 * 1024;
+    private static final int CHAR_BUFFER_SIZE = 64 * 1024;
+    private static final char BYTE_ORDER_MARK = '\uFEFF';
+
+    private final ReadableByteChannel channel;
+    private final char delimiter;
+    private final char quote;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes = ByteBuffer.allocateDirect(BYTE_BUFFER_SIZE);
+    private final char[] chars = new char[CHAR_BUFFER_SIZE];
+    private final CharBuffer charBuffer = CharBuffer.wrap(chars);
+    private final StringBuilder pending = new StringBuilder();
+    private int position;
+    private int limit;
+    private int segmentStart = -1;
+    private boolean endOfInput;
+    private boolean flushed;
+    private long recordNumber;
+
+    CsvTokenizer(
+            ReadableByteChannel channel,
+            CsvFormat format
+    ) {
+        this.channel = channel;
+        this.delimiter = format.getDelimiter();
+        this.quote = format.getQuote();
+        this.decoder = format.getCharset().newDecoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT);
+        this.bytes.flip();
+    }
+
+    /**
+     * Reads the next record into {@code fields}, replacing their previous content.
+     *
+     * @return {@code false} at the end of the input, leaving {@code fields} empty
+     */
+    boolean nextRecord(List<Object> fields) throws IOException {
+        fields.clear();
+        if (position == limit && !fill()) {
+            return false;
+        }
+        if (recordNumber == 0 && chars[position] == BYTE_ORDER_MARK) {
+            position++;
+            if (position == limit && !fill()) {
+                return false;
+            }
+        }
+        recordNumber++;
+        while (readField(fields)) {
+            // a delimiter followed the field
+        }
+        return true;
+    }
+
+    /**
+     * Returns the 1-based number of the record last read.
+     */
+    long getRecordNumber() {
+        return recordNumber;
+    }
+
+    /**
+     * Reads one field and its terminator.
+     *
+     * @return {@code true} when a delimiter followed, {@code false} at the end of the record or input
+     */
+    private boolean readField(List<Object> fields) throws IOException {
+        if (position == limit && !fill()) {
+            fields.add(null);
+            return false;
+        }
+        if (chars[position] == quote) {
+            position++;
+            fields.add(readQuoted());
+            return readTerminator();
+        }
+
+        segmentStart = position;
+        while (true) {
+            while (position < limit) {
+                char c = chars[position];
+                if (c == delimiter || c == '\n' || c == '\r') {
+                    fields.add(position == segmentStart && pending.length() == 0 ? null : takeSegment(position));
+                    return readTerminator();
+                }
+                position++;
+            }
+            if (!fill()) {
+                fields.add(takeSegment(position));
+                return false;
+            }
+        }
+    }
+
+    /**
+     * Reads a quoted field after its opening quote, up to and including the closing quote.
+     */
+    private String readQuoted() throws IOException {
+        segmentStart = position;
+        while (true) {
+            while (position < limit && chars[position] != quote) {
+                position++;
+            }
+            if (position == limit) {
+                if (!fill()) {
+                    throw new DocumentConversionException("Unterminated quoted field in record " + recordNumber);
+                }
+                continue;
+            }
+
+            pending.append(chars, segmentStart, position - segmentStart);
+            segmentStart = -1;
+            position++;
+            if ((position < limit || fill()) && chars[position] == quote) {
+                pending.append(quote);
+                position++;
+                segmentStart = position;
+            } else {
+                String value = pending.toString();
+                pending.setLength(0);
+                return value;
+            }
+        }
+    }
+
+    /**
+     * Consumes the delimiter or line break after a field.
+     *
+     * @return {@code true} when it was a delimiter
+     */
+    private boolean readTerminator() throws IOException {
+        if (position == limit && !fill()) {
+            return false;
+        }
+        char c = chars[position];
+        if (c == delimiter) {
+            position++;
+            return true;
+        }
+        if (c == '\n') {
+            position++;
+            return false;
+        }
+        if (c == '\r') {
+            position++;
+            if ((position < limit || fill()) && chars[position] == '\n') {
+                position++;
+            }
+            return false;
+        }
+        throw new DocumentConversionException("Unexpected character '" + c + "' after quoted field in record " + recordNumber);
+    }
+
+    private String takeSegment(int end) {
+        String value;
+        if (pending.length() == 0) {
+            value = new String(chars, segmentStart, end - segmentStart);
+        } else {
+            pending.append(chars, segmentStart, end - segmentStart);
+            value = pending.toString();
+            pending.setLength(0);
+        }
+        segmentStart = -1;
+        return value;
+    }
+
+    /**
+     * Decodes the next block of characters. The part of the current field that is still in the buffer is kept in
+     * {@link #pending} first.
+     *
+     * @return {@code false} at the end of the input
+     */
+    private boolean fill() throws IOException {
+        if (segmentStart >= 0) {
+            pending.append(chars, segmentStart, limit - segmentStart);
+            segmentStart = 0;
+        }
+        position = 0;
+        limit = 0;
+        if (flushed) {
+            return false;
+        }
+
+        charBuffer.clear();
+        try {
+            while (charBuffer.position() == 0) {
+                if (!endOfInput) {
+                    bytes.compact();
+                    endOfInput = channel.read(bytes) < 0;
+                    bytes.flip();
+                }
+                CoderResult result = decoder.decode(bytes, charBuffer, endOfInput);
+                if (result.isError()) {
+                    result.throwException();
+                }
+                if (endOfInput && result.isUnderflow()) {
+                    decoder.flush(charBuffer);
+                    flushed = true;
+                    break;
+                }
+            }
+        } catch (CharacterCodingException e) {
+            throw new DocumentConversionException("Input is not valid " + decoder.charset() + " near record " + Math.max(recordNumber, 1), e);
+        }
+        limit = charBuffer.position();
+        return limit > 0;
+    }
+}
@@ -0,0 +1,274 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.InvalidDocumentStructureException;
+import com.excelninja.domain.model.ChunkReader;
+import com.excelninja.domain.model.CsvFormat;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.Headers;
+import com.excelninja.domain.model.RowConsumer;
+import com.excelninja.domain.model.SheetName;
+import com.excelninja.domain.port.WorkbookReader;
+import com.excelninja.infrastructure.converter.DefaultConverter;
+import com.excelninja.infrastructure.metadata.EntityMetadata;
+import com.excelninja.infrastructure.metadata.EntityRowMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Reads CSV and TSV files through the same entity mapping as the Excel readers.
+ *
+ * <p>The first non-blank record is the header row. Fields are handed to the mappers as strings, so
+ * {@link DefaultConverter} parses numbers, booleans and dates exactly as it does for text cells. Empty unquoted
+ * fields are blank cells, and records whose fields are all blank are skipped like blank rows. Files are read through
+ * a {@link FileChannel} and streams through a channel adapter; see {@link CsvTokenizer}.
+ *
+ * <p>A file read as an {@link ExcelWorkbook} has one sheet named {@code Sheet1}.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ * Each read operation creates its own tokenizer.
+ */
+public class CsvWorkbookReader implements WorkbookReader {
+    private static final Logger logger = Logger.getLogger(CsvWorkbookReader.class.getName());
+    private static final DefaultConverter CONVERTER = new DefaultConverter();
+    private static final String READ_FAILURE = "Failed to read delimited file";
+
+    private final CsvFormat format;
+
+    public CsvWorkbookReader() {
+        this(CsvFormat.csv());
+    }
+
+    public CsvWorkbookReader(CsvFormat format) {
+        this.format = Objects.requireNonNull(format, "CSV format cannot be null");
+    }
+
+    public CsvFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public ExcelWorkbook read(File file) throws IOException {
+        try (ReadableByteChannel channel = openChannel(file)) {
+            return readWorkbook(channel);
+        }
+    }
+
+    /**
+     * Reads a workbook from the stream, which is consumed but not closed.
+     */
+    @Override
+    public ExcelWorkbook read(InputStream inputStream) throws IOException {
+        return readWorkbook(streamChannel(inputStream));
+    }
+
+    /**
+     * Converts every data record and passes it to {@code consumer} without collecting the rows.
+     *
+     * @return the number of rows delivered
+     */
+    public <T> long forEach(
+            File file,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        try (ReadableByteChannel channel = openChannel(file)) {
+            return forEach(channel, entityType, consumer);
+        }
+    }
+
+    public <T> long forEach(
+            InputStream inputStream,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        return forEach(streamChannel(inputStream), entityType, consumer);
+    }
+
+    /**
+     * Returns the entities of the file in chunks of {@code chunkSize}. Records are tokenized on demand when the
+     * next chunk is requested; closing the reader closes the file.
+     */
+    public <T> ChunkReader<T> readInChunks(
+            File file,
+            Class<T> entityType,
+            int chunkSize
+    ) throws IOException {
+        validateChunkSize(chunkSize);
+        ReadableByteChannel channel = openChannel(file);
+        try {
+            return new PullChunkReader<>(new RecordMapper<>(new CsvTokenizer(channel, format), entityType)::next, channel, chunkSize, READ_FAILURE);
+        } catch (IOException | RuntimeException e) {
+            closeChannel(channel);
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the entities of the stream in chunks of {@code chunkSize}. The stream is consumed as chunks are
+     * requested and is not closed.
+     */
+    public <T> ChunkReader<T> readInChunks(
+            InputStream inputStream,
+            Class<T> entityType,
+            int chunkSize
+    ) throws IOException {
+        validateChunkSize(chunkSize);
+        ReadableByteChannel channel = streamChannel(inputStream);
+        return new PullChunkReader<>(new RecordMapper<>(new CsvTokenizer(channel, format), entityType)::next, null, chunkSize, READ_FAILURE);
+    }
+
+    private ExcelWorkbook readWorkbook(ReadableByteChannel channel) throws IOException {
+        CsvTokenizer tokenizer = new CsvTokenizer(channel, format);
+        List<String> headers = readHeaders(tokenizer);
+        List<List<Object>> rows = new ArrayList<>();
+        List<Object> fields = new ArrayList<>();
+        while (tokenizer.nextRecord(fields)) {
+            if (!isBlank(fields)) {
+                rows.add(fitToHeaders(fields, headers.size()));
+            }
+        }
+        String sheetName = SheetName.defaultName().getValue();
+        ExcelSheet sheet = ExcelSheet.builder().name(sheetName).headers(headers).rows(rows).build();
+        return ExcelWorkbook.builder().sheet(sheetName, sheet).build();
+    }
+
+    private <T> long forEach(
+            ReadableByteChannel channel,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        RecordMapper<T> mapper = new RecordMapper<>(new CsvTokenizer(channel, format), entityType);
+        long deliveredRows = 0;
+        T entity;
+        while ((entity = mapper.next()) != null) {
+            try {
+                consumer.accept(entity);
+            } catch (DocumentConversionException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DocumentConversionException("Row consumer failed at record " + mapper.tokenizer.getRecordNumber(), e);
+            }
+            deliveredRows++;
+        }
+        return deliveredRows;
+    }
+
+    private static List<String> readHeaders(CsvTokenizer tokenizer) throws IOException {
+        List<Object> fields = new ArrayList<>();
+        while (tokenizer.nextRecord(fields)) {
+            if (!isBlank(fields)) {
+                List<String> headers = new ArrayList<>(fields.size());
+                fields.forEach(field -> headers.add(field != null ? field.toString().trim() : ""));
+                return headers;
+            }
+        }
+        throw new InvalidDocumentStructureException("No headers found in delimited file");
+    }
+
+    /**
+     * Pads a short record with {@code null} and drops the fields of a long one beyond the header columns, as the
+     * Excel readers do for ragged rows.
+     */
+    private static List<Object> fitToHeaders(
+            List<Object> fields,
+            int columnCount
+    ) {
+        List<Object> row = new ArrayList<>(fields.subList(0, Math.min(fields.size(), columnCount)));
+        while (row.size() < columnCount) {
+            row.add(null);
+        }
+        return row;
+    }
+
+    private static boolean isBlank(List<Object> fields) {
+        for (Object field : fields) {
+            if (field != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static ReadableByteChannel openChannel(File file) throws IOException {
+        if (file == null) {
+            throw new DocumentConversionException("File cannot be null");
+        }
+        return FileChannel.open(file.toPath(), StandardOpenOption.READ);
+    }
+
+    /**
+     * Adapts a stream without taking ownership of it: closing the channel would close the stream.
+     */
+    private static ReadableByteChannel streamChannel(InputStream inputStream) {
+        if (inputStream == null) {
+            throw new DocumentConversionException("InputStream cannot be null");
+        }
+        return Channels.newChannel(inputStream);
+    }
+
+    private static void validateChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new DocumentConversionException("Chunk size must be positive");
+        }
+    }
+
+    private static void closeChannel(ReadableByteChannel channel) {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing delimited file", e);
+        }
+    }
+
+    /**
+     * Maps the data records of a tokenizer to entities, reading the header record first.
+     */
+    private static final class RecordMapper<T> {
+        private final CsvTokenizer tokenizer;
+        private final EntityMetadata<T> entityMetadata;
+        private final EntityRowMapper<T> rowMapper;
+        private final List<Object> fields = new ArrayList<>();
+
+        private RecordMapper(
+                CsvTokenizer tokenizer,
+                Class<T> entityType
+        ) throws IOException {
+            this.tokenizer = tokenizer;
+            this.entityMetadata = EntityMetadata.of(entityType);
+            this.rowMapper = EntityRowMapper.forHeaders(entityMetadata, Headers.of(readHeaders(tokenizer)), CONVERTER);
+        }
+
+        /**
+         * Returns the entity of the next non-blank record, or {@code null} at the end of the input.
+         */
+        T next() throws IOException {
+            while (tokenizer.nextRecord(fields)) {
+                if (isBlank(fields)) {
+                    continue;
+                }
+                try {
+                    return rowMapper.map(fields);
+                } catch (Exception e) {
+                    throw new DocumentConversionException(
+                            "Failed to convert record " + tokenizer.getRecordNumber() + " to entity " + entityMetadata,
+                            e
+                    );
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,268 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.EntityMappingException;
+import com.excelninja.domain.model.CsvFormat;
+import com.excelninja.domain.model.DocumentRow;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.port.WorkbookWriter;
+import com.excelninja.infrastructure.converter.DefaultConverter;
+import com.excelninja.infrastructure.metadata.EntityMetadata;
+import com.excelninja.infrastructure.metadata.FieldMapping;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.CodingErrorAction;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Writes workbooks and entity streams as CSV or TSV through the same {@code @ExcelWriteColumn} mapping as the
+ * Excel writers.
+ *
+ * <p>Values are formatted by {@link DefaultConverter}, so numbers are plain decimals and dates ISO-8601, which
+ * {@link CsvWorkbookReader} parses back. Fields are quoted only when they contain the delimiter, the quote or a
+ * line break; empty strings are written as {@code ""} so that they stay distinct from blank cells.
+ *
+ * <p>A delimited file holds one sheet, so workbooks with several sheets are rejected.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ */
+public class CsvWorkbookWriter implements WorkbookWriter {
+    private static final DefaultConverter CONVERTER = new DefaultConverter();
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final CsvFormat format;
+
+    public CsvWorkbookWriter() {
+        this(CsvFormat.csv());
+    }
+
+    public CsvWorkbookWriter(CsvFormat format) {
+        this.format = Objects.requireNonNull(format, "CSV format cannot be null");
+    }
+
+    public CsvFormat getFormat() {
+        return format;
+    }
+
+    @Override
+    public void write(
+            ExcelWorkbook workbook,
+            File file
+    ) throws IOException {
+        try (OutputStream fileOutput = new FileOutputStream(file)) {
+            write(workbook, fileOutput);
+        }
+    }
+
+    /**
+     * Writes the workbook's only sheet. The given stream is flushed but not closed.
+     */
+    @Override
+    public void write(
+            ExcelWorkbook workbook,
+            OutputStream outputStream
+    ) throws IOException {
+        if (workbook.getSheetNames().size() != 1) {
+            throw new DocumentConversionException("Delimited files hold exactly one sheet, workbook has " + workbook.getSheetNames().size());
+        }
+        ExcelSheet sheet = workbook.getSheet(workbook.getSheetNames().iterator().next());
+        List<String> headers = sheet.getHeaders().getHeaderNames();
+
+        Writer writer = newWriter(outputStream);
+        writeRecord(writer, headers.toArray(), headers.size());
+        Object[] fields = new Object[headers.size()];
+        for (DocumentRow row : sheet.getRows().getRows()) {
+            int columnCount = Math.min(row.getColumnCount(), fields.length);
+            for (int col = 0; col < fields.length; col++) {
+                fields[col] = col < columnCount ? row.getValue(col) : null;
+            }
+            writeRecord(writer, fields, fields.length);
+        }
+        writer.flush();
+    }
+
+    /**
+     * Writes a header record and one record per entity without building a sheet first, so memory use does not
+     * depend on the number of rows. The given stream is flushed but not closed.
+     *
+     * @return the number of data records written
+     */
+    public <T> long write(
+            Iterator<? extends T> entities,
+            Class<T> entityType,
+            OutputStream outputStream
+    ) throws IOException {
+        List<FieldMapping> writeFields = EntityMetadata.of(entityType).getWriteFieldMappings();
+        if (writeFields.isEmpty()) {
+            throw EntityMappingException.noAnnotatedFields(entityType);
+        }
+
+        Writer writer = newWriter(outputStream);
+        Object[] fields = new Object[writeFields.size()];
+        for (int col = 0; col < fields.length; col++) {
+            fields[col] = writeFields.get(col).getHeaderName();
+        }
+        writeRecord(writer, fields, fields.length);
+
+        long writtenRows = 0;
+        while (entities.hasNext()) {
+            T entity = entities.next();
+            for (int col = 0; col < fields.length; col++) {
+                fields[col] = writeFields.get(col).getValue(entity);
+            }
+            writeRecord(writer, fields, fields.length);
+            writtenRows++;
+        }
+        writer.flush();
+        return writtenRows;
+    }
+
+    public <T> long write(
+            Iterator<? extends T> entities,
+            Class<T> entityType,
+            File file
+    ) throws IOException {
+        try (OutputStream fileOutput = new FileOutputStream(file)) {
+            return write(entities, entityType, fileOutput);
+        }
+    }
+
+    private Writer newWriter(OutputStream outputStream) {
+        return new FastBufferedWriter(new OutputStreamWriter(outputStream, format.getCharset().newEncoder()
+                .onMalformedInput(CodingErrorAction.REPORT)
+                .onUnmappableCharacter(CodingErrorAction.REPORT)));
+    }
+
+    /**
+     * Writes {@code columnCount} fields and a line separator. Null fields are left empty.
+     */
+    private void writeRecord(
+            Writer writer,
+            Object[] fields,
+            int columnCount
+    ) throws IOException {
+        for (int col = 0; col < columnCount; col++) {
+            if (col > 0) {
+                writer.write(format.getDelimiter());
+            }
+            Object field = fields[col];
+            if (field != null) {
+                writeField(writer, field instanceof String ? (String) field : (String) CONVERTER.convert(field, String.class));
+            }
+        }
+        writer.write(format.getLineSeparator());
+    }
+
+    private void writeField(
+            Writer writer,
+            String value
+    ) throws IOException {
+        char delimiter = format.getDelimiter();
+        char quote = format.getQuote();
+        boolean quoted = value.isEmpty();
+        for (int i = 0; i < value.length() && !quoted; i++) {
+            char c = value.charAt(i);
+            quoted = c == delimiter || c == quote || c == '\n' || c == '\r';
+        }
+        if (!quoted) {
+            writer.write(value);
+            return;
+        }
+
+        writer.write(quote);
+        int start = 0;
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) == quote) {
+                writer.write(value, start, i + 1 - start);
+                writer.write(quote);
+                start = i + 1;
+            }
+        }
+        writer.write(value, start, value.length() - start);
+        writer.write(quote);
+    }
+
+    /**
+     * An unsynchronized buffer in front of the encoder; {@link java.io.BufferedWriter} locks on every call.
+     */
+    private static final class FastBufferedWriter extends Writer {
+        private final Writer out;
+        private final char[] buffer = new char[BUFFER_SIZE];
+        private int count;
+
+        private FastBufferedWriter(Writer out) {
+            this.out = out;
+        }
+
+        @Override
+        public void write(int c) throws IOException {
+            if (count == buffer.length) {
+                flushBuffer();
+            }
+            buffer[count++] = (char) c;
+        }
+
+        @Override
+        public void write(
+                String value,
+                int offset,
+                int length
+        ) throws IOException {
+            if (length > buffer.length - count) {
+                flushBuffer();
+                if (length > buffer.length) {
+                    out.write(value, offset, length);
+                    return;
+                }
+            }
+            value.getChars(offset, offset + length, buffer, count);
+            count += length;
+        }
+
+        @Override
+        public void write(
+                char[] chars,
+                int offset,
+                int length
+        ) throws IOException {
+            if (length > buffer.length - count) {
+                flushBuffer();
+                if (length > buffer.length) {
+                    out.write(chars, offset, length);
+                    return;
+                }
+            }
+            System.arraycopy(chars, offset, buffer, count, length);
+            count += length;
+        }
+
+        @Override
+        public void flush() throws IOException {
+            flushBuffer();
+            out.flush();
+        }
+
+        /**
+         * Flushes without closing; the underlying stream belongs to the caller.
+         */
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+
+        private void flushBuffer() throws IOException {
+            if (count > 0) {
+                out.write(buffer, 0, count);
+                count = 0;
+            }
+        }
+    }
+}
@@ -0,0 +1,329 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.infrastructure.metadata.EntityMetadata;
+import com.excelninja.infrastructure.metadata.FieldMapping;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Caches converted entity lists of hot lookup workbooks, so repeated reads skip parsing and conversion.
+ *
+ * <p>Entries are keyed by the canonical path of the file and the {@link EntityMetadata} the entities were mapped
+ * with. Each entry remembers the size and modification time of the file it was read from; a lookup that finds the
+ * file changed drops the entry and reloads. A file rewritten with the same size within one tick of the file
+ * system's modification time is not detected; {@link SheetCache.KeyStrategy#CONTENT_HASH} validates entries by
+ * the SHA-256 of the file content instead, at the cost of reading the file on every lookup. Entries also expire
+ * after a time to live, and the cache is bounded by the estimated heap size of its entities, evicting the least
+ * recently used entries first.
+ *
+ * <p>Cached lists are unmodifiable and shared between callers, and so are the entities in them: callers must not
+ * modify them.
+ *
+ * <p><b>Thread Safety:</b> This class is thread-safe. Concurrent misses on the same key may each load it.
+ */
+public final class EntityCache {
+    private static final int WEIGHT_SAMPLE_SIZE = 32;
+    private static final Duration MAX_TTL = Duration.ofNanos(Long.MAX_VALUE);
+
+    /**
+     * Reads and converts the entities on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader<T> {
+        List<T> load() throws IOException;
+    }
+
+    private final SheetCache.KeyStrategy keyStrategy;
+    private final long maxWeightBytes;
+    private final long ttlNanos;
+    private final LongSupplier ticker;
+    private final LinkedHashMap<Key, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+    private long weightBytes;
+
+    private EntityCache(EntityCacheBuilder builder) {
+        this.keyStrategy = builder.keyStrategy;
+        this.maxWeightBytes = builder.maxWeightBytes;
+        this.ttlNanos = builder.ttl.toNanos();
+        this.ticker = builder.ticker;
+    }
+
+    public static EntityCacheBuilder builder() {
+        return new EntityCacheBuilder();
+    }
+
+    /**
+     * Returns the cached entities of {@code file}, loading and caching them on a miss or when the file changed.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> List<T> get(
+            File file,
+            EntityMetadata<T> entityMetadata,
+            Loader<T> loader
+    ) throws IOException {
+        BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        Key key = new Key(file.getCanonicalPath(), entityMetadata);
+        long size = attributes.size();
+        long modified = attributes.lastModifiedTime().toMillis();
+        byte[] contentHash = keyStrategy == SheetCache.KeyStrategy.CONTENT_HASH ? SheetCache.contentHash(file) : null;
+
+        synchronized (this) {
+            Entry entry = entries.get(key);
+            if (entry != null) {
+                if (entry.matches(size, modified, contentHash) && ticker.getAsLong() - entry.expiresAt < 0) {
+                    hits.incrementAndGet();
+                    return (List<T>) entry.entities;
+                }
+                remove(key);
+            }
+        }
+
+        misses.incrementAndGet();
+        List<T> entities = Collections.unmodifiableList(loader.load());
+        long weight = estimateBytes(entities, entityMetadata);
+        if (weight <= maxWeightBytes) {
+            synchronized (this) {
+                Entry previous = entries.put(key, new Entry(entities, weight, size, modified, contentHash, ticker.getAsLong() + ttlNanos));
+                weightBytes += weight - (previous != null ? previous.weight : 0);
+                Iterator<Entry> eldest = entries.values().iterator();
+                while (weightBytes > maxWeightBytes && eldest.hasNext()) {
+                    weightBytes -= eldest.next().weight;
+                    eldest.remove();
+                    evictions.incrementAndGet();
+                }
+            }
+        }
+        return entities;
+    }
+
+    /**
+     * Drops the entries of {@code file} for every entity type.
+     */
+    public synchronized void invalidate(File file) throws IOException {
+        String path = file.getCanonicalPath();
+        Iterator<Map.Entry<Key, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Key, Entry> entry = iterator.next();
+            if (entry.getKey().path.equals(path)) {
+                weightBytes -= entry.getValue().weight;
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        weightBytes = 0;
+    }
+
+    public long getHitCount() {
+        return hits.get();
+    }
+
+    public long getMissCount() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of entries dropped to stay within the weight bound.
+     */
+    public long getEvictionCount() {
+        return evictions.get();
+    }
+
+    public synchronized int getEntryCount() {
+        return entries.size();
+    }
+
+    /**
+     * Returns the estimated heap size of the cached entities.
+     */
+    public synchronized long getWeightBytes() {
+        return weightBytes;
+    }
+
+    private void remove(Key key) {
+        Entry removed = entries.remove(key);
+        if (removed != null) {
+            weightBytes -= removed.weight;
+        }
+    }
+
+    /**
+     * Estimates the heap size of the entities from the read fields of up to {@value #WEIGHT_SAMPLE_SIZE} of them,
+     * spread over the list, scaled to the list size.
+     */
+    static <T> long estimateBytes(
+            List<T> entities,
+            EntityMetadata<T> entityMetadata
+    ) {
+        if (entities.isEmpty()) {
+            return 64;
+        }
+        List<FieldMapping> fields = entityMetadata.getReadFieldMappings();
+        int samples = Math.min(entities.size(), WEIGHT_SAMPLE_SIZE);
+        long sampledBytes = 0;
+        for (int i = 0; i < samples; i++) {
+            T entity = entities.get((int) ((long) i * entities.size() / samples));
+            sampledBytes += 16;
+            for (FieldMapping field : fields) {
+                sampledBytes += fieldBytes(field.getField().getType(), field.getValue(entity));
+            }
+        }
+        return 64 + 8L * entities.size() + sampledBytes * entities.size() / samples;
+    }
+
+    private static long fieldBytes(
+            Class<?> fieldType,
+            Object value
+    ) {
+        if (fieldType == long.class || fieldType == double.class) {
+            return 8;
+        }
+        if (fieldType.isPrimitive()) {
+            return 4;
+        }
+        if (value == null) {
+            return 4;
+        }
+        if (value instanceof CharSequence) {
+            return 4 + 40 + 2L * ((CharSequence) value).length();
+        }
+        return 4 + 24;
+    }
+
+    private static final class Key {
+        private final String path;
+        private final EntityMetadata<?> entityMetadata;
+
+        private Key(
+                String path,
+                EntityMetadata<?> entityMetadata
+        ) {
+            this.path = path;
+            this.entityMetadata = entityMetadata;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return path.equals(key.path) && entityMetadata == key.entityMetadata;
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * path.hashCode() + System.identityHashCode(entityMetadata);
+        }
+    }
+
+    private static final class Entry {
+        private final List<?> entities;
+        private final long weight;
+        private final long size;
+        private final long modified;
+        private final byte[] contentHash;
+        private final long expiresAt;
+
+        private Entry(
+                List<?> entities,
+                long weight,
+                long size,
+                long modified,
+                byte[] contentHash,
+                long expiresAt
+        ) {
+            this.entities = entities;
+            this.weight = weight;
+            this.size = size;
+            this.modified = modified;
+            this.contentHash = contentHash;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Compares content hashes when they were computed and file attributes otherwise.
+         */
+        private boolean matches(
+                long size,
+                long modified,
+                byte[] contentHash
+        ) {
+            if (this.contentHash != null && contentHash != null) {
+                return Arrays.equals(this.contentHash, contentHash);
+            }
+            return this.size == size && this.modified == modified;
+        }
+    }
+
+    public static class EntityCacheBuilder {
+        private SheetCache.KeyStrategy keyStrategy = SheetCache.KeyStrategy.FILE_ATTRIBUTES;
+        private long maxWeightBytes = 64L * 1024 * 1024;
+        private Duration ttl = Duration.ofMinutes(10);
+        private LongSupplier ticker = System::nanoTime;
+
+        /**
+         * Sets how entries are validated against their file. Defaults to
+         * {@link SheetCache.KeyStrategy#FILE_ATTRIBUTES}.
+         */
+        public EntityCacheBuilder keyStrategy(SheetCache.KeyStrategy keyStrategy) {
+            if (keyStrategy == null) {
+                throw new DocumentConversionException("Key strategy cannot be null");
+            }
+            this.keyStrategy = keyStrategy;
+            return this;
+        }
+
+        /**
+         * Bounds the estimated heap size of the cached entities. Defaults to 64 MB.
+         */
+        public EntityCacheBuilder maxWeightBytes(long maxWeightBytes) {
+            if (maxWeightBytes < 0) {
+                throw new DocumentConversionException("Weight bound cannot be negative");
+            }
+            this.maxWeightBytes = maxWeightBytes;
+            return this;
+        }
+
+        /**
+         * Sets how long an entry is served after it was loaded, at most {@link Long#MAX_VALUE} nanoseconds (about
+         * 292 years). Defaults to 10 minutes.
+         */
+        public EntityCacheBuilder ttl(Duration ttl) {
+            if (ttl == null || ttl.isNegative() || ttl.isZero()) {
+                throw new DocumentConversionException("TTL must be positive");
+            }
+            if (ttl.compareTo(MAX_TTL) > 0) {
+                throw new DocumentConversionException("TTL cannot exceed " + MAX_TTL);
+            }
+            this.ttl = ttl;
+            return this;
+        }
+
+        EntityCacheBuilder ticker(LongSupplier ticker) {
+            this.ticker = Objects.requireNonNull(ticker);
+            return this;
+        }
+
+        public EntityCache build() {
+            return new EntityCache(this);
+        }
+    }
+}
@@ -0,0 +1,339 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.SheetVisibility;
+import com.excelninja.domain.model.WorkbookMetadata;
+import org.apache.poi.hpsf.PropertySetFactory;
+import org.apache.poi.hpsf.SummaryInformation;
+import org.apache.poi.hssf.eventusermodel.FormatTrackingHSSFListener;
+import org.apache.poi.hssf.record.BOFRecord;
+import org.apache.poi.hssf.record.BoolErrRecord;
+import org.apache.poi.hssf.record.BoundSheetRecord;
+import org.apache.poi.hssf.record.CellValueRecordInterface;
+import org.apache.poi.hssf.record.DateWindow1904Record;
+import org.apache.poi.hssf.record.DimensionsRecord;
+import org.apache.poi.hssf.record.EOFRecord;
+import org.apache.poi.hssf.record.FormulaRecord;
+import org.apache.poi.hssf.record.LabelRecord;
+import org.apache.poi.hssf.record.LabelSSTRecord;
+import org.apache.poi.hssf.record.NumberRecord;
+import org.apache.poi.hssf.record.Record;
+import org.apache.poi.hssf.record.RecordFactoryInputStream;
+import org.apache.poi.hssf.record.SSTRecord;
+import org.apache.poi.hssf.record.StringRecord;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.poifs.filesystem.POIFSFileSystem;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pulls the rows of a legacy {@code .xls} (BIFF8) workbook record by record.
+ *
+ * <p>This is the loop that POI's {@code HSSFEventFactory} runs, turned inside out: records come from a
+ * {@link RecordFactoryInputStream} when the caller asks for the next row, and a {@link FormatTrackingHSSFListener}
+ * tracks number formats so that date cells can be recognized. Only the workbook globals (sheet list, shared strings,
+ * formats) and the cells of the current row are held in memory. Cell values have the same types as in
+ * {@link StreamingWorkbookReader}: strings, {@code Long} for whole numbers, {@code Double}, {@code Boolean},
+ * {@code java.util.Date} for date-formatted numbers and {@code "ERROR: #..."} for error cells.
+ *
+ * <p>Sheets are visited in stream order, which for files written by Excel and POI is the tab order.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+final class HssfRecordReader implements RowSource, Closeable {
+    private final POIFSFileSystem fileSystem;
+    private final RecordFactoryInputStream records;
+    private final FormatTrackingHSSFListener formats = new FormatTrackingHSSFListener(record -> {});
+    private final List<BoundSheetRecord> boundSheets = new ArrayList<>();
+    private BoundSheetRecord[] sheetsInStreamOrder = new BoundSheetRecord[0];
+    private SSTRecord sharedStrings;
+    private boolean date1904;
+    private int nextSheetIndex;
+    private int depth;
+    private boolean inSheet;
+    private Record pushedBack;
+    private int rowNumber;
+    private int pendingStringColumn = -1;
+
+    private HssfRecordReader(POIFSFileSystem fileSystem) throws IOException {
+        this.fileSystem = fileSystem;
+        InputStream workbookStream = fileSystem.createDocumentInputStream(HSSFWorkbook.getWorkbookDirEntryName(fileSystem.getRoot()));
+        this.records = new RecordFactoryInputStream(workbookStream, false);
+        readGlobals();
+    }
+
+    /**
+     * Opens a file read-only; POIFS reads its sectors on demand through a file channel.
+     */
+    static HssfRecordReader open(File file) throws IOException {
+        return open(new POIFSFileSystem(file, true));
+    }
+
+    /**
+     * Opens a workbook from the stream, which is consumed but not closed. OLE2 containers need random access, so
+     * the stream is buffered in memory.
+     */
+    static HssfRecordReader open(InputStream inputStream) throws IOException {
+        return open(new POIFSFileSystem(inputStream));
+    }
+
+    private static HssfRecordReader open(POIFSFileSystem fileSystem) throws IOException {
+        try {
+            return new HssfRecordReader(fileSystem);
+        } catch (IOException | RuntimeException e) {
+            fileSystem.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the sheet names in tab order.
+     */
+    List<String> getSheetNames() {
+        List<String> names = new ArrayList<>(boundSheets.size());
+        boundSheets.forEach(sheet -> names.add(sheet.getSheetname()));
+        return names;
+    }
+
+    WorkbookMetadata getMetadata() {
+        try {
+            SummaryInformation summary = (SummaryInformation) PropertySetFactory.create(fileSystem.getRoot(), SummaryInformation.DEFAULT_STREAM_NAME);
+            LocalDateTime createdDate = summary.getCreateDateTime() != null
+                    ? LocalDateTime.ofInstant(summary.getCreateDateTime().toInstant(), ZoneId.systemDefault())
+                    : null;
+            return new WorkbookMetadata(summary.getAuthor(), summary.getTitle(), createdDate);
+        } catch (Exception e) {
+            // Summary information is optional; files written by other tools often omit it
+            return new WorkbookMetadata();
+        }
+    }
+
+    /**
+     * Describes every worksheet with the row span of its {@code DIMENSIONS} record. Each sheet is read up to that
+     * record, which precedes the cells; the rest of the sheet is skipped record by record without decoding cells.
+     * Consumes the reader.
+     */
+    List<SheetInfo> readSheetInfo() throws IOException {
+        List<SheetInfo> infos = new ArrayList<>();
+        for (BoundSheetRecord sheet : boundSheets) {
+            infos.add(new SheetInfo(sheet.getSheetname(), visibility(sheet), SheetInfo.UNKNOWN_ROW_COUNT));
+        }
+        String sheetName;
+        while ((sheetName = nextSheet()) != null) {
+            DimensionsRecord dimensions = readDimensions();
+            if (dimensions == null) {
+                continue;
+            }
+            for (int i = 0; i < infos.size(); i++) {
+                SheetInfo info = infos.get(i);
+                if (info.getName().equals(sheetName)) {
+                    infos.set(i, new SheetInfo(sheetName, info.getVisibility(), Math.max(0, dimensions.getLastRow() - dimensions.getFirstRow())));
+                }
+            }
+        }
+        return infos;
+    }
+
+    /**
+     * Moves to the next worksheet, skipping the rest of the current one and any chart, macro or module sheets.
+     *
+     * @return the name of the worksheet, or {@code null} when there are no more
+     */
+    String nextSheet() throws IOException {
+        while (inSheet) {
+            nextSheetRecord();
+        }
+        Record record;
+        while ((record = records.nextRecord()) != null) {
+            if (!(record instanceof BOFRecord)) {
+                continue;
+            }
+            int index = nextSheetIndex++;
+            depth = 1;
+            inSheet = true;
+            pushedBack = null;
+            rowNumber = 0;
+            pendingStringColumn = -1;
+            if (((BOFRecord) record).getType() == BOFRecord.TYPE_WORKSHEET) {
+                return index < sheetsInStreamOrder.length ? sheetsInStreamOrder[index].getSheetname() : "Sheet" + (index + 1);
+            }
+            while (inSheet) {
+                nextSheetRecord();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Reads the next row of the current worksheet.
+     */
+    @Override
+    public boolean nextRow(List<Object> row) throws IOException {
+        row.clear();
+        int currentRow = -1;
+        Record record;
+        while ((record = nextSheetRecord()) != null) {
+            if (record instanceof StringRecord) {
+                if (pendingStringColumn >= 0 && currentRow >= 0) {
+                    row.set(pendingStringColumn, ((StringRecord) record).getString());
+                }
+                pendingStringColumn = -1;
+                continue;
+            }
+            if (!(record instanceof CellValueRecordInterface)) {
+                continue;
+            }
+            CellValueRecordInterface cell = (CellValueRecordInterface) record;
+            if (currentRow >= 0 && cell.getRow() != currentRow) {
+                pushedBack = record;
+                break;
+            }
+            pendingStringColumn = -1;
+            Object value = cellValue(cell);
+            if (value == null) {
+                continue;
+            }
+            currentRow = cell.getRow();
+            int column = cell.getColumn();
+            while (row.size() <= column) {
+                row.add(null);
+            }
+            row.set(column, value);
+        }
+        if (currentRow < 0) {
+            return false;
+        }
+        rowNumber = currentRow + 1;
+        return true;
+    }
+
+    @Override
+    public int getRowNumber() {
+        return rowNumber;
+    }
+
+    @Override
+    public void close() throws IOException {
+        fileSystem.close();
+    }
+
+    private void readGlobals() {
+        Record record = records.nextRecord();
+        if (!(record instanceof BOFRecord) || ((BOFRecord) record).getType() != BOFRecord.TYPE_WORKBOOK) {
+            throw new DocumentConversionException("Workbook stream does not start with a workbook BOF record");
+        }
+        while ((record = records.nextRecord()) != null && !(record instanceof EOFRecord)) {
+            formats.processRecordInternally(record);
+            if (record instanceof BoundSheetRecord) {
+                boundSheets.add((BoundSheetRecord) record);
+            } else if (record instanceof SSTRecord) {
+                sharedStrings = (SSTRecord) record;
+            } else if (record instanceof DateWindow1904Record) {
+                date1904 = ((DateWindow1904Record) record).getWindowing() == 1;
+            }
+        }
+        sheetsInStreamOrder = BoundSheetRecord.orderByBofPosition(boundSheets);
+    }
+
+    /**
+     * Returns the next record of the current sheet, tracking nested substreams such as embedded charts.
+     *
+     * @return {@code null} once the sheet's EOF record is reached
+     */
+    private Record nextSheetRecord() {
+        if (!inSheet) {
+            return null;
+        }
+        if (pushedBack != null) {
+            Record record = pushedBack;
+            pushedBack = null;
+            return record;
+        }
+        Record record = records.nextRecord();
+        if (record == null) {
+            inSheet = false;
+            return null;
+        }
+        if (record instanceof BOFRecord) {
+            depth++;
+        } else if (record instanceof EOFRecord && --depth == 0) {
+            inSheet = false;
+            return null;
+        }
+        return record;
+    }
+
+    private DimensionsRecord readDimensions() {
+        Record record;
+        while ((record = nextSheetRecord()) != null) {
+            if (record instanceof DimensionsRecord) {
+                return (DimensionsRecord) record;
+            }
+            if (record instanceof CellValueRecordInterface) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value of a cell record, or {@code null} for blank cells. A formula with a string result returns
+     * an empty string and leaves its column pending until the {@code STRING} record that carries the result.
+     */
+    private Object cellValue(CellValueRecordInterface cell) {
+        if (cell instanceof LabelSSTRecord) {
+            return sharedStrings.getString(((LabelSSTRecord) cell).getSSTIndex()).getString();
+        }
+        if (cell instanceof LabelRecord) {
+            return ((LabelRecord) cell).getValue();
+        }
+        if (cell instanceof NumberRecord) {
+            return numericValue(cell, ((NumberRecord) cell).getValue());
+        }
+        if (cell instanceof BoolErrRecord) {
+            BoolErrRecord boolErr = (BoolErrRecord) cell;
+            return boolErr.isBoolean() ? boolErr.getBooleanValue() : RowSources.errorValue(boolErr.getErrorValue());
+        }
+        if (cell instanceof FormulaRecord) {
+            FormulaRecord formula = (FormulaRecord) cell;
+            switch (formula.getCachedResultTypeEnum()) {
+                case NUMERIC:
+                    return numericValue(cell, formula.getValue());
+                case STRING:
+                    pendingStringColumn = cell.getColumn();
+                    return "";
+                case BOOLEAN:
+                    return formula.getCachedBooleanValue();
+                case ERROR:
+                    return RowSources.errorValue(formula.getCachedErrorValue());
+                default:
+                    return null;
+            }
+        }
+        return null;
+    }
+
+    private Object numericValue(
+            CellValueRecordInterface cell,
+            double value
+    ) {
+        boolean dateFormatted = DateUtil.isADateFormat(formats.getFormatIndex(cell), formats.getFormatString(cell));
+        return RowSources.numericValue(value, dateFormatted, date1904);
+    }
+
+    private static SheetVisibility visibility(BoundSheetRecord sheet) {
+        if (sheet.isVeryHidden()) {
+            return SheetVisibility.VERY_HIDDEN;
+        }
+        return sheet.isHidden() ? SheetVisibility.HIDDEN : SheetVisibility.VISIBLE;
+    }
+}
@@ -0,0 +1,301 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.InvalidDocumentStructureException;
+import com.excelninja.domain.model.ChunkReader;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.RowConsumer;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.port.WorkbookReader;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystemException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Event-based reader for legacy {@code .xls} (BIFF8) workbooks.
+ *
+ * <p>Produces the same {@link ExcelSheet}, {@link ChunkReader} and entity results as {@link StreamingWorkbookReader}:
+ * the first non-empty row of a sheet is its header and rows without meaningful values are skipped. Records are
+ * pulled one row at a time through {@link HssfRecordReader}, so chunked and {@link #forEach} reads hold a single row
+ * besides the workbook's shared strings. Sheets are decoded in file order and reading stops after the last
+ * requested one.
+ *
+ * <p>Files are opened read-only through POIFS; streams are buffered in memory first because OLE2 containers need
+ * random access.
+ *
+ * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ * Each read operation creates its own record reader.
+ */
+public class HssfWorkbookReader implements WorkbookReader {
+    private static final Logger logger = Logger.getLogger(HssfWorkbookReader.class.getName());
+
+    @Override
+    public ExcelWorkbook read(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read xls file", this::readWorkbook);
+    }
+
+    /**
+     * Reads a workbook from the stream, which is consumed but not closed.
+     */
+    @Override
+    public ExcelWorkbook read(InputStream inputStream) throws IOException {
+        return readStream(inputStream, "Failed to read xls file", this::readWorkbook);
+    }
+
+    public ExcelSheet readFirstSheet(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read first sheet of xls file", HssfWorkbookReader::readFirstSheet);
+    }
+
+    public ExcelSheet readFirstSheet(InputStream inputStream) throws IOException {
+        return readStream(inputStream, "Failed to read first sheet of xls file", HssfWorkbookReader::readFirstSheet);
+    }
+
+    public ExcelSheet readSheet(
+            File excelFile,
+            String sheetName
+    ) throws IOException {
+        return readFile(excelFile, "Failed to read sheet '" + sheetName + "' of xls file",
+                reader -> readSelectedSheets(reader, Collections.singletonList(sheetName)).get(sheetName));
+    }
+
+    public List<ExcelSheet> readSheets(
+            File excelFile,
+            List<String> requestedSheetNames
+    ) throws IOException {
+        return readFile(excelFile, "Failed to read selected sheets of xls file",
+                reader -> new ArrayList<>(readSelectedSheets(reader, requestedSheetNames).values()));
+    }
+
+    /**
+     * Returns the sheet names in tab order; only the workbook globals are read.
+     */
+    public List<String> getSheetNames(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read sheet names of xls file", HssfRecordReader::getSheetNames);
+    }
+
+    /**
+     * Describes the sheets of a file with the row counts of their {@code DIMENSIONS} records. Cells are skipped
+     * without being decoded.
+     */
+    public List<SheetInfo> getSheetInfo(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read sheet info of xls file", HssfRecordReader::readSheetInfo);
+    }
+
+    /**
+     * Returns the entities of the first sheet in chunks of {@code chunkSize}. Records are decoded on the caller's
+     * thread when the next chunk is requested; closing the reader closes the file.
+     */
+    public <T> ChunkReader<T> readInChunks(
+            File file,
+            Class<T> entityType,
+            int chunkSize
+    ) throws IOException {
+        validateChunkSize(chunkSize);
+        HssfRecordReader reader = openFile(file, "Failed to read xls file in chunks");
+        return newChunkReader(reader, entityType, chunkSize);
+    }
+
+    public <T> ChunkReader<T> readInChunks(
+            InputStream inputStream,
+            Class<T> entityType,
+            int chunkSize
+    ) {
+        validateChunkSize(chunkSize);
+        return newChunkReader(openStream(inputStream, "Failed to read xls file in chunks"), entityType, chunkSize);
+    }
+
+    /**
+     * Converts every data row of the first sheet and passes it to {@code consumer} without collecting the rows.
+     *
+     * @return the number of rows delivered
+     */
+    public <T> long forEach(
+            File file,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        return readFile(file, "Failed to stream rows of xls file", reader -> RowSources.forEach(firstSheet(reader), entityType, consumer));
+    }
+
+    public <T> long forEach(
+            InputStream inputStream,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        return readStream(inputStream, "Failed to stream rows of xls file", reader -> RowSources.forEach(firstSheet(reader), entityType, consumer));
+    }
+
+    private ExcelWorkbook readWorkbook(HssfRecordReader reader) throws IOException {
+        ExcelWorkbook.WorkbookBuilder builder = ExcelWorkbook.builder().metadata(reader.getMetadata());
+        boolean empty = true;
+        String sheetName;
+        while ((sheetName = reader.nextSheet()) != null) {
+            builder.sheet(sheetName, RowSources.readSheet(reader, sheetName));
+            empty = false;
+        }
+        if (empty) throw new InvalidDocumentStructureException("No sheets found in workbook");
+        return builder.build();
+    }
+
+    private static ExcelSheet readFirstSheet(HssfRecordReader reader) throws IOException {
+        String sheetName = reader.nextSheet();
+        if (sheetName == null) {
+            throw new InvalidDocumentStructureException("No sheets found in workbook");
+        }
+        return RowSources.readSheet(reader, sheetName);
+    }
+
+    /**
+     * Positions the reader on the first worksheet.
+     */
+    private static HssfRecordReader firstSheet(HssfRecordReader reader) throws IOException {
+        if (reader.nextSheet() == null) {
+            throw new InvalidDocumentStructureException("No sheets found in workbook");
+        }
+        return reader;
+    }
+
+    /**
+     * Parses the requested sheets in one pass over the file and returns them in the requested order. Sheets that
+     * the workbook does not contain are left out.
+     */
+    private static Map<String, ExcelSheet> readSelectedSheets(
+            HssfRecordReader reader,
+            List<String> requestedSheetNames
+    ) throws IOException {
+        Set<String> pending = new LinkedHashSet<>(requestedSheetNames);
+        pending.retainAll(reader.getSheetNames());
+        Map<String, ExcelSheet> parsedSheets = new LinkedHashMap<>();
+        String sheetName;
+        while (!pending.isEmpty() && (sheetName = reader.nextSheet()) != null) {
+            if (pending.remove(sheetName)) {
+                parsedSheets.put(sheetName, RowSources.readSheet(reader, sheetName));
+            }
+        }
+
+        Map<String, ExcelSheet> orderedSheets = new LinkedHashMap<>();
+        for (String requested : requestedSheetNames) {
+            ExcelSheet sheet = parsedSheets.get(requested);
+            if (sheet != null) {
+                orderedSheets.put(requested, sheet);
+            }
+        }
+        return orderedSheets;
+    }
+
+    private static <T> ChunkReader<T> newChunkReader(
+            HssfRecordReader reader,
+            Class<T> entityType,
+            int chunkSize
+    ) {
+        try {
+            return new PullChunkReader<>(RowSources.entities(firstSheet(reader), entityType), reader, chunkSize, "Failed to read xls file in chunks");
+        } catch (IOException e) {
+            closeReader(reader);
+            throw new DocumentConversionException("Failed to read xls file in chunks", e);
+        } catch (RuntimeException e) {
+            closeReader(reader);
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordsReader<R> {
+        R read(HssfRecordReader reader) throws IOException;
+    }
+
+    private static <R> R readFile(
+            File file,
+            String failureMessage,
+            RecordsReader<R> recordsReader
+    ) throws IOException {
+        return readRecords(openFile(file, failureMessage), failureMessage, recordsReader);
+    }
+
+    private static <R> R readStream(
+            InputStream inputStream,
+            String failureMessage,
+            RecordsReader<R> recordsReader
+    ) {
+        return readRecords(openStream(inputStream, failureMessage), failureMessage, recordsReader);
+    }
+
+    /**
+     * Opens a file. A missing or inaccessible file fails with its {@link IOException}; a file that is not a
+     * readable xls workbook fails with {@link DocumentConversionException}.
+     */
+    private static HssfRecordReader openFile(
+            File file,
+            String failureMessage
+    ) throws IOException {
+        if (file == null) {
+            throw new DocumentConversionException("File cannot be null");
+        }
+        try {
+            return HssfRecordReader.open(file);
+        } catch (FileNotFoundException | FileSystemException | DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        }
+    }
+
+    private static HssfRecordReader openStream(
+            InputStream inputStream,
+            String failureMessage
+    ) {
+        if (inputStream == null) {
+            throw new DocumentConversionException("InputStream cannot be null");
+        }
+        try {
+            return HssfRecordReader.open(inputStream);
+        } catch (DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        }
+    }
+
+    private static <R> R readRecords(
+            HssfRecordReader reader,
+            String failureMessage,
+            RecordsReader<R> recordsReader
+    ) {
+        try {
+            return recordsReader.read(reader);
+        } catch (DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        } finally {
+            closeReader(reader);
+        }
+    }
+
+    private static void validateChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new DocumentConversionException("Chunk size must be positive");
+        }
+    }
+
+    private static void closeReader(HssfRecordReader reader) {
+        try {
+            reader.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing xls file", e);
+        }
+    }
+}
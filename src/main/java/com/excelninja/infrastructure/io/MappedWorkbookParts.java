@@ -0,0 +1,188 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.WorkbookMetadata;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.xml.sax.Attributes;
+import org.xml.sax.helpers.DefaultHandler;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+import java.util.List;
+
+/**
+ * {@link WorkbookParts} of an xlsx file, read through a {@link MappedZipFile}.
+ *
+ * <p>Opening reads the zip central directory, the package and workbook relationships and {@code workbook.xml}.
+ * The shared strings, styles, core properties and sheet parts are inflated only when they are asked for, so reading
+ * one sheet of a large workbook leaves the other sheets and all media untouched on disk.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+final class MappedWorkbookParts implements WorkbookParts {
+    private static final String DUBLIN_CORE_NAMESPACE = "http://purl.org/dc/elements/1.1/";
+    private static final String DUBLIN_CORE_TERMS_NAMESPACE = "http://purl.org/dc/terms/";
+
+    private final MappedZipFile zip;
+    private final WorkbookPartIndex index;
+
+    private MappedWorkbookParts(
+            MappedZipFile zip,
+            WorkbookPartIndex index
+    ) {
+        this.zip = zip;
+        this.index = index;
+    }
+
+    /**
+     * Opens the file. I/O failures, including a missing file, are thrown as {@link IOException}.
+     */
+    static MappedWorkbookParts open(File file) throws IOException {
+        MappedZipFile zip = MappedZipFile.open(file);
+        try {
+            return new MappedWorkbookParts(zip, WorkbookPartIndex.read(zip::getInputStream));
+        } catch (IOException | RuntimeException e) {
+            zip.close();
+            throw e;
+        }
+    }
+
+    @Override
+    public SharedStringsTable getSharedStrings() throws IOException {
+        InputStream part = openPart(index.getSharedStringsEntry());
+        if (part == null) {
+            return null;
+        }
+        try (InputStream input = part) {
+            SharedStringsTable sharedStrings = new SharedStringsTable();
+            sharedStrings.readFrom(input);
+            return sharedStrings;
+        }
+    }
+
+    @Override
+    public StylesTable getStyles() throws IOException {
+        InputStream part = openPart(index.getStylesEntry());
+        if (part == null) {
+            return null;
+        }
+        try (InputStream input = part) {
+            return new StylesTable(input);
+        }
+    }
+
+    @Override
+    public WorkbookMetadata getMetadata() throws IOException {
+        String entry = index.getCorePropertiesEntry();
+        if (entry == null || !zip.contains(entry)) {
+            return new WorkbookMetadata();
+        }
+
+        String[] properties = new String[3];
+        WorkbookPartIndex.parse(zip::getInputStream, entry, new DefaultHandler() {
+            private final StringBuilder text = new StringBuilder();
+            private int property = -1;
+
+            @Override
+            public void startElement(
+                    String uri,
+                    String localName,
+                    String qName,
+                    Attributes attributes
+            ) {
+                property = -1;
+                if (DUBLIN_CORE_NAMESPACE.equals(uri) && "creator".equals(localName)) {
+                    property = 0;
+                } else if (DUBLIN_CORE_NAMESPACE.equals(uri) && "title".equals(localName)) {
+                    property = 1;
+                } else if (DUBLIN_CORE_TERMS_NAMESPACE.equals(uri) && "created".equals(localName)) {
+                    property = 2;
+                }
+                text.setLength(0);
+            }
+
+            @Override
+            public void characters(
+                    char[] ch,
+                    int start,
+                    int length
+            ) {
+                if (property >= 0) {
+                    text.append(ch, start, length);
+                }
+            }
+
+            @Override
+            public void endElement(
+                    String uri,
+                    String localName,
+                    String qName
+            ) {
+                if (property >= 0) {
+                    properties[property] = text.toString();
+                    property = -1;
+                }
+            }
+        });
+        return new WorkbookMetadata(emptyToNull(properties[0]), emptyToNull(properties[1]), parseCreated(properties[2]));
+    }
+
+    @Override
+    public List<String> getSheetNames() {
+        return index.getSheetNames();
+    }
+
+    @Override
+    public List<SheetInfo> getSheetInfo() throws IOException {
+        return index.readSheetInfo(zip::getInputStream);
+    }
+
+    @Override
+    public InputStream openSheet(String sheetName) throws IOException {
+        return openPart(index.getSheetEntry(sheetName));
+    }
+
+    @Override
+    public void close() throws IOException {
+        zip.close();
+    }
+
+    private InputStream openPart(String entry) throws IOException {
+        return entry != null ? zip.getInputStream(entry) : null;
+    }
+
+    private static String emptyToNull(String value) {
+        return value == null || value.isEmpty() ? null : value;
+    }
+
+    /**
+     * Parses a W3CDTF timestamp into the system zone, like POI's core properties. Dates without a zone are UTC.
+     */
+    private static LocalDateTime parseCreated(String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        String trimmed = value.trim();
+        try {
+            return LocalDateTime.ofInstant(OffsetDateTime.parse(trimmed).toInstant(), ZoneId.systemDefault());
+        } catch (DateTimeParseException ignored) {
+        }
+        try {
+            return LocalDateTime.ofInstant(LocalDateTime.parse(trimmed).toInstant(ZoneOffset.UTC), ZoneId.systemDefault());
+        } catch (DateTimeParseException ignored) {
+        }
+        try {
+            return LocalDateTime.ofInstant(LocalDate.parse(trimmed).atStartOfDay().toInstant(ZoneOffset.UTC), ZoneId.systemDefault());
+        } catch (DateTimeParseException ignored) {
+            return null;
+        }
+    }
+}
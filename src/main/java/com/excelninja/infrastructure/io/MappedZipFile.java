@@ -0,0 +1,347 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+
+/**
+ * Read-only zip archive that memory-maps its central directory and the data of the entries that are opened.
+ *
+ * <p>Opening the archive reads only the end of central directory record and maps the central directory, so entries
+ * that are never opened, such as unused sheets and media, are not read from disk at all. Opened entries are mapped
+ * and inflated straight from the mapping. ZIP64 archives are supported; encrypted entries and compression methods
+ * other than stored and deflated are rejected.
+ *
+ * <p>Mappings are released by the garbage collector, not by {@link #close()}. On platforms that lock mapped files,
+ * the file may stay locked until then.
+ *
+ * <p><b>Thread Safety:</b> Entries may be opened concurrently. Each returned stream must be used by one thread.
+ */
+final class MappedZipFile implements Closeable {
+    private static final int END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06054b50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE = 0x06064b50;
+    private static final int ZIP64_LOCATOR_SIGNATURE = 0x07064b50;
+    private static final int CENTRAL_DIRECTORY_SIGNATURE = 0x02014b50;
+    private static final int LOCAL_HEADER_SIGNATURE = 0x04034b50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int ZIP64_LOCATOR_SIZE = 20;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE = 56;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+    private static final int ZIP64_EXTRA_FIELD = 0x0001;
+    private static final long ZIP64_MAGIC = 0xFFFFFFFFL;
+    private static final int ZIP64_MAGIC_COUNT = 0xFFFF;
+
+    private static final int METHOD_STORED = 0;
+    private static final int METHOD_DEFLATED = 8;
+    private static final int FLAG_ENCRYPTED = 1;
+
+    private static final int INFLATER_BUFFER_SIZE = 64 * 1024;
+
+    private final File file;
+    private final FileChannel channel;
+    private final Map<String, Entry> entries;
+
+    private MappedZipFile(
+            File file,
+            FileChannel channel,
+            Map<String, Entry> entries
+    ) {
+        this.file = file;
+        this.channel = channel;
+        this.entries = entries;
+    }
+
+    /**
+     * Opens the archive. I/O failures, including a missing file, are thrown as {@link IOException}; files that are
+     * not zip archives fail with {@link DocumentConversionException}.
+     */
+    static MappedZipFile open(File file) throws IOException {
+        FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ);
+        try {
+            return new MappedZipFile(file, channel, readCentralDirectory(file, channel));
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    boolean contains(String entryName) {
+        return entries.containsKey(entryName);
+    }
+
+    /**
+     * Returns the uncompressed content of the entry, or {@code null} when the archive has no such entry.
+     */
+    InputStream getInputStream(String entryName) throws IOException {
+        Entry entry = entries.get(entryName);
+        if (entry == null) {
+            return null;
+        }
+
+        ByteBuffer header = read(channel, entry.localHeaderOffset, LOCAL_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_HEADER_SIGNATURE) {
+            throw corrupt("Missing local header of entry " + entryName);
+        }
+        long dataOffset = entry.localHeaderOffset + LOCAL_HEADER_SIZE
+                + (header.getShort(26) & 0xFFFF) + (header.getShort(28) & 0xFFFF);
+        if (dataOffset + entry.compressedSize > channel.size()) {
+            throw corrupt("Entry " + entryName + " extends beyond the end of the file");
+        }
+        if (entry.compressedSize > Integer.MAX_VALUE) {
+            throw corrupt("Entry " + entryName + " is too large to map: " + entry.compressedSize + " bytes");
+        }
+
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, dataOffset, entry.compressedSize);
+        InputStream mapped = new ByteBufferInputStream(data);
+        return entry.method == METHOD_STORED ? mapped : new MappedInflaterInputStream(mapped);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static Map<String, Entry> readCentralDirectory(
+            File file,
+            FileChannel channel
+    ) throws IOException {
+        long fileSize = channel.size();
+        if (fileSize < END_OF_CENTRAL_DIRECTORY_SIZE) {
+            throw notZip(file);
+        }
+
+        int tailSize = (int) Math.min(fileSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_LENGTH + ZIP64_LOCATOR_SIZE);
+        long tailOffset = fileSize - tailSize;
+        ByteBuffer tail = read(channel, tailOffset, tailSize);
+        int endRecord = -1;
+        for (int position = tailSize - END_OF_CENTRAL_DIRECTORY_SIZE; position >= 0; position--) {
+            if (tail.getInt(position) == END_OF_CENTRAL_DIRECTORY_SIGNATURE
+                    && position + END_OF_CENTRAL_DIRECTORY_SIZE + (tail.getShort(position + 20) & 0xFFFF) <= tailSize) {
+                endRecord = position;
+                break;
+            }
+        }
+        if (endRecord < 0) {
+            throw notZip(file);
+        }
+
+        long entryCount = tail.getShort(endRecord + 10) & 0xFFFF;
+        long directorySize = tail.getInt(endRecord + 12) & ZIP64_MAGIC;
+        long directoryOffset = tail.getInt(endRecord + 16) & ZIP64_MAGIC;
+        int locator = endRecord - ZIP64_LOCATOR_SIZE;
+        if (locator >= 0 && tail.getInt(locator) == ZIP64_LOCATOR_SIGNATURE) {
+            long zip64EndOffset = tail.getLong(locator + 8);
+            ByteBuffer zip64End = read(channel, zip64EndOffset, ZIP64_END_OF_CENTRAL_DIRECTORY_SIZE);
+            if (zip64End.getInt(0) != ZIP64_END_OF_CENTRAL_DIRECTORY_SIGNATURE) {
+                throw corrupt("Missing ZIP64 end of central directory record in " + file);
+            }
+            entryCount = zip64End.getLong(32);
+            directorySize = zip64End.getLong(40);
+            directoryOffset = zip64End.getLong(48);
+        } else if (entryCount == ZIP64_MAGIC_COUNT || directorySize == ZIP64_MAGIC || directoryOffset == ZIP64_MAGIC) {
+            throw corrupt("Missing ZIP64 locator in " + file);
+        }
+        if (directoryOffset + directorySize > fileSize || directorySize > Integer.MAX_VALUE) {
+            throw corrupt("Invalid central directory in " + file);
+        }
+
+        ByteBuffer directory = channel.map(FileChannel.MapMode.READ_ONLY, directoryOffset, directorySize)
+                .order(ByteOrder.LITTLE_ENDIAN);
+        Map<String, Entry> entries = new HashMap<>((int) Math.min(entryCount * 2, 1 << 16));
+        int position = 0;
+        for (long i = 0; i < entryCount; i++) {
+            if (position + CENTRAL_DIRECTORY_HEADER_SIZE > directorySize || directory.getInt(position) != CENTRAL_DIRECTORY_SIGNATURE) {
+                throw corrupt("Invalid central directory entry " + i + " in " + file);
+            }
+            int flags = directory.getShort(position + 8) & 0xFFFF;
+            int method = directory.getShort(position + 10) & 0xFFFF;
+            long compressedSize = directory.getInt(position + 20) & ZIP64_MAGIC;
+            long size = directory.getInt(position + 24) & ZIP64_MAGIC;
+            int nameLength = directory.getShort(position + 28) & 0xFFFF;
+            int extraLength = directory.getShort(position + 30) & 0xFFFF;
+            int commentLength = directory.getShort(position + 32) & 0xFFFF;
+            long localHeaderOffset = directory.getInt(position + 42) & ZIP64_MAGIC;
+
+            byte[] nameBytes = new byte[nameLength];
+            ByteBuffer name = directory.duplicate();
+            name.position(position + CENTRAL_DIRECTORY_HEADER_SIZE);
+            name.get(nameBytes);
+            String entryName = new String(nameBytes, StandardCharsets.UTF_8);
+
+            if (size == ZIP64_MAGIC || compressedSize == ZIP64_MAGIC || localHeaderOffset == ZIP64_MAGIC) {
+                int extra = position + CENTRAL_DIRECTORY_HEADER_SIZE + nameLength;
+                int extraEnd = extra + extraLength;
+                while (extra + 4 <= extraEnd) {
+                    int id = directory.getShort(extra) & 0xFFFF;
+                    int length = directory.getShort(extra + 2) & 0xFFFF;
+                    if (id == ZIP64_EXTRA_FIELD) {
+                        int field = extra + 4;
+                        if (size == ZIP64_MAGIC) {
+                            size = directory.getLong(field);
+                            field += 8;
+                        }
+                        if (compressedSize == ZIP64_MAGIC) {
+                            compressedSize = directory.getLong(field);
+                            field += 8;
+                        }
+                        if (localHeaderOffset == ZIP64_MAGIC) {
+                            localHeaderOffset = directory.getLong(field);
+                        }
+                        break;
+                    }
+                    extra += 4 + length;
+                }
+            }
+
+            if (!entryName.endsWith("/")) {
+                if ((flags & FLAG_ENCRYPTED) != 0) {
+                    throw new DocumentConversionException("Encrypted zip entries are not supported: " + entryName);
+                }
+                if (method != METHOD_STORED && method != METHOD_DEFLATED) {
+                    throw new DocumentConversionException("Unsupported compression method " + method + " of zip entry " + entryName);
+                }
+                entries.put(entryName, new Entry(method, compressedSize, localHeaderOffset));
+            }
+            position += CENTRAL_DIRECTORY_HEADER_SIZE + nameLength + extraLength + commentLength;
+        }
+        return Collections.unmodifiableMap(entries);
+    }
+
+    private static ByteBuffer read(
+            FileChannel channel,
+            long position,
+            int length
+    ) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of zip file at " + (position + buffer.position()));
+            }
+        }
+        return buffer;
+    }
+
+    private static DocumentConversionException notZip(File file) {
+        return new DocumentConversionException("Not a zip archive: " + file);
+    }
+
+    private static DocumentConversionException corrupt(String message) {
+        return new DocumentConversionException("Corrupt zip archive: " + message);
+    }
+
+    @Override
+    public String toString() {
+        return "MappedZipFile{" + file + ", entries=" + entries.size() + '}';
+    }
+
+    private static final class Entry {
+        private final int method;
+        private final long compressedSize;
+        private final long localHeaderOffset;
+
+        private Entry(
+                int method,
+                long compressedSize,
+                long localHeaderOffset
+        ) {
+            this.method = method;
+            this.compressedSize = compressedSize;
+            this.localHeaderOffset = localHeaderOffset;
+        }
+    }
+
+    private static final class ByteBufferInputStream extends InputStream {
+        private final ByteBuffer buffer;
+
+        private ByteBufferInputStream(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        @Override
+        public int read() {
+            return buffer.hasRemaining() ? buffer.get() & 0xFF : -1;
+        }
+
+        @Override
+        public int read(
+                byte[] bytes,
+                int offset,
+                int length
+        ) {
+            if (length == 0) {
+                return 0;
+            }
+            if (!buffer.hasRemaining()) {
+                return -1;
+            }
+            int count = Math.min(length, buffer.remaining());
+            buffer.get(bytes, offset, count);
+            return count;
+        }
+
+        @Override
+        public long skip(long count) {
+            int skipped = (int) Math.max(0, Math.min(count, buffer.remaining()));
+            buffer.position(buffer.position() + skipped);
+            return skipped;
+        }
+
+        @Override
+        public int available() {
+            return buffer.remaining();
+        }
+    }
+
+    /**
+     * Inflates raw deflate data. Like {@code java.util.zip.ZipFile}, it feeds the inflater one extra zero byte at the
+     * end of the input, which raw inflation may need to detect the end of the stream.
+     */
+    private static final class MappedInflaterInputStream extends InflaterInputStream {
+        private boolean endOfInput;
+        private boolean closed;
+
+        private MappedInflaterInputStream(InputStream input) {
+            super(input, new Inflater(true), INFLATER_BUFFER_SIZE);
+        }
+
+        @Override
+        protected void fill() throws IOException {
+            if (endOfInput) {
+                throw new EOFException("Unexpected end of deflated zip entry");
+            }
+            len = in.read(buf, 0, buf.length);
+            if (len == -1) {
+                buf[0] = 0;
+                len = 1;
+                endOfInput = true;
+            }
+            inf.setInput(buf, 0, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (!closed) {
+                closed = true;
+                inf.end();
+                super.close();
+            }
+        }
+    }
+}
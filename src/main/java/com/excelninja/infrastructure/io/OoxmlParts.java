@@ -0,0 +1,213 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.model.WorkbookMetadata;
+
+import java.io.IOException;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+
+/**
+ * Package-level parts of an xlsx file written by the direct OOXML writers: content types, relationships,
+ * the workbook part, document properties and a minimal style sheet.
+ *
+ * <p>The style sheet mirrors the styles of {@link PoiWorkbookWriter}: a grey, centered header, bordered data cells
+ * and bordered {@code yyyy-mm-dd} and {@code yyyy-mm-dd hh:mm:ss} date cells.
+ *
+ * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ */
+final class OoxmlParts {
+    static final String XML_DECLARATION = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n";
+    static final String SPREADSHEETML_NAMESPACE = "http://schemas.openxmlformats.org/spreadsheetml/2006/main";
+    static final String RELATIONSHIPS_NAMESPACE = "http://schemas.openxmlformats.org/officeDocument/2006/relationships";
+
+    static final String CONTENT_TYPES_ENTRY = "[Content_Types].xml";
+    static final String ROOT_RELATIONSHIPS_ENTRY = "_rels/.rels";
+    static final String CORE_PROPERTIES_ENTRY = "docProps/core.xml";
+    static final String WORKBOOK_ENTRY = "xl/workbook.xml";
+    static final String WORKBOOK_RELATIONSHIPS_ENTRY = "xl/_rels/workbook.xml.rels";
+    static final String STYLES_ENTRY = "xl/styles.xml";
+    static final String SHARED_STRINGS_ENTRY = "xl/sharedStrings.xml";
+
+    static final int STYLE_DEFAULT = 0;
+    static final int STYLE_HEADER = 1;
+    static final int STYLE_DATA = 2;
+    static final int STYLE_DATE = 3;
+    static final int STYLE_DATE_TIME = 4;
+
+    private static final String PACKAGE_RELATIONSHIPS_NAMESPACE = "http://schemas.openxmlformats.org/package/2006/relationships";
+    private static final String RELATIONSHIP_TYPE_PREFIX = "http://schemas.openxmlformats.org/officeDocument/2006/relationships/";
+    private static final String CONTENT_TYPE_PREFIX = "application/vnd.openxmlformats-officedocument.spreadsheetml.";
+    private static final DateTimeFormatter W3CDTF_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss'Z'");
+    private static final String THIN_BLACK_BORDER = "<border>"
+            + "<left style=\"thin\"><color indexed=\"8\"/></left>"
+            + "<right style=\"thin\"><color indexed=\"8\"/></right>"
+            + "<top style=\"thin\"><color indexed=\"8\"/></top>"
+            + "<bottom style=\"thin\"><color indexed=\"8\"/></bottom>"
+            + "<diagonal/></border>";
+
+    private OoxmlParts() {
+    }
+
+    static String worksheetEntry(int sheetNumber) {
+        return "xl/worksheets/sheet" + sheetNumber + ".xml";
+    }
+
+    static void writeContentTypes(
+            XmlOutput out,
+            int sheetCount,
+            boolean sharedStrings
+    ) throws IOException {
+        out.raw(XML_DECLARATION)
+                .raw("<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">")
+                .raw("<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>")
+                .raw("<Default Extension=\"xml\" ContentType=\"application/xml\"/>")
+                .raw("<Override PartName=\"/").raw(WORKBOOK_ENTRY).raw("\" ContentType=\"").raw(CONTENT_TYPE_PREFIX).raw("sheet.main+xml\"/>");
+        for (int sheetNumber = 1; sheetNumber <= sheetCount; sheetNumber++) {
+            out.raw("<Override PartName=\"/").raw(worksheetEntry(sheetNumber))
+                    .raw("\" ContentType=\"").raw(CONTENT_TYPE_PREFIX).raw("worksheet+xml\"/>");
+        }
+        out.raw("<Override PartName=\"/").raw(STYLES_ENTRY).raw("\" ContentType=\"").raw(CONTENT_TYPE_PREFIX).raw("styles+xml\"/>");
+        if (sharedStrings) {
+            out.raw("<Override PartName=\"/").raw(SHARED_STRINGS_ENTRY).raw("\" ContentType=\"").raw(CONTENT_TYPE_PREFIX).raw("sharedStrings+xml\"/>");
+        }
+        out.raw("<Override PartName=\"/").raw(CORE_PROPERTIES_ENTRY).raw("\" ContentType=\"application/vnd.openxmlformats-package.core-properties+xml\"/>")
+                .raw("</Types>");
+    }
+
+    static void writeRootRelationships(XmlOutput out) throws IOException {
+        out.raw(XML_DECLARATION)
+                .raw("<Relationships xmlns=\"").raw(PACKAGE_RELATIONSHIPS_NAMESPACE).raw("\">")
+                .raw("<Relationship Id=\"rId1\" Type=\"").raw(RELATIONSHIP_TYPE_PREFIX).raw("officeDocument\" Target=\"").raw(WORKBOOK_ENTRY).raw("\"/>")
+                .raw("<Relationship Id=\"rId2\" Type=\"http://schemas.openxmlformats.org/package/2006/relationships/metadata/core-properties\" Target=\"")
+                .raw(CORE_PROPERTIES_ENTRY).raw("\"/>")
+                .raw("</Relationships>");
+    }
+
+    /**
+     * Writes the core properties. The created date is interpreted in the system time zone, as
+     * {@link PoiWorkbookWriter} does, and stored in UTC.
+     */
+    static void writeCoreProperties(
+            XmlOutput out,
+            WorkbookMetadata metadata
+    ) throws IOException {
+        out.raw(XML_DECLARATION)
+                .raw("<cp:coreProperties xmlns:cp=\"http://schemas.openxmlformats.org/package/2006/metadata/core-properties\"")
+                .raw(" xmlns:dc=\"http://purl.org/dc/elements/1.1/\" xmlns:dcterms=\"http://purl.org/dc/terms/\"")
+                .raw(" xmlns:xsi=\"http://www.w3.org/2001/XMLSchema-instance\">");
+        if (metadata != null && metadata.getTitle() != null) {
+            out.raw("<dc:title>").text(metadata.getTitle()).raw("</dc:title>");
+        }
+        if (metadata != null && metadata.getAuthor() != null) {
+            out.raw("<dc:creator>").text(metadata.getAuthor()).raw("</dc:creator>");
+        }
+        if (metadata != null && metadata.getCreatedDate() != null) {
+            String timestamp = metadata.getCreatedDate().atZone(ZoneId.systemDefault())
+                    .withZoneSameInstant(ZoneOffset.UTC)
+                    .format(W3CDTF_FORMATTER);
+            out.raw("<dcterms:created xsi:type=\"dcterms:W3CDTF\">").raw(timestamp).raw("</dcterms:created>")
+                    .raw("<dcterms:modified xsi:type=\"dcterms:W3CDTF\">").raw(timestamp).raw("</dcterms:modified>");
+        }
+        out.raw("</cp:coreProperties>");
+    }
+
+    static void writeWorkbook(
+            XmlOutput out,
+            List<String> sheetNames
+    ) throws IOException {
+        out.raw(XML_DECLARATION)
+                .raw("<workbook xmlns=\"").raw(SPREADSHEETML_NAMESPACE).raw("\" xmlns:r=\"").raw(RELATIONSHIPS_NAMESPACE).raw("\">")
+                .raw("<bookViews><workbookView activeTab=\"0\"/></bookViews><sheets>");
+        for (int i = 0; i < sheetNames.size(); i++) {
+            out.raw("<sheet name=\"").attribute(sheetNames.get(i))
+                    .raw("\" sheetId=\"").number(i + 1)
+                    .raw("\" r:id=\"rId").number(i + 1).raw("\"/>");
+        }
+        out.raw("</sheets></workbook>");
+    }
+
+    /**
+     * Writes the workbook relationships. Worksheets use {@code rId1..rIdN}, followed by the styles and the optional
+     * shared strings part.
+     */
+    static void writeWorkbookRelationships(
+            XmlOutput out,
+            int sheetCount,
+            boolean sharedStrings
+    ) throws IOException {
+        out.raw(XML_DECLARATION).raw("<Relationships xmlns=\"").raw(PACKAGE_RELATIONSHIPS_NAMESPACE).raw("\">");
+        for (int sheetNumber = 1; sheetNumber <= sheetCount; sheetNumber++) {
+            out.raw("<Relationship Id=\"rId").number(sheetNumber)
+                    .raw("\" Type=\"").raw(RELATIONSHIP_TYPE_PREFIX).raw("worksheet\" Target=\"worksheets/sheet").number(sheetNumber).raw(".xml\"/>");
+        }
+        out.raw("<Relationship Id=\"rId").number(sheetCount + 1)
+                .raw("\" Type=\"").raw(RELATIONSHIP_TYPE_PREFIX).raw("styles\" Target=\"styles.xml\"/>");
+        if (sharedStrings) {
+            out.raw("<Relationship Id=\"rId").number(sheetCount + 2)
+                    .raw("\" Type=\"").raw(RELATIONSHIP_TYPE_PREFIX).raw("sharedStrings\" Target=\"sharedStrings.xml\"/>");
+        }
+        out.raw("</Relationships>");
+    }
+
+    /**
+     * Writes the style sheet. Without bordered cells, the date styles carry only their number format; the
+     * bordered data style is still declared so that the style indexes stay the same.
+     */
+    static void writeStyles(
+            XmlOutput out,
+            boolean borderedCells
+    ) throws IOException {
+        String dateStyleAttributes = borderedCells
+                ? "\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyNumberFormat=\"1\" applyBorder=\"1\" applyAlignment=\"1\"><alignment vertical=\"center\"/></xf>"
+                : "\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\" applyNumberFormat=\"1\"/>";
+        out.raw(XML_DECLARATION)
+                .raw("<styleSheet xmlns=\"").raw(SPREADSHEETML_NAMESPACE).raw("\">")
+                .raw("<numFmts count=\"2\">")
+                .raw("<numFmt numFmtId=\"164\" formatCode=\"yyyy-mm-dd\"/>")
+                .raw("<numFmt numFmtId=\"165\" formatCode=\"yyyy-mm-dd hh:mm:ss\"/>")
+                .raw("</numFmts>")
+                .raw("<fonts count=\"1\"><font><sz val=\"11\"/><color indexed=\"8\"/><name val=\"Calibri\"/><family val=\"2\"/></font></fonts>")
+                .raw("<fills count=\"3\">")
+                .raw("<fill><patternFill patternType=\"none\"/></fill>")
+                .raw("<fill><patternFill patternType=\"gray125\"/></fill>")
+                .raw("<fill><patternFill patternType=\"solid\"><fgColor indexed=\"22\"/><bgColor indexed=\"64\"/></patternFill></fill>")
+                .raw("</fills>")
+                .raw("<borders count=\"2\"><border><left/><right/><top/><bottom/><diagonal/></border>").raw(THIN_BLACK_BORDER).raw("</borders>")
+                .raw("<cellStyleXfs count=\"1\"><xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\"/></cellStyleXfs>")
+                .raw("<cellXfs count=\"5\">")
+                .raw("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"0\" xfId=\"0\"/>")
+                .raw("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"2\" borderId=\"1\" xfId=\"0\" applyFill=\"1\" applyBorder=\"1\" applyAlignment=\"1\">")
+                .raw("<alignment horizontal=\"center\" vertical=\"center\"/></xf>")
+                .raw("<xf numFmtId=\"0\" fontId=\"0\" fillId=\"0\" borderId=\"1\" xfId=\"0\" applyBorder=\"1\" applyAlignment=\"1\">")
+                .raw("<alignment vertical=\"center\"/></xf>")
+                .raw("<xf numFmtId=\"164").raw(dateStyleAttributes)
+                .raw("<xf numFmtId=\"165").raw(dateStyleAttributes)
+                .raw("</cellXfs>")
+                .raw("<cellStyles count=\"1\"><cellStyle name=\"Normal\" xfId=\"0\" builtinId=\"0\"/></cellStyles>")
+                .raw("</styleSheet>");
+    }
+
+    /**
+     * Writes a {@code <t>} element, preserving leading and trailing whitespace.
+     */
+    static void writeTextElement(
+            XmlOutput out,
+            String value
+    ) throws IOException {
+        if (needsSpacePreserve(value)) {
+            out.raw("<t xml:space=\"preserve\">");
+        } else {
+            out.raw("<t>");
+        }
+        out.text(value).raw("</t>");
+    }
+
+    private static boolean needsSpacePreserve(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        return Character.isWhitespace(value.charAt(0)) || Character.isWhitespace(value.charAt(value.length() - 1));
+    }
+}
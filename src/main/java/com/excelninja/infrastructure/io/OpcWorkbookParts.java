@@ -0,0 +1,150 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.WorkbookMetadata;
+import org.apache.poi.ooxml.POIXMLProperties;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.openxml4j.opc.PackagingURIHelper;
+import org.apache.poi.xssf.eventusermodel.XSSFReader;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+import org.apache.xmlbeans.XmlException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * {@link WorkbookParts} of a POI {@link OPCPackage}, read through {@link XSSFReader}.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+final class OpcWorkbookParts implements WorkbookParts {
+    private final OPCPackage opcPackage;
+    private final XSSFReader xssfReader;
+    private Map<String, PackagePart> sheetParts;
+
+    private OpcWorkbookParts(
+            OPCPackage opcPackage,
+            XSSFReader xssfReader
+    ) {
+        this.opcPackage = opcPackage;
+        this.xssfReader = xssfReader;
+    }
+
+    /**
+     * Opens the package from the stream, which is consumed but not closed.
+     */
+    static OpcWorkbookParts open(InputStream inputStream) throws IOException {
+        OPCPackage opcPackage = null;
+        try {
+            opcPackage = OPCPackage.open(inputStream);
+            return new OpcWorkbookParts(opcPackage, new XSSFReader(opcPackage));
+        } catch (OpenXML4JException e) {
+            closeQuietly(opcPackage);
+            throw new IOException("Failed to open OOXML package", e);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(opcPackage);
+            throw e;
+        }
+    }
+
+    @Override
+    public SharedStringsTable getSharedStrings() throws IOException {
+        try {
+            return (SharedStringsTable) xssfReader.getSharedStringsTable();
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to read shared strings", e);
+        }
+    }
+
+    @Override
+    public StylesTable getStyles() throws IOException {
+        try {
+            return xssfReader.getStylesTable();
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to read styles", e);
+        }
+    }
+
+    @Override
+    public WorkbookMetadata getMetadata() throws IOException {
+        return readMetadata(opcPackage);
+    }
+
+    /**
+     * Reads the core properties of any OOXML package, including binary {@code .xlsb} workbooks.
+     */
+    static WorkbookMetadata readMetadata(OPCPackage opcPackage) throws IOException {
+        try {
+            POIXMLProperties.CoreProperties coreProperties = new POIXMLProperties(opcPackage).getCoreProperties();
+            LocalDateTime createdDate = coreProperties.getCreated() != null
+                    ? LocalDateTime.ofInstant(coreProperties.getCreated().toInstant(), ZoneId.systemDefault())
+                    : null;
+            return new WorkbookMetadata(coreProperties.getCreator(), coreProperties.getTitle(), createdDate);
+        } catch (OpenXML4JException | XmlException e) {
+            throw new IOException("Failed to read core properties", e);
+        }
+    }
+
+    @Override
+    public List<String> getSheetNames() throws IOException {
+        return new ArrayList<>(sheetParts().keySet());
+    }
+
+    @Override
+    public List<SheetInfo> getSheetInfo() throws IOException {
+        WorkbookPartIndex.PartSource parts = this::openPart;
+        return WorkbookPartIndex.read(parts).readSheetInfo(parts);
+    }
+
+    @Override
+    public InputStream openSheet(String sheetName) throws IOException {
+        PackagePart part = sheetParts().get(sheetName);
+        return part != null ? part.getInputStream() : null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        opcPackage.close();
+    }
+
+    private InputStream openPart(String entryName) throws IOException {
+        try {
+            PackagePart part = opcPackage.getPart(PackagingURIHelper.createPartName("/" + entryName));
+            return part != null ? part.getInputStream() : null;
+        } catch (OpenXML4JException e) {
+            throw new IOException("Invalid part name " + entryName, e);
+        }
+    }
+
+    private Map<String, PackagePart> sheetParts() throws IOException {
+        if (sheetParts == null) {
+            try {
+                XSSFReader.SheetIterator sheetIterator = xssfReader.getSheetIterator();
+                Map<String, PackagePart> parts = new LinkedHashMap<>();
+                while (sheetIterator.hasNext()) {
+                    sheetIterator.next().close();
+                    parts.putIfAbsent(sheetIterator.getSheetName(), sheetIterator.getSheetPart());
+                }
+                sheetParts = parts;
+            } catch (OpenXML4JException e) {
+                throw new IOException("Failed to read sheets", e);
+            }
+        }
+        return sheetParts;
+    }
+
+    private static void closeQuietly(OPCPackage opcPackage) {
+        if (opcPackage != null) {
+            opcPackage.revert();
+        }
+    }
+}
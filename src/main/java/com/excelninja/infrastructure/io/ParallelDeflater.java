@@ -0,0 +1,153 @@
+package com.excelninja.infrastructure.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses one zip part as independent DEFLATE blocks on an {@link Executor}, in the way {@code pigz} does.
+ *
+ * <p>The part is cut into blocks of {@value #BLOCK_SIZE} bytes. Each block is compressed by its own raw
+ * {@link Deflater}, primed with the last 32 KB of the preceding block as dictionary so that the ratio stays close
+ * to a single-threaded stream. Every block but the last ends with a sync flush, which aligns it to a byte boundary,
+ * and the last one finishes the stream. The concatenated blocks therefore form one valid DEFLATE stream that any
+ * unzip tool reads as a regular deflated entry.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ */
+final class ParallelDeflater {
+    static final int BLOCK_SIZE = 128 * 1024;
+    private static final int DICTIONARY_SIZE = 32 * 1024;
+    private static final int OUTPUT_CHUNK_SIZE = 16 * 1024;
+
+    private final Executor executor;
+    private final int level;
+
+    /**
+     * @param level deflate level from 1 to 9, or {@link Deflater#DEFAULT_COMPRESSION}
+     */
+    ParallelDeflater(
+            Executor executor,
+            int level
+    ) {
+        this.executor = executor;
+        this.level = level;
+    }
+
+    /**
+     * Compresses the content of a sealed buffer. The buffer must stay open until the returned future completes.
+     */
+    CompletableFuture<DeflatedPart> deflate(SpillingBuffer buffer) {
+        long size = buffer.size();
+        int blockCount = (int) Math.max(1, (size + BLOCK_SIZE - 1) / BLOCK_SIZE);
+
+        List<CompletableFuture<byte[]>> blocks = new ArrayList<>(blockCount);
+        for (int i = 0; i < blockCount; i++) {
+            long start = (long) i * BLOCK_SIZE;
+            int length = (int) Math.min(BLOCK_SIZE, size - start);
+            boolean last = i == blockCount - 1;
+            blocks.add(CompletableFuture.supplyAsync(() -> deflateBlock(buffer, start, length, last), executor));
+        }
+
+        long crc = buffer.crc();
+        return CompletableFuture.allOf(blocks.toArray(new CompletableFuture<?>[0])).thenApply(ignored -> {
+            List<byte[]> compressed = new ArrayList<>(blockCount);
+            for (CompletableFuture<byte[]> block : blocks) {
+                compressed.add(block.join());
+            }
+            return new DeflatedPart(compressed, size, crc);
+        });
+    }
+
+    private byte[] deflateBlock(
+            SpillingBuffer buffer,
+            long start,
+            int length,
+            boolean last
+    ) {
+        int dictionaryLength = (int) Math.min(DICTIONARY_SIZE, start);
+        byte[] input = new byte[dictionaryLength + length];
+        Deflater deflater = new Deflater(level, true);
+        try {
+            buffer.read(start - dictionaryLength, input, 0, input.length);
+            if (dictionaryLength > 0) {
+                deflater.setDictionary(input, 0, dictionaryLength);
+            }
+            deflater.setInput(input, dictionaryLength, length);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream(Math.max(64, length / 4));
+            byte[] chunk = new byte[OUTPUT_CHUNK_SIZE];
+            if (last) {
+                deflater.finish();
+                while (!deflater.finished()) {
+                    output.write(chunk, 0, deflater.deflate(chunk));
+                }
+            } else {
+                int written;
+                do {
+                    written = deflater.deflate(chunk, 0, chunk.length, Deflater.SYNC_FLUSH);
+                    output.write(chunk, 0, written);
+                } while (written == chunk.length);
+            }
+            return output.toByteArray();
+        } catch (IOException e) {
+            throw new CompletionException(e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    /**
+     * The compressed blocks of one part, with the sizes and checksum needed for its zip entry.
+     */
+    static final class DeflatedPart {
+        private final List<byte[]> blocks;
+        private final long size;
+        private final long compressedSize;
+        private final long crc;
+
+        private DeflatedPart(
+                List<byte[]> blocks,
+                long size,
+                long crc
+        ) {
+            this.blocks = blocks;
+            this.size = size;
+            this.crc = crc;
+            long total = 0;
+            for (byte[] block : blocks) {
+                total += block.length;
+            }
+            this.compressedSize = total;
+        }
+
+        InputStream newInputStream() {
+            List<InputStream> streams = new ArrayList<>(blocks.size());
+            for (byte[] block : blocks) {
+                streams.add(new ByteArrayInputStream(block));
+            }
+            return new SequenceInputStream(Collections.enumeration(streams));
+        }
+
+        long getSize() {
+            return size;
+        }
+
+        long getCompressedSize() {
+            return compressedSize;
+        }
+
+        long getCrc() {
+            return crc;
+        }
+    }
+}
@@ -80,14 +80,12 @@ public class PoiWorkbookReader implements WorkbookReader {
         }
     }
 
+    /**
+     * Reads the sheet names from {@code workbook.xml} alone; no sheet is loaded.
+     */
     public List<String> getSheetNames(File excelFile) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(excelFile);
-             XSSFWorkbook workbook = new XSSFWorkbook(fileInputStream)) {
-            List<String> sheetNames = new ArrayList<>(workbook.getNumberOfSheets());
-            for (int i = 0; i < workbook.getNumberOfSheets(); i++) {
-                sheetNames.add(workbook.getSheetName(i));
-            }
-            return sheetNames;
+        try (WorkbookParts parts = MappedWorkbookParts.open(excelFile)) {
+            return parts.getSheetNames();
         }
     }
 
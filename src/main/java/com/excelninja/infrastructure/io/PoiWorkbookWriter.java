@@ -1,14 +1,20 @@
 package com.excelninja.infrastructure.io;
 
+import com.excelninja.domain.model.AutoSizeStrategy;
 import com.excelninja.domain.model.DocumentRow;
 import com.excelninja.domain.model.ExcelSheet;
 import com.excelninja.domain.model.ExcelWorkbook;
 import com.excelninja.domain.model.Header;
 import com.excelninja.domain.model.WorkbookMetadata;
+import com.excelninja.domain.model.WriteOptions;
 import org.apache.poi.ooxml.POIXMLProperties;
 import com.excelninja.domain.port.WorkbookWriter;
+import com.excelninja.infrastructure.util.ExcelDateUtils;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.*;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.CTCell;
+import org.openxmlformats.schemas.spreadsheetml.x2006.main.STCellType;
 
 import java.io.File;
 import java.io.FileOutputStream;
@@ -19,15 +25,29 @@ import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
 import java.util.Date;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
  * Apache POI-based Excel workbook writer.
  *
- * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ * <p>{@link WriteOptions} control the zip compression level, whether strings are stored in the shared strings
+ * table or inline, and whether data cells get the bordered style. POI needs the size of every part up front to
+ * store it uncompressed, so {@link WriteOptions#NO_COMPRESSION} writes deflated parts at level 0 here.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
  * Multiple threads can safely use the same instance concurrently.
  */
 public class PoiWorkbookWriter implements WorkbookWriter {
+    private final WriteOptions options;
+
+    public PoiWorkbookWriter() {
+        this(WriteOptions.defaults());
+    }
+
+    public PoiWorkbookWriter(WriteOptions options) {
+        this.options = Objects.requireNonNull(options, "Write options cannot be null");
+    }
 
     @Override
     public void write(
@@ -50,19 +70,43 @@ public class PoiWorkbookWriter implements WorkbookWriter {
             XSSFCellStyle dateStyle = createDateStyle(poiWorkbook);
             XSSFCellStyle dateTimeStyle = createDateTimeStyle(poiWorkbook);
             XSSFCellStyle headerStyle = createHeaderStyle(poiWorkbook);
-            XSSFCellStyle dataStyle = createDataStyle(poiWorkbook);
+            XSSFCellStyle dataStyle = options.isBorderedCells() ? createDataStyle(poiWorkbook) : null;
 
             for (String sheetName : workbook.getSheetNames()) {
                 ExcelSheet excelSheet = workbook.getSheet(sheetName);
                 XSSFSheet poiSheet = poiWorkbook.createSheet(sheetName);
 
+                ColumnWidthEstimator widthEstimator = createWidthEstimator(excelSheet);
                 createHeaderRow(poiSheet, excelSheet, headerStyle);
-                createDataRows(poiSheet, excelSheet, dataStyle, dateStyle, dateTimeStyle);
-                adjustColumnWidths(poiSheet, excelSheet);
+                createDataRows(poiSheet, excelSheet, dataStyle, dateStyle, dateTimeStyle, widthEstimator);
+                adjustColumnWidths(poiSheet, excelSheet, widthEstimator);
                 adjustRowHeights(poiSheet, excelSheet);
             }
 
+            writePackage(poiWorkbook, outputStream);
+        }
+    }
+
+    public WriteOptions getOptions() {
+        return options;
+    }
+
+    /**
+     * Hands POI a zip stream with the configured level when it differs from the default. POI writes into a
+     * given {@link ZipArchiveOutputStream} instead of opening its own.
+     */
+    private void writePackage(
+            XSSFWorkbook poiWorkbook,
+            OutputStream outputStream
+    ) throws IOException {
+        if (options.getCompressionLevel() == WriteOptions.DEFAULT_COMPRESSION) {
             poiWorkbook.write(outputStream);
+            return;
+        }
+
+        try (ZipArchiveOutputStream zip = ZipPartWriter.openArchive(outputStream)) {
+            zip.setLevel(options.getCompressionLevel());
+            poiWorkbook.write(zip);
         }
     }
 
@@ -97,8 +141,8 @@ public class PoiWorkbookWriter implements WorkbookWriter {
         headerRow.setHeightInPoints(20);
 
         for (Header header : excelSheet.getHeaders().getHeaders()) {
-            XSSFCell cell = headerRow.createCell(header.getPosition(), CellType.STRING);
-            cell.setCellValue(header.getName());
+            XSSFCell cell = headerRow.createCell(header.getPosition());
+            setStringValue(cell, header.getName());
             cell.setCellStyle(headerStyle);
         }
     }
@@ -108,80 +152,128 @@ public class PoiWorkbookWriter implements WorkbookWriter {
             ExcelSheet excelSheet,
             XSSFCellStyle dataStyle,
             XSSFCellStyle dateStyle,
-            XSSFCellStyle dateTimeStyle
+            XSSFCellStyle dateTimeStyle,
+            ColumnWidthEstimator widthEstimator
     ) {
+        int dataRowIndex = 0;
+        ColumnWritePlan plan = ColumnWritePlan.of(excelSheet);
         for (DocumentRow documentRow : excelSheet.getRows().getRows()) {
             XSSFRow row = sheet.createRow(documentRow.getRowNumber());
+            boolean measured = widthEstimator != null && widthEstimator.isSampled(dataRowIndex++);
 
             for (int columnIndex = 0; columnIndex < documentRow.getColumnCount(); columnIndex++) {
                 XSSFCell cell = row.createCell(columnIndex);
                 Object rawValue = documentRow.getValue(columnIndex);
-                setCellValue(cell, rawValue, dataStyle, dateStyle, dateTimeStyle);
+                setCellValue(cell, columnIndex, rawValue, plan, dataStyle, dateStyle, dateTimeStyle);
+                if (measured) {
+                    widthEstimator.measure(columnIndex, rawValue);
+                }
             }
         }
     }
 
     private void setCellValue(
             XSSFCell cell,
+            int columnIndex,
             Object rawValue,
+            ColumnWritePlan plan,
             XSSFCellStyle dataStyle,
             XSSFCellStyle dateStyle,
             XSSFCellStyle dateTimeStyle
     ) {
         if (rawValue == null) {
             cell.setBlank();
-            cell.setCellStyle(dataStyle);
-        } else if (rawValue instanceof Number) {
-            if (rawValue instanceof BigDecimal) {
+            applyDataStyle(cell, dataStyle);
+            return;
+        }
+
+        switch (plan.kindOf(columnIndex, rawValue)) {
+            case NUMBER:
+                cell.setCellValue(((Number) rawValue).doubleValue());
+                applyDataStyle(cell, dataStyle);
+                break;
+            case DECIMAL:
                 BigDecimal decimalValue = (BigDecimal) rawValue;
-                if (canStoreAsExactNumeric(decimalValue)) {
+                if (ColumnWritePlan.canStoreAsExactNumeric(decimalValue)) {
                     cell.setCellValue(decimalValue.doubleValue());
                 } else {
-                    cell.setCellValue(decimalValue.toPlainString());
+                    setStringValue(cell, decimalValue.toPlainString());
                 }
-            } else {
-                cell.setCellValue(((Number) rawValue).doubleValue());
-            }
-            cell.setCellStyle(dataStyle);
-        } else if (rawValue instanceof Boolean) {
-            cell.setCellValue((Boolean) rawValue);
-            cell.setCellStyle(dataStyle);
-        } else if (rawValue instanceof LocalDateTime) {
-            LocalDateTime localDateTime = (LocalDateTime) rawValue;
-            Date date = Date.from(localDateTime.atZone(ZoneId.systemDefault()).toInstant());
-            cell.setCellValue(date);
-            cell.setCellStyle(dateTimeStyle);
-        } else if (rawValue instanceof LocalDate) {
-            LocalDate localDate = (LocalDate) rawValue;
-            Date date = Date.from(localDate.atStartOfDay(ZoneId.systemDefault()).toInstant());
-            cell.setCellValue(date);
-            cell.setCellStyle(dateStyle);
-        } else if (rawValue instanceof Date) {
-            cell.setCellValue((Date) rawValue);
-            cell.setCellStyle(dateTimeStyle);
-        } else {
-            cell.setCellValue(rawValue.toString());
-            cell.setCellStyle(dataStyle);
+                applyDataStyle(cell, dataStyle);
+                break;
+            case BOOLEAN:
+                cell.setCellValue((Boolean) rawValue);
+                applyDataStyle(cell, dataStyle);
+                break;
+            case DATE_TIME:
+                cell.setCellValue(ExcelDateUtils.toExcelDate((LocalDateTime) rawValue));
+                cell.setCellStyle(dateTimeStyle);
+                break;
+            case DATE:
+                cell.setCellValue(ExcelDateUtils.toExcelDate((LocalDate) rawValue));
+                cell.setCellStyle(dateStyle);
+                break;
+            case LEGACY_DATE:
+                cell.setCellValue((Date) rawValue);
+                cell.setCellStyle(dateTimeStyle);
+                break;
+            default:
+                setStringValue(cell, rawValue.toString());
+                applyDataStyle(cell, dataStyle);
         }
     }
 
-    private boolean canStoreAsExactNumeric(BigDecimal value) {
-        double doubleValue = value.doubleValue();
-        if (Double.isNaN(doubleValue) || Double.isInfinite(doubleValue)) {
-            return false;
+    /**
+     * Stores the text in the shared strings table, or inline in the cell when shared strings are disabled.
+     */
+    private void setStringValue(
+            XSSFCell cell,
+            String value
+    ) {
+        if (options.isSharedStrings()) {
+            cell.setCellValue(value);
+            return;
         }
 
-        BigDecimal roundTripped = BigDecimal.valueOf(doubleValue);
-        return value.stripTrailingZeros().compareTo(roundTripped.stripTrailingZeros()) == 0;
+        CTCell ctCell = cell.getCTCell();
+        if (ctCell.isSetV()) {
+            ctCell.unsetV();
+        }
+        ctCell.setT(STCellType.INLINE_STR);
+        ctCell.setIs(new XSSFRichTextString(value).getCTRst());
+    }
+
+    private static void applyDataStyle(
+            XSSFCell cell,
+            XSSFCellStyle dataStyle
+    ) {
+        if (dataStyle != null) {
+            cell.setCellStyle(dataStyle);
+        }
+    }
+
+    /**
+     * Returns an estimator when the sheet auto-sizes its columns with {@link AutoSizeStrategy#ESTIMATED},
+     * so that widths are tracked while the rows are written instead of laid out afterwards.
+     */
+    private ColumnWidthEstimator createWidthEstimator(ExcelSheet excelSheet) {
+        if (!excelSheet.getMetadata().isAutoSizeColumns()
+                || excelSheet.getMetadata().getAutoSizeStrategy() != AutoSizeStrategy.ESTIMATED) {
+            return null;
+        }
+        return ColumnWidthEstimator.forHeaders(excelSheet.getHeaders(), excelSheet.getMetadata().getAutoSizeSampleRows());
     }
 
     private void adjustColumnWidths(
             XSSFSheet sheet,
-            ExcelSheet excelSheet
+            ExcelSheet excelSheet,
+            ColumnWidthEstimator widthEstimator
     ) {
         for (int columnIndex = 0; columnIndex < excelSheet.getHeaders().size(); columnIndex++) {
             if (excelSheet.getMetadata().getColumnWidths().containsKey(columnIndex)) {
                 sheet.setColumnWidth(columnIndex, excelSheet.getMetadata().getColumnWidths().get(columnIndex));
+            } else if (widthEstimator != null) {
+                sheet.setColumnWidth(columnIndex, widthEstimator.getColumnWidth(columnIndex));
             } else if (excelSheet.getMetadata().isAutoSizeColumns()) {
                 sheet.autoSizeColumn(columnIndex);
             }
@@ -233,15 +325,17 @@ public class PoiWorkbookWriter implements WorkbookWriter {
 
     private XSSFCellStyle createDateStyle(XSSFWorkbook workbook) {
         XSSFCellStyle dateStyle = workbook.createCellStyle();
-        dateStyle.setBorderTop(BorderStyle.THIN);
-        dateStyle.setBorderBottom(BorderStyle.THIN);
-        dateStyle.setBorderLeft(BorderStyle.THIN);
-        dateStyle.setBorderRight(BorderStyle.THIN);
-        dateStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-        dateStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-        dateStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-        dateStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-        dateStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        if (options.isBorderedCells()) {
+            dateStyle.setBorderTop(BorderStyle.THIN);
+            dateStyle.setBorderBottom(BorderStyle.THIN);
+            dateStyle.setBorderLeft(BorderStyle.THIN);
+            dateStyle.setBorderRight(BorderStyle.THIN);
+            dateStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
+            dateStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
+            dateStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
+            dateStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
+            dateStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        }
         XSSFDataFormat dataFormat = workbook.createDataFormat();
         dateStyle.setDataFormat(dataFormat.getFormat("yyyy-mm-dd"));
         return dateStyle;
@@ -249,15 +343,17 @@ public class PoiWorkbookWriter implements WorkbookWriter {
 
     private XSSFCellStyle createDateTimeStyle(XSSFWorkbook workbook) {
         XSSFCellStyle dateTimeStyle = workbook.createCellStyle();
-        dateTimeStyle.setBorderTop(BorderStyle.THIN);
-        dateTimeStyle.setBorderBottom(BorderStyle.THIN);
-        dateTimeStyle.setBorderLeft(BorderStyle.THIN);
-        dateTimeStyle.setBorderRight(BorderStyle.THIN);
-        dateTimeStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
-        dateTimeStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
-        dateTimeStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
-        dateTimeStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
-        dateTimeStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        if (options.isBorderedCells()) {
+            dateTimeStyle.setBorderTop(BorderStyle.THIN);
+            dateTimeStyle.setBorderBottom(BorderStyle.THIN);
+            dateTimeStyle.setBorderLeft(BorderStyle.THIN);
+            dateTimeStyle.setBorderRight(BorderStyle.THIN);
+            dateTimeStyle.setTopBorderColor(IndexedColors.BLACK.getIndex());
+            dateTimeStyle.setBottomBorderColor(IndexedColors.BLACK.getIndex());
+            dateTimeStyle.setLeftBorderColor(IndexedColors.BLACK.getIndex());
+            dateTimeStyle.setRightBorderColor(IndexedColors.BLACK.getIndex());
+            dateTimeStyle.setVerticalAlignment(VerticalAlignment.CENTER);
+        }
         XSSFDataFormat dataFormat = workbook.createDataFormat();
         dateTimeStyle.setDataFormat(dataFormat.getFormat("yyyy-mm-dd hh:mm:ss"));
         return dateTimeStyle;
@@ -0,0 +1,118 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ChunkReader;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Pulls chunks from an {@link EntitySource} on the caller's thread. Readers whose decoding is cheaper than handing
+ * rows between threads use it instead of a producer thread and queue.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+final class PullChunkReader<T> implements ChunkReader<T> {
+    private static final Logger logger = Logger.getLogger(PullChunkReader.class.getName());
+
+    private final EntitySource<T> source;
+    private final Closeable resource;
+    private final int chunkSize;
+    private final String failureMessage;
+    private List<T> nextChunk;
+    private boolean exhausted;
+    private boolean closed;
+
+    /**
+     * @param resource       closed once the source is exhausted, fails or the reader is closed; may be {@code null}
+     * @param failureMessage message of the {@link DocumentConversionException} wrapping read errors
+     */
+    PullChunkReader(
+            EntitySource<T> source,
+            Closeable resource,
+            int chunkSize,
+            String failureMessage
+    ) {
+        this.source = source;
+        this.resource = resource;
+        this.chunkSize = chunkSize;
+        this.failureMessage = failureMessage;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (closed) {
+            return false;
+        }
+        if (nextChunk == null && !exhausted) {
+            nextChunk = readChunk();
+        }
+        return nextChunk != null;
+    }
+
+    @Override
+    public List<T> next() {
+        if (!hasNext()) throw new NoSuchElementException("No more chunks available.");
+        List<T> chunkToReturn = nextChunk;
+        nextChunk = null;
+        return chunkToReturn;
+    }
+
+    private List<T> readChunk() {
+        List<T> chunk = new ArrayList<>(chunkSize);
+        try {
+            T entity;
+            while (chunk.size() < chunkSize && (entity = source.next()) != null) {
+                chunk.add(entity);
+            }
+        } catch (IOException e) {
+            close();
+            throw new DocumentConversionException(failureMessage, e);
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+        if (chunk.size() < chunkSize) {
+            exhausted = true;
+            closeResource();
+        }
+        return chunk.isEmpty() ? null : chunk;
+    }
+
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        nextChunk = null;
+        closeResource();
+    }
+
+    private void closeResource() {
+        if (resource == null) {
+            return;
+        }
+        try {
+            resource.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing chunk reader input", e);
+        }
+    }
+
+    /**
+     * Supplies the entities of a sheet in order.
+     */
+    @FunctionalInterface
+    interface EntitySource<T> {
+        /**
+         * Returns the next entity, or {@code null} once the input is exhausted.
+         */
+        T next() throws IOException;
+    }
+}
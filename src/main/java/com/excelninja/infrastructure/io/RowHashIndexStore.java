@@ -0,0 +1,91 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.RowHashIndex;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Saves and loads the row hashes of a {@link RowHashIndex} between incremental import runs.
+ *
+ * <p>The file holds a magic number, a format version, the hash count and the sorted distinct hashes.
+ *
+ * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ */
+public final class RowHashIndexStore {
+    private static final int FILE_MAGIC = 0x4E585248; // "NXRH"
+    private static final int FILE_VERSION = 1;
+
+    private RowHashIndexStore() {}
+
+    /**
+     * Loads the hashes saved by a previous run. A missing file yields an empty index, so every row is emitted.
+     */
+    public static RowHashIndex load(Path path) throws IOException {
+        if (path == null) {
+            throw new DocumentConversionException("Row hash index path cannot be null");
+        }
+        if (!Files.exists(path)) {
+            return new RowHashIndex();
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(path)))) {
+            if (input.readInt() != FILE_MAGIC || input.readInt() != FILE_VERSION) {
+                throw new DocumentConversionException("Not a row hash index file: " + path);
+            }
+            int count = input.readInt();
+            if (count < 0 || count > (Files.size(path) - 12) / 8) {
+                throw new DocumentConversionException("Corrupted row hash index file: " + path);
+            }
+            long[] hashes = new long[count];
+            for (int i = 0; i < count; i++) {
+                hashes[i] = input.readLong();
+            }
+            return RowHashIndex.fromHashes(hashes);
+        }
+    }
+
+    /**
+     * Writes the hashes recorded by the current run of {@code index}. The file is replaced atomically where the
+     * file system allows it.
+     */
+    public static void save(
+            RowHashIndex index,
+            Path path
+    ) throws IOException {
+        if (index == null) {
+            throw new DocumentConversionException("Row hash index cannot be null");
+        }
+        if (path == null) {
+            throw new DocumentConversionException("Row hash index path cannot be null");
+        }
+
+        long[] hashes = index.toHashes();
+        Path absolutePath = path.toAbsolutePath();
+        Path tempFile = Files.createTempFile(absolutePath.getParent(), absolutePath.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                output.writeInt(FILE_MAGIC);
+                output.writeInt(FILE_VERSION);
+                output.writeInt(hashes.length);
+                for (long hash : hashes) {
+                    output.writeLong(hash);
+                }
+            }
+            try {
+                Files.move(tempFile, absolutePath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (IOException e) {
+                Files.move(tempFile, absolutePath, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(tempFile);
+        }
+    }
+}
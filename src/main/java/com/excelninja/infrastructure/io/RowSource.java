@@ -0,0 +1,24 @@
+package com.excelninja.infrastructure.io;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Rows of one sheet, pulled on demand by the record-based readers.
+ *
+ * <p><b>Thread Safety:</b> Implementations are not thread-safe.
+ */
+interface RowSource {
+    /**
+     * Reads the next row that has at least one non-blank cell. Cells are placed at their column index and gaps are
+     * {@code null}.
+     *
+     * @return {@code false} at the end of the sheet, leaving {@code row} empty
+     */
+    boolean nextRow(List<Object> row) throws IOException;
+
+    /**
+     * Returns the 1-based number of the row last read.
+     */
+    int getRowNumber();
+}
@@ -0,0 +1,168 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.InvalidDocumentStructureException;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.Headers;
+import com.excelninja.domain.model.RowConsumer;
+import com.excelninja.infrastructure.converter.DefaultConverter;
+import com.excelninja.infrastructure.metadata.EntityMetadata;
+import com.excelninja.infrastructure.metadata.EntityRowMapper;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.ss.usermodel.FormulaError;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Turns a {@link RowSource} into sheets and entities with the rules of {@link StreamingWorkbookReader}: the first
+ * non-empty row is the header and rows without meaningful values are skipped.
+ *
+ * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ */
+final class RowSources {
+    private static final DefaultConverter CONVERTER = new DefaultConverter();
+
+    private RowSources() {}
+
+    static ExcelSheet readSheet(
+            RowSource rows,
+            String sheetName
+    ) throws IOException {
+        List<String> headers = new ArrayList<>();
+        List<List<Object>> allRows = new ArrayList<>();
+        boolean isHeaderProcessed = false;
+        int maxColCount = 0;
+        List<Object> row = new ArrayList<>();
+        while (rows.nextRow(row)) {
+            StreamingWorkbookReader.checkNotInterrupted(rows.getRowNumber());
+            maxColCount = Math.max(maxColCount, row.size());
+            List<Object> rowValues = new ArrayList<>(maxColCount);
+            rowValues.addAll(row);
+            padTo(rowValues, maxColCount);
+
+            if (!isHeaderProcessed) {
+                rowValues.forEach(val -> headers.add(val != null ? val.toString().trim() : ""));
+                isHeaderProcessed = true;
+            } else if (StreamingWorkbookReader.hasMeaningfulValues(rowValues)) {
+                allRows.add(rowValues);
+            }
+        }
+        if (headers.isEmpty())
+            throw new InvalidDocumentStructureException("No headers found in sheet: " + sheetName);
+        return ExcelSheet.builder().name(sheetName).headers(headers).rows(allRows).build();
+    }
+
+    /**
+     * Converts every data row and passes it to {@code consumer}.
+     *
+     * @return the number of rows delivered
+     */
+    static <T> long forEach(
+            RowSource rows,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        EntityCursor<T> cursor = new EntityCursor<>(rows, entityType);
+        long deliveredRows = 0;
+        T entity;
+        while ((entity = cursor.next()) != null) {
+            try {
+                consumer.accept(entity);
+            } catch (DocumentConversionException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DocumentConversionException("Row consumer failed at row " + rows.getRowNumber(), e);
+            }
+            deliveredRows++;
+        }
+        return deliveredRows;
+    }
+
+    /**
+     * Returns the entities of the data rows, mapping the header row on the first call.
+     */
+    static <T> PullChunkReader.EntitySource<T> entities(
+            RowSource rows,
+            Class<T> entityType
+    ) {
+        return new EntityCursor<>(rows, entityType)::next;
+    }
+
+    /**
+     * Types a numeric cell like {@link StreamingWorkbookReader}: a date when the cell has a date format, a
+     * {@code Long} when the value is whole and a {@code Double} otherwise.
+     */
+    static Object numericValue(
+            double value,
+            boolean dateFormatted,
+            boolean date1904
+    ) {
+        if (dateFormatted && DateUtil.isValidExcelDate(value)) {
+            return DateUtil.getJavaDate(value, date1904);
+        }
+        if (value == Math.floor(value) && !Double.isInfinite(value) && value <= Long.MAX_VALUE) {
+            return (long) value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the text of an error cell, such as {@code ERROR: #DIV/0!}.
+     */
+    static String errorValue(int errorCode) {
+        return "ERROR: " + (FormulaError.isValidCode(errorCode) ? FormulaError.forInt(errorCode).getString() : "#N/A");
+    }
+
+    private static void padTo(
+            List<Object> rowValues,
+            int columnCount
+    ) {
+        while (rowValues.size() < columnCount) {
+            rowValues.add(null);
+        }
+    }
+
+    private static final class EntityCursor<T> {
+        private final RowSource rows;
+        private final EntityMetadata<T> entityMetadata;
+        private final List<Object> rowValues = new ArrayList<>();
+        private EntityRowMapper<T> rowMapper;
+        private int maxColCount;
+
+        private EntityCursor(
+                RowSource rows,
+                Class<T> entityType
+        ) {
+            this.rows = rows;
+            this.entityMetadata = EntityMetadata.of(entityType);
+        }
+
+        /**
+         * Returns the entity of the next data row, or {@code null} at the end of the sheet.
+         */
+        T next() throws IOException {
+            while (rows.nextRow(rowValues)) {
+                StreamingWorkbookReader.checkNotInterrupted(rows.getRowNumber());
+                maxColCount = Math.max(maxColCount, rowValues.size());
+                padTo(rowValues, maxColCount);
+                if (rowMapper == null) {
+                    List<String> headers = new ArrayList<>();
+                    rowValues.forEach(val -> headers.add(val != null ? val.toString().trim() : ""));
+                    rowMapper = EntityRowMapper.forHeaders(entityMetadata, Headers.of(headers), CONVERTER);
+                } else if (StreamingWorkbookReader.hasMeaningfulValues(rowValues)) {
+                    try {
+                        return rowMapper.map(rowValues);
+                    } catch (Exception e) {
+                        throw new DocumentConversionException(
+                                "Failed to convert row " + rows.getRowNumber() + " to entity " + entityMetadata,
+                                e
+                        );
+                    }
+                }
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Collects the distinct strings of a workbook and assigns their shared string table indexes in first-use order.
+ *
+ * <p>Strings are kept in an open-addressing hash table of {@code int} slots with linear probing, so repeated
+ * values such as status, country or currency codes cost one probe and no allocation per cell. Each distinct string
+ * is stored once, as the instance that was seen first. The number of distinct strings can be capped: once the
+ * table holds {@code maxUniqueCount} strings, unknown strings are reported as {@link #NOT_SHARED} and written
+ * inline by the caller. Values that repeat tend to appear early, so they stay in the table, while high-cardinality
+ * text such as identifiers no longer grows it.
+ *
+ * <p>For parallel writes the table is filled up front, merging per-sheet builders in sheet order, and then
+ * {@linkplain #freeze() frozen}. A frozen builder only looks strings up and can be shared by the sheet writers.
+ * Per-sheet builders with the same cap yield the same table as a sequential write, because a sheet never needs
+ * more than the cap of its own strings to fill the merged table.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe while strings are added. Once frozen, lookups are thread-safe.
+ */
+final class SharedStringsBuilder {
+    static final int NOT_SHARED = -1;
+    static final int UNLIMITED = Integer.MAX_VALUE;
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final int HASH_MULTIPLIER = 0x9E3779B9;
+
+    private final int maxUniqueCount;
+    private int[] slots = new int[INITIAL_CAPACITY * 2];
+    private int[] slotHashes = new int[INITIAL_CAPACITY * 2];
+    private String[] strings = new String[INITIAL_CAPACITY];
+    private int size;
+    private boolean frozen;
+
+    SharedStringsBuilder() {
+        this(UNLIMITED);
+    }
+
+    /**
+     * @param maxUniqueCount the number of distinct strings after which new strings are no longer shared
+     */
+    SharedStringsBuilder(int maxUniqueCount) {
+        if (maxUniqueCount < 1) {
+            throw new IllegalArgumentException("Shared strings limit must be positive: " + maxUniqueCount);
+        }
+        this.maxUniqueCount = maxUniqueCount;
+    }
+
+    /**
+     * Returns the table index of the given string, adding it on first use unless the builder is frozen or full.
+     * Returns {@link #NOT_SHARED} for strings that did not fit into the table.
+     */
+    int indexOf(String value) {
+        int hash = hash(value);
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        int entry;
+        while ((entry = slots[slot]) != 0) {
+            if (slotHashes[slot] == hash) {
+                String candidate = strings[entry - 1];
+                if (candidate == value || candidate.equals(value)) {
+                    return entry - 1;
+                }
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        if (size >= maxUniqueCount) {
+            return NOT_SHARED;
+        }
+        if (frozen) {
+            throw new DocumentConversionException("String was not collected before the shared strings table was frozen: " + value);
+        }
+        return add(value, hash, slot);
+    }
+
+    /**
+     * Adds the strings of another builder in their first-use order.
+     */
+    void addAll(SharedStringsBuilder other) {
+        for (int i = 0; i < other.size; i++) {
+            indexOf(other.strings[i]);
+        }
+    }
+
+    void freeze() {
+        frozen = true;
+    }
+
+    int getUniqueCount() {
+        return size;
+    }
+
+    int getMaxUniqueCount() {
+        return maxUniqueCount;
+    }
+
+    /**
+     * Writes the table part.
+     *
+     * @param referenceCount number of cells referring to the table, stored as the {@code count} attribute
+     */
+    void write(
+            XmlOutput out,
+            long referenceCount
+    ) throws IOException {
+        out.raw(OoxmlParts.XML_DECLARATION)
+                .raw("<sst xmlns=\"").raw(OoxmlParts.SPREADSHEETML_NAMESPACE)
+                .raw("\" count=\"").number(referenceCount)
+                .raw("\" uniqueCount=\"").number(size).raw("\">");
+        for (int i = 0; i < size; i++) {
+            out.raw("<si>");
+            OoxmlParts.writeTextElement(out, strings[i]);
+            out.raw("</si>");
+        }
+        out.raw("</sst>");
+    }
+
+    private int add(
+            String value,
+            int hash,
+            int slot
+    ) {
+        if (size == strings.length) {
+            strings = Arrays.copyOf(strings, size * 2);
+        }
+        int index = size++;
+        strings[index] = value;
+        slots[slot] = index + 1;
+        slotHashes[slot] = hash;
+
+        if (size * 2 > slots.length) {
+            rehash(slots.length * 2);
+        }
+        return index;
+    }
+
+    /**
+     * Keeps the load factor at or below one half so that probe sequences stay short.
+     */
+    private void rehash(int capacity) {
+        int[] newSlots = new int[capacity];
+        int[] newHashes = new int[capacity];
+        int mask = capacity - 1;
+        for (int i = 0; i < slots.length; i++) {
+            if (slots[i] != 0) {
+                int slot = slotHashes[i] & mask;
+                while (newSlots[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                newSlots[slot] = slots[i];
+                newHashes[slot] = slotHashes[i];
+            }
+        }
+        slots = newSlots;
+        slotHashes = newHashes;
+    }
+
+    /**
+     * Spreads the cached {@link String#hashCode()} over all bits, since the slot index only uses the low ones.
+     */
+    private static int hash(String value) {
+        int hash = value.hashCode() * HASH_MULTIPLIER;
+        return hash ^ (hash >>> 16);
+    }
+}
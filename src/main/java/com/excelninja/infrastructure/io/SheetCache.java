@@ -0,0 +1,455 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.DocumentRow;
+import com.excelninja.domain.model.ExcelSheet;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Caches decoded sheets so that repeated reads of the same workbook skip zip inflation and XML parsing.
+ *
+ * <p>Lookups go through two tiers. The memory tier is least-recently-used and bounded by the estimated size of the
+ * sheets it holds. The optional disk tier keeps a {@link SheetSnapshot} per sheet in a local directory, bounded by
+ * total file size, so cached sheets survive restarts and are shared by processes using the same directory.
+ *
+ * <p>Entries are keyed by the workbook's identity and the sheet name. {@link KeyStrategy#FILE_ATTRIBUTES} uses the
+ * canonical path, size and modification time, which costs one {@code stat}; {@link KeyStrategy#CONTENT_HASH} uses a
+ * SHA-256 of the file content, which costs a sequential read but also recognizes copies and survives
+ * modification-time changes. Either way, a changed file gets a new key, and the entries of its old content age out.
+ *
+ * <p>Cached sheets are shared between callers. Their rows are immutable, but {@link java.util.Date} cell values
+ * are not and must not be modified.
+ *
+ * <p><b>Thread Safety:</b> This class is thread-safe. Concurrent misses on the same sheet may each load it.
+ */
+public final class SheetCache {
+    private static final Logger logger = Logger.getLogger(SheetCache.class.getName());
+    private static final String SNAPSHOT_SUFFIX = ".njs";
+    private static final String TEMP_PREFIX = "snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+    private static final long STALE_TEMP_MILLIS = 10 * 60 * 1000L;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    /**
+     * How a workbook is identified.
+     */
+    public enum KeyStrategy {
+        /**
+         * Canonical path, size and last-modified time.
+         */
+        FILE_ATTRIBUTES,
+        /**
+         * SHA-256 of the file content.
+         */
+        CONTENT_HASH
+    }
+
+    /**
+     * Decodes a sheet on a cache miss.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * @return the sheet, or {@code null} if the workbook has no such sheet; {@code null} is not cached
+         */
+        ExcelSheet load() throws IOException;
+    }
+
+    private final KeyStrategy keyStrategy;
+    private final long maxMemoryBytes;
+    private final Path directory;
+    private final long maxDiskBytes;
+    private final LinkedHashMap<String, Entry> memory = new LinkedHashMap<>(16, 0.75f, true);
+    private final AtomicLong memoryHits = new AtomicLong();
+    private final AtomicLong diskHits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final Object diskLock = new Object();
+    private long memoryBytes;
+
+    private SheetCache(SheetCacheBuilder builder) {
+        this.keyStrategy = builder.keyStrategy;
+        this.maxMemoryBytes = builder.maxMemoryBytes;
+        this.directory = builder.directory;
+        this.maxDiskBytes = builder.maxDiskBytes;
+    }
+
+    public static SheetCacheBuilder builder() {
+        return new SheetCacheBuilder();
+    }
+
+    /**
+     * Returns the cached sheet, loading and caching it on a miss.
+     */
+    public ExcelSheet get(
+            File file,
+            String sheetName,
+            Loader loader
+    ) throws IOException {
+        String key = keyOf(file, sheetName);
+        ExcelSheet sheet = fromMemory(key);
+        if (sheet != null) {
+            memoryHits.incrementAndGet();
+            return sheet;
+        }
+        String snapshotName = snapshotName(key);
+        if (directory != null) {
+            sheet = fromDisk(snapshotName);
+            if (sheet != null) {
+                diskHits.incrementAndGet();
+                toMemory(key, sheet);
+                return sheet;
+            }
+        }
+
+        misses.incrementAndGet();
+        sheet = loader.load();
+        if (sheet != null) {
+            toMemory(key, sheet);
+            if (directory != null) {
+                toDisk(snapshotName, sheet);
+            }
+        }
+        return sheet;
+    }
+
+    public long getMemoryHits() {
+        return memoryHits.get();
+    }
+
+    public long getDiskHits() {
+        return diskHits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    /**
+     * Returns the number of sheets in the memory tier.
+     */
+    public synchronized int getMemoryEntryCount() {
+        return memory.size();
+    }
+
+    /**
+     * Returns the estimated size of the sheets in the memory tier.
+     */
+    public synchronized long getMemoryBytes() {
+        return memoryBytes;
+    }
+
+    /**
+     * Empties the memory tier and deletes the snapshots of the disk tier.
+     */
+    public void clear() throws IOException {
+        synchronized (this) {
+            memory.clear();
+            memoryBytes = 0;
+        }
+        if (directory != null) {
+            synchronized (diskLock) {
+                for (Path snapshot : listSnapshots()) {
+                    Files.deleteIfExists(snapshot);
+                }
+            }
+        }
+    }
+
+    private synchronized ExcelSheet fromMemory(String key) {
+        Entry entry = memory.get(key);
+        return entry != null ? entry.sheet : null;
+    }
+
+    private synchronized void toMemory(
+            String key,
+            ExcelSheet sheet
+    ) {
+        long weight = estimateBytes(sheet);
+        if (weight > maxMemoryBytes) {
+            return;
+        }
+        Entry previous = memory.put(key, new Entry(sheet, weight));
+        memoryBytes += weight - (previous != null ? previous.weight : 0);
+        Iterator<Entry> eldest = memory.values().iterator();
+        while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+            memoryBytes -= eldest.next().weight;
+            eldest.remove();
+        }
+    }
+
+    /**
+     * Reads a snapshot, or returns {@code null} if there is none. Unreadable snapshots are deleted.
+     */
+    private ExcelSheet fromDisk(String snapshotName) {
+        Path snapshot = directory.resolve(snapshotName);
+        try (InputStream input = new BufferedInputStream(Files.newInputStream(snapshot), BUFFER_SIZE)) {
+            ExcelSheet sheet = SheetSnapshot.read(input, Files.size(snapshot));
+            Files.setLastModifiedTime(snapshot, FileTime.fromMillis(System.currentTimeMillis()));
+            return sheet;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "[NINJA-EXCEL] Discarding unreadable sheet snapshot: " + snapshot, e);
+            try {
+                Files.deleteIfExists(snapshot);
+            } catch (IOException deleteFailure) {
+                logger.log(Level.WARNING, "[NINJA-EXCEL] Could not delete sheet snapshot: " + snapshot, deleteFailure);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Writes a snapshot through a temporary file, so that readers never see a partial one, then trims the directory
+     * to its size bound by deleting the least recently used snapshots. A failed write only costs the disk tier.
+     */
+    private void toDisk(
+            String snapshotName,
+            ExcelSheet sheet
+    ) {
+        Path temp = null;
+        try {
+            Files.createDirectories(directory);
+            temp = Files.createTempFile(directory, TEMP_PREFIX, TEMP_SUFFIX);
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temp), BUFFER_SIZE)) {
+                SheetSnapshot.write(sheet, output);
+            }
+            try {
+                Files.move(temp, directory.resolve(snapshotName), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, directory.resolve(snapshotName), StandardCopyOption.REPLACE_EXISTING);
+            }
+            temp = null;
+            synchronized (diskLock) {
+                trimDisk();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.log(Level.WARNING, "[NINJA-EXCEL] Could not write sheet snapshot for sheet: " + sheet.getName().getValue(), e);
+        } finally {
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException e) {
+                    logger.log(Level.WARNING, "[NINJA-EXCEL] Could not delete temporary snapshot: " + temp, e);
+                }
+            }
+        }
+    }
+
+    /**
+     * Deletes the least recently used snapshots until the directory is within its size bound. Temporary files count
+     * towards the bound; those older than {@value #STALE_TEMP_MILLIS} ms were left behind by a crash or a failed move
+     * and are deleted.
+     */
+    private void trimDisk() throws IOException {
+        long totalBytes = 0;
+        long staleBefore = System.currentTimeMillis() - STALE_TEMP_MILLIS;
+        for (Path temp : listFiles(TEMP_PREFIX + "*" + TEMP_SUFFIX)) {
+            BasicFileAttributes tempAttributes;
+            try {
+                tempAttributes = Files.readAttributes(temp, BasicFileAttributes.class);
+            } catch (NoSuchFileException e) {
+                continue;
+            }
+            if (tempAttributes.lastModifiedTime().toMillis() < staleBefore) {
+                Files.deleteIfExists(temp);
+            } else {
+                totalBytes += tempAttributes.size();
+            }
+        }
+        List<Path> snapshots = listSnapshots();
+        List<BasicFileAttributes> attributes = new ArrayList<>();
+        for (Path snapshot : snapshots) {
+            BasicFileAttributes snapshotAttributes = Files.readAttributes(snapshot, BasicFileAttributes.class);
+            attributes.add(snapshotAttributes);
+            totalBytes += snapshotAttributes.size();
+        }
+        if (totalBytes <= maxDiskBytes) {
+            return;
+        }
+        List<Integer> order = new ArrayList<>();
+        for (int i = 0; i < snapshots.size(); i++) {
+            order.add(i);
+        }
+        order.sort(Comparator.comparing(i -> attributes.get(i).lastModifiedTime()));
+        for (int i : order) {
+            if (totalBytes <= maxDiskBytes) {
+                break;
+            }
+            Files.deleteIfExists(snapshots.get(i));
+            totalBytes -= attributes.get(i).size();
+        }
+    }
+
+    private List<Path> listSnapshots() throws IOException {
+        return listFiles("*" + SNAPSHOT_SUFFIX);
+    }
+
+    private List<Path> listFiles(String glob) throws IOException {
+        List<Path> files = new ArrayList<>();
+        if (!Files.isDirectory(directory)) {
+            return files;
+        }
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, glob)) {
+            entries.forEach(files::add);
+        }
+        return files;
+    }
+
+    private String keyOf(
+            File file,
+            String sheetName
+    ) throws IOException {
+        if (keyStrategy == KeyStrategy.CONTENT_HASH) {
+            return hex(contentHash(file)) + '\n' + sheetName;
+        }
+        BasicFileAttributes attributes = Files.readAttributes(file.toPath(), BasicFileAttributes.class);
+        return file.getCanonicalPath() + '\n' + attributes.size() + '\n' + attributes.lastModifiedTime().toMillis() + '\n' + sheetName;
+    }
+
+    private static String snapshotName(String key) {
+        return hex(sha256().digest(key.getBytes(StandardCharsets.UTF_8))) + SNAPSHOT_SUFFIX;
+    }
+
+    static byte[] contentHash(File file) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[BUFFER_SIZE];
+        try (InputStream input = Files.newInputStream(file.toPath())) {
+            int read;
+            while ((read = input.read(buffer)) > 0) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return digest.digest();
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+
+    private static String hex(byte[] bytes) {
+        StringBuilder text = new StringBuilder(bytes.length * 2);
+        for (byte b : bytes) {
+            text.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+        }
+        return text.toString();
+    }
+
+    /**
+     * Estimates the heap size of a sheet from its row and value counts and string lengths.
+     */
+    static long estimateBytes(ExcelSheet sheet) {
+        long bytes = 256;
+        for (String header : sheet.getHeaders().getHeaderNames()) {
+            bytes += 64 + 2L * header.length();
+        }
+        for (DocumentRow row : sheet.getRows().getRows()) {
+            bytes += 64;
+            for (Object value : row.getValues()) {
+                bytes += 8 + estimateValueBytes(value);
+            }
+        }
+        return bytes;
+    }
+
+    private static long estimateValueBytes(Object value) {
+        if (value == null || value instanceof Boolean) {
+            return 0;
+        }
+        if (value instanceof String) {
+            return 40 + 2L * ((String) value).length();
+        }
+        return 24;
+    }
+
+    private static final class Entry {
+        private final ExcelSheet sheet;
+        private final long weight;
+
+        private Entry(
+                ExcelSheet sheet,
+                long weight
+        ) {
+            this.sheet = sheet;
+            this.weight = weight;
+        }
+    }
+
+    public static class SheetCacheBuilder {
+        private KeyStrategy keyStrategy = KeyStrategy.FILE_ATTRIBUTES;
+        private long maxMemoryBytes = 64L * 1024 * 1024;
+        private Path directory;
+        private long maxDiskBytes = 1024L * 1024 * 1024;
+
+        public SheetCacheBuilder keyStrategy(KeyStrategy keyStrategy) {
+            if (keyStrategy == null) {
+                throw new DocumentConversionException("Key strategy cannot be null");
+            }
+            this.keyStrategy = keyStrategy;
+            return this;
+        }
+
+        /**
+         * Bounds the estimated heap size of the memory tier; {@code 0} disables it. Defaults to 64 MB.
+         */
+        public SheetCacheBuilder maxMemoryBytes(long maxMemoryBytes) {
+            if (maxMemoryBytes < 0) {
+                throw new DocumentConversionException("Memory bound cannot be negative");
+            }
+            this.maxMemoryBytes = maxMemoryBytes;
+            return this;
+        }
+
+        /**
+         * Enables the disk tier in {@code directory}, which is created on the first write.
+         */
+        public SheetCacheBuilder directory(Path directory) {
+            this.directory = directory;
+            return this;
+        }
+
+        /**
+         * Bounds the total size of the snapshots in the disk tier. Defaults to 1 GB.
+         */
+        public SheetCacheBuilder maxDiskBytes(long maxDiskBytes) {
+            if (maxDiskBytes < 0) {
+                throw new DocumentConversionException("Disk bound cannot be negative");
+            }
+            this.maxDiskBytes = maxDiskBytes;
+            return this;
+        }
+
+        public SheetCache build() {
+            return new SheetCache(this);
+        }
+    }
+}
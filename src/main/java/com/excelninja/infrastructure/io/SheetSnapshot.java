@@ -0,0 +1,312 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.model.DocumentRow;
+import com.excelninja.domain.model.ExcelSheet;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Binary form of a decoded {@link ExcelSheet}, read back without any zip inflation or XML parsing.
+ *
+ * <p>Every value is a tag byte followed by its payload. Counts and string lengths are variable-length integers,
+ * and each distinct string is written once: later occurrences refer to it by index, which keeps lookup tables with
+ * repeated codes small. Only the value types that the readers produce are supported.
+ *
+ * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ */
+final class SheetSnapshot {
+    private static final int MAGIC = 0x4E4A5331;
+
+    private static final int NULL = 0;
+    private static final int STRING = 1;
+    private static final int STRING_REF = 2;
+    private static final int LONG = 3;
+    private static final int DOUBLE = 4;
+    private static final int TRUE = 5;
+    private static final int FALSE = 6;
+    private static final int DATE = 7;
+    private static final int INTEGER = 8;
+    private static final int LOCAL_DATE = 9;
+    private static final int LOCAL_DATE_TIME = 10;
+    private static final int DECIMAL = 11;
+
+    private SheetSnapshot() {}
+
+    /**
+     * @throws IOException if writing fails or a cell holds a value type that snapshots do not support
+     */
+    static void write(
+            ExcelSheet sheet,
+            OutputStream outputStream
+    ) throws IOException {
+        DataOutputStream output = new DataOutputStream(outputStream);
+        Map<String, Integer> strings = new HashMap<>();
+        output.writeInt(MAGIC);
+        writeString(output, strings, sheet.getName().getValue());
+        List<String> headers = sheet.getHeaders().getHeaderNames();
+        writeVarInt(output, headers.size());
+        for (String header : headers) {
+            writeString(output, strings, header);
+        }
+        List<DocumentRow> rows = sheet.getRows().getRows();
+        writeVarInt(output, rows.size());
+        for (DocumentRow row : rows) {
+            List<Object> values = row.getValues();
+            writeVarInt(output, values.size());
+            for (Object value : values) {
+                writeValue(output, strings, value);
+            }
+        }
+        output.flush();
+    }
+
+    /**
+     * Reads a snapshot of {@code length} bytes. Counts and lengths are checked against the bytes left, so a corrupt
+     * snapshot fails with an {@link IOException} instead of allocating arrays it cannot fill.
+     *
+     * @throws IOException if the stream is not a sheet snapshot, ends early or declares more data than it holds
+     */
+    static ExcelSheet read(
+            InputStream inputStream,
+            long length
+    ) throws IOException {
+        SnapshotInput input = new SnapshotInput(inputStream, length);
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a sheet snapshot");
+        }
+        List<String> strings = new ArrayList<>();
+        String sheetName = (String) readValue(input, strings);
+        int headerCount = readCount(input);
+        List<String> headers = new ArrayList<>(headerCount);
+        for (int i = 0; i < headerCount; i++) {
+            headers.add((String) readValue(input, strings));
+        }
+        int rowCount = readCount(input);
+        List<List<Object>> rows = new ArrayList<>(rowCount);
+        for (int r = 0; r < rowCount; r++) {
+            int valueCount = readCount(input);
+            List<Object> values = new ArrayList<>(valueCount);
+            for (int i = 0; i < valueCount; i++) {
+                values.add(readValue(input, strings));
+            }
+            rows.add(values);
+        }
+        return ExcelSheet.builder().name(sheetName).headers(headers).rows(rows).build();
+    }
+
+    private static void writeValue(
+            DataOutputStream output,
+            Map<String, Integer> strings,
+            Object value
+    ) throws IOException {
+        if (value == null) {
+            output.writeByte(NULL);
+        } else if (value instanceof String) {
+            writeString(output, strings, (String) value);
+        } else if (value instanceof Long) {
+            output.writeByte(LONG);
+            output.writeLong((Long) value);
+        } else if (value instanceof Double) {
+            output.writeByte(DOUBLE);
+            output.writeDouble((Double) value);
+        } else if (value instanceof Boolean) {
+            output.writeByte((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Date) {
+            output.writeByte(DATE);
+            output.writeLong(((Date) value).getTime());
+        } else if (value instanceof Integer) {
+            output.writeByte(INTEGER);
+            output.writeInt((Integer) value);
+        } else if (value instanceof LocalDate) {
+            output.writeByte(LOCAL_DATE);
+            output.writeLong(((LocalDate) value).toEpochDay());
+        } else if (value instanceof LocalDateTime) {
+            LocalDateTime dateTime = (LocalDateTime) value;
+            output.writeByte(LOCAL_DATE_TIME);
+            output.writeLong(dateTime.toLocalDate().toEpochDay());
+            output.writeLong(dateTime.toLocalTime().toNanoOfDay());
+        } else if (value instanceof BigDecimal) {
+            byte[] text = ((BigDecimal) value).toString().getBytes(StandardCharsets.UTF_8);
+            output.writeByte(DECIMAL);
+            writeVarInt(output, text.length);
+            output.write(text);
+        } else {
+            throw new IOException("Unsupported cell value type for snapshot: " + value.getClass().getName());
+        }
+    }
+
+    private static void writeString(
+            DataOutputStream output,
+            Map<String, Integer> strings,
+            String value
+    ) throws IOException {
+        Integer index = strings.get(value);
+        if (index != null) {
+            output.writeByte(STRING_REF);
+            writeVarInt(output, index);
+            return;
+        }
+        strings.put(value, strings.size());
+        byte[] text = value.getBytes(StandardCharsets.UTF_8);
+        output.writeByte(STRING);
+        writeVarInt(output, text.length);
+        output.write(text);
+    }
+
+    private static Object readValue(
+            SnapshotInput input,
+            List<String> strings
+    ) throws IOException {
+        int tag = input.readUnsignedByte();
+        switch (tag) {
+            case NULL:
+                return null;
+            case STRING:
+                String value = new String(readBytes(input), StandardCharsets.UTF_8);
+                strings.add(value);
+                return value;
+            case STRING_REF:
+                int index = readVarInt(input);
+                if (index >= strings.size()) {
+                    throw new IOException("Invalid string reference " + index + " in sheet snapshot");
+                }
+                return strings.get(index);
+            case LONG:
+                return input.readLong();
+            case DOUBLE:
+                return input.readDouble();
+            case TRUE:
+                return Boolean.TRUE;
+            case FALSE:
+                return Boolean.FALSE;
+            case DATE:
+                return new Date(input.readLong());
+            case INTEGER:
+                return input.readInt();
+            case LOCAL_DATE:
+                return LocalDate.ofEpochDay(input.readLong());
+            case LOCAL_DATE_TIME:
+                LocalDate date = LocalDate.ofEpochDay(input.readLong());
+                return LocalDateTime.of(date, LocalTime.ofNanoOfDay(input.readLong()));
+            case DECIMAL:
+                return new BigDecimal(new String(readBytes(input), StandardCharsets.UTF_8));
+            default:
+                throw new IOException("Unknown value tag " + tag + " in sheet snapshot");
+        }
+    }
+
+    private static byte[] readBytes(SnapshotInput input) throws IOException {
+        byte[] bytes = new byte[readCount(input)];
+        input.readFully(bytes);
+        return bytes;
+    }
+
+    /**
+     * Reads a count of values or bytes; each of them takes at least one byte of the snapshot.
+     */
+    private static int readCount(SnapshotInput input) throws IOException {
+        int count = readVarInt(input);
+        if (count > input.remaining()) {
+            throw new IOException("Length " + count + " exceeds the remaining bytes of the sheet snapshot");
+        }
+        return count;
+    }
+
+    private static void writeVarInt(
+            DataOutputStream output,
+            int value
+    ) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(SnapshotInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 35; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                if (value < 0) {
+                    throw new IOException("Invalid length in sheet snapshot");
+                }
+                return value;
+            }
+        }
+        throw new IOException("Invalid length in sheet snapshot");
+    }
+
+    /**
+     * Snapshot input that tracks how many bytes of the snapshot are left to read.
+     */
+    private static final class SnapshotInput extends DataInputStream {
+        private SnapshotInput(
+                InputStream input,
+                long length
+        ) {
+            super(new CountingInputStream(input, length));
+        }
+
+        long remaining() {
+            return ((CountingInputStream) in).remaining;
+        }
+    }
+
+    private static final class CountingInputStream extends FilterInputStream {
+        private long remaining;
+
+        private CountingInputStream(
+                InputStream input,
+                long length
+        ) {
+            super(input);
+            this.remaining = length;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                remaining--;
+            }
+            return b;
+        }
+
+        @Override
+        public int read(
+                byte[] buffer,
+                int offset,
+                int length
+        ) throws IOException {
+            int read = super.read(buffer, offset, length);
+            if (read > 0) {
+                remaining -= read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long skipped = super.skip(n);
+            remaining -= skipped;
+            return skipped;
+        }
+    }
+}
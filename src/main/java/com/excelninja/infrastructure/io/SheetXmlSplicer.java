@@ -0,0 +1,412 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.InvalidDocumentStructureException;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Splices new rows into an existing {@code sheetN.xml} part while copying everything else byte for byte.
+ *
+ * <p>The part is read twice. {@link #scan(InputStream)} walks the markup up to the end of {@code <sheetData>} and
+ * records the last row number, the widest column and the cell styles of the last row. {@link #splice} then copies
+ * the part, replaces the {@code <dimension>} reference and lets a {@link RowsWriter} emit rows right before
+ * {@code </sheetData>}. Text and attribute bytes are never decoded, so the cost of both passes is bound by I/O
+ * rather than by the number of existing rows.
+ *
+ * <p>Only the markup of the SpreadsheetML default namespace is supported, which is what Excel, POI and this
+ * library write. Sheets whose {@code sheetData} element carries a namespace prefix are rejected.
+ *
+ * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ */
+final class SheetXmlSplicer {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private SheetXmlSplicer() {
+    }
+
+    /**
+     * Writes the rows spliced into a sheet part.
+     */
+    interface RowsWriter {
+        void writeRows(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Reads a sheet part up to the end of its {@code sheetData} element.
+     */
+    static SheetLayout scan(InputStream input) throws IOException {
+        MarkupReader reader = new MarkupReader(input, null);
+        SheetLayout layout = new SheetLayout();
+        int[] rowStyles = new int[0];
+        int rowColumnCount = 0;
+        int lastColumn = -1;
+
+        Tag tag;
+        while ((tag = reader.nextTag()) != null) {
+            if (tag.isNamed("dimension")) {
+                layout.dimensionStart = dimensionStart(tag.attribute("ref"));
+            } else if (tag.isNamed("sheetData")) {
+                if (tag.hasPrefix()) {
+                    throw new InvalidDocumentStructureException("Sheet parts with a prefixed sheetData element are not supported");
+                }
+                if (tag.isEnd() || tag.isEmptyElement()) {
+                    break;
+                }
+            } else if (tag.isNamed("row") && !tag.isEnd()) {
+                String reference = tag.attribute("r");
+                layout.lastRowNumber = reference != null ? Integer.parseInt(reference) : layout.lastRowNumber + 1;
+                rowColumnCount = 0;
+                lastColumn = -1;
+            } else if (tag.isNamed("c") && !tag.isEnd()) {
+                String reference = tag.attribute("r");
+                int column = reference != null ? columnIndex(reference) : lastColumn + 1;
+                String style = tag.attribute("s");
+                if (column >= rowStyles.length) {
+                    rowStyles = Arrays.copyOf(rowStyles, Math.max(column + 1, rowStyles.length * 2));
+                }
+                Arrays.fill(rowStyles, rowColumnCount, Math.max(rowColumnCount, column), 0);
+                rowStyles[column] = style != null ? Integer.parseInt(style) : 0;
+                rowColumnCount = Math.max(rowColumnCount, column + 1);
+                lastColumn = column;
+                layout.lastColumnIndex = Math.max(layout.lastColumnIndex, column);
+            }
+        }
+        layout.lastRowStyles = Arrays.copyOf(rowStyles, rowColumnCount);
+        return layout;
+    }
+
+    /**
+     * Returns the {@code ref} attribute of a sheet part's {@code <dimension>}, or {@code null} when the part has none.
+     * Reading stops at {@code <sheetData>}, so the cost does not depend on the number of rows.
+     */
+    static String readDimension(InputStream input) throws IOException {
+        MarkupReader reader = new MarkupReader(input, null);
+        Tag tag;
+        while ((tag = reader.nextTag()) != null) {
+            if (tag.isNamed("dimension") && !tag.isEnd()) {
+                return tag.attribute("ref");
+            }
+            if (tag.isNamed("sheetData")) {
+                return null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Copies a sheet part, replacing the end of its dimension reference with {@code <lastColumn><lastRow>}, keeping
+     * the original start cell, and inserting the rows of the writer at the end of {@code sheetData}.
+     */
+    static void splice(
+            InputStream input,
+            OutputStream output,
+            SheetLayout layout,
+            int lastColumnIndex,
+            int lastRowNumber,
+            RowsWriter rowsWriter
+    ) throws IOException {
+        MarkupReader reader = new MarkupReader(input, output);
+        Tag tag;
+        while ((tag = reader.nextTag()) != null) {
+            if (tag.isNamed("dimension") && !tag.isEnd()) {
+                writeDimension(output, tag, layout, lastColumnIndex, lastRowNumber);
+            } else if (tag.isNamed("sheetData") && tag.isEmptyElement()) {
+                output.write(ascii("<" + tag.qualifiedName + ">"));
+                rowsWriter.writeRows(output);
+                output.write(ascii("</" + tag.qualifiedName + ">"));
+                reader.copyRemaining();
+                return;
+            } else if (tag.isNamed("sheetData") && tag.isEnd()) {
+                rowsWriter.writeRows(output);
+                tag.writeTo(output);
+                reader.copyRemaining();
+                return;
+            } else {
+                tag.writeTo(output);
+            }
+        }
+        throw new InvalidDocumentStructureException("Sheet part has no sheetData element");
+    }
+
+    private static void writeDimension(
+            OutputStream output,
+            Tag tag,
+            SheetLayout layout,
+            int lastColumnIndex,
+            int lastRowNumber
+    ) throws IOException {
+        String start = layout.dimensionStart != null ? layout.dimensionStart : "A1";
+        StringBuilder reference = new StringBuilder(start);
+        int startRow = Integer.parseInt(start.replaceAll("^[A-Z]+", ""));
+        int startColumn = columnIndex(start);
+        if (lastRowNumber > startRow || lastColumnIndex > startColumn) {
+            reference.append(':');
+            appendColumnName(reference, Math.max(lastColumnIndex, startColumn));
+            reference.append(Math.max(lastRowNumber, startRow));
+        }
+        // A non-empty dimension keeps its form, so that its end tag is still matched when copied
+        output.write(ascii("<" + tag.qualifiedName + " ref=\"" + reference + "\"" + (tag.isEmptyElement() ? "/>" : ">")));
+    }
+
+    private static String dimensionStart(String reference) {
+        if (reference == null || reference.isEmpty()) {
+            return null;
+        }
+        int separator = reference.indexOf(':');
+        String start = separator >= 0 ? reference.substring(0, separator) : reference;
+        return start.replace("$", "");
+    }
+
+    static int columnIndex(String cellReference) {
+        int column = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c < 'A' || c > 'Z') {
+                break;
+            }
+            column = column * 26 + (c - 'A' + 1);
+        }
+        return column - 1;
+    }
+
+    private static void appendColumnName(
+            StringBuilder target,
+            int columnIndex
+    ) {
+        int insertAt = target.length();
+        int remaining = columnIndex + 1;
+        while (remaining > 0) {
+            int letter = (remaining - 1) % 26;
+            target.insert(insertAt, (char) ('A' + letter));
+            remaining = (remaining - 1) / 26;
+        }
+    }
+
+    private static byte[] ascii(String markup) {
+        return markup.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /**
+     * What a sheet part contains before rows are added.
+     */
+    static final class SheetLayout {
+        private int lastRowNumber;
+        private int lastColumnIndex = -1;
+        private int[] lastRowStyles = new int[0];
+        private String dimensionStart;
+
+        /**
+         * Returns the 1-based number of the last row, or 0 when the sheet has no rows.
+         */
+        int getLastRowNumber() {
+            return lastRowNumber;
+        }
+
+        /**
+         * Returns the 0-based index of the widest column with a cell, or -1 when the sheet has no cells.
+         */
+        int getLastColumnIndex() {
+            return lastColumnIndex;
+        }
+
+        /**
+         * Returns the style index of every column of the last row, 0 where the row has no cell.
+         */
+        int[] getLastRowStyles() {
+            return lastRowStyles.clone();
+        }
+    }
+
+    /**
+     * One tag, comment or processing instruction, kept as its raw bytes.
+     */
+    private static final class Tag {
+        private final byte[] bytes;
+        private final int length;
+        private final String qualifiedName;
+        private final String localName;
+        private final boolean end;
+        private final boolean emptyElement;
+
+        private Tag(
+                byte[] bytes,
+                int length
+        ) {
+            this.bytes = bytes;
+            this.length = length;
+            this.end = length > 1 && bytes[1] == '/';
+            this.emptyElement = length > 2 && bytes[length - 2] == '/';
+
+            int nameStart = end ? 2 : 1;
+            int nameEnd = nameStart;
+            while (nameEnd < length && !isNameTerminator(bytes[nameEnd])) {
+                nameEnd++;
+            }
+            this.qualifiedName = new String(bytes, nameStart, nameEnd - nameStart, StandardCharsets.ISO_8859_1);
+            int colon = qualifiedName.indexOf(':');
+            this.localName = colon >= 0 ? qualifiedName.substring(colon + 1) : qualifiedName;
+        }
+
+        private static boolean isNameTerminator(byte b) {
+            return b == ' ' || b == '\t' || b == '\r' || b == '\n' || b == '/' || b == '>';
+        }
+
+        boolean isNamed(String name) {
+            return localName.equals(name);
+        }
+
+        boolean hasPrefix() {
+            return localName.length() != qualifiedName.length();
+        }
+
+        boolean isEnd() {
+            return end;
+        }
+
+        boolean isEmptyElement() {
+            return emptyElement;
+        }
+
+        /**
+         * Returns the value of an unprefixed attribute without decoding entities, which is sufficient for the
+         * numeric and reference attributes read here.
+         */
+        String attribute(String name) {
+            String markup = new String(bytes, 0, length, StandardCharsets.ISO_8859_1);
+            int index = 0;
+            while ((index = markup.indexOf(name, index)) >= 0) {
+                int equals = index + name.length();
+                boolean boundary = Character.isWhitespace(markup.charAt(index - 1));
+                while (equals < markup.length() && Character.isWhitespace(markup.charAt(equals))) {
+                    equals++;
+                }
+                if (boundary && equals < markup.length() && markup.charAt(equals) == '=') {
+                    int quote = equals + 1;
+                    while (Character.isWhitespace(markup.charAt(quote))) {
+                        quote++;
+                    }
+                    char delimiter = markup.charAt(quote);
+                    int close = markup.indexOf(delimiter, quote + 1);
+                    return markup.substring(quote + 1, close);
+                }
+                index = equals;
+            }
+            return null;
+        }
+
+        void writeTo(OutputStream output) throws IOException {
+            output.write(bytes, 0, length);
+        }
+    }
+
+    /**
+     * Reads markup tag by tag from a byte stream and, when given an output, copies the bytes between tags to it.
+     */
+    private static final class MarkupReader {
+        private final InputStream input;
+        private final OutputStream output;
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+        private int position;
+        private int limit;
+        private byte[] tagBytes = new byte[256];
+
+        private MarkupReader(
+                InputStream input,
+                OutputStream output
+        ) {
+            this.input = input;
+            this.output = output;
+        }
+
+        /**
+         * Copies bytes up to the next {@code <} and returns the tag that starts there, or {@code null} at the end
+         * of the input. Tags are not copied; callers write them back or replace them.
+         */
+        Tag nextTag() throws IOException {
+            while (true) {
+                if (position == limit && !fill()) {
+                    return null;
+                }
+                int start = position;
+                while (position < limit && buffer[position] != '<') {
+                    position++;
+                }
+                if (output != null && position > start) {
+                    output.write(buffer, start, position - start);
+                }
+                if (position < limit) {
+                    return readTag();
+                }
+            }
+        }
+
+        void copyRemaining() throws IOException {
+            if (position < limit) {
+                output.write(buffer, position, limit - position);
+            }
+            int read;
+            while ((read = input.read(buffer)) != -1) {
+                output.write(buffer, 0, read);
+            }
+            position = limit;
+        }
+
+        private Tag readTag() throws IOException {
+            int length = 0;
+            byte quote = 0;
+            while (true) {
+                if (position == limit && !fill()) {
+                    throw new InvalidDocumentStructureException("Sheet part ends inside a tag");
+                }
+                byte b = buffer[position++];
+                if (length == tagBytes.length) {
+                    tagBytes = Arrays.copyOf(tagBytes, length * 2);
+                }
+                tagBytes[length++] = b;
+
+                if (isSpecial(length)) {
+                    if (endsWithTerminator(length)) {
+                        return new Tag(tagBytes, length);
+                    }
+                } else if (quote != 0) {
+                    if (b == quote) {
+                        quote = 0;
+                    }
+                } else if (b == '"' || b == '\'') {
+                    quote = b;
+                } else if (b == '>') {
+                    return new Tag(tagBytes, length);
+                }
+            }
+        }
+
+        /**
+         * Comments and CDATA sections may contain quotes and {@code >}, so they end only at their terminator.
+         */
+        private boolean isSpecial(int length) {
+            return length >= 4 && tagBytes[1] == '!' && (tagBytes[2] == '-' || tagBytes[2] == '[');
+        }
+
+        private boolean endsWithTerminator(int length) {
+            if (tagBytes[length - 1] != '>' || length < 7) {
+                return false;
+            }
+            byte terminator = tagBytes[2] == '-' ? (byte) '-' : (byte) ']';
+            return tagBytes[length - 2] == terminator && tagBytes[length - 3] == terminator;
+        }
+
+        private boolean fill() throws IOException {
+            int read = input.read(buffer);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+    }
+}
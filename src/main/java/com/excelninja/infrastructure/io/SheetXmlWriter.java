@@ -0,0 +1,372 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.model.DocumentRow;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.Header;
+import com.excelninja.domain.model.SheetMetadata;
+import com.excelninja.infrastructure.util.ExcelDateUtils;
+import org.apache.poi.ss.usermodel.DateUtil;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Emits the {@code sheetN.xml} part of one {@link ExcelSheet} directly, without building a POI cell model.
+ *
+ * <p>Cell values are encoded the same way {@link PoiWorkbookWriter} stores them: numbers as numeric cells
+ * (inexact {@link BigDecimal} values as text), booleans as boolean cells and dates as serial numbers with a date
+ * style. Strings go to the shared strings table when one is given and has room for them, and are written inline
+ * otherwise.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Use one instance per sheet being written.
+ */
+final class SheetXmlWriter {
+    private static final double HEADER_ROW_HEIGHT_POINTS = 20;
+    private static final double TWIPS_PER_POINT = 20.0;
+
+    private final XmlOutput out;
+    private final SharedStringsBuilder sharedStrings;
+    private final int dataStyle;
+    private long sharedStringReferences;
+
+    /**
+     * @param borderedCells {@code false} to leave data cells in the default style instead of the bordered one
+     */
+    SheetXmlWriter(
+            XmlOutput out,
+            SharedStringsBuilder sharedStrings,
+            boolean borderedCells
+    ) {
+        this.out = out;
+        this.sharedStrings = sharedStrings;
+        this.dataStyle = borderedCells ? OoxmlParts.STYLE_DATA : OoxmlParts.STYLE_DEFAULT;
+    }
+
+    /**
+     * Adds the strings of a sheet to the given table in the order {@link #writeSheet(ExcelSheet, boolean)}
+     * would add them, so that a table collected up front assigns the same indexes as a sequential write.
+     */
+    static void collectStrings(
+            ExcelSheet sheet,
+            SharedStringsBuilder sharedStrings
+    ) {
+        for (Header header : sheet.getHeaders().getHeaders()) {
+            sharedStrings.indexOf(header.getName());
+        }
+        ColumnWritePlan plan = ColumnWritePlan.of(sheet);
+        for (DocumentRow row : rowsInOrder(sheet.getRows().getRows())) {
+            for (int columnIndex = 0; columnIndex < row.getColumnCount(); columnIndex++) {
+                String text = asStringCell(plan, columnIndex, row.getValue(columnIndex));
+                if (text != null) {
+                    sharedStrings.indexOf(text);
+                }
+            }
+        }
+    }
+
+    void writeSheet(
+            ExcelSheet sheet,
+            boolean selected
+    ) throws IOException {
+        List<DocumentRow> rows = rowsInOrder(sheet.getRows().getRows());
+        int columnCount = sheet.getHeaders().size();
+        int lastRowNumber = rows.isEmpty() ? 1 : Math.max(1, rows.get(rows.size() - 1).getRowNumber() + 1);
+
+        out.raw(OoxmlParts.XML_DECLARATION)
+                .raw("<worksheet xmlns=\"").raw(OoxmlParts.SPREADSHEETML_NAMESPACE)
+                .raw("\" xmlns:r=\"").raw(OoxmlParts.RELATIONSHIPS_NAMESPACE).raw("\">");
+        writeDimension(columnCount, lastRowNumber);
+        out.raw(selected
+                ? "<sheetViews><sheetView tabSelected=\"1\" workbookViewId=\"0\"/></sheetViews>"
+                : "<sheetViews><sheetView workbookViewId=\"0\"/></sheetViews>");
+        out.raw("<sheetFormatPr defaultRowHeight=\"15\"/>");
+        writeColumns(sheet, rows, columnCount);
+
+        out.raw("<sheetData>");
+        Map<Integer, Short> rowHeights = sheet.getMetadata().getRowHeights();
+        ColumnWritePlan plan = ColumnWritePlan.of(sheet);
+        writeHeaderRow(sheet, rowHeights);
+        for (DocumentRow row : rows) {
+            writeDataRow(row, row.getRowNumber() + 1, rowHeights, plan, null);
+        }
+        out.raw("</sheetData>");
+        out.raw("<pageMargins left=\"0.7\" right=\"0.7\" top=\"0.75\" bottom=\"0.75\" header=\"0.3\" footer=\"0.3\"/>");
+        out.raw("</worksheet>");
+    }
+
+    /**
+     * Writes the rows of a sheet for splicing into an existing sheet part. Data row {@code n} of the sheet becomes
+     * row {@code rowOffset + n} of the part, and the header row is only written when requested, as unstyled row 1.
+     * Cells take the style of their column in {@code columnStyles}, which refer to the target package's style sheet,
+     * or no style when the column has none.
+     */
+    void writeAppendedRows(
+            ExcelSheet sheet,
+            boolean writeHeader,
+            int rowOffset,
+            int[] columnStyles
+    ) throws IOException {
+        if (writeHeader) {
+            out.raw("<row r=\"1\">");
+            for (Header header : sheet.getHeaders().getHeaders()) {
+                writeStringCell(header.getPosition(), 1, OoxmlParts.STYLE_DEFAULT, header.getName());
+            }
+            out.raw("</row>");
+        }
+
+        Map<Integer, Short> rowHeights = sheet.getMetadata().getRowHeights();
+        ColumnWritePlan plan = ColumnWritePlan.of(sheet);
+        for (DocumentRow row : rowsInOrder(sheet.getRows().getRows())) {
+            writeDataRow(row, rowOffset + row.getRowNumber(), rowHeights, plan, columnStyles);
+        }
+    }
+
+    /**
+     * Returns the highest row number of the sheet's data rows, or 0 when it has none.
+     */
+    static int lastRowNumber(ExcelSheet sheet) {
+        int last = 0;
+        for (DocumentRow row : sheet.getRows().getRows()) {
+            last = Math.max(last, row.getRowNumber());
+        }
+        return last;
+    }
+
+    private void writeDimension(
+            int columnCount,
+            int lastRowNumber
+    ) throws IOException {
+        out.raw("<dimension ref=\"A1");
+        if (columnCount > 1 || lastRowNumber > 1) {
+            out.raw(':').cellReference(Math.max(columnCount, 1) - 1, lastRowNumber);
+        }
+        out.raw("\"/>");
+    }
+
+    /**
+     * Writes explicit column widths and auto-sized widths. Auto-sizing always uses {@link ColumnWidthEstimator}
+     * here, since this writer has no font metrics, and measures the rows in a pass before they are written.
+     */
+    private void writeColumns(
+            ExcelSheet sheet,
+            List<DocumentRow> rows,
+            int columnCount
+    ) throws IOException {
+        SheetMetadata metadata = sheet.getMetadata();
+        Map<Integer, Integer> columnWidths = metadata.getColumnWidths();
+        if (columnWidths.isEmpty() && !metadata.isAutoSizeColumns()) {
+            return;
+        }
+
+        ColumnWidthEstimator estimator = null;
+        if (metadata.isAutoSizeColumns()) {
+            estimator = ColumnWidthEstimator.forHeaders(sheet.getHeaders(), metadata.getAutoSizeSampleRows());
+            for (int rowIndex = 0; rowIndex < rows.size() && estimator.isSampled(rowIndex); rowIndex++) {
+                DocumentRow row = rows.get(rowIndex);
+                for (int columnIndex = 0; columnIndex < row.getColumnCount(); columnIndex++) {
+                    estimator.measure(columnIndex, row.getValue(columnIndex));
+                }
+            }
+        }
+
+        out.raw("<cols>");
+        for (int columnIndex = 0; columnIndex < columnCount; columnIndex++) {
+            Integer width = columnWidths.get(columnIndex);
+            if (width == null && estimator != null) {
+                width = estimator.getColumnWidth(columnIndex);
+            }
+            if (width != null) {
+                out.raw("<col min=\"").number(columnIndex + 1)
+                        .raw("\" max=\"").number(columnIndex + 1)
+                        .raw("\" width=\"").number(width / 256.0)
+                        .raw("\" customWidth=\"1\"/>");
+            }
+        }
+        out.raw("</cols>");
+    }
+
+    private void writeHeaderRow(
+            ExcelSheet sheet,
+            Map<Integer, Short> rowHeights
+    ) throws IOException {
+        Short customHeight = rowHeights.get(0);
+        out.raw("<row r=\"1\" ht=\"")
+                .number(customHeight != null ? customHeight / TWIPS_PER_POINT : HEADER_ROW_HEIGHT_POINTS)
+                .raw("\" customHeight=\"1\">");
+        for (Header header : sheet.getHeaders().getHeaders()) {
+            writeStringCell(header.getPosition(), 1, OoxmlParts.STYLE_HEADER, header.getName());
+        }
+        out.raw("</row>");
+    }
+
+    private void writeDataRow(
+            DocumentRow row,
+            int rowNumber,
+            Map<Integer, Short> rowHeights,
+            ColumnWritePlan plan,
+            int[] columnStyles
+    ) throws IOException {
+        out.raw("<row r=\"").number(rowNumber);
+        Short customHeight = rowHeights.isEmpty() ? null : rowHeights.get(row.getRowNumber());
+        if (customHeight != null) {
+            out.raw("\" ht=\"").number(customHeight / TWIPS_PER_POINT).raw("\" customHeight=\"1");
+        }
+        out.raw("\">");
+
+        for (int columnIndex = 0; columnIndex < row.getColumnCount(); columnIndex++) {
+            writeCell(columnIndex, rowNumber, row.getValue(columnIndex), plan, columnStyles);
+        }
+        out.raw("</row>");
+    }
+
+    /**
+     * Writes a cell with this writer's styles, or with the style of its column when column styles are given.
+     */
+    private void writeCell(
+            int columnIndex,
+            int rowNumber,
+            Object rawValue,
+            ColumnWritePlan plan,
+            int[] columnStyles
+    ) throws IOException {
+        int valueStyle = dataStyle;
+        int dateStyle = OoxmlParts.STYLE_DATE;
+        int dateTimeStyle = OoxmlParts.STYLE_DATE_TIME;
+        if (columnStyles != null) {
+            valueStyle = columnIndex < columnStyles.length ? columnStyles[columnIndex] : OoxmlParts.STYLE_DEFAULT;
+            dateStyle = valueStyle;
+            dateTimeStyle = valueStyle;
+        }
+
+        if (rawValue == null) {
+            if (valueStyle != OoxmlParts.STYLE_DEFAULT) {
+                startCell(columnIndex, rowNumber, valueStyle);
+                out.raw("/>");
+            }
+            return;
+        }
+
+        switch (plan.kindOf(columnIndex, rawValue)) {
+            case NUMBER:
+                writeNumericCell(columnIndex, rowNumber, valueStyle, ((Number) rawValue).doubleValue());
+                break;
+            case DECIMAL:
+                BigDecimal decimal = (BigDecimal) rawValue;
+                if (ColumnWritePlan.canStoreAsExactNumeric(decimal)) {
+                    writeNumericCell(columnIndex, rowNumber, valueStyle, decimal.doubleValue());
+                } else {
+                    writeStringCell(columnIndex, rowNumber, valueStyle, decimal.toPlainString());
+                }
+                break;
+            case BOOLEAN:
+                startCell(columnIndex, rowNumber, valueStyle);
+                out.raw(" t=\"b\"><v>").raw((Boolean) rawValue ? '1' : '0').raw("</v></c>");
+                break;
+            case DATE_TIME:
+                writeNumericCell(columnIndex, rowNumber, dateTimeStyle, ExcelDateUtils.toExcelDate((LocalDateTime) rawValue));
+                break;
+            case DATE:
+                writeNumericCell(columnIndex, rowNumber, dateStyle, ExcelDateUtils.toExcelDate((LocalDate) rawValue));
+                break;
+            case LEGACY_DATE:
+                writeNumericCell(columnIndex, rowNumber, dateTimeStyle, DateUtil.getExcelDate((Date) rawValue));
+                break;
+            default:
+                writeStringCell(columnIndex, rowNumber, valueStyle, rawValue.toString());
+        }
+    }
+
+    /**
+     * Returns the text of values stored as string cells, or {@code null} for blank, numeric, boolean and date cells.
+     */
+    private static String asStringCell(
+            ColumnWritePlan plan,
+            int columnIndex,
+            Object rawValue
+    ) {
+        if (rawValue == null) {
+            return null;
+        }
+        switch (plan.kindOf(columnIndex, rawValue)) {
+            case TEXT:
+                return rawValue.toString();
+            case DECIMAL:
+                BigDecimal decimal = (BigDecimal) rawValue;
+                return ColumnWritePlan.canStoreAsExactNumeric(decimal) ? null : decimal.toPlainString();
+            default:
+                return null;
+        }
+    }
+
+    private void writeNumericCell(
+            int columnIndex,
+            int rowNumber,
+            int style,
+            double value
+    ) throws IOException {
+        startCell(columnIndex, rowNumber, style);
+        if (Double.isNaN(value) || Double.isInfinite(value)) {
+            out.raw(" t=\"e\"><v>#NUM!</v></c>");
+        } else {
+            out.raw("><v>").number(value).raw("</v></c>");
+        }
+    }
+
+    private void writeStringCell(
+            int columnIndex,
+            int rowNumber,
+            int style,
+            String value
+    ) throws IOException {
+        startCell(columnIndex, rowNumber, style);
+        int index = sharedStrings != null ? sharedStrings.indexOf(value) : SharedStringsBuilder.NOT_SHARED;
+        if (index != SharedStringsBuilder.NOT_SHARED) {
+            sharedStringReferences++;
+            out.raw(" t=\"s\"><v>").number(index).raw("</v></c>");
+        } else {
+            out.raw(" t=\"inlineStr\"><is>");
+            OoxmlParts.writeTextElement(out, value);
+            out.raw("</is></c>");
+        }
+    }
+
+    /**
+     * Returns how many string cells this writer has pointed at the shared strings table.
+     */
+    long getSharedStringReferences() {
+        return sharedStringReferences;
+    }
+
+    private void startCell(
+            int columnIndex,
+            int rowNumber,
+            int style
+    ) throws IOException {
+        out.raw("<c r=\"").cellReference(columnIndex, rowNumber).raw('"');
+        if (style != OoxmlParts.STYLE_DEFAULT) {
+            out.raw(" s=\"").number(style).raw('"');
+        }
+    }
+
+    /**
+     * Rows must appear in ascending order in the sheet XML. Sheets built from entities already are, so the list is
+     * only copied and sorted when it is not.
+     */
+    private static List<DocumentRow> rowsInOrder(List<DocumentRow> rows) {
+        for (int i = 1; i < rows.size(); i++) {
+            if (rows.get(i).getRowNumber() < rows.get(i - 1).getRowNumber()) {
+                List<DocumentRow> sorted = new ArrayList<>(rows);
+                sorted.sort(Comparator.comparingInt(DocumentRow::getRowNumber));
+                return sorted;
+            }
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,218 @@
+package com.excelninja.infrastructure.io;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+
+/**
+ * Output buffer that keeps its content in memory up to a threshold and moves it to a temporary file beyond that.
+ * Used to hold parts that are produced concurrently and copied into the zip later.
+ *
+ * <p>The CRC-32 of the content is computed while it is written, as required for zip entries. After
+ * {@link #seal()} the buffer is read-only and {@link #read(long, byte[], int, int)} may be called from several
+ * threads, which lets blocks of one part be compressed concurrently. {@link #close()} releases the buffer and
+ * deletes the temporary file.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe while written. Once sealed, reads are thread-safe. The hand-over
+ * between the writing and reading threads must be synchronized, e.g. through a {@code Future}.
+ */
+final class SpillingBuffer extends OutputStream {
+    private static final int INITIAL_CAPACITY = 8 * 1024;
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final int memoryThreshold;
+    private final CRC32 crc = new CRC32();
+    private byte[] memory = new byte[INITIAL_CAPACITY];
+    private int memorySize;
+    private Path spillFile;
+    private OutputStream spillOutput;
+    private FileChannel spillChannel;
+    private long size;
+    private boolean sealed;
+
+    SpillingBuffer(int memoryThreshold) {
+        this.memoryThreshold = memoryThreshold;
+    }
+
+    @Override
+    public void write(int b) throws IOException {
+        write(new byte[]{(byte) b}, 0, 1);
+    }
+
+    @Override
+    public void write(
+            byte[] bytes,
+            int offset,
+            int length
+    ) throws IOException {
+        if (sealed) {
+            throw new IOException("Buffer is sealed");
+        }
+        if (spillOutput == null && memorySize + length > memoryThreshold) {
+            spill();
+        }
+
+        if (spillOutput != null) {
+            spillOutput.write(bytes, offset, length);
+        } else {
+            if (memorySize + length > memory.length) {
+                memory = Arrays.copyOf(memory, Math.max(memory.length * 2, memorySize + length));
+            }
+            System.arraycopy(bytes, offset, memory, memorySize, length);
+            memorySize += length;
+        }
+        crc.update(bytes, offset, length);
+        size += length;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if (spillOutput != null) {
+            spillOutput.flush();
+        }
+    }
+
+    /**
+     * Ends writing and prepares the content for reading.
+     */
+    void seal() throws IOException {
+        if (sealed) {
+            return;
+        }
+        sealed = true;
+        if (spillOutput != null) {
+            spillOutput.close();
+            spillOutput = null;
+            spillChannel = FileChannel.open(spillFile, StandardOpenOption.READ);
+        }
+    }
+
+    /**
+     * Copies the buffered content to the given stream. Seals the buffer.
+     */
+    void writeTo(OutputStream target) throws IOException {
+        seal();
+        if (spillChannel == null) {
+            target.write(memory, 0, memorySize);
+            return;
+        }
+
+        byte[] chunk = new byte[FILE_BUFFER_SIZE];
+        for (long position = 0; position < size; position += chunk.length) {
+            int length = (int) Math.min(chunk.length, size - position);
+            read(position, chunk, 0, length);
+            target.write(chunk, 0, length);
+        }
+    }
+
+    /**
+     * Returns a stream over the content of a sealed buffer. Several streams may be open at the same time.
+     */
+    InputStream newInputStream() throws IOException {
+        if (!sealed) {
+            throw new IOException("Buffer must be sealed before it is read");
+        }
+        return new InputStream() {
+            private long position;
+
+            @Override
+            public int read() throws IOException {
+                byte[] single = new byte[1];
+                return read(single, 0, 1) < 0 ? -1 : single[0] & 0xFF;
+            }
+
+            @Override
+            public int read(
+                    byte[] target,
+                    int offset,
+                    int length
+            ) throws IOException {
+                if (position >= size) {
+                    return -1;
+                }
+                int count = (int) Math.min(length, size - position);
+                SpillingBuffer.this.read(position, target, offset, count);
+                position += count;
+                return count;
+            }
+        };
+    }
+
+    /**
+     * Reads {@code length} bytes starting at {@code position} of a sealed buffer.
+     */
+    void read(
+            long position,
+            byte[] target,
+            int offset,
+            int length
+    ) throws IOException {
+        if (!sealed) {
+            throw new IOException("Buffer must be sealed before it is read");
+        }
+        if (spillChannel == null) {
+            System.arraycopy(memory, (int) position, target, offset, length);
+            return;
+        }
+
+        ByteBuffer window = ByteBuffer.wrap(target, offset, length);
+        long filePosition = position;
+        while (window.hasRemaining()) {
+            int read = spillChannel.read(window, filePosition);
+            if (read < 0) {
+                throw new IOException("Unexpected end of buffer file at " + filePosition);
+            }
+            filePosition += read;
+        }
+    }
+
+    long size() {
+        return size;
+    }
+
+    long crc() {
+        return crc.getValue();
+    }
+
+    boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    @Override
+    public void close() throws IOException {
+        memory = new byte[0];
+        memorySize = 0;
+        if (spillFile == null) {
+            return;
+        }
+
+        try {
+            if (spillOutput != null) {
+                spillOutput.close();
+            }
+            if (spillChannel != null) {
+                spillChannel.close();
+            }
+        } finally {
+            spillOutput = null;
+            spillChannel = null;
+            Files.deleteIfExists(spillFile);
+        }
+    }
+
+    private void spill() throws IOException {
+        spillFile = Files.createTempFile("ninja-excel-", ".part");
+        spillOutput = new BufferedOutputStream(Files.newOutputStream(spillFile), FILE_BUFFER_SIZE);
+        spillOutput.write(memory, 0, memorySize);
+        memory = new byte[0];
+        memorySize = 0;
+    }
+}
@@ -1,23 +1,23 @@
 package com.excelninja.infrastructure.io;
 
 import com.excelninja.domain.exception.DocumentConversionException;
-import com.excelninja.domain.exception.HeaderMismatchException;
 import com.excelninja.domain.exception.InvalidDocumentStructureException;
 import com.excelninja.domain.model.ChunkReader;
 import com.excelninja.domain.model.ExcelSheet;
 import com.excelninja.domain.model.ExcelWorkbook;
 import com.excelninja.domain.model.Headers;
+import com.excelninja.domain.model.RowConsumer;
+import com.excelninja.domain.model.RowHashIndex;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.SheetInspection;
 import com.excelninja.domain.model.WorkbookMetadata;
 import com.excelninja.domain.port.WorkbookReader;
 import com.excelninja.infrastructure.converter.DefaultConverter;
 import com.excelninja.infrastructure.metadata.EntityMetadata;
-import com.excelninja.infrastructure.metadata.FieldMapping;
-import org.apache.poi.ooxml.POIXMLProperties;
-import org.apache.poi.openxml4j.opc.OPCPackage;
+import com.excelninja.infrastructure.metadata.EntityRowMapper;
 import org.apache.poi.ss.usermodel.DateUtil;
 import org.apache.poi.ss.util.CellReference;
 import org.apache.poi.util.XMLHelper;
-import org.apache.poi.xssf.eventusermodel.XSSFReader;
 import org.apache.poi.xssf.model.SharedStringsTable;
 import org.apache.poi.xssf.model.StylesTable;
 import org.apache.poi.xssf.usermodel.XSSFCellStyle;
@@ -27,14 +27,12 @@ import org.xml.sax.XMLReader;
 import org.xml.sax.helpers.DefaultHandler;
 
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.nio.file.Files;
-import java.time.LocalDateTime;
-import java.time.ZoneId;
+import java.nio.file.FileSystemException;
 import java.util.*;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.LinkedBlockingQueue;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -48,12 +46,16 @@ import java.util.logging.Logger;
  */
 public class StreamingWorkbookReader implements WorkbookReader {
     private static final Logger logger = Logger.getLogger(StreamingWorkbookReader.class.getName());
+    private static final DefaultConverter CONVERTER = new DefaultConverter();
 
+    /**
+     * Reads every sheet of the file.
+     *
+     * <p>Files are memory-mapped and only the parts that are parsed are inflated, see {@link MappedWorkbookParts}.
+     */
     @Override
     public ExcelWorkbook read(File excelFile) throws IOException {
-        try (FileInputStream fis = new FileInputStream(excelFile)) {
-            return read(fis);
-        }
+        return readFile(excelFile, "Failed to read Excel file with streaming reader", this::readWorkbook);
     }
 
     /**
@@ -73,41 +75,17 @@ public class StreamingWorkbookReader implements WorkbookReader {
      */
     @Override
     public ExcelWorkbook read(InputStream inputStream) throws IOException {
-        if (inputStream == null) {
-            throw new DocumentConversionException("InputStream cannot be null");
-        }
-
-        OPCPackage opcPackage = null;
-        try {
-            // OPCPackage.open() consumes the stream and may create temporary files
-            opcPackage = OPCPackage.open(inputStream);
-            return readFromOPCPackage(opcPackage);
-        } catch (DocumentConversionException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DocumentConversionException("Failed to read Excel file with streaming reader", e);
-        } finally {
-            if (opcPackage != null) {
-                try {
-                    opcPackage.close();
-                } catch (Exception e) {
-                    logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing OPCPackage", e);
-                }
-            }
-        }
+        return readStream(inputStream, "Failed to read Excel file with streaming reader", this::readWorkbook);
     }
 
-    private ExcelWorkbook readFromOPCPackage(OPCPackage opcPackage) throws Exception {
-        XSSFReader xssfReader = new XSSFReader(opcPackage);
-        SharedStringsTable sharedStringsTable = (SharedStringsTable) xssfReader.getSharedStringsTable();
-        StylesTable stylesTable = xssfReader.getStylesTable();
+    private ExcelWorkbook readWorkbook(WorkbookParts parts) throws Exception {
+        SharedStringsTable sharedStringsTable = parts.getSharedStrings();
+        StylesTable stylesTable = parts.getStyles();
         Map<String, ExcelSheet> sheets = new LinkedHashMap<>();
-        WorkbookMetadata metadata = readWorkbookMetadata(opcPackage);
-        XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
+        WorkbookMetadata metadata = parts.getMetadata();
 
-        while (sheetIterator.hasNext()) {
-            try (InputStream sheetStream = sheetIterator.next()) {
-                String sheetName = sheetIterator.getSheetName();
+        for (String sheetName : parts.getSheetNames()) {
+            try (InputStream sheetStream = parts.openSheet(sheetName)) {
                 ExcelSheet sheet = readSheetWithStreaming(sheetStream, sheetName, sharedStringsTable, stylesTable);
                 sheets.put(sheetName, sheet);
             }
@@ -131,7 +109,19 @@ public class StreamingWorkbookReader implements WorkbookReader {
         return handler.buildExcelSheet(sheetName);
     }
 
-    private static boolean hasMeaningfulValues(List<Object> rowValues) {
+    /**
+     * Stops a read whose thread was interrupted, such as a cancelled async read or the producer of a closed chunk
+     * reader, so it gives up the CPU and its package at the next row instead of parsing the rest of the sheet.
+     *
+     * @throws DocumentConversionException if the current thread is interrupted; the interrupt status is kept
+     */
+    static void checkNotInterrupted(int rowNumber) {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new DocumentConversionException("Read interrupted at row " + rowNumber);
+        }
+    }
+
+    static boolean hasMeaningfulValues(List<Object> rowValues) {
         return rowValues.stream().anyMatch(StreamingWorkbookReader::hasMeaningfulValue);
     }
 
@@ -153,7 +143,7 @@ public class StreamingWorkbookReader implements WorkbookReader {
             Class<T> entityType,
             int chunkSize
     ) throws IOException {
-        return new ChunkIterator<>(Files.newInputStream(file.toPath()), entityType, chunkSize, true);
+        return readInChunks(file, entityType, chunkSize, false);
     }
 
     public <T> ChunkReader<T> readInChunks(
@@ -161,184 +151,370 @@ public class StreamingWorkbookReader implements WorkbookReader {
             Class<T> entityType,
             int chunkSize
     ) {
-        return new ChunkIterator<>(inputStream, entityType, chunkSize, false);
+        return readInChunks(inputStream, entityType, chunkSize, false);
     }
 
-    public ExcelSheet readFirstSheet(File excelFile) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(excelFile)) {
-            return readFirstSheet(fileInputStream);
+    /**
+     * Reads the first sheet in chunks.
+     *
+     * @param recycleInstances when {@code true}, chunks handed back through {@link ChunkReader#release(List)}
+     *                         are refilled with the next rows instead of allocating new entities
+     */
+    public <T> ChunkReader<T> readInChunks(
+            File file,
+            Class<T> entityType,
+            int chunkSize,
+            boolean recycleInstances
+    ) throws IOException {
+        WorkbookParts parts = openFile(file, "Failed to read Excel file in chunks with streaming reader");
+        return new ChunkIterator<>(() -> parts, entityType, chunkSize, null, recycleInstances);
+    }
+
+    public <T> ChunkReader<T> readInChunks(
+            InputStream inputStream,
+            Class<T> entityType,
+            int chunkSize,
+            boolean recycleInstances
+    ) {
+        return new ChunkIterator<>(() -> OpcWorkbookParts.open(inputStream), entityType, chunkSize, null, recycleInstances);
+    }
+
+    /**
+     * Reads the first sheet in chunks, emitting only rows whose content hash is not part of the previous run.
+     *
+     * <p>Every data row is hashed while it is parsed and recorded in {@code rowHashIndex}, including skipped rows,
+     * so the index describes the complete sheet once iteration finishes. Unchanged rows are never converted to entities.
+     */
+    public <T> ChunkReader<T> readChangedInChunks(
+            File file,
+            Class<T> entityType,
+            int chunkSize,
+            RowHashIndex rowHashIndex
+    ) throws IOException {
+        WorkbookParts parts = openFile(file, "Failed to read Excel file in chunks with streaming reader");
+        return new ChunkIterator<>(() -> parts, entityType, chunkSize, rowHashIndex, false);
+    }
+
+    public <T> ChunkReader<T> readChangedInChunks(
+            InputStream inputStream,
+            Class<T> entityType,
+            int chunkSize,
+            RowHashIndex rowHashIndex
+    ) {
+        return new ChunkIterator<>(() -> OpcWorkbookParts.open(inputStream), entityType, chunkSize, rowHashIndex, false);
+    }
+
+    /**
+     * Parses the first sheet and hands every converted row to {@code consumer} on the calling thread,
+     * without buffering chunks or starting a producer thread.
+     *
+     * @param reuseInstance when {@code true}, a single entity instance is overwritten for every row (flyweight mode);
+     *                      consumers must copy what they need before returning
+     * @return the number of rows delivered to the consumer
+     */
+    public <T> long forEach(
+            File file,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer,
+            boolean reuseInstance
+    ) throws IOException {
+        return readFile(file, "Failed to stream rows with streaming reader",
+                parts -> forEachRow(parts, entityType, consumer, reuseInstance));
+    }
+
+    public <T> long forEach(
+            InputStream inputStream,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer,
+            boolean reuseInstance
+    ) throws IOException {
+        return readStream(inputStream, "Failed to stream rows with streaming reader",
+                parts -> forEachRow(parts, entityType, consumer, reuseInstance));
+    }
+
+    private <T> long forEachRow(
+            WorkbookParts parts,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer,
+            boolean reuseInstance
+    ) throws Exception {
+        ForEachHandler<T> handler = new ForEachHandler<>(entityType, parts.getSharedStrings(), parts.getStyles(), consumer, reuseInstance);
+        XMLReader xmlReader = XMLHelper.newXMLReader();
+        xmlReader.setContentHandler(handler);
+
+        try (InputStream sheetStream = openFirstSheet(parts)) {
+            xmlReader.parse(new InputSource(sheetStream));
         }
+        return handler.deliveredRows;
+    }
+
+    public ExcelSheet readFirstSheet(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read first sheet with streaming reader", this::readFirstSheet);
     }
 
     public ExcelSheet readFirstSheet(InputStream inputStream) throws IOException {
-        validateInputStream(inputStream);
+        return readStream(inputStream, "Failed to read first sheet with streaming reader", this::readFirstSheet);
+    }
 
-        OPCPackage opcPackage = null;
-        try {
-            opcPackage = OPCPackage.open(inputStream);
-            Map<String, ExcelSheet> sheets = readSelectedSheetsFromPackage(opcPackage, null, true);
-            if (sheets.isEmpty()) {
-                throw new InvalidDocumentStructureException("No sheets found in workbook");
-            }
-            return sheets.values().iterator().next();
-        } catch (DocumentConversionException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DocumentConversionException("Failed to read first sheet with streaming reader", e);
-        } finally {
-            closePackage(opcPackage);
+    private ExcelSheet readFirstSheet(WorkbookParts parts) throws Exception {
+        Map<String, ExcelSheet> sheets = readSelectedSheets(parts, null, true);
+        if (sheets.isEmpty()) {
+            throw new InvalidDocumentStructureException("No sheets found in workbook");
         }
+        return sheets.values().iterator().next();
     }
 
     public ExcelSheet readSheet(
             File excelFile,
             String sheetName
     ) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(excelFile)) {
-            return readSheet(fileInputStream, sheetName);
-        }
+        return readFile(excelFile, "Failed to read sheet '" + sheetName + "' with streaming reader",
+                parts -> readSelectedSheets(parts, Collections.singletonList(sheetName), false).get(sheetName));
     }
 
     public ExcelSheet readSheet(
             InputStream inputStream,
             String sheetName
     ) throws IOException {
-        validateInputStream(inputStream);
-
-        OPCPackage opcPackage = null;
-        try {
-            opcPackage = OPCPackage.open(inputStream);
-            return readSelectedSheetsFromPackage(opcPackage, Collections.singletonList(sheetName), false).get(sheetName);
-        } catch (DocumentConversionException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DocumentConversionException("Failed to read sheet '" + sheetName + "' with streaming reader", e);
-        } finally {
-            closePackage(opcPackage);
-        }
+        return readStream(inputStream, "Failed to read sheet '" + sheetName + "' with streaming reader",
+                parts -> readSelectedSheets(parts, Collections.singletonList(sheetName), false).get(sheetName));
     }
 
     public List<ExcelSheet> readSheets(
             File excelFile,
             List<String> requestedSheetNames
     ) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(excelFile)) {
-            return readSheets(fileInputStream, requestedSheetNames);
-        }
+        return readFile(excelFile, "Failed to read selected sheets with streaming reader",
+                parts -> new ArrayList<>(readSelectedSheets(parts, requestedSheetNames, false).values()));
     }
 
     public List<ExcelSheet> readSheets(
             InputStream inputStream,
             List<String> requestedSheetNames
     ) throws IOException {
-        validateInputStream(inputStream);
-
-        OPCPackage opcPackage = null;
-        try {
-            opcPackage = OPCPackage.open(inputStream);
-            return new ArrayList<>(readSelectedSheetsFromPackage(opcPackage, requestedSheetNames, false).values());
-        } catch (DocumentConversionException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DocumentConversionException("Failed to read selected sheets with streaming reader", e);
-        } finally {
-            closePackage(opcPackage);
-        }
+        return readStream(inputStream, "Failed to read selected sheets with streaming reader",
+                parts -> new ArrayList<>(readSelectedSheets(parts, requestedSheetNames, false).values()));
     }
 
     public List<String> getSheetNames(File excelFile) throws IOException {
-        try (FileInputStream fileInputStream = new FileInputStream(excelFile)) {
-            return getSheetNames(fileInputStream);
-        }
+        return readFile(excelFile, "Failed to read sheet names with streaming reader", WorkbookParts::getSheetNames);
     }
 
     public List<String> getSheetNames(InputStream inputStream) throws IOException {
-        validateInputStream(inputStream);
+        return readStream(inputStream, "Failed to read sheet names with streaming reader", WorkbookParts::getSheetNames);
+    }
 
-        OPCPackage opcPackage = null;
-        try {
-            opcPackage = OPCPackage.open(inputStream);
-            XSSFReader xssfReader = new XSSFReader(opcPackage);
-            XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
-            List<String> sheetNames = new ArrayList<>();
-
-            while (sheetIterator.hasNext()) {
-                try (InputStream ignored = sheetIterator.next()) {
-                    sheetNames.add(sheetIterator.getSheetName());
-                }
+    /**
+     * Describes the sheets of a file: names, visibility and the row counts of their {@code dimension} records.
+     * Only {@code workbook.xml}, its relationships and the first bytes of each sheet part are inflated, so the probe
+     * takes milliseconds whatever the size of the file.
+     */
+    public List<SheetInfo> getSheetInfo(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read sheet info with streaming reader", WorkbookParts::getSheetInfo);
+    }
+
+    public List<SheetInfo> getSheetInfo(InputStream inputStream) throws IOException {
+        return readStream(inputStream, "Failed to read sheet info with streaming reader", WorkbookParts::getSheetInfo);
+    }
+
+    /**
+     * Summarizes every sheet of a file for import previews; see {@link SheetInspection}. Each sheet is parsed only
+     * until its header and {@code sampleRows} data rows are read. The remaining rows are counted from the sheet's
+     * {@code dimension} record or, without one, from its row tags, neither of which decodes any cell.
+     */
+    public List<SheetInspection> inspect(
+            File excelFile,
+            int sampleRows
+    ) throws IOException {
+        validateSampleRows(sampleRows);
+        return readFile(excelFile, "Failed to inspect Excel file with streaming reader", parts -> inspectWorkbook(parts, sampleRows));
+    }
+
+    public List<SheetInspection> inspect(
+            InputStream inputStream,
+            int sampleRows
+    ) throws IOException {
+        validateSampleRows(sampleRows);
+        return readStream(inputStream, "Failed to inspect Excel file with streaming reader", parts -> inspectWorkbook(parts, sampleRows));
+    }
+
+    private static void validateSampleRows(int sampleRows) {
+        if (sampleRows <= 0) {
+            throw new DocumentConversionException("Sample rows must be positive: " + sampleRows);
+        }
+    }
+
+    private List<SheetInspection> inspectWorkbook(
+            WorkbookParts parts,
+            int sampleRows
+    ) throws Exception {
+        SharedStringsTable sharedStringsTable = parts.getSharedStrings();
+        StylesTable stylesTable = parts.getStyles();
+        List<SheetInspection> inspections = new ArrayList<>();
+        for (String sheetName : parts.getSheetNames()) {
+            InspectionHandler handler = new InspectionHandler(sharedStringsTable, stylesTable, sampleRows);
+            XMLReader xmlReader = XMLHelper.newXMLReader();
+            xmlReader.setContentHandler(handler);
+            boolean complete = true;
+            try (InputStream sheetStream = parts.openSheet(sheetName)) {
+                xmlReader.parse(new InputSource(sheetStream));
+            } catch (SamplingComplete e) {
+                complete = false;
             }
 
-            return sheetNames;
-        } catch (DocumentConversionException e) {
-            throw e;
-        } catch (Exception e) {
-            throw new DocumentConversionException("Failed to read sheet names with streaming reader", e);
-        } finally {
-            closePackage(opcPackage);
+            long rowCount = complete ? handler.dataRows : lastRowNumber(parts, sheetName, handler.lastRowNumber) - handler.headerRowNumber;
+            inspections.add(new SheetInspection(sheetName, handler.headers, rowCount, complete, handler.columnTypes(), handler.dataRows));
+        }
+        return inspections;
+    }
+
+    /**
+     * Returns the last row number from the sheet's {@code dimension} record or, when the record is missing or
+     * ends before a row that was already parsed, from a scan of its row tags.
+     */
+    private static int lastRowNumber(
+            WorkbookParts parts,
+            String sheetName,
+            int parsedRowNumber
+    ) throws IOException {
+        try (InputStream sheetStream = parts.openSheet(sheetName)) {
+            int lastRowNumber = WorkbookPartIndex.lastRowNumber(SheetXmlSplicer.readDimension(sheetStream));
+            if (lastRowNumber >= parsedRowNumber) {
+                return lastRowNumber;
+            }
+        }
+        try (InputStream sheetStream = parts.openSheet(sheetName)) {
+            return SheetXmlSplicer.scan(sheetStream).getLastRowNumber();
         }
     }
 
-    private Map<String, ExcelSheet> readSelectedSheetsFromPackage(
-            OPCPackage opcPackage,
+    /**
+     * Parses the requested sheets, in the requested order, or only the first sheet. Sheets that the workbook does
+     * not contain are left out.
+     */
+    private Map<String, ExcelSheet> readSelectedSheets(
+            WorkbookParts parts,
             List<String> requestedSheetNames,
             boolean firstOnly
     ) throws Exception {
-        XSSFReader xssfReader = new XSSFReader(opcPackage);
-        SharedStringsTable sharedStringsTable = (SharedStringsTable) xssfReader.getSharedStringsTable();
-        StylesTable stylesTable = xssfReader.getStylesTable();
-        XSSFReader.SheetIterator sheetIterator = (XSSFReader.SheetIterator) xssfReader.getSheetsData();
-        LinkedHashSet<String> requested = requestedSheetNames != null ? new LinkedHashSet<>(requestedSheetNames) : null;
-        Map<String, ExcelSheet> parsedSheets = new HashMap<>();
-
-        while (sheetIterator.hasNext()) {
-            try (InputStream sheetStream = sheetIterator.next()) {
-                String currentSheetName = sheetIterator.getSheetName();
-                if (firstOnly || (requested != null && requested.contains(currentSheetName))) {
-                    ExcelSheet sheet = readSheetWithStreaming(sheetStream, currentSheetName, sharedStringsTable, stylesTable);
-                    parsedSheets.put(currentSheetName, sheet);
-
-                    if (firstOnly) {
-                        break;
-                    }
+        List<String> sheetNames = parts.getSheetNames();
+        Collection<String> selected = firstOnly
+                ? sheetNames.subList(0, Math.min(1, sheetNames.size()))
+                : new LinkedHashSet<>(requestedSheetNames);
+        Map<String, ExcelSheet> parsedSheets = new LinkedHashMap<>();
+        if (selected.isEmpty()) {
+            return parsedSheets;
+        }
 
-                    if (requested != null && parsedSheets.size() == requested.size()) {
-                        break;
-                    }
-                }
+        SharedStringsTable sharedStringsTable = parts.getSharedStrings();
+        StylesTable stylesTable = parts.getStyles();
+        for (String sheetName : selected) {
+            InputStream sheetStream = parts.openSheet(sheetName);
+            if (sheetStream == null) {
+                continue;
+            }
+            try (InputStream input = sheetStream) {
+                parsedSheets.put(sheetName, readSheetWithStreaming(input, sheetName, sharedStringsTable, stylesTable));
             }
         }
+        return parsedSheets;
+    }
 
-        if (requested == null) {
-            return parsedSheets;
+    private static InputStream openFirstSheet(WorkbookParts parts) throws IOException {
+        List<String> sheetNames = parts.getSheetNames();
+        if (sheetNames.isEmpty()) {
+            throw new InvalidDocumentStructureException("No sheets found in workbook");
         }
+        return parts.openSheet(sheetNames.get(0));
+    }
 
-        Map<String, ExcelSheet> orderedSheets = new LinkedHashMap<>();
-        for (String sheetName : requestedSheetNames) {
-            ExcelSheet sheet = parsedSheets.get(sheetName);
-            if (sheet != null) {
-                orderedSheets.put(sheetName, sheet);
-            }
+    @FunctionalInterface
+    private interface PartsReader<R> {
+        R read(WorkbookParts parts) throws Exception;
+    }
+
+    @FunctionalInterface
+    private interface PartsOpener {
+        WorkbookParts open() throws Exception;
+    }
+
+    private static <R> R readFile(
+            File file,
+            String failureMessage,
+            PartsReader<R> reader
+    ) throws IOException {
+        return readParts(openFile(file, failureMessage), failureMessage, reader);
+    }
+
+    private static <R> R readStream(
+            InputStream inputStream,
+            String failureMessage,
+            PartsReader<R> reader
+    ) {
+        validateInputStream(inputStream);
+        WorkbookParts parts;
+        try {
+            // OPCPackage.open() consumes the stream and may create temporary files
+            parts = OpcWorkbookParts.open(inputStream);
+        } catch (DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        }
+        return readParts(parts, failureMessage, reader);
+    }
+
+    /**
+     * Opens a file's parts. A missing or inaccessible file fails with its {@link IOException}; a file that is not a
+     * readable xlsx package fails with {@link DocumentConversionException}.
+     */
+    private static WorkbookParts openFile(
+            File file,
+            String failureMessage
+    ) throws IOException {
+        try {
+            return MappedWorkbookParts.open(file);
+        } catch (FileSystemException | DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        }
+    }
+
+    private static <R> R readParts(
+            WorkbookParts parts,
+            String failureMessage,
+            PartsReader<R> reader
+    ) {
+        try {
+            return reader.read(parts);
+        } catch (DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        } finally {
+            closeParts(parts);
         }
-        return orderedSheets;
     }
 
-    private void validateInputStream(InputStream inputStream) {
+    private static void validateInputStream(InputStream inputStream) {
         if (inputStream == null) {
             throw new DocumentConversionException("InputStream cannot be null");
         }
     }
 
-    private void closePackage(OPCPackage opcPackage) {
-        if (opcPackage != null) {
-            try {
-                opcPackage.close();
-            } catch (Exception e) {
-                logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing OPCPackage", e);
-            }
+    private static void closeParts(WorkbookParts parts) {
+        try {
+            parts.close();
+        } catch (Exception e) {
+            logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing workbook package", e);
         }
     }
 
     private static class BaseSheetHandler extends DefaultHandler {
+        private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+        private static final long FNV_PRIME = 0x100000001b3L;
+
         protected final SharedStringsTable sst;
         protected final StylesTable stylesTable;
         private String currentCellRef;
@@ -349,6 +525,8 @@ public class StreamingWorkbookReader implements WorkbookReader {
 
         protected Map<Integer, Object> currentRowData;
         protected int currentRowNumber;
+        protected boolean rowHashingEnabled;
+        protected long currentRowHash;
 
         public BaseSheetHandler(
                 SharedStringsTable sst,
@@ -369,6 +547,7 @@ public class StreamingWorkbookReader implements WorkbookReader {
                 currentRowData = new HashMap<>();
                 String rowNumber = attributes.getValue("r");
                 currentRowNumber = rowNumber != null ? Integer.parseInt(rowNumber) : -1;
+                currentRowHash = FNV_OFFSET_BASIS;
             } else if ("c".equals(qName)) {
                 currentCellRef = attributes.getValue("r");
                 currentCellType = attributes.getValue("t");
@@ -399,16 +578,59 @@ public class StreamingWorkbookReader implements WorkbookReader {
         ) {
             if ("c".equals(qName)) {
                 int colIdx = CellReference.convertColStringToIndex(currentCellRef.replaceAll("\\d", ""));
-                Object value = parseValue(currentCellValue.toString(), currentCellType, currentCellStyleIndex, sst, stylesTable);
+                String rawValue = currentCellValue.toString();
+                Object value = parseValue(rawValue, currentCellType, currentCellStyleIndex, sst, stylesTable);
                 currentRowData.put(colIdx, value);
+                if (rowHashingEnabled) {
+                    hashCell(colIdx, rawValue, value);
+                }
             } else if ("v".equals(qName) || "t".equals(qName)) {
                 isValueElement = false;
             } else if ("row".equals(qName)) {
+                checkNotInterrupted(currentRowNumber);
                 processRow();
             }
         }
 
         protected void processRow() { /* To be implemented by subclasses */ }
+
+        /**
+         * Folds one cell into the row hash (64-bit FNV-1a). Shared strings are hashed by their text rather than
+         * their table index, because re-saving a workbook may renumber the shared strings table.
+         */
+        private void hashCell(
+                int colIdx,
+                String rawValue,
+                Object value
+        ) {
+            long hash = mix(currentRowHash, colIdx);
+            if ("s".equals(currentCellType) && value instanceof String) {
+                hash = mix(hash, 's');
+                hash = mixChars(hash, (String) value);
+            } else {
+                hash = mix(hash, value instanceof Date ? 'd' : 'v');
+                hash = mixChars(hash, currentCellType != null ? currentCellType : "");
+                hash = mixChars(hash, rawValue);
+            }
+            currentRowHash = hash;
+        }
+
+        private static long mixChars(
+                long hash,
+                String value
+        ) {
+            for (int i = 0; i < value.length(); i++) {
+                hash = mix(hash, value.charAt(i));
+            }
+            return mix(hash, 0);
+        }
+
+        private static long mix(
+                long hash,
+                int value
+        ) {
+            return (hash ^ value) * FNV_PRIME;
+        }
     }
 
     private static class SheetAndHeaderHandler extends BaseSheetHandler {
@@ -448,13 +670,196 @@ public class StreamingWorkbookReader implements WorkbookReader {
         }
     }
 
+    /**
+     * Reads the header row and the first data rows of a sheet, then stops the parse with {@link SamplingComplete}.
+     */
+    private static class InspectionHandler extends BaseSheetHandler {
+        private final int sampleRows;
+        private final List<String> headers = new ArrayList<>();
+        private Class<?>[] types = new Class<?>[0];
+        private int headerRowNumber;
+        private int lastRowNumber;
+        private int dataRows;
+
+        InspectionHandler(
+                SharedStringsTable sst,
+                StylesTable styles,
+                int sampleRows
+        ) {
+            super(sst, styles);
+            this.sampleRows = sampleRows;
+        }
+
+        @Override
+        protected void processRow() {
+            lastRowNumber = currentRowNumber > 0 ? currentRowNumber : lastRowNumber + 1;
+            if (currentRowData.isEmpty()) return;
+            int colCount = currentRowData.keySet().stream().max(Integer::compareTo).orElse(-1) + 1;
+            List<Object> rowValues = new ArrayList<>(Collections.nCopies(colCount, null));
+            currentRowData.forEach(rowValues::set);
+
+            if (headerRowNumber == 0) {
+                rowValues.forEach(val -> headers.add(val != null ? val.toString().trim() : ""));
+                headerRowNumber = lastRowNumber;
+                types = new Class<?>[headers.size()];
+            } else if (hasMeaningfulValues(rowValues)) {
+                if (dataRows == sampleRows) {
+                    throw SamplingComplete.INSTANCE;
+                }
+                dataRows++;
+                for (int col = 0; col < Math.min(types.length, colCount); col++) {
+                    types[col] = commonType(types[col], rowValues.get(col));
+                }
+            }
+        }
+
+        private static Class<?> commonType(
+                Class<?> current,
+                Object value
+        ) {
+            if (value == null || (value instanceof String && ((String) value).isEmpty())) {
+                return current;
+            }
+            Class<?> type = value instanceof Date ? Date.class : value.getClass();
+            if (current == null || current == type) {
+                return type;
+            }
+            if (Number.class.isAssignableFrom(current) && Number.class.isAssignableFrom(type)) {
+                return Double.class;
+            }
+            return Object.class;
+        }
+
+        List<Class<?>> columnTypes() {
+            List<Class<?>> columnTypes = new ArrayList<>(types.length);
+            for (Class<?> type : types) {
+                columnTypes.add(type != null ? type : Object.class);
+            }
+            return columnTypes;
+        }
+    }
+
+    /**
+     * Ends an inspection parse once the sample is complete. Carries no stack trace, as it is not an error.
+     */
+    private static final class SamplingComplete extends RuntimeException {
+        private static final long serialVersionUID = 1L;
+        private static final SamplingComplete INSTANCE = new SamplingComplete();
+
+        private SamplingComplete() {
+            super(null, null, false, false);
+        }
+    }
+
+    /**
+     * Converts data rows to entities as soon as the SAX parser completes them.
+     * The header row resolves the column of every read field once.
+     */
+    private abstract static class EntityRowHandler<T> extends BaseSheetHandler {
+        private final EntityMetadata<T> entityMetadata;
+        private final RowHashIndex rowHashIndex;
+        private final boolean reuseInstance;
+        private final List<Object> rowValues = new ArrayList<>();
+        private EntityRowMapper<T> rowMapper;
+        private T reusableEntity;
+        private int maxColCount = 0;
+
+        protected EntityRowHandler(
+                Class<T> entityType,
+                SharedStringsTable sst,
+                StylesTable styles,
+                RowHashIndex rowHashIndex,
+                boolean reuseInstance
+        ) {
+            super(sst, styles);
+            this.entityMetadata = EntityMetadata.of(entityType);
+            this.rowHashIndex = rowHashIndex;
+            this.reuseInstance = reuseInstance;
+            this.rowHashingEnabled = rowHashIndex != null;
+        }
+
+        @Override
+        protected void processRow() {
+            if (currentRowData.isEmpty()) return;
+            if (rowMapper != null && rowHashingEnabled && rowHashIndex.recordAndCheck(currentRowHash)) return;
+            maxColCount = Math.max(maxColCount, currentRowData.keySet().stream().max(Integer::compareTo).orElse(-1) + 1);
+            rowValues.clear();
+            rowValues.addAll(Collections.nCopies(maxColCount, null));
+            currentRowData.forEach(rowValues::set);
+
+            if (rowMapper == null) {
+                List<String> headers = new ArrayList<>();
+                rowValues.forEach(val -> headers.add(val != null ? val.toString().trim() : ""));
+                rowMapper = EntityRowMapper.forHeaders(entityMetadata, Headers.of(headers), CONVERTER);
+            } else if (hasMeaningfulValues(rowValues)) {
+                handleEntity(convertRowToEntity(rowValues));
+            }
+        }
+
+        private T convertRowToEntity(List<Object> rowValues) {
+            try {
+                if (!rowMapper.supportsInstanceReuse()) {
+                    return rowMapper.map(rowValues);
+                }
+                if (reuseInstance) {
+                    if (reusableEntity == null) {
+                        reusableEntity = entityMetadata.createInstance();
+                    }
+                    return rowMapper.mapInto(reusableEntity, rowValues);
+                }
+                T recycled = recycledInstance();
+                return recycled != null ? rowMapper.mapInto(recycled, rowValues) : rowMapper.map(rowValues);
+            } catch (Exception e) {
+                throw new DocumentConversionException(
+                        "Failed to convert row " + currentRowNumber + " to entity " + entityMetadata,
+                        e
+                );
+            }
+        }
+
+        protected T recycledInstance() {
+            return null;
+        }
+
+        protected abstract void handleEntity(T entity);
+    }
+
+    private static class ForEachHandler<T> extends EntityRowHandler<T> {
+        private final RowConsumer<? super T> consumer;
+        private long deliveredRows;
+
+        ForEachHandler(
+                Class<T> entityType,
+                SharedStringsTable sst,
+                StylesTable styles,
+                RowConsumer<? super T> consumer,
+                boolean reuseInstance
+        ) {
+            super(entityType, sst, styles, null, reuseInstance);
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void handleEntity(T entity) {
+            try {
+                consumer.accept(entity);
+            } catch (DocumentConversionException e) {
+                throw e;
+            } catch (Exception e) {
+                throw new DocumentConversionException("Row consumer failed at row " + currentRowNumber, e);
+            }
+            deliveredRows++;
+        }
+    }
+
     private static class ChunkIterator<T> implements ChunkReader<T> {
         private static final int MAX_QUEUED_CHUNKS = 2;
 
         private final int chunkSize;
         private final BlockingQueue<Object> queue = new LinkedBlockingQueue<>(MAX_QUEUED_CHUNKS);
-        private final InputStream managedInputStream;
-        private final boolean closeOnFinish;
+        private final RowHashIndex rowHashIndex;
+        private final boolean recycleInstances;
+        private final Queue<List<T>> releasedChunks = new ConcurrentLinkedQueue<>();
         private final Thread producerThread;
 
         private List<T> nextChunk;
@@ -465,40 +870,30 @@ public class StreamingWorkbookReader implements WorkbookReader {
         private static final Object END_OF_QUEUE = new Object(); // Poison Pill
 
         public ChunkIterator(
-                InputStream inputStream,
+                PartsOpener partsOpener,
                 Class<T> entityType,
                 int chunkSize,
-                boolean closeOnFinish
+                RowHashIndex rowHashIndex,
+                boolean recycleInstances
         ) {
             this.chunkSize = chunkSize;
-            this.managedInputStream = inputStream;
-            this.closeOnFinish = closeOnFinish;
+            this.rowHashIndex = rowHashIndex;
+            this.recycleInstances = recycleInstances;
 
             // 생산자 스레드 시작
             this.producerThread = new Thread(() -> {
-                try (OPCPackage opcPackage = OPCPackage.open(managedInputStream)) {
-                    XSSFReader xssfReader = new XSSFReader(opcPackage);
-                    SharedStringsTable sst = (SharedStringsTable) xssfReader.getSharedStringsTable();
-                    StylesTable styles = xssfReader.getStylesTable();
-
+                try (WorkbookParts parts = partsOpener.open()) {
                     XMLReader xmlReader = XMLHelper.newXMLReader();
-                    ChunkingHandler chunkingHandler = new ChunkingHandler(entityType, sst, styles);
+                    ChunkingHandler chunkingHandler = new ChunkingHandler(entityType, parts.getSharedStrings(), parts.getStyles());
                     xmlReader.setContentHandler(chunkingHandler);
 
-                    try (InputStream sheetStream = xssfReader.getSheetsData().next()) {
+                    try (InputStream sheetStream = openFirstSheet(parts)) {
                         xmlReader.parse(new InputSource(sheetStream));
                     }
                     chunkingHandler.finish();
                 } catch (Exception e) {
                     producerException = e;
                 } finally {
-                    if (closeOnFinish && managedInputStream != null) {
-                        try {
-                            managedInputStream.close();
-                        } catch (IOException e) {
-                            logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing input stream", e);
-                        }
-                    }
                     try {
                         queue.put(END_OF_QUEUE);
                     } catch (InterruptedException e) {
@@ -506,7 +901,7 @@ public class StreamingWorkbookReader implements WorkbookReader {
                     }
                     isProducerFinished = true;
                 }
-            });
+            }, "ninja-excel-chunk-producer");
             this.producerThread.start();
         }
 
@@ -565,6 +960,13 @@ public class StreamingWorkbookReader implements WorkbookReader {
             }
         }
 
+        @Override
+        public void release(List<T> chunk) {
+            if (recycleInstances && !closed && chunk != null && !chunk.isEmpty()) {
+                releasedChunks.add(chunk);
+            }
+        }
+
         @SuppressWarnings("unchecked")
         private List<T> castChunk(Object item) {
             return (List<T>) item;
@@ -581,35 +983,30 @@ public class StreamingWorkbookReader implements WorkbookReader {
             producerThread.interrupt();
 
             // 2. 스레드 종료 대기 (타임아웃 설정)
+            // 취소된 호출자의 인터럽트 상태는 대기 동안 해제했다가 복원 (생산자가 패키지를 닫을 때까지 대기)
+            boolean interrupted = Thread.interrupted();
             try {
                 producerThread.join(5000);  // 최대 5초 대기
                 if (producerThread.isAlive()) {
                     logger.warning("[NINJA-EXCEL] Producer thread did not terminate within timeout");
                 }
             } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
+                interrupted = true;
                 logger.warning("[NINJA-EXCEL] Interrupted while waiting for producer thread");
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
             }
 
             // 3. 큐 정리
             queue.clear();
-
-            // 4. InputStream 정리
-            if (closeOnFinish && managedInputStream != null) {
-                try {
-                    managedInputStream.close();
-                } catch (IOException e) {
-                    logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing input stream", e);
-                }
-            }
+            releasedChunks.clear();
         }
 
-        private class ChunkingHandler extends BaseSheetHandler {
-            private final EntityMetadata<T> entityMetadata;
-            private final DefaultConverter converter = new DefaultConverter();
-            private boolean isHeaderProcessed = false;
-            private List<Integer> fieldToColumnMapping;
-            private int maxColCount = 0;
+        private class ChunkingHandler extends EntityRowHandler<T> {
+            private final Deque<T> spareInstances = new ArrayDeque<>();
+            private final Deque<List<T>> spareChunks = new ArrayDeque<>();
             private List<T> bufferedChunk = new ArrayList<>(chunkSize);
 
             public ChunkingHandler(
@@ -617,60 +1014,30 @@ public class StreamingWorkbookReader implements WorkbookReader {
                     SharedStringsTable sst,
                     StylesTable styles
             ) {
-                super(sst, styles);
-                this.entityMetadata = EntityMetadata.of(entityType);
+                super(entityType, sst, styles, rowHashIndex, false);
             }
 
             @Override
-            protected void processRow() {
-                if (currentRowData.isEmpty()) return;
-                maxColCount = Math.max(maxColCount, currentRowData.keySet().stream().max(Integer::compareTo).orElse(-1) + 1);
-                List<Object> rowValues = new ArrayList<>(Collections.nCopies(maxColCount, null));
-                currentRowData.forEach(rowValues::set);
-
-                if (!isHeaderProcessed) {
-                    List<String> headers = new ArrayList<>();
-                    rowValues.forEach(val -> headers.add(val != null ? val.toString().trim() : ""));
-                    prepareFieldMapping(headers);
-                    isHeaderProcessed = true;
-                } else {
-                    if (hasMeaningfulValues(rowValues)) {
-                        bufferedChunk.add(convertRowToEntity(rowValues));
-                        if (bufferedChunk.size() == chunkSize) {
-                            publishBufferedChunk();
-                        }
-                    }
+            protected T recycledInstance() {
+                if (!recycleInstances) {
+                    return null;
                 }
-            }
-
-            private void prepareFieldMapping(List<String> headers) {
-                Headers sheetHeaders = Headers.of(headers);
-                fieldToColumnMapping = new ArrayList<>();
-                for (FieldMapping fieldMapping : entityMetadata.getReadFieldMappings()) {
-                    String headerName = fieldMapping.getHeaderName();
-                    if (!sheetHeaders.containsHeader(headerName)) {
-                        throw new HeaderMismatchException("Header not found: " + headerName, "missing");
+                if (spareInstances.isEmpty()) {
+                    List<T> released;
+                    while ((released = releasedChunks.poll()) != null) {
+                        spareInstances.addAll(released);
+                        released.clear();
+                        spareChunks.add(released);
                     }
-                    fieldToColumnMapping.add(sheetHeaders.getPositionOf(headerName));
                 }
+                return spareInstances.poll();
             }
 
-            private T convertRowToEntity(List<Object> rowValues) {
-                try {
-                    T entity = entityMetadata.createInstance();
-                    List<FieldMapping> fieldMappings = entityMetadata.getReadFieldMappings();
-                    for (int i = 0; i < fieldMappings.size(); i++) {
-                        FieldMapping fieldMapping = fieldMappings.get(i);
-                        int colIdx = fieldToColumnMapping.get(i);
-                        Object cellValue = (colIdx < rowValues.size()) ? rowValues.get(colIdx) : null;
-                        fieldMapping.setValue(entity, cellValue, converter);
-                    }
-                    return entity;
-                } catch (Exception e) {
-                    throw new DocumentConversionException(
-                            "Failed to convert chunk row " + currentRowNumber + " to entity " + entityMetadata,
-                            e
-                    );
+            @Override
+            protected void handleEntity(T entity) {
+                bufferedChunk.add(entity);
+                if (bufferedChunk.size() == chunkSize) {
+                    publishBufferedChunk();
                 }
             }
 
@@ -682,7 +1049,8 @@ public class StreamingWorkbookReader implements WorkbookReader {
 
             private void publishBufferedChunk() {
                 List<T> chunkToPublish = bufferedChunk;
-                bufferedChunk = new ArrayList<>(chunkSize);
+                List<T> spareChunk = spareChunks.poll();
+                bufferedChunk = spareChunk != null ? spareChunk : new ArrayList<>(chunkSize);
 
                 try {
                     queue.put(chunkToPublish);
@@ -697,20 +1065,6 @@ public class StreamingWorkbookReader implements WorkbookReader {
         }
     }
 
-    private WorkbookMetadata readWorkbookMetadata(OPCPackage opcPackage) throws Exception {
-        POIXMLProperties properties = new POIXMLProperties(opcPackage);
-        POIXMLProperties.CoreProperties coreProperties = properties.getCoreProperties();
-        LocalDateTime createdDate = coreProperties.getCreated() != null
-                ? LocalDateTime.ofInstant(coreProperties.getCreated().toInstant(), ZoneId.systemDefault())
-                : null;
-
-        return new WorkbookMetadata(
-                coreProperties.getCreator(),
-                coreProperties.getTitle(),
-                createdDate
-        );
-    }
-
     private static Object parseValue(
             String value,
             String type,
@@ -0,0 +1,463 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.WriteOptions;
+import com.excelninja.domain.port.WorkbookWriter;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+
+/**
+ * High-throughput xlsx writer that emits the OOXML parts directly into a zip stream.
+ *
+ * <p>Unlike {@link PoiWorkbookWriter}, no {@code XSSFCell} objects are created: each sheet is encoded row by row
+ * into a buffered UTF-8 stream, so the writer's own memory use does not grow with the number of cells. Strings are
+ * collected into a shared strings table by default; inline strings keep memory flat even for sheets with millions
+ * of distinct texts, at the cost of a larger file. The output uses the same header, data and date styles and the
+ * same workbook metadata as {@link PoiWorkbookWriter}. {@link WriteOptions#getSharedStringsLimit()} caps the table,
+ * so that repeated values are deduplicated while strings seen after the cap are written inline.
+ *
+ * <p>When created with an {@link Executor}, the XML of every sheet is encoded concurrently into a per-sheet buffer
+ * that spills to a temporary file when it grows large. Each buffer is then compressed in blocks on the same
+ * executor by {@link ParallelDeflater}, and the compressed parts are stitched into the zip in sheet order. The
+ * shared strings table is collected before the sheets are encoded, so the unzipped parts are identical to a
+ * sequential write.
+ *
+ * <p>The compression level applies to all parts; {@link Deflater#NO_COMPRESSION} stores the parts uncompressed,
+ * which is the fastest choice when the file is compressed again later or only kept briefly. {@link WriteOptions}
+ * can drop the borders of data cells.
+ *
+ * <p>Columns configured with {@code autoSizeColumns} are always sized with {@link ColumnWidthEstimator}.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ * Multiple threads can safely use the same instance concurrently.
+ */
+public class StreamingWorkbookWriter implements WorkbookWriter {
+    private static final Logger logger = Logger.getLogger(StreamingWorkbookWriter.class.getName());
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+    private static final int SHEET_BUFFER_MEMORY_THRESHOLD = 16 * 1024 * 1024;
+
+    private final boolean sharedStrings;
+    private final int sharedStringsLimit;
+    private final Executor executor;
+    private final int compressionLevel;
+    private final boolean borderedCells;
+
+    public StreamingWorkbookWriter() {
+        this(true);
+    }
+
+    /**
+     * @param sharedStrings {@code true} to write strings to a shared strings table, {@code false} to write them inline
+     */
+    public StreamingWorkbookWriter(boolean sharedStrings) {
+        this(sharedStrings, null);
+    }
+
+    /**
+     * @param sharedStrings {@code true} to write strings to a shared strings table, {@code false} to write them inline
+     * @param executor      executor that encodes and compresses the sheets concurrently, or {@code null} to do so on
+     *                      the calling thread
+     */
+    public StreamingWorkbookWriter(
+            boolean sharedStrings,
+            Executor executor
+    ) {
+        this(sharedStrings, executor, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param sharedStrings    {@code true} to write strings to a shared strings table, {@code false} to write them
+     *                         inline
+     * @param executor         executor that encodes and compresses the sheets concurrently, or {@code null} to do so
+     *                         on the calling thread
+     * @param compressionLevel deflate level from 1 to 9, {@link Deflater#DEFAULT_COMPRESSION}, or
+     *                         {@link Deflater#NO_COMPRESSION} to store the parts uncompressed
+     * @throws DocumentConversionException if the compression level is out of range
+     */
+    public StreamingWorkbookWriter(
+            boolean sharedStrings,
+            Executor executor,
+            int compressionLevel
+    ) {
+        this(sharedStrings, SharedStringsBuilder.UNLIMITED, executor, compressionLevel, true);
+    }
+
+    public StreamingWorkbookWriter(WriteOptions options) {
+        this(options, null);
+    }
+
+    /**
+     * @param options  compression, string and style options
+     * @param executor executor that encodes and compresses the sheets concurrently, or {@code null} to do so on the
+     *                 calling thread
+     */
+    public StreamingWorkbookWriter(
+            WriteOptions options,
+            Executor executor
+    ) {
+        this(options.isSharedStrings(), options.getSharedStringsLimit(), executor, options.getCompressionLevel(),
+                options.isBorderedCells());
+    }
+
+    private StreamingWorkbookWriter(
+            boolean sharedStrings,
+            int sharedStringsLimit,
+            Executor executor,
+            int compressionLevel,
+            boolean borderedCells
+    ) {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new DocumentConversionException("Compression level must be between -1 and 9: " + compressionLevel);
+        }
+        this.sharedStrings = sharedStrings;
+        this.sharedStringsLimit = sharedStringsLimit;
+        this.executor = executor;
+        this.compressionLevel = compressionLevel;
+        this.borderedCells = borderedCells;
+    }
+
+    @Override
+    public void write(
+            ExcelWorkbook workbook,
+            File file
+    ) throws IOException {
+        try (OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(file), FILE_BUFFER_SIZE)) {
+            write(workbook, fileOutput);
+        }
+    }
+
+    /**
+     * Writes the workbook as an xlsx package. The given stream is finished but not closed.
+     */
+    @Override
+    public void write(
+            ExcelWorkbook workbook,
+            OutputStream outputStream
+    ) throws IOException {
+        List<String> sheetNames = new ArrayList<>(workbook.getSheetNames());
+        List<ExcelSheet> sheets = new ArrayList<>(sheetNames.size());
+        for (String sheetName : sheetNames) {
+            sheets.add(workbook.getSheet(sheetName));
+        }
+
+        ZipPartWriter zip = new ZipPartWriter(outputStream, compressionLevel);
+        writePackageParts(zip, workbook, sheetNames);
+
+        SharedStringsBuilder stringTable = sharedStrings ? new SharedStringsBuilder(sharedStringsLimit) : null;
+        if (executor != null) {
+            writeSheetsConcurrently(zip, sheets, stringTable);
+        } else {
+            writeSheets(zip, sheets, stringTable);
+        }
+
+        zip.finish();
+        outputStream.flush();
+    }
+
+    public boolean isSharedStrings() {
+        return sharedStrings;
+    }
+
+    public int getSharedStringsLimit() {
+        return sharedStringsLimit;
+    }
+
+    public boolean isConcurrent() {
+        return executor != null;
+    }
+
+    public int getCompressionLevel() {
+        return compressionLevel;
+    }
+
+    public boolean isBorderedCells() {
+        return borderedCells;
+    }
+
+    private void writePackageParts(
+            ZipPartWriter zip,
+            ExcelWorkbook workbook,
+            List<String> sheetNames
+    ) throws IOException {
+        XmlOutput out = startEntry(zip, OoxmlParts.CONTENT_TYPES_ENTRY);
+        OoxmlParts.writeContentTypes(out, sheetNames.size(), sharedStrings);
+        closeEntry(zip, out);
+
+        out = startEntry(zip, OoxmlParts.ROOT_RELATIONSHIPS_ENTRY);
+        OoxmlParts.writeRootRelationships(out);
+        closeEntry(zip, out);
+
+        out = startEntry(zip, OoxmlParts.CORE_PROPERTIES_ENTRY);
+        OoxmlParts.writeCoreProperties(out, workbook.getMetadata());
+        closeEntry(zip, out);
+
+        out = startEntry(zip, OoxmlParts.WORKBOOK_ENTRY);
+        OoxmlParts.writeWorkbook(out, sheetNames);
+        closeEntry(zip, out);
+
+        out = startEntry(zip, OoxmlParts.WORKBOOK_RELATIONSHIPS_ENTRY);
+        OoxmlParts.writeWorkbookRelationships(out, sheetNames.size(), sharedStrings);
+        closeEntry(zip, out);
+
+        out = startEntry(zip, OoxmlParts.STYLES_ENTRY);
+        OoxmlParts.writeStyles(out, borderedCells);
+        closeEntry(zip, out);
+    }
+
+    private void writeSheets(
+            ZipPartWriter zip,
+            List<ExcelSheet> sheets,
+            SharedStringsBuilder stringTable
+    ) throws IOException {
+        long sharedStringReferences = 0;
+        for (int i = 0; i < sheets.size(); i++) {
+            XmlOutput out = startEntry(zip, OoxmlParts.worksheetEntry(i + 1));
+            SheetXmlWriter sheetWriter = new SheetXmlWriter(out, stringTable, borderedCells);
+            sheetWriter.writeSheet(sheets.get(i), i == 0);
+            closeEntry(zip, out);
+            sharedStringReferences += sheetWriter.getSharedStringReferences();
+        }
+
+        if (stringTable != null) {
+            XmlOutput out = startEntry(zip, OoxmlParts.SHARED_STRINGS_ENTRY);
+            stringTable.write(out, sharedStringReferences);
+            closeEntry(zip, out);
+            logSharedStrings(stringTable, sharedStringReferences);
+        }
+    }
+
+    /**
+     * Encodes and compresses all sheets on the executor and copies each part into the zip as soon as it and all
+     * sheets before it are done. Buffers are released even when a sheet fails.
+     */
+    private void writeSheetsConcurrently(
+            ZipPartWriter zip,
+            List<ExcelSheet> sheets,
+            SharedStringsBuilder stringTable
+    ) throws IOException {
+        if (stringTable != null) {
+            collectSharedStrings(sheets, stringTable);
+        }
+
+        ParallelDeflater deflater = zip.isStored() ? null : new ParallelDeflater(executor, compressionLevel);
+        List<CompletableFuture<EncodedPart>> encodedSheets = new ArrayList<>(sheets.size());
+        for (int i = 0; i < sheets.size(); i++) {
+            ExcelSheet sheet = sheets.get(i);
+            boolean selected = i == 0;
+            encodedSheets.add(compress(deflater,
+                    CompletableFuture.supplyAsync(() -> encodeSheet(sheet, selected, stringTable, borderedCells), executor)));
+        }
+
+        long sharedStringReferences = 0;
+        try {
+            for (int i = 0; i < encodedSheets.size(); i++) {
+                EncodedPart encoded = await(encodedSheets.get(i));
+                addEncodedPart(zip, OoxmlParts.worksheetEntry(i + 1), encoded);
+                sharedStringReferences += encoded.sharedStringReferences;
+            }
+        } finally {
+            releaseRemaining(encodedSheets);
+        }
+
+        if (stringTable != null) {
+            EncodedPart table = await(compress(deflater, CompletableFuture.completedFuture(
+                    encodeSharedStrings(stringTable, sharedStringReferences))));
+            addEncodedPart(zip, OoxmlParts.SHARED_STRINGS_ENTRY, table);
+            logSharedStrings(stringTable, sharedStringReferences);
+        }
+    }
+
+    /**
+     * Collects the strings of every sheet concurrently and merges them in sheet order.
+     */
+    private void collectSharedStrings(
+            List<ExcelSheet> sheets,
+            SharedStringsBuilder stringTable
+    ) throws IOException {
+        List<CompletableFuture<SharedStringsBuilder>> sheetStrings = new ArrayList<>(sheets.size());
+        for (ExcelSheet sheet : sheets) {
+            sheetStrings.add(CompletableFuture.supplyAsync(() -> {
+                SharedStringsBuilder strings = new SharedStringsBuilder(stringTable.getMaxUniqueCount());
+                SheetXmlWriter.collectStrings(sheet, strings);
+                return strings;
+            }, executor));
+        }
+        for (CompletableFuture<SharedStringsBuilder> strings : sheetStrings) {
+            stringTable.addAll(await(strings));
+        }
+        stringTable.freeze();
+    }
+
+    private static EncodedPart encodeSheet(
+            ExcelSheet sheet,
+            boolean selected,
+            SharedStringsBuilder stringTable,
+            boolean borderedCells
+    ) {
+        SpillingBuffer buffer = new SpillingBuffer(SHEET_BUFFER_MEMORY_THRESHOLD);
+        try {
+            XmlOutput sheetOutput = new XmlOutput(buffer);
+            SheetXmlWriter sheetWriter = new SheetXmlWriter(sheetOutput, stringTable, borderedCells);
+            sheetWriter.writeSheet(sheet, selected);
+            sheetOutput.flush();
+            buffer.seal();
+            return new EncodedPart(buffer, null, sheetWriter.getSharedStringReferences());
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(buffer);
+            throw new CompletionException(e);
+        }
+    }
+
+    private static EncodedPart encodeSharedStrings(
+            SharedStringsBuilder stringTable,
+            long sharedStringReferences
+    ) throws IOException {
+        SpillingBuffer buffer = new SpillingBuffer(SHEET_BUFFER_MEMORY_THRESHOLD);
+        try {
+            XmlOutput out = new XmlOutput(buffer);
+            stringTable.write(out, sharedStringReferences);
+            out.flush();
+            buffer.seal();
+            return new EncodedPart(buffer, null, 0);
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(buffer);
+            throw e;
+        }
+    }
+
+    /**
+     * Chains the block compression of an encoded part. The uncompressed buffer is released once its blocks are
+     * compressed. Stored packages keep the buffer as it is.
+     */
+    private static CompletableFuture<EncodedPart> compress(
+            ParallelDeflater deflater,
+            CompletableFuture<EncodedPart> encoded
+    ) {
+        if (deflater == null) {
+            return encoded;
+        }
+        return encoded.thenCompose(part -> deflater.deflate(part.buffer).handle((deflated, failure) -> {
+            closeQuietly(part.buffer);
+            if (failure != null) {
+                throw failure instanceof CompletionException
+                        ? (CompletionException) failure
+                        : new CompletionException(failure);
+            }
+            return new EncodedPart(null, deflated, part.sharedStringReferences);
+        }));
+    }
+
+    private static void addEncodedPart(
+            ZipPartWriter zip,
+            String name,
+            EncodedPart encoded
+    ) throws IOException {
+        if (encoded.buffer == null) {
+            zip.addDeflated(name, encoded.deflated);
+            return;
+        }
+        try {
+            zip.addStored(name, encoded.buffer);
+        } finally {
+            encoded.release();
+        }
+    }
+
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new DocumentConversionException("Failed to encode sheet", cause);
+        }
+    }
+
+    /**
+     * Waits for sheets that were not copied because an earlier one failed, and deletes their buffers.
+     */
+    private static void releaseRemaining(List<CompletableFuture<EncodedPart>> encodedSheets) {
+        for (CompletableFuture<EncodedPart> future : encodedSheets) {
+            try {
+                future.join().release();
+            } catch (CompletionException ignored) {
+                // The failure is reported by the sheet that was awaited first.
+            }
+        }
+    }
+
+    private static void closeQuietly(SpillingBuffer buffer) {
+        try {
+            buffer.close();
+        } catch (IOException e) {
+            logger.log(Level.WARNING, "[NINJA-EXCEL] Failed to delete temporary sheet buffer", e);
+        }
+    }
+
+    private static void logSharedStrings(
+            SharedStringsBuilder stringTable,
+            long sharedStringReferences
+    ) {
+        logger.fine(String.format("[NINJA-EXCEL] Wrote shared strings table with %d unique of %d strings",
+                stringTable.getUniqueCount(), sharedStringReferences));
+    }
+
+    private static XmlOutput startEntry(
+            ZipPartWriter zip,
+            String name
+    ) throws IOException {
+        return new XmlOutput(zip.startEntry(name));
+    }
+
+    private static void closeEntry(
+            ZipPartWriter zip,
+            XmlOutput out
+    ) throws IOException {
+        out.flush();
+        zip.closeEntry();
+    }
+
+    /**
+     * An encoded part, held either as its uncompressed buffer or as compressed blocks.
+     */
+    private static final class EncodedPart {
+        private final SpillingBuffer buffer;
+        private final ParallelDeflater.DeflatedPart deflated;
+        private final long sharedStringReferences;
+
+        private EncodedPart(
+                SpillingBuffer buffer,
+                ParallelDeflater.DeflatedPart deflated,
+                long sharedStringReferences
+        ) {
+            this.buffer = buffer;
+            this.deflated = deflated;
+            this.sharedStringReferences = sharedStringReferences;
+        }
+
+        private void release() {
+            if (buffer != null) {
+                closeQuietly(buffer);
+            }
+        }
+    }
+}
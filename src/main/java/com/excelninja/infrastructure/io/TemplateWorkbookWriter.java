@@ -0,0 +1,146 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.port.WorkbookWriter;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.Deflater;
+
+/**
+ * Writes the rows of a workbook into a copy of a template xlsx.
+ *
+ * <p>Each sheet of the written workbook is matched by name to a sheet of the template, and its data rows are
+ * appended after the last row of that sheet. Every other zip entry, including styles, shared strings, drawings and
+ * the untouched sheets, is copied byte for byte without being decompressed. The target sheet parts are streamed
+ * through {@link SheetXmlSplicer}, so memory use does not depend on the size of the template.
+ *
+ * <p>The template's shared strings table is left as it is, so appended strings are written inline. Appended cells
+ * take the style of the same column in the template's last row, which lets a template define number and date
+ * formats with a styled sample row. When the last row is the first row of the sheet, it is taken to be the header
+ * and the cells are left unstyled. A template sheet without rows gets the header row of the written sheet.
+ * Columns are written in the order of the written sheet starting at column A; they are not matched to template
+ * headers, and tables or defined names are not extended over the new rows.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ * Multiple threads can safely use the same instance concurrently.
+ */
+public class TemplateWorkbookWriter implements WorkbookWriter {
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final File template;
+    private final int compressionLevel;
+
+    public TemplateWorkbookWriter(File template) {
+        this(template, Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param template         the xlsx file whose parts are copied
+     * @param compressionLevel deflate level of the rewritten sheet parts, from 1 to 9,
+     *                         {@link Deflater#DEFAULT_COMPRESSION}, or {@link Deflater#NO_COMPRESSION} to store them
+     * @throws DocumentConversionException if the compression level is out of range
+     */
+    public TemplateWorkbookWriter(
+            File template,
+            int compressionLevel
+    ) {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new DocumentConversionException("Compression level must be between -1 and 9: " + compressionLevel);
+        }
+        this.template = template;
+        this.compressionLevel = compressionLevel;
+    }
+
+    @Override
+    public void write(
+            ExcelWorkbook workbook,
+            File file
+    ) throws IOException {
+        if (file.getCanonicalFile().equals(template.getCanonicalFile())) {
+            throw new DocumentConversionException("The target file must differ from the template: " + file.getName());
+        }
+        try (OutputStream fileOutput = new BufferedOutputStream(new FileOutputStream(file), FILE_BUFFER_SIZE)) {
+            write(workbook, fileOutput);
+        }
+    }
+
+    /**
+     * Writes the template with the appended rows as an xlsx package. The given stream is finished but not closed.
+     */
+    @Override
+    public void write(
+            ExcelWorkbook workbook,
+            OutputStream outputStream
+    ) throws IOException {
+        try (ZipFile zip = ZipFile.builder().setFile(template).get()) {
+            WorkbookPartIndex index = WorkbookPartIndex.read(zip);
+            Map<String, ExcelSheet> sheetsByEntry = new HashMap<>();
+            for (String sheetName : workbook.getSheetNames()) {
+                String entryName = index.getSheetEntry(sheetName);
+                if (entryName == null) {
+                    throw new DocumentConversionException("Template has no sheet named '" + sheetName + "': " + template.getName());
+                }
+                sheetsByEntry.put(entryName, workbook.getSheet(sheetName));
+            }
+
+            ZipPartWriter parts = new ZipPartWriter(outputStream, compressionLevel);
+            Enumeration<ZipArchiveEntry> entries = zip.getEntriesInPhysicalOrder();
+            while (entries.hasMoreElements()) {
+                ZipArchiveEntry entry = entries.nextElement();
+                ExcelSheet sheet = sheetsByEntry.get(entry.getName());
+                if (sheet == null) {
+                    parts.copyRaw(zip, entry);
+                } else {
+                    appendRows(zip, entry, sheet, parts);
+                }
+            }
+            parts.finish();
+        }
+        outputStream.flush();
+    }
+
+    public File getTemplate() {
+        return template;
+    }
+
+    private static void appendRows(
+            ZipFile zip,
+            ZipArchiveEntry entry,
+            ExcelSheet sheet,
+            ZipPartWriter parts
+    ) throws IOException {
+        SheetXmlSplicer.SheetLayout layout;
+        try (InputStream input = zip.getInputStream(entry)) {
+            layout = SheetXmlSplicer.scan(input);
+        }
+
+        boolean writeHeader = layout.getLastRowNumber() == 0;
+        int rowOffset = writeHeader ? 1 : layout.getLastRowNumber();
+        int lastRowNumber = rowOffset + SheetXmlWriter.lastRowNumber(sheet);
+        int lastColumnIndex = Math.max(layout.getLastColumnIndex(), sheet.getHeaders().size() - 1);
+        int[] columnStyles = layout.getLastRowNumber() > 1 ? layout.getLastRowStyles() : new int[0];
+
+        OutputStream partOutput = new BufferedOutputStream(parts.startEntry(entry.getName()), FILE_BUFFER_SIZE);
+        try (InputStream input = zip.getInputStream(entry)) {
+            SheetXmlSplicer.splice(input, partOutput, layout, lastColumnIndex, lastRowNumber, out -> {
+                XmlOutput rows = new XmlOutput(out);
+                new SheetXmlWriter(rows, null, false).writeAppendedRows(sheet, writeHeader, rowOffset, columnStyles);
+                rows.flush();
+            });
+        }
+        partOutput.flush();
+        parts.closeEntry();
+    }
+}
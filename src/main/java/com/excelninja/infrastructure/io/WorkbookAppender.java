@@ -0,0 +1,87 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ExcelWorkbook;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.Deflater;
+
+/**
+ * Appends rows to the sheets of an existing xlsx file without reading its rows back.
+ *
+ * <p>The file serves as its own template for {@link TemplateWorkbookWriter}: the target sheet parts are copied up
+ * to {@code </sheetData>}, the new rows are spliced in after the last existing row and the {@code dimension} is
+ * updated, while every other entry is copied as raw compressed bytes. The result is written to a temporary file
+ * next to the original, which then replaces it, so a failed append leaves the original untouched. The cost grows
+ * with the file size in bytes, not with the number of existing rows.
+ *
+ * <p>Appended strings are written inline, and appended cells take the styles of the last existing row, so rows
+ * appended to a file written by this library keep its borders and date formats.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe. Concurrent appends to the same file are not
+ * coordinated; the last one to finish wins.
+ */
+public class WorkbookAppender {
+    private static final Logger logger = Logger.getLogger(WorkbookAppender.class.getName());
+    private static final int FILE_BUFFER_SIZE = 64 * 1024;
+
+    private final int compressionLevel;
+
+    public WorkbookAppender() {
+        this(Deflater.DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * @param compressionLevel deflate level of the rewritten sheet parts, see
+     *                         {@link TemplateWorkbookWriter#TemplateWorkbookWriter(File, int)}
+     */
+    public WorkbookAppender(int compressionLevel) {
+        if (compressionLevel < Deflater.DEFAULT_COMPRESSION || compressionLevel > Deflater.BEST_COMPRESSION) {
+            throw new DocumentConversionException("Compression level must be between -1 and 9: " + compressionLevel);
+        }
+        this.compressionLevel = compressionLevel;
+    }
+
+    /**
+     * Appends the data rows of every workbook sheet to the sheet of the same name in the file.
+     */
+    public void append(
+            ExcelWorkbook workbook,
+            File file
+    ) throws IOException {
+        Path target = file.toPath().toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), "." + target.getFileName(), ".tmp");
+        try {
+            try (OutputStream output = new BufferedOutputStream(Files.newOutputStream(temporary), FILE_BUFFER_SIZE)) {
+                new TemplateWorkbookWriter(file, compressionLevel).write(workbook, output);
+            }
+            replace(temporary, target);
+        } finally {
+            try {
+                Files.deleteIfExists(temporary);
+            } catch (IOException e) {
+                logger.log(Level.WARNING, "[NINJA-EXCEL] Failed to delete temporary append file: " + temporary, e);
+            }
+        }
+    }
+
+    private static void replace(
+            Path source,
+            Path target
+    ) throws IOException {
+        try {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(source, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+}
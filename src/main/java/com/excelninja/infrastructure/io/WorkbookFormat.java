@@ -0,0 +1,51 @@
+package com.excelninja.infrastructure.io;
+
+import org.apache.poi.poifs.filesystem.FileMagic;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Container formats of workbook files, told apart by their leading bytes rather than their extension.
+ *
+ * <p><b>Thread Safety:</b> This enum is immutable and thread-safe.
+ */
+public enum WorkbookFormat {
+    /**
+     * Office Open XML package ({@code .xlsx}, {@code .xlsm}).
+     */
+    XLSX,
+    /**
+     * Office Open XML package whose parts are binary records ({@code .xlsb}).
+     */
+    XLSB,
+    /**
+     * OLE2 compound document holding a BIFF8 workbook ({@code .xls}).
+     */
+    XLS,
+    /**
+     * Anything else, including delimited text.
+     */
+    UNKNOWN;
+
+    private static final String BINARY_WORKBOOK_PART = "xl/workbook.bin";
+
+    /**
+     * Reads the signature at the start of the file. Zip packages are told apart by the workbook part listed in
+     * their central directory; no entry is inflated.
+     *
+     * @throws IOException if the file cannot be read
+     */
+    public static WorkbookFormat detect(File file) throws IOException {
+        FileMagic magic = FileMagic.valueOf(file);
+        if (magic == FileMagic.OOXML) {
+            try (MappedZipFile zip = MappedZipFile.open(file)) {
+                return zip.contains(BINARY_WORKBOOK_PART) ? XLSB : XLSX;
+            }
+        }
+        if (magic == FileMagic.OLE2) {
+            return XLS;
+        }
+        return UNKNOWN;
+    }
+}
@@ -0,0 +1,324 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.InvalidDocumentStructureException;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.SheetVisibility;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.util.XMLHelper;
+import org.xml.sax.Attributes;
+import org.xml.sax.InputSource;
+import org.xml.sax.SAXException;
+import org.xml.sax.XMLReader;
+import org.xml.sax.helpers.DefaultHandler;
+
+import javax.xml.parsers.ParserConfigurationException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Maps the sheet names of an xlsx package to their zip entries by reading only the package relationships, the
+ * workbook relationships and {@code workbook.xml}. The entries of the shared strings, styles and core properties
+ * parts and the visibility of each sheet are recorded along the way.
+ *
+ * <p><b>Thread Safety:</b> This class is immutable and thread-safe.
+ */
+final class WorkbookPartIndex {
+    private static final String OFFICE_DOCUMENT_TYPE_SUFFIX = "/officeDocument";
+    private static final String CORE_PROPERTIES_TYPE_SUFFIX = "/metadata/core-properties";
+    private static final String SHARED_STRINGS_TYPE_SUFFIX = "/sharedStrings";
+    private static final String STYLES_TYPE_SUFFIX = "/styles";
+
+    /**
+     * Opens package parts by zip entry name.
+     */
+    @FunctionalInterface
+    interface PartSource {
+        /**
+         * Returns the content of the entry, or {@code null} when the package has no such entry.
+         */
+        InputStream open(String entryName) throws IOException;
+    }
+
+    private final String workbookEntry;
+    private final Map<String, String> sheetEntries;
+    private final Map<String, SheetVisibility> sheetVisibilities;
+    private final String sharedStringsEntry;
+    private final String stylesEntry;
+    private final String corePropertiesEntry;
+
+    private WorkbookPartIndex(
+            String workbookEntry,
+            Map<String, String> sheetEntries,
+            Map<String, SheetVisibility> sheetVisibilities,
+            String sharedStringsEntry,
+            String stylesEntry,
+            String corePropertiesEntry
+    ) {
+        this.workbookEntry = workbookEntry;
+        this.sheetEntries = Collections.unmodifiableMap(sheetEntries);
+        this.sheetVisibilities = Collections.unmodifiableMap(sheetVisibilities);
+        this.sharedStringsEntry = sharedStringsEntry;
+        this.stylesEntry = stylesEntry;
+        this.corePropertiesEntry = corePropertiesEntry;
+    }
+
+    static WorkbookPartIndex read(ZipFile zip) throws IOException {
+        return read(entryName -> {
+            ZipArchiveEntry entry = zip.getEntry(entryName);
+            return entry != null ? zip.getInputStream(entry) : null;
+        });
+    }
+
+    static WorkbookPartIndex read(PartSource parts) throws IOException {
+        String workbookEntry = null;
+        String corePropertiesEntry = null;
+        for (String[] relationship : readRelationships(parts, OoxmlParts.ROOT_RELATIONSHIPS_ENTRY).values()) {
+            if (relationship[1] == null) {
+                continue;
+            }
+            if (workbookEntry == null && relationship[1].endsWith(OFFICE_DOCUMENT_TYPE_SUFFIX)) {
+                workbookEntry = resolve("", relationship[2]);
+            } else if (corePropertiesEntry == null && relationship[1].endsWith(CORE_PROPERTIES_TYPE_SUFFIX)) {
+                corePropertiesEntry = resolve("", relationship[2]);
+            }
+        }
+        if (workbookEntry == null) {
+            throw new InvalidDocumentStructureException("Package has no workbook part");
+        }
+
+        int slash = workbookEntry.lastIndexOf('/');
+        String directory = workbookEntry.substring(0, slash + 1);
+        String relationshipsEntry = directory + "_rels/" + workbookEntry.substring(slash + 1) + ".rels";
+        Map<String, String[]> relationships = readRelationships(parts, relationshipsEntry);
+        String sharedStringsEntry = null;
+        String stylesEntry = null;
+        for (String[] relationship : relationships.values()) {
+            if (relationship[1] == null) {
+                continue;
+            }
+            if (sharedStringsEntry == null && relationship[1].endsWith(SHARED_STRINGS_TYPE_SUFFIX)) {
+                sharedStringsEntry = resolve(directory, relationship[2]);
+            } else if (stylesEntry == null && relationship[1].endsWith(STYLES_TYPE_SUFFIX)) {
+                stylesEntry = resolve(directory, relationship[2]);
+            }
+        }
+
+        Map<String, String> sheetEntries = new LinkedHashMap<>();
+        Map<String, SheetVisibility> sheetVisibilities = new LinkedHashMap<>();
+        for (String[] sheet : readSheets(parts, workbookEntry)) {
+            String[] relationship = relationships.get(sheet[1]);
+            if (relationship == null) {
+                throw new InvalidDocumentStructureException("Sheet '" + sheet[0] + "' has no relationship " + sheet[1]);
+            }
+            sheetEntries.put(sheet[0], resolve(directory, relationship[2]));
+            sheetVisibilities.put(sheet[0], visibility(sheet[2]));
+        }
+        return new WorkbookPartIndex(workbookEntry, sheetEntries, sheetVisibilities, sharedStringsEntry, stylesEntry, corePropertiesEntry);
+    }
+
+    String getWorkbookEntry() {
+        return workbookEntry;
+    }
+
+    List<String> getSheetNames() {
+        return new ArrayList<>(sheetEntries.keySet());
+    }
+
+    /**
+     * Returns the zip entry of the named sheet's part, or {@code null} when the workbook has no such sheet.
+     */
+    String getSheetEntry(String sheetName) {
+        return sheetEntries.get(sheetName);
+    }
+
+    /**
+     * Returns the visibility of the named sheet, or {@code null} when the workbook has no such sheet.
+     */
+    SheetVisibility getSheetVisibility(String sheetName) {
+        return sheetVisibilities.get(sheetName);
+    }
+
+    /**
+     * Describes every sheet in workbook order. Each sheet part is read only up to its {@code dimension} record, so
+     * the cost does not grow with the number of rows.
+     */
+    List<SheetInfo> readSheetInfo(PartSource parts) throws IOException {
+        List<SheetInfo> sheets = new ArrayList<>(sheetEntries.size());
+        for (Map.Entry<String, String> sheet : sheetEntries.entrySet()) {
+            String dimension;
+            InputStream part = parts.open(sheet.getValue());
+            if (part == null) {
+                throw new InvalidDocumentStructureException("Package has no part " + sheet.getValue());
+            }
+            try (InputStream input = part) {
+                dimension = SheetXmlSplicer.readDimension(input);
+            }
+            sheets.add(new SheetInfo(sheet.getKey(), sheetVisibilities.get(sheet.getKey()), rowSpan(dimension)));
+        }
+        return sheets;
+    }
+
+    /**
+     * Returns the zip entry of the shared strings part, or {@code null} when the workbook has none.
+     */
+    String getSharedStringsEntry() {
+        return sharedStringsEntry;
+    }
+
+    /**
+     * Returns the zip entry of the styles part, or {@code null} when the workbook has none.
+     */
+    String getStylesEntry() {
+        return stylesEntry;
+    }
+
+    /**
+     * Returns the zip entry of the core properties part, or {@code null} when the package has none.
+     */
+    String getCorePropertiesEntry() {
+        return corePropertiesEntry;
+    }
+
+    /**
+     * Reads a relationships part into {@code Id -> [Id, Type, Target]}.
+     */
+    private static Map<String, String[]> readRelationships(
+            PartSource parts,
+            String entryName
+    ) throws IOException {
+        Map<String, String[]> relationships = new LinkedHashMap<>();
+        parse(parts, entryName, new DefaultHandler() {
+            @Override
+            public void startElement(
+                    String uri,
+                    String localName,
+                    String qName,
+                    Attributes attributes
+            ) {
+                if ("Relationship".equals(localName)) {
+                    String id = attributes.getValue("Id");
+                    relationships.put(id, new String[]{id, attributes.getValue("Type"), attributes.getValue("Target")});
+                }
+            }
+        });
+        return relationships;
+    }
+
+    /**
+     * Reads the sheets of {@code workbook.xml} as {@code [name, relationshipId, state]} in workbook order.
+     */
+    private static List<String[]> readSheets(
+            PartSource parts,
+            String workbookEntry
+    ) throws IOException {
+        List<String[]> sheets = new ArrayList<>();
+        parse(parts, workbookEntry, new DefaultHandler() {
+            @Override
+            public void startElement(
+                    String uri,
+                    String localName,
+                    String qName,
+                    Attributes attributes
+            ) {
+                if ("sheet".equals(localName)) {
+                    String relationshipId = attributes.getValue(OoxmlParts.RELATIONSHIPS_NAMESPACE, "id");
+                    sheets.add(new String[]{attributes.getValue("name"), relationshipId, attributes.getValue("state")});
+                }
+            }
+        });
+        return sheets;
+    }
+
+    static void parse(
+            PartSource parts,
+            String entryName,
+            DefaultHandler handler
+    ) throws IOException {
+        InputStream part = parts.open(entryName);
+        if (part == null) {
+            throw new InvalidDocumentStructureException("Package has no part " + entryName);
+        }
+        try (InputStream input = part) {
+            XMLReader reader = XMLHelper.newXMLReader();
+            reader.setContentHandler(handler);
+            reader.parse(new InputSource(input));
+        } catch (SAXException | ParserConfigurationException e) {
+            throw new DocumentConversionException("Failed to parse package part " + entryName, e);
+        }
+    }
+
+    /**
+     * Returns the number of rows a range reference such as {@code A1:D120} spans.
+     */
+    static int rowSpan(String reference) {
+        if (reference == null || reference.isEmpty()) {
+            return SheetInfo.UNKNOWN_ROW_COUNT;
+        }
+        int separator = reference.indexOf(':');
+        int firstRow = rowNumber(separator >= 0 ? reference.substring(0, separator) : reference);
+        int lastRow = separator >= 0 ? rowNumber(reference.substring(separator + 1)) : firstRow;
+        if (firstRow <= 0 || lastRow < firstRow) {
+            return SheetInfo.UNKNOWN_ROW_COUNT;
+        }
+        return lastRow - firstRow + 1;
+    }
+
+    /**
+     * Returns the last row number of a range reference such as {@code A1:D120}, or {@code 0} when it has none.
+     */
+    static int lastRowNumber(String reference) {
+        if (reference == null || reference.isEmpty()) {
+            return 0;
+        }
+        return rowNumber(reference.substring(reference.indexOf(':') + 1));
+    }
+
+    private static int rowNumber(String cellReference) {
+        int row = 0;
+        for (int i = 0; i < cellReference.length(); i++) {
+            char c = cellReference.charAt(i);
+            if (c >= '0' && c <= '9') {
+                row = row * 10 + (c - '0');
+            }
+        }
+        return row;
+    }
+
+    private static SheetVisibility visibility(String state) {
+        if ("hidden".equals(state)) {
+            return SheetVisibility.HIDDEN;
+        }
+        if ("veryHidden".equals(state)) {
+            return SheetVisibility.VERY_HIDDEN;
+        }
+        return SheetVisibility.VISIBLE;
+    }
+
+    /**
+     * Resolves a relationship target against the directory of its source part.
+     */
+    private static String resolve(
+            String directory,
+            String target
+    ) {
+        String path = target.startsWith("/") ? target.substring(1) : directory + target;
+        Deque<String> segments = new ArrayDeque<>();
+        for (String segment : path.split("/")) {
+            if (segment.equals("..")) {
+                segments.pollLast();
+            } else if (!segment.isEmpty() && !segment.equals(".")) {
+                segments.addLast(segment);
+            }
+        }
+        return String.join("/", segments);
+    }
+}
@@ -0,0 +1,47 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.WorkbookMetadata;
+import org.apache.poi.xssf.model.SharedStringsTable;
+import org.apache.poi.xssf.model.StylesTable;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+/**
+ * The parts of an xlsx package that {@link StreamingWorkbookReader} parses: the shared strings and styles tables,
+ * the core properties and the sheet parts in workbook order.
+ *
+ * <p>{@link OpcWorkbookParts} reads them from a POI {@code OPCPackage}, which is how streams are read.
+ * {@link MappedWorkbookParts} memory-maps a file and inflates only the parts that are asked for.
+ *
+ * <p><b>Thread Safety:</b> Implementations are not thread-safe.
+ */
+interface WorkbookParts extends Closeable {
+
+    /**
+     * Returns the shared strings table, or {@code null} when the workbook has none.
+     */
+    SharedStringsTable getSharedStrings() throws IOException;
+
+    /**
+     * Returns the styles table, or {@code null} when the workbook has none.
+     */
+    StylesTable getStyles() throws IOException;
+
+    WorkbookMetadata getMetadata() throws IOException;
+
+    List<String> getSheetNames() throws IOException;
+
+    /**
+     * Describes every sheet in workbook order from {@code workbook.xml} and the head of each sheet part.
+     */
+    List<SheetInfo> getSheetInfo() throws IOException;
+
+    /**
+     * Opens the named sheet's part, or returns {@code null} when the workbook has no such sheet.
+     */
+    InputStream openSheet(String sheetName) throws IOException;
+}
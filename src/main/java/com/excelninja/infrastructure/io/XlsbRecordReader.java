@@ -0,0 +1,513 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.SheetVisibility;
+import com.excelninja.domain.model.WorkbookMetadata;
+import org.apache.poi.openxml4j.exceptions.OpenXML4JException;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.openxml4j.opc.PackagePart;
+import org.apache.poi.ss.usermodel.BuiltinFormats;
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.apache.poi.util.IOUtils;
+import org.apache.poi.util.LittleEndian;
+import org.apache.poi.xssf.binary.XSSFBParser;
+import org.apache.poi.xssf.binary.XSSFBRecordType;
+import org.apache.poi.xssf.binary.XSSFBSharedStringsTable;
+import org.apache.poi.xssf.eventusermodel.XSSFBReader;
+import org.xml.sax.SAXException;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads binary {@code .xlsb} workbooks, whose parts hold BIFF12 records instead of XML.
+ *
+ * <p>{@link XSSFBReader} locates the sheet parts and {@link XSSFBSharedStringsTable} loads the shared strings.
+ * Sheet records are pulled one row at a time by {@link SheetRecords}, which frames records the way
+ * {@link XSSFBParser} does but lets the caller decide when to read the next one. The styles and workbook parts are
+ * small and parsed once with {@link XSSFBParser}. Cell values have the same types as in
+ * {@link StreamingWorkbookReader}.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe.
+ */
+final class XlsbRecordReader implements Closeable {
+    private static final int BRT_WB_PROP = 153;
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final OPCPackage opcPackage;
+    private final XSSFBReader xssfbReader;
+    private Map<String, PackagePart> sheetParts;
+    private XSSFBSharedStringsTable sharedStrings;
+    private CellFormats cellFormats;
+    private WorkbookProperties workbookProperties;
+
+    private XlsbRecordReader(
+            OPCPackage opcPackage,
+            XSSFBReader xssfbReader
+    ) {
+        this.opcPackage = opcPackage;
+        this.xssfbReader = xssfbReader;
+    }
+
+    static XlsbRecordReader open(File file) throws IOException {
+        try {
+            return open(OPCPackage.open(file, PackageAccess.READ));
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to open xlsb package", e);
+        }
+    }
+
+    /**
+     * Opens the package from the stream, which is consumed but not closed.
+     */
+    static XlsbRecordReader open(InputStream inputStream) throws IOException {
+        try {
+            return open(OPCPackage.open(inputStream));
+        } catch (OpenXML4JException e) {
+            throw new IOException("Failed to open xlsb package", e);
+        }
+    }
+
+    private static XlsbRecordReader open(OPCPackage opcPackage) throws IOException {
+        try {
+            return new XlsbRecordReader(opcPackage, new XSSFBReader(opcPackage));
+        } catch (OpenXML4JException e) {
+            opcPackage.revert();
+            throw new IOException("Failed to open xlsb package", e);
+        } catch (IOException | RuntimeException e) {
+            opcPackage.revert();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the sheet names in tab order.
+     */
+    List<String> getSheetNames() throws IOException {
+        return new ArrayList<>(sheetParts().keySet());
+    }
+
+    WorkbookMetadata getMetadata() throws IOException {
+        return OpcWorkbookParts.readMetadata(opcPackage);
+    }
+
+    /**
+     * Describes every sheet with its visibility from {@code workbook.bin} and the row span of its {@code BrtWsDim}
+     * record, which precedes the cells.
+     */
+    List<SheetInfo> readSheetInfo() throws IOException {
+        WorkbookProperties properties = workbookProperties();
+        List<SheetInfo> infos = new ArrayList<>();
+        for (Map.Entry<String, PackagePart> sheet : sheetParts().entrySet()) {
+            int rowCount = SheetInfo.UNKNOWN_ROW_COUNT;
+            try (RecordInput records = new RecordInput(sheet.getValue().getInputStream())) {
+                while (records.next()) {
+                    if (records.type == XSSFBRecordType.BrtWsDim.getId()) {
+                        long firstRow = records.uint(0);
+                        long lastRow = records.uint(4);
+                        rowCount = lastRow >= firstRow ? (int) (lastRow - firstRow + 1) : SheetInfo.UNKNOWN_ROW_COUNT;
+                        break;
+                    }
+                    if (records.type == XSSFBRecordType.BrtBeginSheetData.getId()) {
+                        break;
+                    }
+                }
+            }
+            SheetVisibility visibility = properties.visibilities.getOrDefault(sheet.getKey(), SheetVisibility.VISIBLE);
+            infos.add(new SheetInfo(sheet.getKey(), visibility, rowCount));
+        }
+        return infos;
+    }
+
+    /**
+     * Opens the records of a sheet, or returns {@code null} when the workbook has no sheet of that name.
+     */
+    SheetRecords openSheet(String sheetName) throws IOException {
+        PackagePart part = sheetParts().get(sheetName);
+        if (part == null) {
+            return null;
+        }
+        return new SheetRecords(new RecordInput(part.getInputStream()), sharedStrings(), cellFormats(), workbookProperties().date1904);
+    }
+
+    @Override
+    public void close() {
+        opcPackage.revert();
+    }
+
+    private Map<String, PackagePart> sheetParts() throws IOException {
+        if (sheetParts == null) {
+            try {
+                XSSFBReader.SheetIterator sheetIterator = xssfbReader.getSheetIterator();
+                Map<String, PackagePart> parts = new LinkedHashMap<>();
+                while (sheetIterator.hasNext()) {
+                    sheetIterator.next().close();
+                    parts.putIfAbsent(sheetIterator.getSheetName(), sheetIterator.getSheetPart());
+                }
+                sheetParts = parts;
+            } catch (OpenXML4JException e) {
+                throw new IOException("Failed to read sheets", e);
+            }
+        }
+        return sheetParts;
+    }
+
+    private XSSFBSharedStringsTable sharedStrings() throws IOException {
+        if (sharedStrings == null) {
+            try {
+                sharedStrings = new XSSFBSharedStringsTable(opcPackage);
+            } catch (SAXException e) {
+                throw new IOException("Failed to read shared strings", e);
+            }
+        }
+        return sharedStrings;
+    }
+
+    private CellFormats cellFormats() throws IOException {
+        if (cellFormats == null) {
+            CellFormats formats = new CellFormats();
+            try (InputStream styles = xssfbReader.getStylesData()) {
+                new RecordHandler(styles, formats::handleRecord).parse();
+            } catch (OpenXML4JException e) {
+                throw new IOException("Failed to read styles", e);
+            }
+            cellFormats = formats;
+        }
+        return cellFormats;
+    }
+
+    private WorkbookProperties workbookProperties() throws IOException {
+        if (workbookProperties == null) {
+            WorkbookProperties properties = new WorkbookProperties();
+            try (InputStream workbook = xssfbReader.getWorkbookData()) {
+                new RecordHandler(workbook, properties::handleRecord).parse();
+            } catch (OpenXML4JException e) {
+                throw new IOException("Failed to read workbook part", e);
+            }
+            workbookProperties = properties;
+        }
+        return workbookProperties;
+    }
+
+    /**
+     * Reads an {@code XLWideString}: a 32-bit character count followed by UTF-16LE characters.
+     *
+     * @return {@code null} for the count {@code 0xFFFFFFFF} of a null {@code XLNullableWideString}
+     */
+    private static String wideString(
+            byte[] data,
+            int offset
+    ) {
+        long length = LittleEndian.getUInt(data, offset);
+        if (length == 0xFFFFFFFFL) {
+            return null;
+        }
+        return new String(data, offset + 4, (int) length * 2, StandardCharsets.UTF_16LE);
+    }
+
+    /**
+     * Byte length of the {@code XLWideString} at {@code offset}, including its count.
+     */
+    private static int wideStringLength(
+            byte[] data,
+            int offset
+    ) {
+        long length = LittleEndian.getUInt(data, offset);
+        return length == 0xFFFFFFFFL ? 4 : 4 + (int) length * 2;
+    }
+
+    /**
+     * Decodes an {@code RkNumber}: 30 significant bits that are either an integer or the high bits of a double,
+     * optionally scaled by 100.
+     */
+    private static double rkNumber(int rk) {
+        double value = (rk & 0x02) != 0
+                ? rk >> 2
+                : Double.longBitsToDouble(((long) (rk & 0xFFFFFFFC)) << 32);
+        return (rk & 0x01) != 0 ? value / 100 : value;
+    }
+
+    /**
+     * Pulls the rows of one sheet. Reading stops at the end of the sheet data, so records after it are never read.
+     */
+    static final class SheetRecords implements RowSource, Closeable {
+        private final RecordInput records;
+        private final XSSFBSharedStringsTable sharedStrings;
+        private final CellFormats cellFormats;
+        private final boolean date1904;
+        private long currentRow = -1;
+        private int rowNumber;
+        private boolean endOfSheetData;
+
+        private SheetRecords(
+                RecordInput records,
+                XSSFBSharedStringsTable sharedStrings,
+                CellFormats cellFormats,
+                boolean date1904
+        ) {
+            this.records = records;
+            this.sharedStrings = sharedStrings;
+            this.cellFormats = cellFormats;
+            this.date1904 = date1904;
+        }
+
+        @Override
+        public boolean nextRow(List<Object> row) throws IOException {
+            row.clear();
+            while (!endOfSheetData && records.next()) {
+                XSSFBRecordType type = XSSFBRecordType.lookup(records.type);
+                if (type == XSSFBRecordType.BrtRowHdr) {
+                    long headerRow = records.uint(0);
+                    if (!row.isEmpty()) {
+                        rowNumber = (int) currentRow + 1;
+                        currentRow = headerRow;
+                        return true;
+                    }
+                    currentRow = headerRow;
+                    continue;
+                }
+                if (type == XSSFBRecordType.BrtEndSheetData) {
+                    endOfSheetData = true;
+                    break;
+                }
+                Object value = cellValue(type);
+                if (value != null) {
+                    int column = (int) records.uint(0);
+                    while (row.size() <= column) {
+                        row.add(null);
+                    }
+                    row.set(column, value);
+                }
+            }
+            if (row.isEmpty()) {
+                return false;
+            }
+            rowNumber = (int) currentRow + 1;
+            return true;
+        }
+
+        @Override
+        public int getRowNumber() {
+            return rowNumber;
+        }
+
+        @Override
+        public void close() throws IOException {
+            records.close();
+        }
+
+        /**
+         * Returns the value of a cell record, or {@code null} for blank cells and records that are not cells. Every
+         * cell record starts with the column (4 bytes) and the style index (3 bytes) plus a flag byte.
+         */
+        private Object cellValue(XSSFBRecordType type) {
+            byte[] data = records.data;
+            switch (type) {
+                case BrtCellRk:
+                    return numericValue(rkNumber(LittleEndian.getInt(data, 8)));
+                case BrtCellReal:
+                case BrtFmlaNum:
+                    return numericValue(LittleEndian.getDouble(data, 8));
+                case BrtCellBool:
+                case BrtFmlaBool:
+                    return data[8] != 0;
+                case BrtCellError:
+                case BrtFmlaError:
+                    return RowSources.errorValue(data[8]);
+                case BrtCellSt:
+                case BrtFmlaString:
+                    return wideString(data, 8);
+                case BrtCellRString:
+                    return wideString(data, 9);
+                case BrtCellIsst:
+                    return sharedStrings.getItemAt((int) LittleEndian.getUInt(data, 8)).getString();
+                default:
+                    return null;
+            }
+        }
+
+        private Object numericValue(double value) {
+            int styleIndex = LittleEndian.getInt(records.data, 4) & 0xFFFFFF;
+            return RowSources.numericValue(value, cellFormats.isDateFormatted(styleIndex), date1904);
+        }
+    }
+
+    /**
+     * Frames BIFF12 records: a type of one or two bytes and a length of up to four bytes, both with seven bits per
+     * byte, followed by the record data.
+     */
+    private static final class RecordInput implements Closeable {
+        private final InputStream input;
+        private byte[] data = new byte[256];
+        private int type;
+
+        private RecordInput(InputStream input) {
+            this.input = new BufferedInputStream(input, BUFFER_SIZE);
+        }
+
+        /**
+         * @return {@code false} at the end of the part
+         */
+        boolean next() throws IOException {
+            int recordType = readVarInt(2);
+            if (recordType < 0) {
+                return false;
+            }
+            int length = readVarInt(4);
+            if (length < 0 || length > XSSFBParser.getMaxRecordLength()) {
+                throw new DocumentConversionException("Invalid xlsb record length " + length + " for record type " + recordType);
+            }
+            if (data.length < length) {
+                data = new byte[Math.max(length, data.length * 2)];
+            }
+            if (IOUtils.readFully(input, data, 0, length) < length) {
+                throw new EOFException("Truncated xlsb record of type " + recordType);
+            }
+            type = recordType;
+            return true;
+        }
+
+        long uint(int offset) {
+            return LittleEndian.getUInt(data, offset);
+        }
+
+        private int readVarInt(int maxBytes) throws IOException {
+            int value = 0;
+            for (int i = 0; i < maxBytes; i++) {
+                int b = input.read();
+                if (b < 0) {
+                    if (i == 0) {
+                        return -1;
+                    }
+                    throw new EOFException("Truncated xlsb record header");
+                }
+                value |= (b & 0x7F) << (7 * i);
+                if ((b & 0x80) == 0) {
+                    break;
+                }
+            }
+            return value;
+        }
+
+        @Override
+        public void close() throws IOException {
+            input.close();
+        }
+    }
+
+    /**
+     * Adapts {@link XSSFBParser}'s push callbacks for the small parts that are read in one go.
+     */
+    private static final class RecordHandler extends XSSFBParser {
+        private final Callback callback;
+
+        private RecordHandler(
+                InputStream input,
+                Callback callback
+        ) {
+            super(input);
+            this.callback = callback;
+        }
+
+        @Override
+        public void handleRecord(
+                int recordType,
+                byte[] data
+        ) {
+            callback.handleRecord(recordType, data);
+        }
+
+        @FunctionalInterface
+        private interface Callback {
+            void handleRecord(
+                    int recordType,
+                    byte[] data
+            );
+        }
+    }
+
+    /**
+     * Number formats of the cell formats in {@code styles.bin}, reduced to whether each one shows a date.
+     */
+    private static final class CellFormats {
+        private final Map<Integer, String> customFormats = new HashMap<>();
+        private final List<Integer> formatIds = new ArrayList<>();
+        private boolean inCellFormats;
+        private Boolean[] dateFormatted;
+
+        private void handleRecord(
+                int recordType,
+                byte[] data
+        ) {
+            if (recordType == XSSFBRecordType.BrtFmt.getId()) {
+                customFormats.put(LittleEndian.getUShort(data, 0), wideString(data, 2));
+            } else if (recordType == XSSFBRecordType.BrtBeginCellXFs.getId()) {
+                inCellFormats = true;
+            } else if (recordType == XSSFBRecordType.BrtEndCellXFs.getId()) {
+                inCellFormats = false;
+            } else if (recordType == XSSFBRecordType.BrtXf.getId() && inCellFormats) {
+                formatIds.add(LittleEndian.getUShort(data, 2));
+            }
+        }
+
+        boolean isDateFormatted(int styleIndex) {
+            if (styleIndex >= formatIds.size()) {
+                return false;
+            }
+            if (dateFormatted == null) {
+                dateFormatted = new Boolean[formatIds.size()];
+            }
+            Boolean cached = dateFormatted[styleIndex];
+            if (cached == null) {
+                int formatId = formatIds.get(styleIndex);
+                String formatString = customFormats.getOrDefault(formatId, BuiltinFormats.getBuiltinFormat(formatId));
+                cached = DateUtil.isADateFormat(formatId, formatString);
+                dateFormatted[styleIndex] = cached;
+            }
+            return cached;
+        }
+    }
+
+    /**
+     * Sheet visibility and the date system from {@code workbook.bin}.
+     */
+    private static final class WorkbookProperties {
+        private final Map<String, SheetVisibility> visibilities = new HashMap<>();
+        private boolean date1904;
+
+        private void handleRecord(
+                int recordType,
+                byte[] data
+        ) {
+            if (recordType == BRT_WB_PROP) {
+                date1904 = (data[0] & 0x01) != 0;
+            } else if (recordType == XSSFBRecordType.BrtBundleSh.getId()) {
+                int nameOffset = 8 + wideStringLength(data, 8);
+                visibilities.put(wideString(data, nameOffset), visibility(LittleEndian.getInt(data, 0)));
+            }
+        }
+
+        private static SheetVisibility visibility(int state) {
+            switch (state) {
+                case 1:
+                    return SheetVisibility.HIDDEN;
+                case 2:
+                    return SheetVisibility.VERY_HIDDEN;
+                default:
+                    return SheetVisibility.VISIBLE;
+            }
+        }
+    }
+}
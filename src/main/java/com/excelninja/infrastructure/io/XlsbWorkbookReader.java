@@ -0,0 +1,295 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.InvalidDocumentStructureException;
+import com.excelninja.domain.model.ChunkReader;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.RowConsumer;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.port.WorkbookReader;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.FileSystemException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streaming reader for binary {@code .xlsb} workbooks.
+ *
+ * <p>Produces the same {@link ExcelSheet}, {@link ChunkReader} and entity results as {@link StreamingWorkbookReader}.
+ * Sheet parts hold length-prefixed binary records, so cells are decoded without any XML parsing; see
+ * {@link XlsbRecordReader}. Chunked and {@link #forEach} reads pull one row at a time on the caller's thread.
+ *
+ * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ * Each read operation opens its own package.
+ */
+public class XlsbWorkbookReader implements WorkbookReader {
+    private static final Logger logger = Logger.getLogger(XlsbWorkbookReader.class.getName());
+
+    @Override
+    public ExcelWorkbook read(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read xlsb file", XlsbWorkbookReader::readWorkbook);
+    }
+
+    /**
+     * Reads a workbook from the stream, which is consumed but not closed.
+     */
+    @Override
+    public ExcelWorkbook read(InputStream inputStream) throws IOException {
+        return readStream(inputStream, "Failed to read xlsb file", XlsbWorkbookReader::readWorkbook);
+    }
+
+    public ExcelSheet readFirstSheet(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read first sheet of xlsb file", XlsbWorkbookReader::readFirstSheet);
+    }
+
+    public ExcelSheet readFirstSheet(InputStream inputStream) throws IOException {
+        return readStream(inputStream, "Failed to read first sheet of xlsb file", XlsbWorkbookReader::readFirstSheet);
+    }
+
+    public ExcelSheet readSheet(
+            File excelFile,
+            String sheetName
+    ) throws IOException {
+        return readFile(excelFile, "Failed to read sheet '" + sheetName + "' of xlsb file",
+                reader -> readSelectedSheets(reader, Collections.singletonList(sheetName)).get(sheetName));
+    }
+
+    public List<ExcelSheet> readSheets(
+            File excelFile,
+            List<String> requestedSheetNames
+    ) throws IOException {
+        return readFile(excelFile, "Failed to read selected sheets of xlsb file",
+                reader -> new ArrayList<>(readSelectedSheets(reader, requestedSheetNames).values()));
+    }
+
+    public List<String> getSheetNames(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read sheet names of xlsb file", XlsbRecordReader::getSheetNames);
+    }
+
+    /**
+     * Describes the sheets of a file with the row counts of their dimension records; no cells are read.
+     */
+    public List<SheetInfo> getSheetInfo(File excelFile) throws IOException {
+        return readFile(excelFile, "Failed to read sheet info of xlsb file", XlsbRecordReader::readSheetInfo);
+    }
+
+    /**
+     * Returns the entities of the first sheet in chunks of {@code chunkSize}. Records are decoded on the caller's
+     * thread when the next chunk is requested; closing the reader closes the file.
+     */
+    public <T> ChunkReader<T> readInChunks(
+            File file,
+            Class<T> entityType,
+            int chunkSize
+    ) throws IOException {
+        validateChunkSize(chunkSize);
+        return newChunkReader(openFile(file, "Failed to read xlsb file in chunks"), entityType, chunkSize);
+    }
+
+    public <T> ChunkReader<T> readInChunks(
+            InputStream inputStream,
+            Class<T> entityType,
+            int chunkSize
+    ) {
+        validateChunkSize(chunkSize);
+        return newChunkReader(openStream(inputStream, "Failed to read xlsb file in chunks"), entityType, chunkSize);
+    }
+
+    /**
+     * Converts every data row of the first sheet and passes it to {@code consumer} without collecting the rows.
+     *
+     * @return the number of rows delivered
+     */
+    public <T> long forEach(
+            File file,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        return readFile(file, "Failed to stream rows of xlsb file", reader -> forEachRow(reader, entityType, consumer));
+    }
+
+    public <T> long forEach(
+            InputStream inputStream,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        return readStream(inputStream, "Failed to stream rows of xlsb file", reader -> forEachRow(reader, entityType, consumer));
+    }
+
+    private static ExcelWorkbook readWorkbook(XlsbRecordReader reader) throws IOException {
+        List<String> sheetNames = reader.getSheetNames();
+        if (sheetNames.isEmpty()) throw new InvalidDocumentStructureException("No sheets found in workbook");
+        ExcelWorkbook.WorkbookBuilder builder = ExcelWorkbook.builder().metadata(reader.getMetadata());
+        readSelectedSheets(reader, sheetNames).forEach(builder::sheet);
+        return builder.build();
+    }
+
+    private static ExcelSheet readFirstSheet(XlsbRecordReader reader) throws IOException {
+        String sheetName = firstSheetName(reader);
+        return readSelectedSheets(reader, Collections.singletonList(sheetName)).get(sheetName);
+    }
+
+    private static <T> long forEachRow(
+            XlsbRecordReader reader,
+            Class<T> entityType,
+            RowConsumer<? super T> consumer
+    ) throws IOException {
+        try (XlsbRecordReader.SheetRecords rows = reader.openSheet(firstSheetName(reader))) {
+            return RowSources.forEach(rows, entityType, consumer);
+        }
+    }
+
+    /**
+     * Parses the requested sheets in the requested order. Sheets that the workbook does not contain are left out.
+     */
+    private static Map<String, ExcelSheet> readSelectedSheets(
+            XlsbRecordReader reader,
+            List<String> requestedSheetNames
+    ) throws IOException {
+        Map<String, ExcelSheet> parsedSheets = new LinkedHashMap<>();
+        for (String sheetName : new LinkedHashSet<>(requestedSheetNames)) {
+            XlsbRecordReader.SheetRecords rows = reader.openSheet(sheetName);
+            if (rows == null) {
+                continue;
+            }
+            try (XlsbRecordReader.SheetRecords sheetRows = rows) {
+                parsedSheets.put(sheetName, RowSources.readSheet(sheetRows, sheetName));
+            }
+        }
+        return parsedSheets;
+    }
+
+    private static String firstSheetName(XlsbRecordReader reader) throws IOException {
+        List<String> sheetNames = reader.getSheetNames();
+        if (sheetNames.isEmpty()) {
+            throw new InvalidDocumentStructureException("No sheets found in workbook");
+        }
+        return sheetNames.get(0);
+    }
+
+    private static <T> ChunkReader<T> newChunkReader(
+            XlsbRecordReader reader,
+            Class<T> entityType,
+            int chunkSize
+    ) {
+        try {
+            XlsbRecordReader.SheetRecords rows = reader.openSheet(firstSheetName(reader));
+            Closeable resources = () -> {
+                try {
+                    rows.close();
+                } finally {
+                    reader.close();
+                }
+            };
+            return new PullChunkReader<>(RowSources.entities(rows, entityType), resources, chunkSize, "Failed to read xlsb file in chunks");
+        } catch (IOException e) {
+            closeReader(reader);
+            throw new DocumentConversionException("Failed to read xlsb file in chunks", e);
+        } catch (RuntimeException e) {
+            closeReader(reader);
+            throw e;
+        }
+    }
+
+    @FunctionalInterface
+    private interface RecordsReader<R> {
+        R read(XlsbRecordReader reader) throws IOException;
+    }
+
+    private static <R> R readFile(
+            File file,
+            String failureMessage,
+            RecordsReader<R> recordsReader
+    ) throws IOException {
+        return readRecords(openFile(file, failureMessage), failureMessage, recordsReader);
+    }
+
+    private static <R> R readStream(
+            InputStream inputStream,
+            String failureMessage,
+            RecordsReader<R> recordsReader
+    ) {
+        return readRecords(openStream(inputStream, failureMessage), failureMessage, recordsReader);
+    }
+
+    /**
+     * Opens a file. A missing or inaccessible file fails with its {@link IOException}; a file that is not a
+     * readable xlsb package fails with {@link DocumentConversionException}.
+     */
+    private static XlsbRecordReader openFile(
+            File file,
+            String failureMessage
+    ) throws IOException {
+        if (file == null) {
+            throw new DocumentConversionException("File cannot be null");
+        }
+        if (!file.exists()) {
+            throw new FileNotFoundException(file.getPath());
+        }
+        try {
+            return XlsbRecordReader.open(file);
+        } catch (FileSystemException | DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        }
+    }
+
+    private static XlsbRecordReader openStream(
+            InputStream inputStream,
+            String failureMessage
+    ) {
+        if (inputStream == null) {
+            throw new DocumentConversionException("InputStream cannot be null");
+        }
+        try {
+            return XlsbRecordReader.open(inputStream);
+        } catch (DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        }
+    }
+
+    private static <R> R readRecords(
+            XlsbRecordReader reader,
+            String failureMessage,
+            RecordsReader<R> recordsReader
+    ) {
+        try {
+            return recordsReader.read(reader);
+        } catch (DocumentConversionException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new DocumentConversionException(failureMessage, e);
+        } finally {
+            closeReader(reader);
+        }
+    }
+
+    private static void validateChunkSize(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new DocumentConversionException("Chunk size must be positive");
+        }
+    }
+
+    private static void closeReader(XlsbRecordReader reader) {
+        try {
+            reader.close();
+        } catch (RuntimeException e) {
+            logger.log(Level.WARNING, "[NINJA-EXCEL] Error closing xlsb file", e);
+        }
+    }
+}
@@ -0,0 +1,247 @@
+package com.excelninja.infrastructure.io;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Minimal buffered UTF-8 XML encoder used by the direct OOXML writers.
+ *
+ * <p>Markup is written with {@link #raw(String)} and must be ASCII. Text content and attribute values go through
+ * {@link #text(CharSequence)} and {@link #attribute(CharSequence)}, which escape XML metacharacters and encode
+ * characters that XML 1.0 cannot carry as the OOXML {@code _xHHHH_} escape. Numbers and cell references are
+ * encoded directly into the buffer without creating intermediate strings.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Use one instance per part being written.
+ */
+final class XmlOutput {
+    private static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+    private static final byte[] HEX_DIGITS = "0123456789ABCDEF".getBytes();
+
+    private final OutputStream out;
+    private final byte[] buffer;
+    private final char[] digits = new char[20];
+    private int position;
+
+    XmlOutput(OutputStream out) {
+        this(out, DEFAULT_BUFFER_SIZE);
+    }
+
+    XmlOutput(
+            OutputStream out,
+            int bufferSize
+    ) {
+        this.out = out;
+        this.buffer = new byte[bufferSize];
+    }
+
+    XmlOutput raw(String markup) throws IOException {
+        int length = markup.length();
+        for (int i = 0; i < length; i++) {
+            if (position == buffer.length) {
+                flushBuffer();
+            }
+            buffer[position++] = (byte) markup.charAt(i);
+        }
+        return this;
+    }
+
+    XmlOutput raw(char c) throws IOException {
+        if (position == buffer.length) {
+            flushBuffer();
+        }
+        buffer[position++] = (byte) c;
+        return this;
+    }
+
+    XmlOutput text(CharSequence value) throws IOException {
+        return escaped(value, false);
+    }
+
+    XmlOutput attribute(CharSequence value) throws IOException {
+        return escaped(value, true);
+    }
+
+    XmlOutput number(long value) throws IOException {
+        if (value == Long.MIN_VALUE) {
+            return raw(Long.toString(value));
+        }
+        if (value < 0) {
+            raw('-');
+            value = -value;
+        }
+
+        int count = 0;
+        do {
+            digits[count++] = (char) ('0' + (value % 10));
+            value /= 10;
+        } while (value != 0);
+
+        ensureCapacity(count);
+        while (count > 0) {
+            buffer[position++] = (byte) digits[--count];
+        }
+        return this;
+    }
+
+    /**
+     * Writes a double the way Excel stores numeric cells. Integral values within the exact range of a double are
+     * written without a fraction.
+     */
+    XmlOutput number(double value) throws IOException {
+        if (value == (long) value && Math.abs(value) < 1.0E15) {
+            return number((long) value);
+        }
+        return raw(Double.toString(value));
+    }
+
+    /**
+     * Writes an A1-style reference such as {@code AB12} for a zero-based column and one-based row.
+     */
+    XmlOutput cellReference(
+            int columnIndex,
+            int rowNumber
+    ) throws IOException {
+        columnName(columnIndex);
+        return number(rowNumber);
+    }
+
+    XmlOutput columnName(int columnIndex) throws IOException {
+        int count = 0;
+        int remaining = columnIndex + 1;
+        while (remaining > 0) {
+            int letter = (remaining - 1) % 26;
+            digits[count++] = (char) ('A' + letter);
+            remaining = (remaining - 1) / 26;
+        }
+
+        ensureCapacity(count);
+        while (count > 0) {
+            buffer[position++] = (byte) digits[--count];
+        }
+        return this;
+    }
+
+    void flush() throws IOException {
+        flushBuffer();
+        out.flush();
+    }
+
+    private XmlOutput escaped(
+            CharSequence value,
+            boolean attribute
+    ) throws IOException {
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                switch (c) {
+                    case '&':
+                        raw("&amp;");
+                        break;
+                    case '<':
+                        raw("&lt;");
+                        break;
+                    case '>':
+                        raw("&gt;");
+                        break;
+                    case '"':
+                        if (attribute) {
+                            raw("&quot;");
+                        } else {
+                            raw(c);
+                        }
+                        break;
+                    case '\t':
+                    case '\n':
+                    case '\r':
+                        if (attribute) {
+                            raw("&#").number(c).raw(';');
+                        } else {
+                            raw(c);
+                        }
+                        break;
+                    case '_':
+                        if (isEscapeSequence(value, i)) {
+                            raw("_x005F_");
+                        } else {
+                            raw(c);
+                        }
+                        break;
+                    default:
+                        if (c < 0x20 || c == 0x7F) {
+                            escapeCharacter(c);
+                        } else {
+                            raw(c);
+                        }
+                }
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                writeCodePoint(Character.toCodePoint(c, value.charAt(++i)));
+            } else if (Character.isSurrogate(c) || c == 0xFFFE || c == 0xFFFF) {
+                escapeCharacter(c);
+            } else {
+                writeCodePoint(c);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns whether a literal {@code _xHHHH_} starts at the given index. Such text is escaped so that readers
+     * do not decode it as an escaped character.
+     */
+    private static boolean isEscapeSequence(
+            CharSequence value,
+            int index
+    ) {
+        if (index + 6 >= value.length() || value.charAt(index + 1) != 'x' || value.charAt(index + 6) != '_') {
+            return false;
+        }
+        for (int i = index + 2; i < index + 6; i++) {
+            if (Character.digit(value.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void escapeCharacter(char c) throws IOException {
+        ensureCapacity(7);
+        buffer[position++] = '_';
+        buffer[position++] = 'x';
+        buffer[position++] = HEX_DIGITS[(c >> 12) & 0xF];
+        buffer[position++] = HEX_DIGITS[(c >> 8) & 0xF];
+        buffer[position++] = HEX_DIGITS[(c >> 4) & 0xF];
+        buffer[position++] = HEX_DIGITS[c & 0xF];
+        buffer[position++] = '_';
+    }
+
+    private void writeCodePoint(int codePoint) throws IOException {
+        ensureCapacity(4);
+        if (codePoint < 0x800) {
+            buffer[position++] = (byte) (0xC0 | (codePoint >> 6));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else if (codePoint < 0x10000) {
+            buffer[position++] = (byte) (0xE0 | (codePoint >> 12));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        } else {
+            buffer[position++] = (byte) (0xF0 | (codePoint >> 18));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 12) & 0x3F));
+            buffer[position++] = (byte) (0x80 | ((codePoint >> 6) & 0x3F));
+            buffer[position++] = (byte) (0x80 | (codePoint & 0x3F));
+        }
+    }
+
+    private void ensureCapacity(int bytes) throws IOException {
+        if (position + bytes > buffer.length) {
+            flushBuffer();
+        }
+    }
+
+    private void flushBuffer() throws IOException {
+        if (position > 0) {
+            out.write(buffer, 0, position);
+            position = 0;
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.excelninja.infrastructure.io;
+
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.Deflater;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes the parts of an xlsx package into a zip stream, either compressed on the fly or as entries whose data was
+ * prepared beforehand.
+ *
+ * <p>With {@link Deflater#NO_COMPRESSION} every part is stored uncompressed. Stored entries need their size and
+ * CRC-32 in the local header, so parts written through {@link #startEntry(String)} are then buffered in a
+ * {@link SpillingBuffer} until {@link #closeEntry()}. Parts compressed by {@link ParallelDeflater} are added as raw
+ * deflated data.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Use one instance per package being written.
+ */
+final class ZipPartWriter {
+    private static final int STORED_PART_MEMORY_THRESHOLD = 16 * 1024 * 1024;
+
+    private final ZipArchiveOutputStream zip;
+    private final boolean stored;
+    private String pendingName;
+    private SpillingBuffer pendingBuffer;
+
+    /**
+     * @param compressionLevel deflate level from 1 to 9, {@link Deflater#DEFAULT_COMPRESSION}, or
+     *                         {@link Deflater#NO_COMPRESSION} to store the parts
+     */
+    ZipPartWriter(
+            OutputStream target,
+            int compressionLevel
+    ) {
+        this.zip = openArchive(target);
+        this.stored = compressionLevel == Deflater.NO_COMPRESSION;
+        if (!stored) {
+            zip.setLevel(compressionLevel);
+        }
+    }
+
+    /**
+     * Opens a zip stream over the target whose {@code close()} finishes the archive and releases the compressor
+     * but leaves the target open.
+     */
+    static ZipArchiveOutputStream openArchive(OutputStream target) {
+        return new ZipArchiveOutputStream(new UnclosableOutputStream(target));
+    }
+
+    /**
+     * Starts a part and returns the stream its content is written to until {@link #closeEntry()}.
+     */
+    OutputStream startEntry(String name) throws IOException {
+        if (stored) {
+            pendingName = name;
+            pendingBuffer = new SpillingBuffer(STORED_PART_MEMORY_THRESHOLD);
+            return pendingBuffer;
+        }
+        zip.putArchiveEntry(new ZipArchiveEntry(name));
+        return zip;
+    }
+
+    void closeEntry() throws IOException {
+        if (!stored) {
+            zip.closeArchiveEntry();
+            return;
+        }
+        try {
+            pendingBuffer.seal();
+            addStored(pendingName, pendingBuffer);
+        } finally {
+            pendingBuffer.close();
+            pendingBuffer = null;
+            pendingName = null;
+        }
+    }
+
+    /**
+     * Adds the sealed buffer as an uncompressed part.
+     */
+    void addStored(
+            String name,
+            SpillingBuffer buffer
+    ) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setMethod(ZipEntry.STORED);
+        entry.setSize(buffer.size());
+        entry.setCompressedSize(buffer.size());
+        entry.setCrc(buffer.crc());
+        try (InputStream data = buffer.newInputStream()) {
+            zip.addRawArchiveEntry(entry, data);
+        }
+    }
+
+    /**
+     * Adds a part whose DEFLATE stream was produced by {@link ParallelDeflater}.
+     */
+    void addDeflated(
+            String name,
+            ParallelDeflater.DeflatedPart part
+    ) throws IOException {
+        ZipArchiveEntry entry = new ZipArchiveEntry(name);
+        entry.setMethod(ZipEntry.DEFLATED);
+        entry.setSize(part.getSize());
+        entry.setCompressedSize(part.getCompressedSize());
+        entry.setCrc(part.getCrc());
+        try (InputStream data = part.newInputStream()) {
+            zip.addRawArchiveEntry(entry, data);
+        }
+    }
+
+    /**
+     * Copies an entry of another zip file without decompressing it.
+     */
+    void copyRaw(
+            ZipFile source,
+            ZipArchiveEntry entry
+    ) throws IOException {
+        try (InputStream data = source.getRawInputStream(entry)) {
+            zip.addRawArchiveEntry(entry, data);
+        }
+    }
+
+    /**
+     * Writes the central directory and releases the compressor. The underlying stream is flushed but not closed.
+     */
+    void finish() throws IOException {
+        zip.close();
+    }
+
+    boolean isStored() {
+        return stored;
+    }
+
+    private static final class UnclosableOutputStream extends FilterOutputStream {
+        private UnclosableOutputStream(OutputStream target) {
+            super(target);
+        }
+
+        @Override
+        public void write(
+                byte[] bytes,
+                int offset,
+                int length
+        ) throws IOException {
+            out.write(bytes, offset, length);
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.flush();
+        }
+    }
+}
@@ -1,11 +1,19 @@
 package com.excelninja.infrastructure.metadata;
 
+import com.excelninja.domain.annotation.ExcelCreator;
 import com.excelninja.domain.annotation.ExcelReadColumn;
 import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
 import com.excelninja.domain.exception.EntityMappingException;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
 import java.lang.reflect.Constructor;
 import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
 import java.util.*;
 import java.util.logging.Logger;
 import java.util.stream.Collectors;
@@ -29,9 +37,11 @@ public class EntityMetadata<T> {
 
     private final Class<T> entityType;
     private final Constructor<T> defaultConstructor;
+    private final CreatorBinding creator;
     private final List<FieldMapping> readFieldMappings;
     private final List<FieldMapping> writeFieldMappings;
     private final Map<String, FieldMapping> headerToFieldMap;
+    private final List<FieldAccessor> readFieldAccessors;
 
     private EntityMetadata(Class<T> entityType) {
         this.entityType = entityType;
@@ -43,11 +53,29 @@ public class EntityMetadata<T> {
             throw EntityMappingException.noAnnotatedFields(entityType);
         }
 
-        if (!readFieldMappings.isEmpty()) {
+        Constructor<T> creatorConstructor = readFieldMappings.isEmpty() ? null : findCreatorConstructor(entityType);
+        if (creatorConstructor != null) {
+            this.creator = bindCreator(entityType, creatorConstructor, readFieldMappings);
+            this.defaultConstructor = null;
+        } else if (!readFieldMappings.isEmpty()) {
+            this.creator = null;
             this.defaultConstructor = extractDefaultConstructor(entityType);
         } else {
+            this.creator = null;
             this.defaultConstructor = null;
         }
+        this.readFieldAccessors = creator == null ? bindReadFieldAccessors(entityType, readFieldMappings) : Collections.<FieldAccessor>emptyList();
+    }
+
+    private static List<FieldAccessor> bindReadFieldAccessors(
+            Class<?> entityType,
+            List<FieldMapping> readFieldMappings
+    ) {
+        List<FieldAccessor> accessors = new ArrayList<>(readFieldMappings.size());
+        for (FieldMapping mapping : readFieldMappings) {
+            accessors.add(FieldAccessor.forMapping(entityType, mapping));
+        }
+        return Collections.unmodifiableList(accessors);
     }
 
     @SuppressWarnings("unchecked")
@@ -65,6 +93,10 @@ public class EntityMetadata<T> {
     }
 
     public T createInstance() {
+        if (creator != null) {
+            throw new EntityMappingException(entityType,
+                    "Instances are created through the constructor " + creator.description + " and need argument values.");
+        }
         if (defaultConstructor == null) {
             throw new EntityMappingException(entityType,
                     "Cannot create instance - no default constructor available. This entity has no read fields or no default constructor.");
@@ -78,10 +110,73 @@ public class EntityMetadata<T> {
         }
     }
 
+    /**
+     * Returns whether read entities are created through a record canonical constructor or an
+     * {@link ExcelCreator} constructor instead of a no-args constructor and field setters.
+     */
+    public boolean usesCreator() {
+        return creator != null;
+    }
+
+    /**
+     * Returns a fresh argument array for {@link #createInstance(Object[])}, with primitive defaults for
+     * constructor parameters that no read field supplies.
+     */
+    public Object[] newCreatorArguments() {
+        requireCreator();
+        return creator.defaultArguments.clone();
+    }
+
+    /**
+     * Returns, for every read field mapping, the index of the constructor parameter that receives its value.
+     */
+    public int[] getCreatorParameterPositions() {
+        requireCreator();
+        return creator.parameterPositions.clone();
+    }
+
+    /**
+     * Creates an entity by invoking the bound constructor with already converted values.
+     * The array is not retained and may be reused for the next row.
+     */
+    public T createInstance(Object[] creatorArguments) {
+        requireCreator();
+        Class<?>[] parameterTypes = creator.parameterTypes;
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (creatorArguments[i] == null && parameterTypes[i].isPrimitive()) {
+                throw new DocumentConversionException("Cannot pass a blank value to primitive " + parameterTypes[i].getSimpleName()
+                        + " parameter " + i + " of constructor " + creator.description);
+            }
+        }
+
+        try {
+            return entityType.cast((Object) creator.handle.invokeExact(creatorArguments));
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new EntityMappingException(entityType,
+                    "Failed to create instance using constructor " + creator.description + ": " + e.getMessage());
+        }
+    }
+
+    private void requireCreator() {
+        if (creator == null) {
+            throw new EntityMappingException(entityType, "No record or @ExcelCreator constructor is bound to this entity.");
+        }
+    }
+
     public List<FieldMapping> getReadFieldMappings() {
         return readFieldMappings;
     }
 
+    /**
+     * Returns the typed setters of the read fields, in the order of {@link #getReadFieldMappings()}.
+     * Empty for entities created through a constructor.
+     */
+    public List<FieldAccessor> getReadFieldAccessors() {
+        return readFieldAccessors;
+    }
+
     public List<FieldMapping> getWriteFieldMappings() {
         return writeFieldMappings;
     }
@@ -142,6 +237,166 @@ public class EntityMetadata<T> {
         }
     }
 
+    @SuppressWarnings("unchecked")
+    private Constructor<T> findCreatorConstructor(Class<T> entityType) {
+        Constructor<T> annotated = null;
+        for (Constructor<?> constructor : entityType.getDeclaredConstructors()) {
+            if (constructor.isAnnotationPresent(ExcelCreator.class)) {
+                if (annotated != null) {
+                    throw EntityMappingException.invalidAnnotationConfiguration(entityType, "Multiple @ExcelCreator constructors");
+                }
+                annotated = (Constructor<T>) constructor;
+            }
+        }
+        if (annotated != null) {
+            return annotated;
+        }
+
+        if (!isRecord(entityType)) {
+            return null;
+        }
+        try {
+            return entityType.getDeclaredConstructor(recordComponentTypes(entityType));
+        } catch (NoSuchMethodException e) {
+            throw new EntityMappingException(entityType, "No canonical record constructor found.");
+        }
+    }
+
+    private CreatorBinding bindCreator(
+            Class<T> entityType,
+            Constructor<T> constructor,
+            List<FieldMapping> readMappings
+    ) {
+        Class<?>[] parameterTypes = constructor.getParameterTypes();
+        boolean record = !constructor.isAnnotationPresent(ExcelCreator.class);
+        String[] parameterNames = record ? recordComponentNames(entityType) : presentParameterNames(constructor);
+        int[] positions = new int[readMappings.size()];
+
+        if (parameterNames != null) {
+            boolean[] supplied = new boolean[parameterTypes.length];
+            for (int i = 0; i < readMappings.size(); i++) {
+                String fieldName = readMappings.get(i).getFieldName();
+                positions[i] = Arrays.asList(parameterNames).indexOf(fieldName);
+                if (positions[i] < 0) {
+                    throw EntityMappingException.invalidAnnotationConfiguration(entityType,
+                            "No constructor parameter named '" + fieldName + "' for @ExcelReadColumn field");
+                }
+                supplied[positions[i]] = true;
+            }
+            for (int i = 0; i < supplied.length; i++) {
+                if (!supplied[i] && !record) {
+                    throw EntityMappingException.invalidAnnotationConfiguration(entityType,
+                            "@ExcelCreator parameter '" + parameterNames[i] + "' has no matching @ExcelReadColumn field");
+                }
+            }
+        } else {
+            if (parameterTypes.length != readMappings.size()) {
+                throw EntityMappingException.invalidAnnotationConfiguration(entityType,
+                        "@ExcelCreator constructor takes " + parameterTypes.length + " parameters but " + readMappings.size()
+                                + " @ExcelReadColumn fields are declared");
+            }
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = i;
+            }
+        }
+
+        for (int i = 0; i < readMappings.size(); i++) {
+            FieldMapping mapping = readMappings.get(i);
+            Class<?> parameterType = parameterTypes[positions[i]];
+            if (!boxed(parameterType).isAssignableFrom(boxed(mapping.getTargetType()))) {
+                throw EntityMappingException.invalidAnnotationConfiguration(entityType,
+                        "Constructor parameter " + positions[i] + " of type " + parameterType.getSimpleName()
+                                + " cannot receive field '" + mapping.getFieldName() + "' of type " + mapping.getTargetType().getSimpleName());
+            }
+        }
+
+        Object[] defaultArguments = new Object[parameterTypes.length];
+        for (int i = 0; i < parameterTypes.length; i++) {
+            if (parameterTypes[i].isPrimitive()) {
+                defaultArguments[i] = Array.get(Array.newInstance(parameterTypes[i], 1), 0);
+            }
+        }
+
+        try {
+            constructor.setAccessible(true);
+            MethodHandle handle = MethodHandles.lookup().unreflectConstructor(constructor)
+                    .asSpreader(Object[].class, parameterTypes.length)
+                    .asType(MethodType.methodType(Object.class, Object[].class));
+            return new CreatorBinding(handle, parameterTypes, positions, defaultArguments, constructor.toGenericString());
+        } catch (IllegalAccessException | SecurityException e) {
+            throw new EntityMappingException(entityType, "Cannot access constructor " + constructor.toGenericString() + ": " + e.getMessage());
+        }
+    }
+
+    private static boolean isRecord(Class<?> type) {
+        return type.getSuperclass() != null && "java.lang.Record".equals(type.getSuperclass().getName());
+    }
+
+    private static Object[] recordComponents(Class<?> recordType) {
+        try {
+            // Class.getRecordComponents() is resolved reflectively to keep Java 8 bytecode compatibility
+            return (Object[]) Class.class.getMethod("getRecordComponents").invoke(recordType);
+        } catch (ReflectiveOperationException e) {
+            throw new EntityMappingException(recordType, "Cannot inspect record components: " + e.getMessage());
+        }
+    }
+
+    private static Class<?>[] recordComponentTypes(Class<?> recordType) {
+        Object[] components = recordComponents(recordType);
+        Class<?>[] types = new Class<?>[components.length];
+        for (int i = 0; i < components.length; i++) {
+            types[i] = (Class<?>) invokeComponentAccessor(recordType, components[i], "getType");
+        }
+        return types;
+    }
+
+    private static String[] recordComponentNames(Class<?> recordType) {
+        Object[] components = recordComponents(recordType);
+        String[] names = new String[components.length];
+        for (int i = 0; i < components.length; i++) {
+            names[i] = (String) invokeComponentAccessor(recordType, components[i], "getName");
+        }
+        return names;
+    }
+
+    private static Object invokeComponentAccessor(
+            Class<?> recordType,
+            Object component,
+            String accessorName
+    ) {
+        try {
+            Method accessor = component.getClass().getMethod(accessorName);
+            return accessor.invoke(component);
+        } catch (ReflectiveOperationException e) {
+            throw new EntityMappingException(recordType, "Cannot inspect record components: " + e.getMessage());
+        }
+    }
+
+    private static String[] presentParameterNames(Constructor<?> constructor) {
+        Parameter[] parameters = constructor.getParameters();
+        String[] names = new String[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            if (!parameters[i].isNamePresent()) {
+                return null;
+            }
+            names[i] = parameters[i].getName();
+        }
+        return names;
+    }
+
+    private static Class<?> boxed(Class<?> type) {
+        if (!type.isPrimitive()) return type;
+        if (type == int.class) return Integer.class;
+        if (type == long.class) return Long.class;
+        if (type == double.class) return Double.class;
+        if (type == float.class) return Float.class;
+        if (type == boolean.class) return Boolean.class;
+        if (type == byte.class) return Byte.class;
+        if (type == char.class) return Character.class;
+        if (type == short.class) return Short.class;
+        return Void.class;
+    }
+
     private List<FieldMapping> extractReadFieldMappings(Class<T> entityType) {
         List<FieldMapping> mappings = new ArrayList<>();
         int discoveryOrder = 0;
@@ -238,6 +493,28 @@ public class EntityMetadata<T> {
         return Collections.unmodifiableMap(map);
     }
 
+    private static final class CreatorBinding {
+        private final MethodHandle handle;
+        private final Class<?>[] parameterTypes;
+        private final int[] parameterPositions;
+        private final Object[] defaultArguments;
+        private final String description;
+
+        private CreatorBinding(
+                MethodHandle handle,
+                Class<?>[] parameterTypes,
+                int[] parameterPositions,
+                Object[] defaultArguments,
+                String description
+        ) {
+            this.handle = handle;
+            this.parameterTypes = parameterTypes;
+            this.parameterPositions = parameterPositions;
+            this.defaultArguments = defaultArguments;
+            this.description = description;
+        }
+    }
+
     @Override
     public String toString() {
         return String.format(
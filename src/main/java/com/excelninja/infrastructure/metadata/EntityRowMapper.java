@@ -0,0 +1,111 @@
+package com.excelninja.infrastructure.metadata;
+
+import com.excelninja.application.port.ConverterPort;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.HeaderMismatchException;
+import com.excelninja.domain.model.Headers;
+
+import java.util.List;
+
+/**
+ * Maps positional row values onto entities using the read mappings of an {@link EntityMetadata}.
+ *
+ * <p>The column of every read field is resolved once from the sheet headers, so converting a row is a plain
+ * loop over the mapped fields. Setters are pre-bound {@link FieldAccessor}s, so primitive fields are assigned
+ * without boxing. Entities bound to a record or {@code @ExcelCreator} constructor collect the
+ * converted values in an argument array that is reused for every row.
+ *
+ * <p><b>Thread Safety:</b> Not thread-safe. Create one mapper per read.
+ */
+public final class EntityRowMapper<T> {
+    private final EntityMetadata<T> metadata;
+    private final FieldMapping[] fieldMappings;
+    private final FieldAccessor[] fieldAccessors;
+    private final int[] columnIndexes;
+    private final ConverterPort converter;
+    private final int[] creatorPositions;
+    private final Object[] creatorArguments;
+
+    private EntityRowMapper(
+            EntityMetadata<T> metadata,
+            int[] columnIndexes,
+            ConverterPort converter
+    ) {
+        this.metadata = metadata;
+        this.fieldMappings = metadata.getReadFieldMappings().toArray(new FieldMapping[0]);
+        this.fieldAccessors = metadata.getReadFieldAccessors().toArray(new FieldAccessor[0]);
+        this.columnIndexes = columnIndexes;
+        this.converter = converter;
+        this.creatorPositions = metadata.usesCreator() ? metadata.getCreatorParameterPositions() : null;
+        this.creatorArguments = metadata.usesCreator() ? metadata.newCreatorArguments() : null;
+    }
+
+    public static <T> EntityRowMapper<T> forHeaders(
+            EntityMetadata<T> metadata,
+            Headers headers,
+            ConverterPort converter
+    ) {
+        List<FieldMapping> readFieldMappings = metadata.getReadFieldMappings();
+        int[] columnIndexes = new int[readFieldMappings.size()];
+        for (int i = 0; i < readFieldMappings.size(); i++) {
+            String headerName = readFieldMappings.get(i).getHeaderName();
+            if (!headers.containsHeader(headerName)) {
+                throw HeaderMismatchException.headerNotFound(headerName);
+            }
+            columnIndexes[i] = headers.getPositionOf(headerName);
+        }
+        return new EntityRowMapper<>(metadata, columnIndexes, converter);
+    }
+
+    public T map(List<Object> rowValues) {
+        if (creatorArguments == null) {
+            return mapInto(metadata.createInstance(), rowValues);
+        }
+
+        int rowSize = rowValues.size();
+        for (int i = 0; i < fieldMappings.length; i++) {
+            creatorArguments[creatorPositions[i]] = fieldMappings[i].convertValue(cellValue(rowValues, rowSize, i), converter);
+        }
+        return metadata.createInstance(creatorArguments);
+    }
+
+    /**
+     * Overwrites every mapped field of {@code target} with the values of the given row.
+     * Cells missing from a short row are treated as blank.
+     */
+    public T mapInto(
+            T target,
+            List<Object> rowValues
+    ) {
+        if (!supportsInstanceReuse()) {
+            throw new DocumentConversionException("Entities created through a constructor cannot be refilled: " + metadata);
+        }
+
+        int rowSize = rowValues.size();
+        for (int i = 0; i < fieldMappings.length; i++) {
+            fieldMappings[i].setValue(target, cellValue(rowValues, rowSize, i), converter, fieldAccessors[i]);
+        }
+        return target;
+    }
+
+    /**
+     * Returns whether existing entities can be refilled with {@link #mapInto(Object, List)}.
+     * Record and constructor-bound entities are immutable and always created anew.
+     */
+    public boolean supportsInstanceReuse() {
+        return creatorArguments == null;
+    }
+
+    private Object cellValue(
+            List<Object> rowValues,
+            int rowSize,
+            int fieldIndex
+    ) {
+        int columnIndex = columnIndexes[fieldIndex];
+        return columnIndex < rowSize ? rowValues.get(columnIndex) : null;
+    }
+
+    public EntityMetadata<T> getMetadata() {
+        return metadata;
+    }
+}
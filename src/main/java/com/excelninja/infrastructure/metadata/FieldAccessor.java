@@ -0,0 +1,203 @@
+package com.excelninja.infrastructure.metadata;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.infrastructure.util.ReflectionUtils;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Typed write access to a single entity field, resolved once per entity type.
+ *
+ * <p>The public setter, or the field itself when there is none, is bound to a {@link MethodHandle} whose type keeps
+ * the primitive parameter of {@code int}, {@code long}, {@code double} and {@code boolean} fields. Calling
+ * {@link #setInt(Object, int)} and its siblings therefore assigns the value without boxing it. Fields that cannot be
+ * bound, such as final fields without a setter, fall back to {@link ReflectionUtils} and its error messages.
+ *
+ * <p><b>Thread Safety:</b> Immutable and thread-safe.
+ */
+public final class FieldAccessor {
+
+    public enum Kind {
+        INT, LONG, DOUBLE, BOOLEAN, OBJECT
+    }
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private final Field field;
+    private final Kind kind;
+    private final MethodHandle setter;
+
+    private FieldAccessor(
+            Field field,
+            Kind kind,
+            MethodHandle setter
+    ) {
+        this.field = field;
+        this.kind = kind;
+        this.setter = setter;
+    }
+
+    /**
+     * Binds the setter of the given mapping on {@code entityType}. The primitive kind is only used when the
+     * conversion target of the mapping is the field type itself or its wrapper.
+     */
+    public static FieldAccessor forMapping(
+            Class<?> entityType,
+            FieldMapping mapping
+    ) {
+        Field field = mapping.getField();
+        Kind kind = kindOf(field.getType(), mapping.getTargetType());
+        Class<?> parameterType = kind == Kind.OBJECT ? Object.class : field.getType();
+        MethodHandle handle = bindSetter(entityType, field);
+        if (handle == null) {
+            return new FieldAccessor(field, Kind.OBJECT, null);
+        }
+
+        return new FieldAccessor(field, kind, handle.asType(MethodType.methodType(void.class, Object.class, parameterType)));
+    }
+
+    public void setInt(
+            Object entity,
+            int value
+    ) {
+        try {
+            setter.invokeExact(entity, value);
+        } catch (Throwable t) {
+            throw setterFailure(t);
+        }
+    }
+
+    public void setLong(
+            Object entity,
+            long value
+    ) {
+        try {
+            setter.invokeExact(entity, value);
+        } catch (Throwable t) {
+            throw setterFailure(t);
+        }
+    }
+
+    public void setDouble(
+            Object entity,
+            double value
+    ) {
+        try {
+            setter.invokeExact(entity, value);
+        } catch (Throwable t) {
+            throw setterFailure(t);
+        }
+    }
+
+    public void setBoolean(
+            Object entity,
+            boolean value
+    ) {
+        try {
+            setter.invokeExact(entity, value);
+        } catch (Throwable t) {
+            throw setterFailure(t);
+        }
+    }
+
+    /**
+     * Assigns an already converted value. Unbound fields and primitive fields receiving {@code null}
+     * go through {@link ReflectionUtils} so that the failure is reported the same way as before.
+     */
+    public void set(
+            Object entity,
+            Object value
+    ) {
+        if (setter == null || kind != Kind.OBJECT) {
+            ReflectionUtils.setFieldValue(entity, field, value);
+            return;
+        }
+
+        try {
+            setter.invokeExact(entity, value);
+        } catch (ClassCastException e) {
+            throw new DocumentConversionException("Type mismatch for field: " + field.getName() + ". Expected: " + field.getType().getSimpleName() + ", but got: " + value.getClass().getSimpleName(), e);
+        } catch (Throwable t) {
+            throw setterFailure(t);
+        }
+    }
+
+    public Kind getKind() {
+        return kind;
+    }
+
+    public Field getField() {
+        return field;
+    }
+
+    private DocumentConversionException setterFailure(Throwable cause) {
+        if (cause instanceof DocumentConversionException) {
+            return (DocumentConversionException) cause;
+        }
+        return new DocumentConversionException("Setter method threw exception for field: " + field.getName(), cause);
+    }
+
+    private static Kind kindOf(
+            Class<?> fieldType,
+            Class<?> targetType
+    ) {
+        if (fieldType == int.class && (targetType == int.class || targetType == Integer.class)) {
+            return Kind.INT;
+        }
+        if (fieldType == long.class && (targetType == long.class || targetType == Long.class)) {
+            return Kind.LONG;
+        }
+        if (fieldType == double.class && (targetType == double.class || targetType == Double.class)) {
+            return Kind.DOUBLE;
+        }
+        if (fieldType == boolean.class && (targetType == boolean.class || targetType == Boolean.class)) {
+            return Kind.BOOLEAN;
+        }
+        return Kind.OBJECT;
+    }
+
+    private static MethodHandle bindSetter(
+            Class<?> entityType,
+            Field field
+    ) {
+        try {
+            Method setter = findSetter(entityType, field);
+            if (setter != null) {
+                setter.setAccessible(true);
+                return LOOKUP.unreflect(setter);
+            }
+
+            if (Modifier.isFinal(field.getModifiers())) {
+                return null;
+            }
+            field.setAccessible(true);
+            return LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static Method findSetter(
+            Class<?> entityType,
+            Field field
+    ) {
+        String name = field.getName();
+        String setterName = "set" + name.substring(0, 1).toUpperCase() + name.substring(1);
+        try {
+            Method setter = entityType.getMethod(setterName, field.getType());
+            return Modifier.isStatic(setter.getModifiers()) ? null : setter;
+        } catch (NoSuchMethodException e) {
+            return null;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("FieldAccessor{field=%s, kind=%s, bound=%s}", field.getName(), kind, setter != null);
+    }
+}
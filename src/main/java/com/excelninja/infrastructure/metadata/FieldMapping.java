@@ -60,7 +60,73 @@ public final class FieldMapping {
         }
     }
 
-    private Object convertValue(
+    /**
+     * Converts and assigns a raw cell value through a pre-bound accessor. Primitive fields are converted with the
+     * specialized {@link ConverterPort} methods and assigned without boxing the converted value.
+     */
+    public void setValue(
+            Object entity,
+            Object value,
+            ConverterPort converter,
+            FieldAccessor accessor
+    ) {
+        Object sourceValue = accessor.getKind() == FieldAccessor.Kind.OBJECT ? null : primitiveSource(value);
+        try {
+            if (sourceValue == null) {
+                accessor.set(entity, convertValue(value, converter));
+                return;
+            }
+
+            switch (accessor.getKind()) {
+                case INT: {
+                    int converted;
+                    try {
+                        converted = converter.convertToInt(sourceValue);
+                    } catch (Exception e) {
+                        throw conversionFailure(value, e);
+                    }
+                    accessor.setInt(entity, converted);
+                    break;
+                }
+                case LONG: {
+                    long converted;
+                    try {
+                        converted = converter.convertToLong(sourceValue);
+                    } catch (Exception e) {
+                        throw conversionFailure(value, e);
+                    }
+                    accessor.setLong(entity, converted);
+                    break;
+                }
+                case DOUBLE: {
+                    double converted;
+                    try {
+                        converted = converter.convertToDouble(sourceValue);
+                    } catch (Exception e) {
+                        throw conversionFailure(value, e);
+                    }
+                    accessor.setDouble(entity, converted);
+                    break;
+                }
+                default: {
+                    boolean converted;
+                    try {
+                        converted = converter.convertToBoolean(sourceValue);
+                    } catch (Exception e) {
+                        throw conversionFailure(value, e);
+                    }
+                    accessor.setBoolean(entity, converted);
+                }
+            }
+        } catch (Exception e) {
+            throw new DocumentConversionException("Failed to set value to field '" + field.getName() + "': " + e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Converts a raw cell value to the target type of this mapping, applying the default value for blank cells.
+     */
+    public Object convertValue(
             Object value,
             ConverterPort converter
     ) {
@@ -73,8 +139,27 @@ public final class FieldMapping {
             }
             return null;
         } catch (Exception e) {
-            throw new DocumentConversionException(field.getName(), value, "Type conversion failed: " + e.getMessage());
+            throw conversionFailure(value, e);
+        }
+    }
+
+    /**
+     * Returns the value a primitive conversion starts from: the normalized cell value, the default value for blank
+     * cells, or {@code null} when neither is present.
+     */
+    private Object primitiveSource(Object value) {
+        Object normalizedValue = normalizeValue(value);
+        if (normalizedValue != null) {
+            return normalizedValue;
         }
+        return defaultValue.isEmpty() ? null : defaultValue;
+    }
+
+    private DocumentConversionException conversionFailure(
+            Object value,
+            Exception cause
+    ) {
+        return new DocumentConversionException(field.getName(), value, "Type conversion failed: " + cause.getMessage());
     }
 
     private Object normalizeValue(Object value) {
@@ -0,0 +1,61 @@
+package com.excelninja.infrastructure.util;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Converts {@link LocalDate} and {@link LocalDateTime} values to Excel serial numbers of the 1900 date system.
+ *
+ * <p>The conversion is plain arithmetic on the epoch day and the time of day, without {@code Calendar}, {@code Date}
+ * or time zone lookups, so writers can convert every date cell without allocating. Results equal POI's
+ * {@code DateUtil.getExcelDate} bit for bit, including the fictitious 29 February 1900 that Excel counts as day
+ * 60 and the {@code -1} returned for dates before 1900. Local values are taken as they are, so date-times that fall
+ * into a daylight saving gap of the system zone are no longer shifted by an hour.
+ *
+ * <p><b>Thread Safety:</b> This class is stateless and thread-safe.
+ */
+public final class ExcelDateUtils {
+    /**
+     * Returned for dates that the 1900 date system cannot represent.
+     */
+    public static final double INVALID_DATE = -1;
+
+    private static final long MILLIS_PER_DAY = 86_400_000L;
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final int FIRST_YEAR = 1900;
+
+    /**
+     * Day number of the epoch day zero, counting 1 January 1900 as day 1 and ignoring the leap day bug.
+     */
+    private static final long EPOCH_DAY_OFFSET = -LocalDate.of(FIRST_YEAR, 1, 1).toEpochDay() + 1;
+
+    /**
+     * First day number that Excel shifts by one for its non-existent 29 February 1900.
+     */
+    private static final double LEAP_DAY_BUG = 60;
+
+    private ExcelDateUtils() {}
+
+    public static double toExcelDate(LocalDate date) {
+        if (date.getYear() < FIRST_YEAR) {
+            return INVALID_DATE;
+        }
+        return adjustForLeapDayBug(date.toEpochDay() + EPOCH_DAY_OFFSET);
+    }
+
+    /**
+     * Returns the serial number of the date-time. The time of day is truncated to milliseconds, as Excel stores it.
+     */
+    public static double toExcelDate(LocalDateTime dateTime) {
+        if (dateTime.getYear() < FIRST_YEAR) {
+            return INVALID_DATE;
+        }
+        long millisOfDay = dateTime.toLocalTime().toNanoOfDay() / NANOS_PER_MILLI;
+        double fraction = (double) millisOfDay / MILLIS_PER_DAY;
+        return adjustForLeapDayBug((dateTime.toLocalDate().toEpochDay() + EPOCH_DAY_OFFSET) + fraction);
+    }
+
+    private static double adjustForLeapDayBug(double value) {
+        return value >= LEAP_DAY_BUG ? value + 1 : value;
+    }
+}
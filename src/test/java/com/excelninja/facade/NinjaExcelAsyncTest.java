@@ -0,0 +1,243 @@
+package com.excelninja.facade;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ExcelWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.logging.Handler;
+import java.util.logging.Level;
+import java.util.logging.LogRecord;
+import java.util.logging.Logger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("NinjaExcel async API")
+class NinjaExcelAsyncTest {
+
+    @TempDir
+    Path tempDir;
+
+    static class OrderRow {
+        @ExcelReadColumn(headerName = "ID")
+        @ExcelWriteColumn(headerName = "ID", order = 0)
+        private Long id;
+
+        @ExcelReadColumn(headerName = "Customer")
+        @ExcelWriteColumn(headerName = "Customer", order = 1)
+        private String customer;
+
+        public OrderRow() {}
+
+        OrderRow(Long id, String customer) {
+            this.id = id;
+            this.customer = customer;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof OrderRow)) return false;
+            OrderRow that = (OrderRow) o;
+            return Objects.equals(id, that.id) && Objects.equals(customer, that.customer);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(id, customer);
+        }
+    }
+
+    @Test
+    @DisplayName("writeAsync and readAsync round-trip on the given executor")
+    void writeThenRead() throws Exception {
+        List<OrderRow> orders = createOrders(250);
+        File file = tempDir.resolve("orders.xlsx").toFile();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            List<OrderRow> read = NinjaExcel.writeAsync(ExcelWorkbook.builder().sheet("Orders", orders).build(), file, executor)
+                    .thenCompose(ignored -> NinjaExcel.readAsync(file, OrderRow.class, executor))
+                    .get(30, TimeUnit.SECONDS);
+
+            assertThat(read).isEqualTo(orders);
+            List<Integer> chunkSizes = new ArrayList<>();
+            long rowCount = NinjaExcel.readInChunksAsync(file, OrderRow.class, 100, chunk -> chunkSizes.add(chunk.size()), executor)
+                    .get(30, TimeUnit.SECONDS);
+            assertThat(rowCount).isEqualTo(250);
+            assertThat(chunkSizes).containsExactly(100, 100, 50);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Failures complete the future exceptionally")
+    void failuresCompleteExceptionally() {
+        File missing = tempDir.resolve("missing.xlsx").toFile();
+        Executor direct = Runnable::run;
+
+        assertThatThrownBy(() -> NinjaExcel.readAsync(missing, OrderRow.class, direct).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(DocumentConversionException.class);
+        assertThatThrownBy(() -> NinjaExcel.readAsync(missing, OrderRow.class, null))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("Executor cannot be null");
+    }
+
+    @Test
+    @DisplayName("Streaming reads stop at the next row once their thread is interrupted")
+    void interruptedStreamingReadStops() {
+        File file = writeOrders("interrupted.xlsx", 500);
+        AtomicInteger delivered = new AtomicInteger();
+
+        try {
+            assertThatThrownBy(() -> NinjaExcel.forEach(file, OrderRow.class, row -> {
+                if (delivered.incrementAndGet() == 10) {
+                    Thread.currentThread().interrupt();
+                }
+            }))
+                    .isInstanceOf(DocumentConversionException.class)
+                    .hasMessageContaining("Read interrupted at row 12");
+            assertThat(delivered.get()).isEqualTo(10);
+        } finally {
+            Thread.interrupted();
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelling a chunked read stops its producer thread and frees the executor")
+    void cancelStopsProducer() throws Exception {
+        File file = writeOrders("cancelled.xlsx", 20_000);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch firstChunk = new CountDownLatch(1);
+        AtomicInteger chunks = new AtomicInteger();
+
+        try {
+            CompletableFuture<Long> future = NinjaExcel.readInChunksAsync(file, OrderRow.class, 100, chunk -> {
+                chunks.incrementAndGet();
+                firstChunk.countDown();
+                Thread.sleep(TimeUnit.MINUTES.toMillis(1));
+            }, executor);
+
+            assertThat(firstChunk.await(30, TimeUnit.SECONDS)).isTrue();
+            assertThat(future.cancel(true)).isTrue();
+
+            assertThat(executor.submit(() -> Thread.currentThread().isInterrupted()).get(10, TimeUnit.SECONDS)).isFalse();
+            assertThat(chunks.get()).isEqualTo(1);
+            assertThat(producerThreadAlive()).isFalse();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("Cancelling while waiting for the next chunk closes the producer before the task ends")
+    void cancelWhileWaitingForChunk() throws Exception {
+        File file = writeOrders("waiting.xlsx", 100_000);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        CountDownLatch taskEnded = new CountDownLatch(1);
+        AtomicBoolean producerAliveAfterTask = new AtomicBoolean(true);
+        // The producer closes the package before it terminates, so it must be gone as soon as the task returns
+        Executor executor = task -> pool.execute(() -> {
+            task.run();
+            producerAliveAfterTask.set(isProducerAlive());
+            taskEnded.countDown();
+        });
+        CountDownLatch firstChunk = new CountDownLatch(1);
+        AtomicReference<Thread> runner = new AtomicReference<>();
+        List<String> warnings = new CopyOnWriteArrayList<>();
+        Logger readerLogger = Logger.getLogger("com.excelninja.infrastructure.io.StreamingWorkbookReader");
+        Handler handler = new Handler() {
+            @Override
+            public void publish(LogRecord record) {
+                if (record.getLevel() == Level.WARNING) {
+                    warnings.add(record.getMessage());
+                }
+            }
+
+            @Override
+            public void flush() {}
+
+            @Override
+            public void close() {}
+        };
+        readerLogger.addHandler(handler);
+
+        try {
+            CompletableFuture<Long> future = NinjaExcel.readInChunksAsync(file, OrderRow.class, 10_000, chunk -> {
+                runner.set(Thread.currentThread());
+                firstChunk.countDown();
+            }, executor);
+
+            assertThat(firstChunk.await(30, TimeUnit.SECONDS)).isTrue();
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+            while (runner.get().getState() != Thread.State.WAITING && System.nanoTime() < deadline) {
+                Thread.sleep(1);
+            }
+            assertThat(runner.get().getState()).isEqualTo(Thread.State.WAITING);
+            assertThat(future.cancel(true)).isTrue();
+
+            assertThat(taskEnded.await(10, TimeUnit.SECONDS)).isTrue();
+            assertThat(producerAliveAfterTask.get()).isFalse();
+            assertThat(warnings).isEmpty();
+        } finally {
+            readerLogger.removeHandler(handler);
+            pool.shutdownNow();
+        }
+    }
+
+    private static boolean isProducerAlive() {
+        return Thread.getAllStackTraces().keySet().stream()
+                .anyMatch(thread -> "ninja-excel-chunk-producer".equals(thread.getName()) && thread.isAlive());
+    }
+
+    private static boolean producerThreadAlive() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (System.nanoTime() < deadline) {
+            if (!isProducerAlive()) {
+                return false;
+            }
+            Thread.sleep(20);
+        }
+        return true;
+    }
+
+    private File writeOrders(
+            String fileName,
+            int recordCount
+    ) {
+        File file = tempDir.resolve(fileName).toFile();
+        NinjaExcel.writeStreaming(ExcelWorkbook.builder().sheet("Orders", createOrders(recordCount)).build(), file);
+        return file;
+    }
+
+    private List<OrderRow> createOrders(int recordCount) {
+        List<OrderRow> orders = new ArrayList<>();
+        for (int i = 1; i <= recordCount; i++) {
+            orders.add(new OrderRow((long) i, "Customer " + i));
+        }
+        return orders;
+    }
+}
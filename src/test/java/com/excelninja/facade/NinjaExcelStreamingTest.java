@@ -7,6 +7,8 @@ import com.excelninja.domain.exception.DocumentConversionException;
 import com.excelninja.domain.model.ChunkReader;
 import com.excelninja.domain.model.ExcelSheet;
 import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.RowHashIndex;
+import com.excelninja.infrastructure.io.RowHashIndexStore;
 import com.excelninja.infrastructure.io.StreamingWorkbookReader;
 import org.junit.jupiter.api.*;
 import org.junit.jupiter.api.io.TempDir;
@@ -479,6 +481,46 @@ class NinjaExcelStreamingTest {
             assertThat(processed).isEqualTo(1000);
         }
 
+        @Test
+        @DisplayName("Released chunks are refilled with later rows when recycling is enabled")
+        void shouldRecycleReleasedChunkInstances() {
+            Set<Employee> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<Long> ids = new ArrayList<>();
+
+            try (ChunkReader<Employee> chunks = NinjaExcel.readInChunks(largeFile, Employee.class, 100, true)) {
+                while (chunks.hasNext()) {
+                    List<Employee> chunk = chunks.next();
+                    for (Employee employee : chunk) {
+                        ids.add(employee.getId());
+                        instances.add(employee);
+                    }
+                    chunks.release(chunk);
+                }
+            }
+
+            assertThat(ids).hasSize(10000);
+            assertThat(ids.get(0)).isEqualTo(1L);
+            assertThat(ids.get(9999)).isEqualTo(10000L);
+            assertThat(new HashSet<>(ids)).hasSize(10000);
+            assertThat(instances.size()).isLessThan(10000);
+        }
+
+        @Test
+        @DisplayName("Released chunks are ignored when recycling is disabled")
+        void shouldIgnoreReleaseWithoutRecycling() {
+            Set<Employee> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+
+            try (ChunkReader<Employee> chunks = NinjaExcel.readInChunks(smallFile, Employee.class, 10)) {
+                while (chunks.hasNext()) {
+                    List<Employee> chunk = chunks.next();
+                    instances.addAll(chunk);
+                    chunks.release(chunk);
+                }
+            }
+
+            assertThat(instances).hasSize(100);
+        }
+
         @Test
         @DisplayName("청크 리더는 소수의 청크만 버퍼링해 메모리 상한을 낮춘다")
         void shouldBufferOnlySmallNumberOfChunks() throws Exception {
@@ -493,6 +535,129 @@ class NinjaExcelStreamingTest {
         }
     }
 
+    @Nested
+    @DisplayName("Incremental chunk reads")
+    class IncrementalChunkReadTest {
+
+        @Test
+        @DisplayName("Unchanged rows are skipped on the next run and changed or new rows are emitted")
+        void shouldEmitOnlyNewOrChangedRows() throws IOException {
+            List<Employee> employees = createEmployeeData(500);
+            File firstRun = new File(tempDir, "incremental_first.xlsx");
+            NinjaExcel.write(ExcelWorkbook.builder().sheet("Employees", employees).build(), firstRun);
+
+            RowHashIndex index = new RowHashIndex();
+            assertThat(readAll(NinjaExcel.readChangedInChunks(firstRun, Employee.class, 100, index))).hasSize(500);
+            assertThat(index.getRecordedRows()).isEqualTo(500);
+            index.commit();
+
+            assertThat(readAll(NinjaExcel.readChangedInChunks(firstRun, Employee.class, 100, index))).isEmpty();
+            assertThat(index.getSkippedRows()).isEqualTo(500);
+            index.commit();
+
+            List<Employee> updated = new ArrayList<>(employees);
+            Employee changed = updated.get(10);
+            changed.setName("Renamed Employee");
+            updated.add(new Employee(501L, "Employee 501", "employee501@company.com", 1000.0,
+                    LocalDate.of(2024, 1, 1), true, "HR"));
+            File secondRun = new File(tempDir, "incremental_second.xlsx");
+            NinjaExcel.write(ExcelWorkbook.builder().sheet("Employees", updated).build(), secondRun);
+
+            List<Employee> emitted = readAll(NinjaExcel.readChangedInChunks(secondRun, Employee.class, 100, index));
+
+            assertThat(emitted).extracting(Employee::getId).containsExactly(11L, 501L);
+            assertThat(emitted.get(0).getName()).isEqualTo("Renamed Employee");
+        }
+
+        @Test
+        @DisplayName("Saved indexes are restored from disk and missing index files start empty")
+        void shouldPersistIndexToFile() throws IOException {
+            File indexFile = new File(tempDir, "employees.rowhash");
+            RowHashIndex firstIndex = RowHashIndexStore.load(indexFile.toPath());
+            assertThat(firstIndex.getPreviousSize()).isZero();
+
+            assertThat(readAll(NinjaExcel.readChangedInChunks(smallFile, Employee.class, firstIndex))).hasSize(100);
+            RowHashIndexStore.save(firstIndex, indexFile.toPath());
+
+            RowHashIndex secondIndex = RowHashIndexStore.load(indexFile.toPath());
+            assertThat(secondIndex.getPreviousSize()).isEqualTo(100);
+            assertThat(readAll(NinjaExcel.readChangedInChunks(smallFile, Employee.class, secondIndex))).isEmpty();
+        }
+
+        @Test
+        @DisplayName("A null row hash index is rejected")
+        void shouldRejectNullIndex() {
+            assertThatThrownBy(() -> NinjaExcel.readChangedInChunks(smallFile, Employee.class, null))
+                    .isInstanceOf(DocumentConversionException.class)
+                    .hasMessageContaining("Row hash index cannot be null");
+        }
+
+        private List<Employee> readAll(ChunkReader<Employee> chunks) {
+            List<Employee> result = new ArrayList<>();
+            try (ChunkReader<Employee> reader = chunks) {
+                while (reader.hasNext()) {
+                    result.addAll(reader.next());
+                }
+            }
+            return result;
+        }
+    }
+
+    @Nested
+    @DisplayName("Push-style row consumer reads")
+    class ForEachReadTest {
+
+        @Test
+        @DisplayName("Every row is delivered to the consumer on the calling thread")
+        void shouldDeliverRowsInlineOnCallingThread() {
+            Thread caller = Thread.currentThread();
+            List<Long> ids = new ArrayList<>();
+
+            long delivered = NinjaExcel.forEach(largeFile, Employee.class, employee -> {
+                assertThat(Thread.currentThread()).isSameAs(caller);
+                ids.add(employee.getId());
+            });
+
+            assertThat(delivered).isEqualTo(10000);
+            assertThat(ids).hasSize(10000);
+            assertThat(ids.get(0)).isEqualTo(1L);
+            assertThat(ids.get(9999)).isEqualTo(10000L);
+        }
+
+        @Test
+        @DisplayName("Flyweight mode refills a single entity instance")
+        void shouldReuseSingleInstanceInFlyweightMode() {
+            Set<Employee> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+            List<String> names = new ArrayList<>();
+
+            long delivered = NinjaExcel.forEach(smallFile, Employee.class, employee -> {
+                instances.add(employee);
+                names.add(employee.getName());
+            }, true);
+
+            assertThat(delivered).isEqualTo(100);
+            assertThat(instances).hasSize(1);
+            assertThat(names.get(0)).isEqualTo("Employee 1");
+            assertThat(names.get(99)).isEqualTo("Employee 100");
+        }
+
+        @Test
+        @DisplayName("Consumer failures stop the read and are reported with the row number")
+        void shouldPropagateConsumerFailures() {
+            AtomicInteger calls = new AtomicInteger();
+
+            assertThatThrownBy(() -> NinjaExcel.forEach(smallFile, Employee.class, employee -> {
+                if (calls.incrementAndGet() == 3) {
+                    throw new IllegalStateException("sink unavailable");
+                }
+            })).isInstanceOf(DocumentConversionException.class)
+                    .hasMessageContaining("Row consumer failed at row 4")
+                    .hasRootCauseInstanceOf(IllegalStateException.class);
+
+            assertThat(calls.get()).isEqualTo(3);
+        }
+    }
+
     @Nested
     @DisplayName("다중 시트 스트리밍 테스트")
     class MultiSheetStreamingTest {
@@ -135,4 +135,27 @@ class DefaultConverterTest {
         assertThat(converter.convert("YES", Boolean.class)).isEqualTo(true);
         assertThat(converter.convert("0", boolean.class)).isEqualTo(false);
     }
+
+    @Test
+    @DisplayName("Primitive conversions keep the range checks and parsing rules of convert")
+    void primitiveConversions() {
+        assertThat(converter.convertToInt(42.0)).isEqualTo(42);
+        assertThat(converter.convertToInt("-17")).isEqualTo(-17);
+        assertThat(converter.convertToInt("3.0")).isEqualTo(3);
+        assertThat(converter.convertToLong("12345678901234")).isEqualTo(12345678901234L);
+        assertThat(converter.convertToLong(9.0E15)).isEqualTo(9_000_000_000_000_000L);
+        assertThat(converter.convertToDouble("2.5")).isEqualTo(2.5);
+        assertThat(converter.convertToDouble(7)).isEqualTo(7.0);
+        assertThat(converter.convertToBoolean("yes")).isTrue();
+        assertThat(converter.convertToBoolean(Boolean.FALSE)).isFalse();
+
+        assertThatThrownBy(() -> converter.convertToInt(3.0E10))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("out of Integer range");
+        assertThatThrownBy(() -> converter.convertToInt("99999999999"))
+                .isInstanceOf(DocumentConversionException.class);
+        assertThatThrownBy(() -> converter.convertToLong("abc"))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("Cannot parse 'abc' as numeric value");
+    }
 }
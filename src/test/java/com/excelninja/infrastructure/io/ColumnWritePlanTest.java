@@ -0,0 +1,135 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.infrastructure.io.ColumnWritePlan.CellKind;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Column write plan")
+class ColumnWritePlanTest {
+
+    @TempDir
+    Path tempDir;
+
+    public static class PlanDto {
+        @ExcelReadColumn(headerName = "Id")
+        @ExcelWriteColumn(headerName = "Id", order = 1)
+        private long id;
+
+        @ExcelReadColumn(headerName = "Amount")
+        @ExcelWriteColumn(headerName = "Amount", order = 2)
+        private BigDecimal amount;
+
+        @ExcelReadColumn(headerName = "Due")
+        @ExcelWriteColumn(headerName = "Due", order = 3)
+        private LocalDate due;
+
+        @ExcelWriteColumn(headerName = "Note", order = 4)
+        private Object note;
+
+        @ExcelReadColumn(headerName = "Status")
+        @ExcelWriteColumn(headerName = "Status", order = 5)
+        private Integer status;
+
+        public PlanDto() {}
+
+        PlanDto(
+                long id,
+                BigDecimal amount,
+                LocalDate due,
+                Object note,
+                Integer status
+        ) {
+            this.id = id;
+            this.amount = amount;
+            this.due = due;
+            this.note = note;
+            this.status = status;
+        }
+
+        public String getStatus() {
+            return status == null ? null : String.valueOf(status);
+        }
+    }
+
+    @Test
+    @DisplayName("Entity columns resolve to their field type and other values fall back to their runtime type")
+    void resolvesColumnKinds() {
+        ExcelSheet sheet = ExcelSheet.fromEntities(Collections.singletonList(new PlanDto(1L, BigDecimal.ONE, LocalDate.of(2024, 1, 1), true, 3)), "Plan");
+        ColumnWritePlan plan = ColumnWritePlan.of(sheet);
+
+        assertThat(sheet.getColumnTypes()).containsExactly(long.class, BigDecimal.class, LocalDate.class, Object.class, Integer.class);
+        assertThat(plan.kindOf(0, 1L)).isEqualTo(CellKind.NUMBER);
+        assertThat(plan.kindOf(1, BigDecimal.ONE)).isEqualTo(CellKind.DECIMAL);
+        assertThat(plan.kindOf(2, LocalDate.of(2024, 1, 1))).isEqualTo(CellKind.DATE);
+        assertThat(plan.kindOf(3, true)).isEqualTo(CellKind.BOOLEAN);
+        assertThat(plan.kindOf(3, "text")).isEqualTo(CellKind.TEXT);
+        assertThat(plan.kindOf(4, "3")).isEqualTo(CellKind.TEXT);
+
+        ColumnWritePlan untyped = ColumnWritePlan.of(ExcelSheet.builder().headers("A").build());
+        assertThat(untyped.kindOf(0, 2.5)).isEqualTo(CellKind.NUMBER);
+    }
+
+    @Test
+    @DisplayName("Values returned by getters with another type than the field are written by their own type")
+    void getterTypeMismatch() throws Exception {
+        List<PlanDto> rows = Arrays.asList(
+                new PlanDto(1L, new BigDecimal("10.25"), LocalDate.of(2024, 1, 31), "first", 7),
+                new PlanDto(2L, new BigDecimal("12345678901234567890.123"), null, 3.5, null)
+        );
+        for (boolean streaming : new boolean[]{false, true}) {
+            File file = tempDir.resolve("plan-" + streaming + ".xlsx").toFile();
+            ExcelWorkbook workbook = ExcelWorkbook.builder().sheet("Plan", rows).build();
+            if (streaming) {
+                NinjaExcel.writeStreaming(workbook, file);
+            } else {
+                NinjaExcel.write(workbook, file);
+            }
+
+            List<PlanDto> read = NinjaExcel.read(file, PlanDto.class);
+            assertThat(read.get(0).status).isEqualTo(7);
+            assertThat(read.get(0).amount).isEqualByComparingTo("10.25");
+            assertThat(read.get(0).due).isEqualTo(LocalDate.of(2024, 1, 31));
+            assertThat(read.get(1).amount).isEqualByComparingTo("12345678901234567890.123");
+            assertThat(read.get(1).status).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("The exactness shortcut agrees with comparing the double's decimal form")
+    void exactnessShortcut() {
+        Random random = new Random(40);
+        for (int i = 0; i < 100_000; i++) {
+            long unscaled = random.nextLong() % 1_000_000_000_000_000L;
+            BigDecimal value = BigDecimal.valueOf(unscaled, random.nextInt(40) - 20);
+            BigDecimal roundTripped = BigDecimal.valueOf(value.doubleValue());
+            boolean expected = value.stripTrailingZeros().compareTo(roundTripped.stripTrailingZeros()) == 0;
+
+            if (value.precision() <= 15) {
+                assertThat(ColumnWritePlan.canStoreAsExactNumeric(value)).isTrue();
+            } else {
+                assertThat(ColumnWritePlan.canStoreAsExactNumeric(value)).isEqualTo(expected);
+            }
+        }
+        assertThat(ColumnWritePlan.canStoreAsExactNumeric(new BigDecimal("0.1"))).isTrue();
+        assertThat(ColumnWritePlan.canStoreAsExactNumeric(new BigDecimal("12345678901234567890.123"))).isFalse();
+        assertThat(ColumnWritePlan.canStoreAsExactNumeric(new BigDecimal("1E+400"))).isFalse();
+        assertThat(ColumnWritePlan.canStoreAsExactNumeric(new BigDecimal("1E-400"))).isFalse();
+    }
+}
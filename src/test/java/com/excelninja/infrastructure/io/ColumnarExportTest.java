@@ -0,0 +1,179 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Columnar export")
+class ColumnarExportTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Exports the first sheet in fixed-size row groups typed by the entity fields")
+    void exportsRowGroups() throws Exception {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int r = 1; r <= 2500; r++) {
+            rows.add(Arrays.asList("order-" + r, r, r * 1.5, r % 2 == 0, r % 10 == 0 ? null : LocalDate.of(2024, 1, 1).plusDays(r)));
+        }
+        File source = tempDir.resolve("orders.xlsx").toFile();
+        new StreamingWorkbookWriter().write(ExcelWorkbook.builder()
+                .sheet("Orders", ExcelSheet.builder()
+                        .name("Orders")
+                        .headers(Arrays.asList("Order", "Quantity", "Amount", "Paid", "Shipped"))
+                        .rows(rows)
+                        .build())
+                .build(), source);
+        File target = tempDir.resolve("orders.njc").toFile();
+
+        long exported = NinjaExcel.exportColumnar(source, OrderDto.class, target, 1000);
+
+        assertThat(exported).isEqualTo(2500);
+        try (ColumnarReader reader = ColumnarReader.open(target)) {
+            assertThat(reader.getColumnNames()).containsExactly("Order", "Quantity", "Amount", "Paid", "Shipped");
+            assertThat(reader.getColumnType("Order")).isEqualTo(ColumnType.STRING);
+            assertThat(reader.getColumnType("Quantity")).isEqualTo(ColumnType.INT32);
+            assertThat(reader.getColumnType("Amount")).isEqualTo(ColumnType.FLOAT64);
+            assertThat(reader.getColumnType("Paid")).isEqualTo(ColumnType.BOOLEAN);
+            assertThat(reader.getColumnType("Shipped")).isEqualTo(ColumnType.DATE);
+            assertThat(reader.getRowCount()).isEqualTo(2500);
+            assertThat(reader.getRowGroupCount()).isEqualTo(3);
+            assertThat(reader.getRowGroupRowCount(2)).isEqualTo(500);
+
+            List<Object> quantities = reader.readColumn("Quantity");
+            assertThat(quantities).hasSize(2500);
+            assertThat(quantities.stream().mapToLong(value -> (Integer) value).sum()).isEqualTo(2500L * 2501 / 2);
+
+            List<Object> lastGroup = reader.readColumn("Order", 2);
+            assertThat(lastGroup).hasSize(500);
+            assertThat(lastGroup.get(0)).isEqualTo("order-2001");
+            assertThat(reader.readColumn("Amount", 0).get(1)).isEqualTo(3.0);
+            assertThat(reader.readColumn("Paid", 1).get(0)).isEqualTo(false);
+
+            List<Object> shipped = reader.readColumn("Shipped");
+            assertThat(shipped.get(8)).isEqualTo(LocalDate.of(2024, 1, 10));
+            assertThat(shipped.get(9)).isNull();
+        }
+    }
+
+    @Test
+    @DisplayName("Round-trips nulls, timestamps, longs and text-encoded types")
+    void roundTripsValueTypes() throws Exception {
+        List<EventDto> events = new ArrayList<>();
+        events.add(new EventDto(Long.MAX_VALUE, LocalDateTime.of(2024, 5, 1, 13, 45, 30, 123_456_000), new BigDecimal("12.50"), "A"));
+        events.add(new EventDto(null, null, null, null));
+        events.add(new EventDto(-7L, LocalDateTime.of(1969, 12, 31, 23, 59, 59), new BigDecimal("-0.001"), "été"));
+        File target = tempDir.resolve("events.njc").toFile();
+
+        long written = new ColumnarWriter(2).write(events.iterator(), EventDto.class, target);
+
+        assertThat(written).isEqualTo(3);
+        try (ColumnarReader reader = ColumnarReader.open(target)) {
+            assertThat(reader.getRowGroupCount()).isEqualTo(2);
+            assertThat(reader.getColumnType("Id")).isEqualTo(ColumnType.INT64);
+            assertThat(reader.getColumnType("At")).isEqualTo(ColumnType.TIMESTAMP);
+            assertThat(reader.getColumnType("Price")).isEqualTo(ColumnType.STRING);
+            assertThat(reader.readColumn("Id")).containsExactly(Long.MAX_VALUE, null, -7L);
+            assertThat(reader.readColumn("At")).containsExactly(
+                    LocalDateTime.of(2024, 5, 1, 13, 45, 30, 123_456_000), null, LocalDateTime.of(1969, 12, 31, 23, 59, 59));
+            assertThat(reader.readColumn("Price")).containsExactly("12.5", null, "-0.001");
+            assertThat(reader.readColumn("Label")).containsExactly("A", null, "été");
+            assertThatThrownBy(() -> reader.readColumn("Missing"))
+                    .isInstanceOf(DocumentConversionException.class)
+                    .hasMessageContaining("Unknown column");
+        }
+    }
+
+    @Test
+    @DisplayName("Rejects files that are not columnar and removes the target of a failed export")
+    void rejectsInvalidInput() throws Exception {
+        File text = tempDir.resolve("notes.njc").toFile();
+        try (OutputStream output = new FileOutputStream(text)) {
+            output.write("not a columnar file".getBytes("UTF-8"));
+        }
+        assertThatThrownBy(() -> ColumnarReader.open(text))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("Not a columnar file");
+
+        File source = tempDir.resolve("bad.xlsx").toFile();
+        new StreamingWorkbookWriter().write(ExcelWorkbook.builder()
+                .sheet("Orders", ExcelSheet.builder()
+                        .name("Orders")
+                        .headers(Arrays.asList("Order", "Quantity"))
+                        .rows(Arrays.asList(Arrays.asList("a", 1), Arrays.asList("b", "not a number")))
+                        .build())
+                .build(), source);
+        File target = tempDir.resolve("bad.njc").toFile();
+
+        assertThatThrownBy(() -> NinjaExcel.exportColumnar(source, OrderDto.class, target))
+                .isInstanceOf(DocumentConversionException.class);
+        assertThat(target).doesNotExist();
+    }
+
+    public static class OrderDto {
+        @ExcelReadColumn(headerName = "Order")
+        private String order;
+
+        @ExcelReadColumn(headerName = "Quantity")
+        private int quantity;
+
+        @ExcelReadColumn(headerName = "Amount")
+        private double amount;
+
+        @ExcelReadColumn(headerName = "Paid")
+        private boolean paid;
+
+        @ExcelReadColumn(headerName = "Shipped")
+        private LocalDate shipped;
+
+        public OrderDto() {}
+    }
+
+    public static class EventDto {
+        @ExcelReadColumn(headerName = "Id")
+        private Long id;
+
+        @ExcelReadColumn(headerName = "At")
+        private LocalDateTime at;
+
+        @ExcelReadColumn(headerName = "Price")
+        private BigDecimal price;
+
+        @ExcelReadColumn(headerName = "Label")
+        private String label;
+
+        public EventDto() {}
+
+        EventDto(
+                Long id,
+                LocalDateTime at,
+                BigDecimal price,
+                String label
+        ) {
+            this.id = id;
+            this.at = at;
+            this.price = price;
+            this.label = label;
+        }
+    }
+}
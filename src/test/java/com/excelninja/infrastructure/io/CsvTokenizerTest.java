@@ -0,0 +1,106 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.CsvFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CSV tokenizer")
+class CsvTokenizerTest {
+
+    private static List<List<Object>> tokenize(
+            byte[] input,
+            CsvFormat format
+    ) throws Exception {
+        CsvTokenizer tokenizer = new CsvTokenizer(Channels.newChannel(new ByteArrayInputStream(input)), format);
+        List<List<Object>> records = new ArrayList<>();
+        List<Object> fields = new ArrayList<>();
+        while (tokenizer.nextRecord(fields)) {
+            records.add(new ArrayList<>(fields));
+        }
+        return records;
+    }
+
+    private static List<List<Object>> tokenize(String input) throws Exception {
+        return tokenize(input.getBytes(StandardCharsets.UTF_8), CsvFormat.csv());
+    }
+
+    @Test
+    @DisplayName("Splits fields and accepts CRLF, LF and CR line ends")
+    void lineEnds() throws Exception {
+        assertThat(tokenize("a,b\r\nc,d\ne,f\rg,h")).containsExactly(
+                Arrays.<Object>asList("a", "b"),
+                Arrays.<Object>asList("c", "d"),
+                Arrays.<Object>asList("e", "f"),
+                Arrays.<Object>asList("g", "h"));
+    }
+
+    @Test
+    @DisplayName("Unquotes fields with delimiters, line breaks and escaped quotes")
+    void quotedFields() throws Exception {
+        assertThat(tokenize("\"a,b\",\"line 1\r\nline 2\",\"say \"\"hi\"\"\"\n")).containsExactly(
+                Arrays.<Object>asList("a,b", "line 1\r\nline 2", "say \"hi\""));
+    }
+
+    @Test
+    @DisplayName("Reads empty unquoted fields as blank and quoted empty fields as empty strings")
+    void blankAndEmpty() throws Exception {
+        assertThat(tokenize("a,,\"\",\n\n")).containsExactly(
+                Arrays.<Object>asList("a", null, "", null),
+                Arrays.<Object>asList((Object) null));
+    }
+
+    @Test
+    @DisplayName("Skips the byte order mark and reads other dialects")
+    void dialects() throws Exception {
+        byte[] tsv = "\uFEFFname\tcity\n'a\tb'\tSeoul".getBytes(StandardCharsets.UTF_8);
+        CsvFormat format = CsvFormat.tsv().toBuilder().quote('\'').build();
+        assertThat(tokenize(tsv, format)).containsExactly(
+                Arrays.<Object>asList("name", "city"),
+                Arrays.<Object>asList("a\tb", "Seoul"));
+
+        byte[] latin = "café;1".getBytes(Charset.forName("ISO-8859-1"));
+        assertThat(tokenize(latin, CsvFormat.builder().delimiter(';').charset(Charset.forName("ISO-8859-1")).build()))
+                .containsExactly(Arrays.<Object>asList("café", "1"));
+    }
+
+    @Test
+    @DisplayName("Joins fields that span buffer fills")
+    void largeFields() throws Exception {
+        StringBuilder unquoted = new StringBuilder();
+        StringBuilder quoted = new StringBuilder();
+        for (int i = 0; i < 50_000; i++) {
+            unquoted.append((char) ('a' + i % 26));
+            quoted.append(i % 1000 == 0 ? "\"\"" : "한");
+        }
+        String expectedQuoted = quoted.toString().replace("\"\"", "\"");
+
+        List<List<Object>> records = tokenize(unquoted + "," + unquoted + "\n\"" + quoted + "\"," + unquoted + "\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0)).containsExactly(unquoted.toString(), unquoted.toString());
+        assertThat(records.get(1)).containsExactly(expectedQuoted, unquoted.toString());
+    }
+
+    @Test
+    @DisplayName("Rejects malformed input")
+    void malformedInput() {
+        assertThatThrownBy(() -> tokenize("a,\"unterminated\n")).isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("Unterminated");
+        assertThatThrownBy(() -> tokenize("\"a\"b,c")).isInstanceOf(DocumentConversionException.class);
+        assertThatThrownBy(() -> tokenize(new byte[]{'a', ',', (byte) 0xC3, '\n'}, CsvFormat.csv()))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("UTF-8");
+    }
+}
@@ -0,0 +1,179 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ChunkReader;
+import com.excelninja.domain.model.CsvFormat;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.SheetName;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("CSV and TSV workbooks")
+class CsvWorkbookTest {
+
+    @TempDir
+    Path tempDir;
+
+    public static class OrderDto {
+        @ExcelReadColumn(headerName = "Id")
+        @ExcelWriteColumn(headerName = "Id", order = 1)
+        private long id;
+
+        @ExcelReadColumn(headerName = "Customer")
+        @ExcelWriteColumn(headerName = "Customer", order = 2)
+        private String customer;
+
+        @ExcelReadColumn(headerName = "Amount")
+        @ExcelWriteColumn(headerName = "Amount", order = 3)
+        private BigDecimal amount;
+
+        @ExcelReadColumn(headerName = "Ordered")
+        @ExcelWriteColumn(headerName = "Ordered", order = 4)
+        private LocalDate ordered;
+
+        @ExcelReadColumn(headerName = "Paid")
+        @ExcelWriteColumn(headerName = "Paid", order = 5)
+        private boolean paid;
+
+        public OrderDto() {}
+
+        OrderDto(
+                long id,
+                String customer,
+                BigDecimal amount,
+                LocalDate ordered,
+                boolean paid
+        ) {
+            this.id = id;
+            this.customer = customer;
+            this.amount = amount;
+            this.ordered = ordered;
+            this.paid = paid;
+        }
+    }
+
+    private static List<OrderDto> orders(int count) {
+        List<OrderDto> orders = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            String customer = i % 7 == 0 ? "Kim, \"Jr\"" : i % 11 == 0 ? "" : "customer-" + i;
+            orders.add(new OrderDto(i, customer, new BigDecimal(i + ".25"), LocalDate.of(2024, 1, 1).plusDays(i), i % 2 == 0));
+        }
+        return orders;
+    }
+
+    private static void assertSameOrders(
+            List<OrderDto> actual,
+            List<OrderDto> expected
+    ) {
+        assertThat(actual).hasSameSizeAs(expected);
+        for (int i = 0; i < expected.size(); i++) {
+            assertThat(actual.get(i)).usingRecursiveComparison().isEqualTo(expected.get(i));
+        }
+    }
+
+    @Test
+    @DisplayName("Entities written as CSV read back through the same mapping")
+    void roundTrip() throws Exception {
+        List<OrderDto> orders = orders(500);
+        File file = tempDir.resolve("orders.csv").toFile();
+        new CsvWorkbookWriter().write(orders.iterator(), OrderDto.class, file);
+
+        assertThat(Files.readAllLines(file.toPath()).get(0)).isEqualTo("Id,Customer,Amount,Ordered,Paid");
+        assertThat(Files.readAllLines(file.toPath()).get(1)).isEqualTo("0,\"Kim, \"\"Jr\"\"\",0.25,2024-01-01,true");
+        assertSameOrders(NinjaExcel.readCsv(file, OrderDto.class), orders);
+    }
+
+    @Test
+    @DisplayName("Workbooks written as TSV read back as workbooks and in chunks")
+    void tsvWorkbooks() throws Exception {
+        List<OrderDto> orders = orders(250);
+        File file = tempDir.resolve("orders.tsv").toFile();
+        NinjaExcel.writeCsv(ExcelWorkbook.builder().sheet("Orders", orders).build(), file, CsvFormat.tsv());
+
+        ExcelWorkbook workbook = new CsvWorkbookReader(CsvFormat.tsv()).read(file);
+        ExcelSheet sheet = workbook.getSheet("Sheet1");
+        assertThat(sheet.getHeaders().getHeaderNames()).containsExactly("Id", "Customer", "Amount", "Ordered", "Paid");
+        assertThat(sheet.getRows().size()).isEqualTo(250);
+        assertThat(sheet.getCellValue(1, "Customer")).isEqualTo("customer-1");
+
+        List<OrderDto> chunked = new ArrayList<>();
+        List<Integer> chunkSizes = new ArrayList<>();
+        try (ChunkReader<OrderDto> chunks = NinjaExcel.readCsvInChunks(file, OrderDto.class, 100, CsvFormat.tsv())) {
+            while (chunks.hasNext()) {
+                List<OrderDto> chunk = chunks.next();
+                chunkSizes.add(chunk.size());
+                chunked.addAll(chunk);
+            }
+        }
+        assertThat(chunkSizes).containsExactly(100, 100, 50);
+        assertSameOrders(chunked, orders);
+    }
+
+    @Test
+    @DisplayName("Streams are consumed without being closed and blank records are skipped")
+    void streams() throws Exception {
+        String csv = "\n\"Id\",Customer,Amount,Ordered,Paid\n1,Lee,10,2024-03-01,yes\n,,,,\n2,Park,,2024-03-02,no\n";
+        List<OrderDto> orders = new ArrayList<>();
+        long count = new CsvWorkbookReader().forEach(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), OrderDto.class, orders::add);
+
+        assertThat(count).isEqualTo(2);
+        assertThat(orders.get(0).customer).isEqualTo("Lee");
+        assertThat(orders.get(0).paid).isTrue();
+        assertThat(orders.get(1).amount).isNull();
+        assertThat(orders.get(1).ordered).isEqualTo(LocalDate.of(2024, 3, 2));
+
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new CsvWorkbookWriter(CsvFormat.csv().toBuilder().lineSeparator("\n").build())
+                .write(Collections.singletonList(orders.get(0)).iterator(), OrderDto.class, output);
+        assertThat(output.toString("UTF-8")).isEqualTo("Id,Customer,Amount,Ordered,Paid\n1,Lee,10,2024-03-01,true\n");
+    }
+
+    @Test
+    @DisplayName("Ragged records are padded or cut to the header columns when read as a workbook")
+    void raggedRecords() throws Exception {
+        String csv = "Id,Name,Note\n1,Lee\n2,Park,vip,extra\n";
+        ExcelSheet sheet = new CsvWorkbookReader().read(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)))
+                .getSheet(SheetName.defaultName().getValue());
+
+        assertThat(sheet.getRows().getRows().get(0).getValues()).containsExactly("1", "Lee", null);
+        assertThat(sheet.getRows().getRows().get(1).getValues()).containsExactly("2", "Park", "vip");
+    }
+
+    @Test
+    @DisplayName("Rejects workbooks with several sheets and files without headers")
+    void invalidInput() throws Exception {
+        ExcelWorkbook twoSheets = ExcelWorkbook.builder()
+                .sheet("A", orders(1))
+                .sheet("B", orders(1))
+                .build();
+        assertThatThrownBy(() -> new CsvWorkbookWriter().write(twoSheets, new ByteArrayOutputStream()))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("one sheet");
+
+        File blank = tempDir.resolve("blank.csv").toFile();
+        Files.write(blank.toPath(), Arrays.asList(",,", ""));
+        assertThatThrownBy(() -> new CsvWorkbookReader().read(blank))
+                .hasMessageContaining("No headers");
+    }
+}
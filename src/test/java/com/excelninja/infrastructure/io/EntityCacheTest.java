@@ -0,0 +1,190 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.infrastructure.metadata.EntityMetadata;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Entity cache")
+class EntityCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File writeLookup(
+            String fileName,
+            int rowCount
+    ) throws Exception {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int r = 1; r <= rowCount; r++) {
+            rows.add(Arrays.asList("CODE-" + r, "Description of code " + r));
+        }
+        File file = tempDir.resolve(fileName).toFile();
+        new StreamingWorkbookWriter().write(ExcelWorkbook.builder()
+                .sheet("Codes", ExcelSheet.builder().name("Codes").headers("Code", "Label").rows(rows).build())
+                .build(), file);
+        return file;
+    }
+
+    @Test
+    @DisplayName("NinjaExcel.read serves unchanged files from the cache and reloads changed ones")
+    void readThroughCache() throws Exception {
+        File file = writeLookup("codes.xlsx", 30);
+        EntityCache cache = EntityCache.builder().build();
+
+        NinjaExcel.setEntityCache(cache);
+        try {
+            List<CodeDto> first = NinjaExcel.read(file, CodeDto.class);
+            List<CodeDto> second = NinjaExcel.read(file, CodeDto.class);
+            assertThat(second).isSameAs(first).hasSize(30);
+            assertThat(cache.getMissCount()).isEqualTo(1);
+            assertThat(cache.getHitCount()).isEqualTo(1);
+            assertThatThrownBy(() -> second.add(new CodeDto())).isInstanceOf(UnsupportedOperationException.class);
+
+            List<LabelDto> labels = NinjaExcel.read(file, LabelDto.class);
+            assertThat(labels).hasSize(30);
+            assertThat(cache.getMissCount()).isEqualTo(2);
+            assertThat(cache.getEntryCount()).isEqualTo(2);
+
+            writeLookup("codes.xlsx", 40);
+            assertThat(file.setLastModified(file.lastModified() + 2000)).isTrue();
+            List<CodeDto> changed = NinjaExcel.read(file, CodeDto.class);
+            assertThat(changed).hasSize(40);
+            assertThat(changed.get(39).code).isEqualTo("CODE-40");
+            assertThat(cache.getMissCount()).isEqualTo(3);
+
+            cache.invalidate(file);
+            assertThat(cache.getEntryCount()).isZero();
+            assertThat(cache.getWeightBytes()).isZero();
+        } finally {
+            NinjaExcel.setEntityCache(null);
+        }
+    }
+
+    @Test
+    @DisplayName("Entries expire after their time to live")
+    void expiresAfterTtl() throws Exception {
+        File file = writeLookup("ttl.xlsx", 5);
+        AtomicLong now = new AtomicLong();
+        EntityCache cache = EntityCache.builder().ttl(Duration.ofMinutes(1)).ticker(now::get).build();
+        AtomicInteger loads = new AtomicInteger();
+        EntityMetadata<CodeDto> metadata = EntityMetadata.of(CodeDto.class);
+        EntityCache.Loader<CodeDto> loader = () -> {
+            loads.incrementAndGet();
+            return Arrays.asList(new CodeDto(), new CodeDto());
+        };
+
+        cache.get(file, metadata, loader);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(59));
+        cache.get(file, metadata, loader);
+        assertThat(loads.get()).isEqualTo(1);
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(1));
+        cache.get(file, metadata, loader);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("Content hashes catch same-size rewrites that keep the modification time")
+    void contentHashValidation() throws Exception {
+        Path file = tempDir.resolve("lookup.bin");
+        Files.write(file, "first".getBytes(StandardCharsets.UTF_8));
+        FileTime modified = Files.getLastModifiedTime(file);
+        EntityMetadata<CodeDto> metadata = EntityMetadata.of(CodeDto.class);
+        AtomicInteger loads = new AtomicInteger();
+        EntityCache.Loader<CodeDto> loader = () -> {
+            loads.incrementAndGet();
+            return Arrays.asList(new CodeDto());
+        };
+        EntityCache byAttributes = EntityCache.builder().build();
+        EntityCache byContent = EntityCache.builder().keyStrategy(SheetCache.KeyStrategy.CONTENT_HASH).build();
+        byAttributes.get(file.toFile(), metadata, loader);
+        byContent.get(file.toFile(), metadata, loader);
+
+        Files.write(file, "other".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, modified);
+        byAttributes.get(file.toFile(), metadata, loader);
+        assertThat(loads.get()).isEqualTo(2);
+        byContent.get(file.toFile(), metadata, loader);
+        assertThat(loads.get()).isEqualTo(3);
+        byContent.get(file.toFile(), metadata, loader);
+        assertThat(byContent.getHitCount()).isEqualTo(1);
+
+        assertThat(EntityCache.builder().ttl(Duration.ofNanos(Long.MAX_VALUE)).build()).isNotNull();
+        assertThatThrownBy(() -> EntityCache.builder().ttl(Duration.ofDays(365L * 300)))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("TTL cannot exceed");
+    }
+
+    @Test
+    @DisplayName("Evicts least recently used entries by estimated entity size")
+    void evictsByWeight() throws Exception {
+        EntityMetadata<CodeDto> metadata = EntityMetadata.of(CodeDto.class);
+        List<CodeDto> entities = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            CodeDto dto = new CodeDto();
+            dto.code = "CODE-" + i;
+            entities.add(dto);
+        }
+        long weight = EntityCache.estimateBytes(entities, metadata);
+        assertThat(weight).isGreaterThan(100L * ("CODE-00".length() * 2));
+
+        EntityCache cache = EntityCache.builder().maxWeightBytes(weight * 2).build();
+        File a = writeLookup("a.xlsx", 1);
+        File b = writeLookup("b.xlsx", 1);
+        File c = writeLookup("c.xlsx", 1);
+        cache.get(a, metadata, () -> entities);
+        cache.get(b, metadata, () -> entities);
+        cache.get(a, metadata, () -> entities);
+        cache.get(c, metadata, () -> entities);
+
+        assertThat(cache.getEntryCount()).isEqualTo(2);
+        assertThat(cache.getEvictionCount()).isEqualTo(1);
+        assertThat(cache.getWeightBytes()).isEqualTo(weight * 2);
+        cache.get(a, metadata, () -> entities);
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        cache.get(b, metadata, () -> entities);
+        assertThat(cache.getMissCount()).isEqualTo(4);
+
+        EntityCache tiny = EntityCache.builder().maxWeightBytes(weight - 1).build();
+        tiny.get(a, metadata, () -> entities);
+        assertThat(tiny.getEntryCount()).isZero();
+    }
+
+    public static class CodeDto {
+        @ExcelReadColumn(headerName = "Code")
+        private String code;
+
+        public CodeDto() {}
+    }
+
+    public static class LabelDto {
+        @ExcelReadColumn(headerName = "Label")
+        private String label;
+
+        public LabelDto() {}
+    }
+}
@@ -1,8 +1,10 @@
 package com.excelninja.infrastructure.io;
 
 import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelCreator;
 import com.excelninja.domain.annotation.ExcelReadColumn;
 import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.exception.EntityMappingException;
 import com.excelninja.domain.model.ExcelWorkbook;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
@@ -18,11 +20,15 @@ import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Date;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
 
 class ExcelReaderTest {
@@ -235,6 +241,42 @@ class ExcelReaderTest {
         private String blankCell;
     }
 
+    public static class ImmutableUserDto {
+        @ExcelReadColumn(headerName = "ID")
+        private final Long id;
+
+        @ExcelReadColumn(headerName = "Name")
+        private final String name;
+
+        @ExcelReadColumn(headerName = "Age", defaultValue = "0")
+        private final int age;
+
+        @ExcelCreator
+        public ImmutableUserDto(
+                Long id,
+                String name,
+                int age
+        ) {
+            this.id = id;
+            this.name = name;
+            this.age = age;
+        }
+    }
+
+    public static class MismatchedCreatorDto {
+        @ExcelReadColumn(headerName = "ID")
+        private final Long id;
+
+        @ExcelReadColumn(headerName = "Name")
+        private final String name;
+
+        @ExcelCreator
+        public MismatchedCreatorDto(Long id) {
+            this.id = id;
+            this.name = null;
+        }
+    }
+
     @Test
     @DisplayName("엑셀 파일에서 유효한 데이터 쓰고 읽기")
     void readValidExcelFile() {
@@ -459,4 +501,41 @@ class ExcelReaderTest {
         assertThat(rows.get(0).explicitEmpty).isEqualTo("");
         assertThat(rows.get(0).blankCell).isEqualTo("fallback");
     }
+
+    @Test
+    @DisplayName("Immutable entities are created through their @ExcelCreator constructor by every reader")
+    void immutableEntitiesAreCreatedThroughCreatorConstructor() {
+        List<UserTestDto> testData = Arrays.asList(
+                new UserTestDto(1L, "Alice", 30, new BigDecimal("1.5"), LocalDate.of(1993, 1, 1), LocalDateTime.of(2024, 1, 15, 10, 30)),
+                new UserTestDto(2L, "Bob", null, new BigDecimal("2.5"), LocalDate.of(1990, 5, 5), LocalDateTime.of(2024, 2, 1, 8, 0))
+        );
+
+        Path testFile = tempDir.resolve("immutable_users.xlsx");
+        NinjaExcel.write(ExcelWorkbook.builder().sheet(testData).build(), testFile.toString());
+
+        List<ImmutableUserDto> rows = NinjaExcel.read(testFile.toFile(), ImmutableUserDto.class);
+        assertThat(rows).hasSize(2);
+        assertThat(rows.get(0).id).isEqualTo(1L);
+        assertThat(rows.get(0).name).isEqualTo("Alice");
+        assertThat(rows.get(0).age).isEqualTo(30);
+        assertThat(rows.get(1).age).isEqualTo(0);
+
+        Set<ImmutableUserDto> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+        List<String> names = new ArrayList<>();
+        NinjaExcel.forEach(testFile.toFile(), ImmutableUserDto.class, row -> {
+            instances.add(row);
+            names.add(row.name);
+        }, true);
+
+        assertThat(names).containsExactly("Alice", "Bob");
+        assertThat(instances).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("@ExcelCreator constructors must take every read field")
+    void creatorConstructorMustCoverAllReadFields() {
+        assertThatThrownBy(() -> com.excelninja.infrastructure.metadata.EntityMetadata.of(MismatchedCreatorDto.class))
+                .isInstanceOf(EntityMappingException.class)
+                .hasMessageContaining("takes 1 parameters but 2 @ExcelReadColumn fields");
+    }
 }
@@ -3,9 +3,13 @@ package com.excelninja.infrastructure.io;
 import com.excelninja.application.facade.NinjaExcel;
 import com.excelninja.domain.annotation.ExcelReadColumn;
 import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.model.AutoSizeStrategy;
 import com.excelninja.domain.model.ExcelSheet;
 import com.excelninja.domain.model.ExcelWorkbook;
 import com.excelninja.domain.model.SheetMetadata;
+import com.excelninja.domain.model.WriteOptions;
+import com.excelninja.domain.exception.DocumentConversionException;
+import org.apache.poi.ss.usermodel.BorderStyle;
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
@@ -16,13 +20,17 @@ import org.junit.jupiter.api.Test;
 import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -393,4 +401,147 @@ class ExcelWriterTest {
             assertTrue(enabledWidth > disabledWidth);
         }
     }
+
+    @Test
+    @DisplayName("Estimated auto-size widens columns to their longest sampled value without font metrics")
+    void estimatedAutoSizeTracksLongestValue() throws Exception {
+        List<List<Object>> rows = Arrays.asList(
+                Arrays.<Object>asList("short", 1, LocalDate.of(2024, 1, 1)),
+                Arrays.<Object>asList("A considerably longer text value", 1234567890L, LocalDate.of(2024, 1, 2)),
+                Arrays.<Object>asList("An even longer value that lies outside of the sample", 1, LocalDate.of(2024, 1, 3))
+        );
+
+        ExcelSheet estimated = ExcelSheet.builder()
+                .name("Estimated")
+                .headers("Text", "Number", "Date")
+                .rows(rows)
+                .autoSizeColumns(AutoSizeStrategy.ESTIMATED)
+                .build();
+        ExcelSheet sampled = ExcelSheet.builder()
+                .name("Sampled")
+                .headers("Text", "Number", "Date")
+                .rows(rows)
+                .autoSizeColumns(AutoSizeStrategy.ESTIMATED)
+                .autoSizeSampleRows(2)
+                .build();
+
+        assertEquals(AutoSizeStrategy.MEASURED, new SheetMetadata().getAutoSizeStrategy());
+        assertEquals(2, sampled.getMetadata().getAutoSizeSampleRows());
+
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        NinjaExcel.write(ExcelWorkbook.builder().sheet("Estimated", estimated).sheet("Sampled", sampled).build(), outputStream);
+
+        try (Workbook poiWorkbook = WorkbookFactory.create(new ByteArrayInputStream(outputStream.toByteArray()))) {
+            Sheet estimatedSheet = poiWorkbook.getSheet("Estimated");
+            Sheet sampledSheet = poiWorkbook.getSheet("Sampled");
+
+            assertTrue(estimatedSheet.getColumnWidth(0) > sampledSheet.getColumnWidth(0));
+            assertTrue(sampledSheet.getColumnWidth(0) > estimatedSheet.getColumnWidth(2));
+            assertTrue(estimatedSheet.getColumnWidth(1) >= 10 * 256);
+            assertTrue(estimatedSheet.getColumnWidth(2) >= 9 * 256);
+            assertEquals(estimatedSheet.getColumnWidth(1), sampledSheet.getColumnWidth(1));
+        }
+    }
+
+    @Test
+    @DisplayName("Estimated text widths follow the character width table")
+    void estimatedTextWidths() {
+        assertEquals(70, ColumnWidthEstimator.textWidth("0123456789"));
+        assertTrue(ColumnWidthEstimator.textWidth("WWWW") > ColumnWidthEstimator.textWidth("iiii"));
+        assertEquals(2 * ColumnWidthEstimator.textWidth("00"), ColumnWidthEstimator.textWidth("가나"));
+        assertEquals(ColumnWidthEstimator.textWidth("longest line"), ColumnWidthEstimator.textWidth("short\nlongest line"));
+    }
+
+    @Test
+    @DisplayName("Fast write options skip data cell borders and shared strings but read back identically")
+    void fastWriteOptions() throws Exception {
+        List<UserWriteDto> users = Arrays.asList(
+                new UserWriteDto(1L, "  Alice  ", 30, new BigDecimal("85000.50"), LocalDate.of(2020, 3, 15), LocalDateTime.of(2024, 1, 15, 9, 30, 0), true),
+                new UserWriteDto(2L, "Alice  ", null, new BigDecimal("12345678901234567890.123"), null, null, false)
+        );
+        ExcelWorkbook workbook = ExcelWorkbook.builder().sheet("Users", users).build();
+
+        ByteArrayOutputStream defaultOutput = new ByteArrayOutputStream();
+        NinjaExcel.write(workbook, defaultOutput);
+        ByteArrayOutputStream fastOutput = new ByteArrayOutputStream();
+        NinjaExcel.write(workbook, fastOutput, WriteOptions.fast());
+
+        String fastSheetXml = zipEntry(fastOutput.toByteArray(), "xl/worksheets/sheet1.xml");
+        assertTrue(fastSheetXml.contains("t=\"inlineStr\""));
+        assertFalse(fastSheetXml.contains("t=\"s\""));
+        assertTrue(zipEntry(defaultOutput.toByteArray(), "xl/worksheets/sheet1.xml").contains("t=\"s\""));
+
+        try (Workbook poiWorkbook = WorkbookFactory.create(new ByteArrayInputStream(fastOutput.toByteArray()))) {
+            Row row = poiWorkbook.getSheet("Users").getRow(1);
+            assertEquals("  Alice  ", row.getCell(1).getStringCellValue());
+            assertEquals(BorderStyle.NONE, row.getCell(1).getCellStyle().getBorderTop());
+            assertEquals(BorderStyle.NONE, row.getCell(4).getCellStyle().getBorderTop());
+            assertEquals("yyyy-mm-dd", row.getCell(4).getCellStyle().getDataFormatString());
+            assertEquals("ID", poiWorkbook.getSheet("Users").getRow(0).getCell(0).getStringCellValue());
+            assertEquals(BorderStyle.THIN, poiWorkbook.getSheet("Users").getRow(0).getCell(0).getCellStyle().getBorderTop());
+        }
+
+        Path defaultFile = Files.createTempFile("default_options", ".xlsx");
+        Path fastFile = Files.createTempFile("fast_options", ".xlsx");
+        try {
+            Files.write(defaultFile, defaultOutput.toByteArray());
+            Files.write(fastFile, fastOutput.toByteArray());
+            List<UserReadDto> expected = NinjaExcel.read(defaultFile.toFile(), UserReadDto.class);
+            List<UserReadDto> actual = NinjaExcel.read(fastFile.toFile(), UserReadDto.class);
+            assertEquals(expected.size(), actual.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).name, actual.get(i).name);
+                assertEquals(expected.get(i).salary, actual.get(i).salary);
+                assertEquals(expected.get(i).hireDate, actual.get(i).hireDate);
+                assertEquals(expected.get(i).lastLogin, actual.get(i).lastLogin);
+            }
+        } finally {
+            Files.deleteIfExists(defaultFile);
+            Files.deleteIfExists(fastFile);
+        }
+    }
+
+    @Test
+    @DisplayName("The compression level of write options is applied to the package")
+    void compressionLevelWriteOption() throws Exception {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            rows.add(Arrays.<Object>asList("row-" + i, i));
+        }
+        ExcelWorkbook workbook = ExcelWorkbook.builder()
+                .sheet("Data", ExcelSheet.builder().name("Data").headers("Key", "Value").rows(rows).build())
+                .build();
+
+        ByteArrayOutputStream defaultOutput = new ByteArrayOutputStream();
+        new PoiWorkbookWriter().write(workbook, defaultOutput);
+        ByteArrayOutputStream uncompressedOutput = new ByteArrayOutputStream();
+        new PoiWorkbookWriter(WriteOptions.builder().compressionLevel(WriteOptions.NO_COMPRESSION).build()).write(workbook, uncompressedOutput);
+
+        assertTrue(uncompressedOutput.size() > defaultOutput.size() * 3);
+        try (Workbook poiWorkbook = WorkbookFactory.create(new ByteArrayInputStream(uncompressedOutput.toByteArray()))) {
+            assertEquals("row-1999", poiWorkbook.getSheet("Data").getRow(2000).getCell(0).getStringCellValue());
+        }
+        assertThrows(DocumentConversionException.class, () -> WriteOptions.builder().compressionLevel(12).build());
+    }
+
+    private static String zipEntry(
+            byte[] xlsx,
+            String name
+    ) throws Exception {
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                if (entry.getName().equals(name)) {
+                    ByteArrayOutputStream content = new ByteArrayOutputStream();
+                    byte[] chunk = new byte[8192];
+                    int read;
+                    while ((read = zip.read(chunk)) != -1) {
+                        content.write(chunk, 0, read);
+                    }
+                    return new String(content.toByteArray(), StandardCharsets.UTF_8);
+                }
+            }
+        }
+        throw new AssertionError("Missing zip entry " + name);
+    }
 }
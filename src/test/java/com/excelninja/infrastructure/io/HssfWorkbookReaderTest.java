@@ -0,0 +1,212 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ChunkReader;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.SheetVisibility;
+import org.apache.poi.hssf.usermodel.HSSFWorkbook;
+import org.apache.poi.ss.usermodel.Cell;
+import org.apache.poi.ss.usermodel.CellStyle;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.ss.usermodel.Row;
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Legacy xls reader")
+class HssfWorkbookReaderTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File save(
+            Workbook workbook,
+            String name
+    ) throws Exception {
+        File file = tempDir.resolve(name).toFile();
+        try (OutputStream output = new FileOutputStream(file)) {
+            workbook.write(output);
+        }
+        workbook.close();
+        return file;
+    }
+
+    private static void fillTypedSheet(Workbook workbook) {
+        Sheet sheet = workbook.createSheet("Typed");
+        CellStyle dateStyle = workbook.createCellStyle();
+        dateStyle.setDataFormat(workbook.getCreationHelper().createDataFormat().getFormat("yyyy-mm-dd"));
+
+        Row header = sheet.createRow(0);
+        String[] headers = {"Name", "Count", "Price", "Active", "Since", "Label", "Total", "Broken"};
+        for (int col = 0; col < headers.length; col++) {
+            header.createCell(col).setCellValue(headers[col]);
+        }
+        for (int r = 1; r <= 3; r++) {
+            Row row = sheet.createRow(r + (r == 3 ? 2 : 0));
+            row.createCell(0).setCellValue("item-" + r);
+            row.createCell(1).setCellValue(r * 10);
+            row.createCell(2).setCellValue(r + 0.25);
+            row.createCell(3).setCellValue(r % 2 == 1);
+            Cell since = row.createCell(4);
+            since.setCellValue(LocalDateTime.of(2024, r, 15, 0, 0));
+            since.setCellStyle(dateStyle);
+            int excelRow = row.getRowNum() + 1;
+            row.createCell(5).setCellFormula("A" + excelRow + "&\"-x\"");
+            row.createCell(6).setCellFormula("B" + excelRow + "*2");
+            row.createCell(7).setCellErrorValue(FormulaError.DIV0.getCode());
+        }
+        workbook.getCreationHelper().createFormulaEvaluator().evaluateAll();
+    }
+
+    @Test
+    @DisplayName("Cell values have the same types as the xlsx streaming reader")
+    void matchesStreamingReader() throws Exception {
+        HSSFWorkbook legacy = new HSSFWorkbook();
+        fillTypedSheet(legacy);
+        File xls = save(legacy, "typed.xls");
+        XSSFWorkbook modern = new XSSFWorkbook();
+        fillTypedSheet(modern);
+        File xlsx = save(modern, "typed.xlsx");
+
+        ExcelSheet expected = new StreamingWorkbookReader().readFirstSheet(xlsx);
+        ExcelSheet actual = new HssfWorkbookReader().readFirstSheet(xls);
+
+        assertThat(actual.getHeaders().getHeaderNames()).isEqualTo(expected.getHeaders().getHeaderNames());
+        assertThat(actual.getRows().getRows()).isEqualTo(expected.getRows().getRows());
+        assertThat(actual.getRows().size()).isEqualTo(3);
+        assertThat(actual.getCellValue(0, "Count")).isEqualTo(10L);
+        assertThat(actual.getCellValue(0, "Price")).isEqualTo(1.25);
+        assertThat(actual.getCellValue(1, "Active")).isEqualTo(false);
+        assertThat(actual.getCellValue(2, "Label")).isEqualTo("item-3-x");
+        assertThat(actual.getCellValue(2, "Total")).isEqualTo(60L);
+        assertThat(actual.getCellValue(0, "Broken")).isEqualTo("ERROR: #DIV/0!");
+    }
+
+    @Test
+    @DisplayName("Reads selected sheets, names and dimension row counts")
+    void multipleSheets() throws Exception {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        for (String name : Arrays.asList("Orders", "Lookup", "Archive")) {
+            Sheet sheet = workbook.createSheet(name);
+            sheet.createRow(0).createCell(0).setCellValue("Key");
+            for (int r = 1; r <= name.length(); r++) {
+                sheet.createRow(r).createCell(0).setCellValue(name + "-" + r);
+            }
+        }
+        workbook.setSheetVisibility(1, org.apache.poi.ss.usermodel.SheetVisibility.HIDDEN);
+        workbook.setSheetVisibility(2, org.apache.poi.ss.usermodel.SheetVisibility.VERY_HIDDEN);
+        File file = save(workbook, "sheets.xls");
+        HssfWorkbookReader reader = new HssfWorkbookReader();
+
+        assertThat(reader.getSheetNames(file)).containsExactly("Orders", "Lookup", "Archive");
+        assertThat(reader.getSheetInfo(file)).containsExactly(
+                new SheetInfo("Orders", SheetVisibility.VISIBLE, 7),
+                new SheetInfo("Lookup", SheetVisibility.HIDDEN, 7),
+                new SheetInfo("Archive", SheetVisibility.VERY_HIDDEN, 8));
+        assertThat(reader.readSheets(file, Arrays.asList("Archive", "Missing", "Orders")))
+                .extracting(sheet -> sheet.getName().getValue())
+                .containsExactly("Archive", "Orders");
+        assertThat(reader.readSheet(file, "Lookup").getCellValue(5, "Key")).isEqualTo("Lookup-6");
+
+        ExcelWorkbook all;
+        try (InputStream input = new FileInputStream(file)) {
+            all = reader.read(input);
+        }
+        assertThat(all.getSheetNames()).containsExactly("Orders", "Lookup", "Archive");
+        assertThat(all.getSheet("Archive").getRows().size()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Chunks and row callbacks pull rows without materializing the sheet")
+    void chunksAndForEach() throws Exception {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        Sheet sheet = workbook.createSheet("Data");
+        sheet.createRow(0).createCell(0).setCellValue("Key");
+        sheet.getRow(0).createCell(1).setCellValue("Value");
+        for (int r = 1; r <= 5000; r++) {
+            Row row = sheet.createRow(r);
+            row.createCell(0).setCellValue("key-" + r);
+            row.createCell(1).setCellValue(r);
+        }
+        File file = save(workbook, "large.xls");
+        HssfWorkbookReader reader = new HssfWorkbookReader();
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        KeyValueDto last = null;
+        try (ChunkReader<KeyValueDto> chunks = reader.readInChunks(file, KeyValueDto.class, 1024)) {
+            while (chunks.hasNext()) {
+                List<KeyValueDto> chunk = chunks.next();
+                chunkSizes.add(chunk.size());
+                last = chunk.get(chunk.size() - 1);
+            }
+        }
+        assertThat(chunkSizes).containsExactly(1024, 1024, 1024, 1024, 904);
+        assertThat(last.key).isEqualTo("key-5000");
+        assertThat(last.value).isEqualTo(5000);
+
+        long[] sum = new long[1];
+        long delivered = reader.forEach(file, KeyValueDto.class, dto -> sum[0] += dto.value);
+        assertThat(delivered).isEqualTo(5000);
+        assertThat(sum[0]).isEqualTo(5000L * 5001 / 2);
+    }
+
+    @Test
+    @DisplayName("NinjaExcel detects xls files by content, not by extension")
+    void detectsFormatFromMagicBytes() throws Exception {
+        HSSFWorkbook workbook = new HSSFWorkbook();
+        Sheet sheet = workbook.createSheet("Data");
+        sheet.createRow(0).createCell(0).setCellValue("Key");
+        sheet.getRow(0).createCell(1).setCellValue("Value");
+        Row row = sheet.createRow(1);
+        row.createCell(0).setCellValue("only");
+        row.createCell(1).setCellValue(42);
+        File misnamed = save(workbook, "upload.xlsx");
+
+        assertThat(WorkbookFormat.detect(misnamed)).isEqualTo(WorkbookFormat.XLS);
+        List<KeyValueDto> dtos = NinjaExcel.read(misnamed, KeyValueDto.class);
+        assertThat(dtos).hasSize(1);
+        assertThat(dtos.get(0).key).isEqualTo("only");
+        assertThat(dtos.get(0).value).isEqualTo(42);
+        assertThat(NinjaExcel.getSheetNames(misnamed)).containsExactly("Data");
+        assertThat(NinjaExcel.readAllSheets(misnamed, KeyValueDto.class)).containsOnlyKeys("Data");
+        assertThatThrownBy(() -> NinjaExcel.inspect(misnamed))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("xls workbook");
+
+        File xlsx = tempDir.resolve("real.xlsx").toFile();
+        new StreamingWorkbookWriter().write(new HssfWorkbookReader().read(misnamed), xlsx);
+        assertThat(WorkbookFormat.detect(xlsx)).isEqualTo(WorkbookFormat.XLSX);
+        assertThat(NinjaExcel.read(xlsx, KeyValueDto.class)).hasSize(1);
+    }
+
+    public static class KeyValueDto {
+        @ExcelReadColumn(headerName = "Key")
+        private String key;
+
+        @ExcelReadColumn(headerName = "Value")
+        private int value;
+
+        public KeyValueDto() {}
+    }
+}
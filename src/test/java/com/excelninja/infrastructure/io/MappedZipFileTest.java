@@ -0,0 +1,174 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ChunkReader;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import org.apache.commons.compress.archivers.zip.Zip64Mode;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Memory-mapped xlsx access")
+class MappedZipFileTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File writeWorkbook(String name) throws Exception {
+        ExcelWorkbook.WorkbookBuilder builder = ExcelWorkbook.builder();
+        for (int sheet = 1; sheet <= 3; sheet++) {
+            List<List<Object>> rows = new ArrayList<>();
+            for (int row = 0; row < 200; row++) {
+                rows.add(Arrays.<Object>asList("sheet-" + sheet + "-row-" + row, row));
+            }
+            builder.sheet("Sheet" + sheet, ExcelSheet.builder().name("Sheet" + sheet).headers("Key", "Value").rows(rows).build());
+        }
+        File file = tempDir.resolve(name).toFile();
+        new StreamingWorkbookWriter().write(builder.build(), file);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Reading one sheet never touches the data of the other sheets")
+    void untouchedEntriesAreNotRead() throws Exception {
+        File file = writeWorkbook("orders.xlsx");
+        long offset;
+        long length;
+        try (ZipFile zip = ZipFile.builder().setFile(file).get()) {
+            ZipArchiveEntry entry = zip.getEntry("xl/worksheets/sheet3.xml");
+            offset = entry.getDataOffset();
+            length = entry.getCompressedSize();
+        }
+        try (RandomAccessFile raw = new RandomAccessFile(file, "rw")) {
+            raw.seek(offset);
+            byte[] garbage = new byte[(int) length];
+            Arrays.fill(garbage, (byte) 0xFF);
+            raw.write(garbage);
+        }
+
+        StreamingWorkbookReader reader = new StreamingWorkbookReader();
+        ExcelSheet sheet = reader.readSheet(file, "Sheet1");
+        assertThat(sheet.getRows().size()).isEqualTo(200);
+        assertThat(sheet.getCellValue(199, "Key")).isEqualTo("sheet-1-row-199");
+        assertThat(reader.getSheetNames(file)).containsExactly("Sheet1", "Sheet2", "Sheet3");
+
+        assertThatThrownBy(() -> reader.readSheet(file, "Sheet3")).isInstanceOf(DocumentConversionException.class);
+    }
+
+    @Test
+    @DisplayName("Files and streams read back the same workbook")
+    void fileAndStreamAgree() throws Exception {
+        File file = writeWorkbook("agree.xlsx");
+        StreamingWorkbookReader reader = new StreamingWorkbookReader();
+
+        ExcelWorkbook mapped = reader.read(file);
+        ExcelWorkbook streamed;
+        try (InputStream input = new FileInputStream(file)) {
+            streamed = reader.read(input);
+        }
+
+        assertThat(mapped.getSheetNames()).isEqualTo(streamed.getSheetNames());
+        for (String sheetName : mapped.getSheetNames()) {
+            assertThat(mapped.getSheet(sheetName).getRows().getRows())
+                    .isEqualTo(streamed.getSheet(sheetName).getRows().getRows());
+        }
+        assertThat(reader.readSheets(file, Arrays.asList("Sheet3", "Missing", "Sheet1")))
+                .extracting(sheet -> sheet.getName().getValue())
+                .containsExactly("Sheet3", "Sheet1");
+
+        List<List<Object>> chunked = new ArrayList<>();
+        try (ChunkReader<KeyDto> chunks = reader.readInChunks(file, KeyDto.class, 64)) {
+            while (chunks.hasNext()) {
+                for (KeyDto dto : chunks.next()) {
+                    chunked.add(Collections.<Object>singletonList(dto.key));
+                }
+            }
+        }
+        assertThat(chunked).hasSize(200);
+    }
+
+    @Test
+    @DisplayName("ZIP64 archives with stored entries are read")
+    void zip64StoredEntries() throws Exception {
+        File source = writeWorkbook("source.xlsx");
+        File zip64 = tempDir.resolve("zip64.xlsx").toFile();
+        try (ZipFile zip = ZipFile.builder().setFile(source).get();
+             ZipArchiveOutputStream output = new ZipArchiveOutputStream(zip64)) {
+            output.setUseZip64(Zip64Mode.Always);
+            for (ZipArchiveEntry entry : Collections.list(zip.getEntries())) {
+                ZipArchiveEntry copy = new ZipArchiveEntry(entry.getName());
+                copy.setMethod(entry.getName().endsWith("sheet2.xml") ? ZipEntry.STORED : ZipEntry.DEFLATED);
+                byte[] content;
+                try (InputStream input = zip.getInputStream(entry)) {
+                    content = toBytes(input);
+                }
+                if (copy.getMethod() == ZipEntry.STORED) {
+                    CRC32 crc = new CRC32();
+                    crc.update(content);
+                    copy.setSize(content.length);
+                    copy.setCrc(crc.getValue());
+                }
+                output.putArchiveEntry(copy);
+                output.write(content);
+                output.closeArchiveEntry();
+            }
+        }
+
+        ExcelSheet sheet = new StreamingWorkbookReader().readSheet(zip64, "Sheet2");
+        assertThat(sheet.getCellValue(0, "Key")).isEqualTo("sheet-2-row-0");
+        assertThat(sheet.getCellValue(199, "Value")).isEqualTo(199L);
+    }
+
+    @Test
+    @DisplayName("Missing files fail with an I/O error and other files with a conversion error")
+    void invalidFiles() throws Exception {
+        StreamingWorkbookReader reader = new StreamingWorkbookReader();
+        assertThatThrownBy(() -> reader.read(tempDir.resolve("absent.xlsx").toFile()))
+                .isInstanceOf(NoSuchFileException.class);
+
+        File text = tempDir.resolve("text.xlsx").toFile();
+        Files.write(text.toPath(), "not a zip archive at all".getBytes(StandardCharsets.UTF_8));
+        assertThatThrownBy(() -> reader.read(text)).isInstanceOf(DocumentConversionException.class);
+    }
+
+    public static class KeyDto {
+        @ExcelReadColumn(headerName = "Key")
+        private String key;
+
+        public KeyDto() {}
+    }
+
+    private static byte[] toBytes(InputStream input) throws Exception {
+        ByteArrayOutputStream content = new ByteArrayOutputStream();
+        byte[] chunk = new byte[8192];
+        int read;
+        while ((read = input.read(chunk)) != -1) {
+            content.write(chunk, 0, read);
+        }
+        return content.toByteArray();
+    }
+}
@@ -0,0 +1,216 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Sheet cache")
+class SheetCacheTest {
+
+    @TempDir
+    Path tempDir;
+
+    private static ExcelSheet priceSheet(
+            String name,
+            int rowCount
+    ) {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int r = 1; r <= rowCount; r++) {
+            rows.add(Arrays.asList("SKU-" + r, r % 3 == 0 ? "EUR" : "USD", (long) r, r + 0.99));
+        }
+        return ExcelSheet.builder().name(name).headers("Sku", "Currency", "Quantity", "Price").rows(rows).build();
+    }
+
+    private File writeWorkbook(
+            String fileName,
+            ExcelSheet sheet
+    ) throws Exception {
+        File file = tempDir.resolve(fileName).toFile();
+        new StreamingWorkbookWriter().write(ExcelWorkbook.builder().sheet(sheet.getName().getValue(), sheet).build(), file);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Snapshots round-trip every value type the readers produce")
+    void snapshotRoundTrip() throws Exception {
+        List<List<Object>> rows = Arrays.asList(
+                Arrays.asList("alpha", 42L, 1.5, true, new Date(1_700_000_000_000L), null, 7,
+                        LocalDate.of(2024, 2, 29), LocalDateTime.of(2024, 2, 29, 23, 59, 58, 123_000_000), new BigDecimal("-12.340")),
+                Arrays.asList("alpha", -1L, Double.NaN, false, null, "ERROR: #N/A", null, null, null, null));
+        ExcelSheet sheet = ExcelSheet.builder()
+                .name("Types")
+                .headers("S", "L", "D", "B", "Date", "Err", "I", "LD", "LDT", "Dec")
+                .rows(rows)
+                .build();
+
+        ByteArrayOutputStream snapshot = new ByteArrayOutputStream();
+        SheetSnapshot.write(sheet, snapshot);
+        ExcelSheet restored = SheetSnapshot.read(new ByteArrayInputStream(snapshot.toByteArray()), snapshot.size());
+
+        assertThat(restored.getName()).isEqualTo(sheet.getName());
+        assertThat(restored.getHeaders().getHeaderNames()).isEqualTo(sheet.getHeaders().getHeaderNames());
+        assertThat(restored.getRows().getRows()).isEqualTo(sheet.getRows().getRows());
+    }
+
+    @Test
+    @DisplayName("Serves repeats from memory, restarts from disk and reloads changed files")
+    void tiersAndInvalidation() throws Exception {
+        File file = writeWorkbook("prices.xlsx", priceSheet("Prices", 50));
+        Path directory = tempDir.resolve("cache");
+        AtomicInteger loads = new AtomicInteger();
+        SheetCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return new StreamingWorkbookReader().readSheet(file, "Prices");
+        };
+
+        SheetCache cache = SheetCache.builder().directory(directory).build();
+        ExcelSheet first = cache.get(file, "Prices", loader);
+        ExcelSheet second = cache.get(file, "Prices", loader);
+        assertThat(second).isSameAs(first);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+        assertThat(cache.getMemoryHits()).isEqualTo(1);
+
+        SheetCache restarted = SheetCache.builder().directory(directory).build();
+        ExcelSheet fromDisk = restarted.get(file, "Prices", loader);
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(restarted.getDiskHits()).isEqualTo(1);
+        assertThat(fromDisk.getRows().getRows()).isEqualTo(first.getRows().getRows());
+
+        writeWorkbook("prices.xlsx", priceSheet("Prices", 60));
+        assertThat(file.setLastModified(file.lastModified() + 2000)).isTrue();
+        ExcelSheet changed = restarted.get(file, "Prices", loader);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(changed.getRows().size()).isEqualTo(60);
+
+        restarted.clear();
+        assertThat(restarted.getMemoryEntryCount()).isZero();
+        try (Stream<Path> snapshots = Files.list(directory)) {
+            assertThat(snapshots).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Bounds the memory tier by estimated size and the disk tier by file size")
+    void sizeBounds() throws Exception {
+        File file = writeWorkbook("many.xlsx", priceSheet("Prices", 200));
+        long sheetBytes = SheetCache.estimateBytes(priceSheet("Prices", 200));
+        Path directory = tempDir.resolve("bounded");
+        SheetCache cache = SheetCache.builder()
+                .maxMemoryBytes(sheetBytes + sheetBytes / 2)
+                .directory(directory)
+                .maxDiskBytes(1)
+                .build();
+
+        for (String name : Arrays.asList("A", "B", "C")) {
+            cache.get(file, name, () -> priceSheet(name, 200));
+        }
+
+        assertThat(cache.getMemoryEntryCount()).isEqualTo(1);
+        assertThat(cache.getMemoryBytes()).isEqualTo(sheetBytes);
+        cache.get(file, "C", () -> null);
+        assertThat(cache.getMemoryHits()).isEqualTo(1);
+        try (Stream<Path> snapshots = Files.list(directory)) {
+            assertThat(snapshots).isEmpty();
+        }
+    }
+
+    @Test
+    @DisplayName("Corrupt snapshots count as misses and stale temporary files are deleted")
+    void corruptSnapshotsAndStaleTemps() throws Exception {
+        byte[] oversized = {0x4E, 0x4A, 0x53, 0x31, 1, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, (byte) 0xFF, 0x07};
+        assertThatThrownBy(() -> SheetSnapshot.read(new ByteArrayInputStream(oversized), oversized.length))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("exceeds the remaining bytes");
+
+        File file = writeWorkbook("codes.xlsx", priceSheet("Prices", 10));
+        Path directory = tempDir.resolve("corrupt");
+        AtomicInteger loads = new AtomicInteger();
+        SheetCache.Loader loader = () -> {
+            loads.incrementAndGet();
+            return new StreamingWorkbookReader().readSheet(file, "Prices");
+        };
+        SheetCache.builder().directory(directory).build().get(file, "Prices", loader);
+        Path snapshot;
+        try (Stream<Path> snapshots = Files.list(directory)) {
+            snapshot = snapshots.findFirst().orElseThrow(IllegalStateException::new);
+        }
+        Files.write(snapshot, oversized);
+
+        Path staleTemp = Files.write(directory.resolve("snapshot-crashed.tmp"), new byte[16]);
+        Files.setLastModifiedTime(staleTemp, FileTime.fromMillis(System.currentTimeMillis() - TimeUnit.HOURS.toMillis(1)));
+        Path freshTemp = Files.write(directory.resolve("snapshot-writing.tmp"), new byte[16]);
+
+        SheetCache restarted = SheetCache.builder().directory(directory).build();
+        ExcelSheet reloaded = restarted.get(file, "Prices", loader);
+        assertThat(reloaded.getRows().size()).isEqualTo(10);
+        assertThat(loads.get()).isEqualTo(2);
+        assertThat(restarted.getMisses()).isEqualTo(1);
+        assertThat(staleTemp).doesNotExist();
+        assertThat(freshTemp).exists();
+        assertThat(SheetSnapshot.read(new ByteArrayInputStream(Files.readAllBytes(snapshot)), Files.size(snapshot)).getRows().size())
+                .isEqualTo(10);
+    }
+
+    @Test
+    @DisplayName("NinjaExcel.readSheet uses the configured cache; content hashes recognize copies")
+    void ninjaExcelReadSheet() throws Exception {
+        File file = writeWorkbook("lookup.xlsx", priceSheet("Lookup", 20));
+        File copy = tempDir.resolve("lookup-copy.xlsx").toFile();
+        Files.copy(file.toPath(), copy.toPath());
+        SheetCache cache = SheetCache.builder()
+                .keyStrategy(SheetCache.KeyStrategy.CONTENT_HASH)
+                .directory(tempDir.resolve("hashed"))
+                .build();
+
+        NinjaExcel.setSheetCache(cache);
+        try {
+            List<PriceDto> first = NinjaExcel.readSheet(file, "Lookup", PriceDto.class);
+            List<PriceDto> second = NinjaExcel.readSheet(copy, "Lookup", PriceDto.class);
+
+            assertThat(first).hasSize(20);
+            assertThat(second).hasSize(20);
+            assertThat(second.get(19).sku).isEqualTo("SKU-20");
+            assertThat(second.get(19).price).isEqualTo(20.99);
+            assertThat(cache.getMisses()).isEqualTo(1);
+            assertThat(cache.getMemoryHits()).isEqualTo(1);
+        } finally {
+            NinjaExcel.setSheetCache(null);
+        }
+    }
+
+    public static class PriceDto {
+        @ExcelReadColumn(headerName = "Sku")
+        private String sku;
+
+        @ExcelReadColumn(headerName = "Price")
+        private double price;
+
+        public PriceDto() {}
+    }
+}
@@ -0,0 +1,95 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.SheetVisibility;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Sheet info probe")
+class SheetInfoProbeTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    @DisplayName("Reports names, visibility and dimension row counts in workbook order")
+    void describesSheets() throws Exception {
+        File file = tempDir.resolve("upload.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            fill(workbook.createSheet("Orders"), 120);
+            fill(workbook.createSheet("Lookup"), 5);
+            fill(workbook.createSheet("Macros"), 1);
+            workbook.setSheetVisibility(1, org.apache.poi.ss.usermodel.SheetVisibility.HIDDEN);
+            workbook.setSheetVisibility(2, org.apache.poi.ss.usermodel.SheetVisibility.VERY_HIDDEN);
+            try (OutputStream output = new FileOutputStream(file)) {
+                workbook.write(output);
+            }
+        }
+
+        List<SheetInfo> expected = Arrays.asList(
+                new SheetInfo("Orders", SheetVisibility.VISIBLE, 120),
+                new SheetInfo("Lookup", SheetVisibility.HIDDEN, 5),
+                new SheetInfo("Macros", SheetVisibility.VERY_HIDDEN, 1));
+        assertThat(NinjaExcel.getSheetInfo(file)).isEqualTo(expected);
+        try (InputStream input = new FileInputStream(file)) {
+            assertThat(new StreamingWorkbookReader().getSheetInfo(input)).isEqualTo(expected);
+        }
+        assertThat(new PoiWorkbookReader().getSheetNames(file)).containsExactly("Orders", "Lookup", "Macros");
+    }
+
+    @Test
+    @DisplayName("Counts the header row of streaming exports")
+    void streamingExport() throws Exception {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int row = 0; row < 1000; row++) {
+            rows.add(Arrays.<Object>asList("row-" + row, row));
+        }
+        ExcelWorkbook workbook = ExcelWorkbook.builder()
+                .sheet("Data", ExcelSheet.builder().name("Data").headers("Key", "Value").rows(rows).build())
+                .build();
+        File file = tempDir.resolve("export.xlsx").toFile();
+        new StreamingWorkbookWriter().write(workbook, file);
+
+        SheetInfo info = new StreamingWorkbookReader().getSheetInfo(file).get(0);
+        assertThat(info.getName()).isEqualTo("Data");
+        assertThat(info.isVisible()).isTrue();
+        assertThat(info.getRowCount()).isEqualTo(1001);
+    }
+
+    @Test
+    @DisplayName("Derives row counts from dimension references")
+    void rowSpan() {
+        assertThat(WorkbookPartIndex.rowSpan("A1:D120")).isEqualTo(120);
+        assertThat(WorkbookPartIndex.rowSpan("$B$3:$C$7")).isEqualTo(5);
+        assertThat(WorkbookPartIndex.rowSpan("A1")).isEqualTo(1);
+        assertThat(WorkbookPartIndex.rowSpan("A:C")).isEqualTo(SheetInfo.UNKNOWN_ROW_COUNT);
+        assertThat(WorkbookPartIndex.rowSpan(null)).isEqualTo(SheetInfo.UNKNOWN_ROW_COUNT);
+    }
+
+    private static void fill(
+            XSSFSheet sheet,
+            int rowCount
+    ) {
+        for (int row = 0; row < rowCount; row++) {
+            sheet.createRow(row).createCell(0).setCellValue("value " + row);
+        }
+    }
+}
@@ -0,0 +1,586 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ChunkReader;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.WorkbookMetadata;
+import com.excelninja.domain.model.WriteOptions;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.xssf.usermodel.XSSFCell;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+import java.util.zip.InflaterInputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Direct OOXML writer")
+class StreamingWorkbookWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    public static class OrderDto {
+        @ExcelReadColumn(headerName = "ID")
+        @ExcelWriteColumn(headerName = "ID", order = 1)
+        private Long id;
+
+        @ExcelReadColumn(headerName = "Customer")
+        @ExcelWriteColumn(headerName = "Customer", order = 2)
+        private String customer;
+
+        @ExcelReadColumn(headerName = "Amount")
+        @ExcelWriteColumn(headerName = "Amount", order = 3)
+        private BigDecimal amount;
+
+        @ExcelReadColumn(headerName = "Paid")
+        @ExcelWriteColumn(headerName = "Paid", order = 4)
+        private Boolean paid;
+
+        @ExcelReadColumn(headerName = "Ordered")
+        @ExcelWriteColumn(headerName = "Ordered", order = 5)
+        private LocalDate ordered;
+
+        @ExcelReadColumn(headerName = "Updated")
+        @ExcelWriteColumn(headerName = "Updated", order = 6)
+        private LocalDateTime updated;
+
+        public OrderDto() {}
+
+        OrderDto(
+                Long id,
+                String customer,
+                BigDecimal amount,
+                Boolean paid,
+                LocalDate ordered,
+                LocalDateTime updated
+        ) {
+            this.id = id;
+            this.customer = customer;
+            this.amount = amount;
+            this.paid = paid;
+            this.ordered = ordered;
+            this.updated = updated;
+        }
+    }
+
+    private static List<OrderDto> orders() {
+        return Arrays.asList(
+                new OrderDto(1L, "Alice & Bob <Ltd>", new BigDecimal("1250.75"), true, LocalDate.of(2024, 3, 1), LocalDateTime.of(2024, 3, 1, 9, 30, 15)),
+                new OrderDto(2L, "  padded  ", new BigDecimal("12345678901234567890.123"), false, LocalDate.of(1999, 12, 31), LocalDateTime.of(2000, 1, 1, 0, 0)),
+                new OrderDto(3L, "한글 고객 😀", null, null, null, null),
+                new OrderDto(4L, "Alice & Bob <Ltd>", BigDecimal.ZERO, true, LocalDate.of(2024, 2, 29), LocalDateTime.of(2024, 2, 29, 23, 59, 59))
+        );
+    }
+
+    @Nested
+    @DisplayName("Round trip")
+    class RoundTripTest {
+
+        @Test
+        @DisplayName("Entities written directly read back identically with both readers")
+        void entitiesRoundTripThroughBothReaders() throws Exception {
+            File file = tempDir.resolve("orders.xlsx").toFile();
+            NinjaExcel.writeStreaming(ExcelWorkbook.builder().sheet("Orders", orders()).build(), file);
+
+            List<OrderDto> poiRead = NinjaExcel.read(file, OrderDto.class);
+            List<OrderDto> streamed = new ArrayList<>();
+            try (ChunkReader<OrderDto> chunks = NinjaExcel.readInChunks(file, OrderDto.class, 2)) {
+                while (chunks.hasNext()) {
+                    streamed.addAll(chunks.next());
+                }
+            }
+
+            for (List<OrderDto> read : Arrays.asList(poiRead, streamed)) {
+                assertThat(read).hasSize(4);
+                assertThat(read.get(0).customer).isEqualTo("Alice & Bob <Ltd>");
+                assertThat(read.get(0).amount).isEqualByComparingTo("1250.75");
+                assertThat(read.get(0).paid).isTrue();
+                assertThat(read.get(0).ordered).isEqualTo(LocalDate.of(2024, 3, 1));
+                assertThat(read.get(0).updated).isEqualTo(LocalDateTime.of(2024, 3, 1, 9, 30, 15));
+                assertThat(read.get(1).customer).isEqualTo("  padded  ");
+                assertThat(read.get(1).amount).isEqualByComparingTo("12345678901234567890.123");
+                assertThat(read.get(1).paid).isFalse();
+                assertThat(read.get(1).ordered).isEqualTo(LocalDate.of(1999, 12, 31));
+                assertThat(read.get(2).customer).isEqualTo("한글 고객 😀");
+                assertThat(read.get(2).amount).isNull();
+                assertThat(read.get(2).updated).isNull();
+                assertThat(read.get(3).updated).isEqualTo(LocalDateTime.of(2024, 2, 29, 23, 59, 59));
+            }
+        }
+
+        @Test
+        @DisplayName("Inline strings mode writes no shared strings part")
+        void inlineStringsMode() throws Exception {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            new StreamingWorkbookWriter(false).write(ExcelWorkbook.builder().sheet("Orders", orders()).build(), output);
+
+            assertThat(entryNames(output.toByteArray())).doesNotContain("xl/sharedStrings.xml");
+
+            File file = tempDir.resolve("inline.xlsx").toFile();
+            Files.write(file.toPath(), output.toByteArray());
+            List<OrderDto> read = NinjaExcel.read(file, OrderDto.class);
+            assertThat(read).extracting(order -> order.customer)
+                    .containsExactly("Alice & Bob <Ltd>", "  padded  ", "한글 고객 😀", "Alice & Bob <Ltd>");
+        }
+
+        @Test
+        @DisplayName("Shared strings are deduplicated")
+        void sharedStringsAreDeduplicated() throws Exception {
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            new StreamingWorkbookWriter().write(ExcelWorkbook.builder().sheet("Orders", orders()).build(), output);
+
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+                assertThat(workbook.getSharedStringSource().getUniqueCount()).isEqualTo(6 + 4); // headers, three customers and the inexact amount
+                XSSFCell duplicated = workbook.getSheetAt(0).getRow(4).getCell(1);
+                assertThat(duplicated.getCellType()).isEqualTo(CellType.STRING);
+                assertThat(duplicated.getStringCellValue()).isEqualTo("Alice & Bob <Ltd>");
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Workbook structure")
+    class StructureTest {
+
+        @Test
+        @DisplayName("Styles, metadata, sheet order and sizing match the POI writer")
+        void stylesMetadataAndSizing() throws Exception {
+            LocalDateTime created = LocalDateTime.of(2024, 5, 6, 7, 8, 9);
+            ExcelSheet sized = ExcelSheet.builder()
+                    .name("Sized")
+                    .headers("Key", "Value")
+                    .rows(Arrays.asList(Arrays.<Object>asList("a", 1), Arrays.<Object>asList("b", 2.5)))
+                    .columnWidth(0, 20 * 256)
+                    .rowHeight(1, (short) 600)
+                    .autoSizeColumns()
+                    .build();
+            ExcelWorkbook workbook = ExcelWorkbook.builder()
+                    .sheet("Orders", orders())
+                    .sheet("Sized", sized)
+                    .metadata(new WorkbookMetadata("Ninja", "Monthly orders", created))
+                    .build();
+
+            File file = tempDir.resolve("structure.xlsx").toFile();
+            NinjaExcel.writeStreaming(workbook, file);
+
+            try (FileInputStream input = new FileInputStream(file);
+                 XSSFWorkbook poiWorkbook = new XSSFWorkbook(input)) {
+                assertThat(poiWorkbook.getNumberOfSheets()).isEqualTo(2);
+                assertThat(poiWorkbook.getSheetName(0)).isEqualTo("Orders");
+                assertThat(poiWorkbook.getSheetName(1)).isEqualTo("Sized");
+                assertThat(poiWorkbook.getProperties().getCoreProperties().getCreator()).isEqualTo("Ninja");
+                assertThat(poiWorkbook.getProperties().getCoreProperties().getTitle()).isEqualTo("Monthly orders");
+
+                XSSFSheet orders = poiWorkbook.getSheet("Orders");
+                XSSFCell header = orders.getRow(0).getCell(0);
+                assertThat(orders.getRow(0).getHeightInPoints()).isEqualTo(20f);
+                assertThat(header.getCellStyle().getFillPattern()).isEqualTo(FillPatternType.SOLID_FOREGROUND);
+                assertThat(header.getCellStyle().getFillForegroundColor()).isEqualTo(IndexedColors.GREY_25_PERCENT.getIndex());
+                assertThat(header.getCellStyle().getBorderBottom()).isEqualTo(BorderStyle.THIN);
+                assertThat(orders.getRow(1).getCell(0).getCellStyle().getBorderLeft()).isEqualTo(BorderStyle.THIN);
+                assertThat(orders.getRow(1).getCell(4).getCellStyle().getDataFormatString()).isEqualTo("yyyy-mm-dd");
+                assertThat(orders.getRow(1).getCell(5).getCellStyle().getDataFormatString()).isEqualTo("yyyy-mm-dd hh:mm:ss");
+                assertThat(orders.getRow(2).getCell(2).getCellType()).isEqualTo(CellType.STRING);
+
+                XSSFSheet sizedSheet = poiWorkbook.getSheet("Sized");
+                assertThat(sizedSheet.getColumnWidth(0)).isEqualTo(20 * 256);
+                assertThat(sizedSheet.getColumnWidth(1)).isGreaterThan(256);
+                assertThat(sizedSheet.getRow(1).getHeight()).isEqualTo((short) 600);
+                assertThat(sizedSheet.getRow(2).getCell(1).getNumericCellValue()).isEqualTo(2.5);
+            }
+        }
+
+        @Test
+        @DisplayName("Text that needs escaping survives the round trip")
+        void escapedText() throws Exception {
+            List<String> values = Arrays.asList("quote \" and 'apostrophe'", "tab\tand\nnewline", "literal _x0041_ sequence", "bell\u0007char");
+            List<List<Object>> rows = new ArrayList<>();
+            for (String value : values) {
+                rows.add(Arrays.asList(value));
+            }
+            ExcelSheet sheet = ExcelSheet.builder().name("Text").headers("Value").rows(rows).build();
+
+            for (boolean shared : new boolean[]{true, false}) {
+                ByteArrayOutputStream output = new ByteArrayOutputStream();
+                new StreamingWorkbookWriter(shared).write(ExcelWorkbook.builder().sheet("Text", sheet).build(), output);
+
+                try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+                    XSSFSheet written = workbook.getSheet("Text");
+                    for (int i = 0; i < values.size(); i++) {
+                        assertThat(written.getRow(i + 1).getCell(0).getStringCellValue()).isEqualTo(values.get(i));
+                    }
+                }
+            }
+        }
+    }
+
+    @Nested
+    @DisplayName("Concurrent sheet encoding")
+    class ConcurrentWriteTest {
+
+        @Test
+        @DisplayName("Sheets encoded on an executor produce the same parts as a sequential write")
+        void concurrentWriteMatchesSequentialWrite() throws Exception {
+            ExcelWorkbook.WorkbookBuilder builder = ExcelWorkbook.builder();
+            for (int sheet = 0; sheet < 6; sheet++) {
+                List<List<Object>> rows = new ArrayList<>();
+                for (int row = 0; row < 500; row++) {
+                    rows.add(Arrays.<Object>asList("sheet-" + sheet + "-row-" + row, "shared-" + (row % 7), row * 1.5, LocalDate.of(2024, 1, 1).plusDays(row)));
+                }
+                builder.sheet("Sheet" + sheet, ExcelSheet.builder().name("Sheet" + sheet).headers("Key", "Group", "Value", "Date").rows(rows).build());
+            }
+            ExcelWorkbook workbook = builder.build();
+
+            ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+            new StreamingWorkbookWriter().write(workbook, sequential);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            ByteArrayOutputStream concurrent = new ByteArrayOutputStream();
+            try {
+                NinjaExcel.writeStreaming(workbook, concurrent, executor);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertThat(entries(concurrent.toByteArray())).isEqualTo(entries(sequential.toByteArray()));
+            try (XSSFWorkbook poiWorkbook = new XSSFWorkbook(new ByteArrayInputStream(concurrent.toByteArray()))) {
+                assertThat(poiWorkbook.getNumberOfSheets()).isEqualTo(6);
+                assertThat(poiWorkbook.getSheet("Sheet5").getRow(500).getCell(0).getStringCellValue()).isEqualTo("sheet-5-row-499");
+            }
+        }
+
+        @Test
+        @DisplayName("A failing sheet fails the whole write")
+        void failingSheetFailsWrite() {
+            Object failing = new Object() {
+                @Override
+                public String toString() {
+                    throw new IllegalStateException("boom");
+                }
+            };
+            ExcelWorkbook workbook = ExcelWorkbook.builder()
+                    .sheet("Good", ExcelSheet.builder().name("Good").headers("Value").rows(Arrays.asList(Arrays.<Object>asList("ok"))).build())
+                    .sheet("Bad", ExcelSheet.builder().name("Bad").headers("Value").rows(Arrays.asList(Arrays.asList(failing))).build())
+                    .build();
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            try {
+                assertThatThrownBy(() -> new StreamingWorkbookWriter(false, executor).write(workbook, new ByteArrayOutputStream()))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessage("boom");
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Sheet buffers move to a temporary file beyond their memory threshold")
+        void spillingBufferMovesToFile() throws Exception {
+            byte[] content = new byte[10_000];
+            for (int i = 0; i < content.length; i++) {
+                content[i] = (byte) i;
+            }
+
+            SpillingBuffer buffer = new SpillingBuffer(4096);
+            buffer.write(content, 0, 3000);
+            assertThat(buffer.isSpilled()).isFalse();
+            buffer.write(content, 3000, 7000);
+            assertThat(buffer.isSpilled()).isTrue();
+            assertThat(buffer.size()).isEqualTo(10_000);
+
+            ByteArrayOutputStream copy = new ByteArrayOutputStream();
+            buffer.writeTo(copy);
+            buffer.close();
+            assertThat(copy.toByteArray()).isEqualTo(content);
+        }
+    }
+
+    @Nested
+    @DisplayName("Compression")
+    class CompressionTest {
+
+        private ExcelWorkbook largeWorkbook() {
+            List<List<Object>> rows = new ArrayList<>();
+            for (int row = 0; row < 20_000; row++) {
+                rows.add(Arrays.<Object>asList("customer-" + row, "region-" + (row % 11), row * 0.25, LocalDate.of(2024, 1, 1).plusDays(row % 365)));
+            }
+            return ExcelWorkbook.builder()
+                    .sheet("Large", ExcelSheet.builder().name("Large").headers("Customer", "Region", "Score", "Date").rows(rows).build())
+                    .build();
+        }
+
+        @Test
+        @DisplayName("Parts compressed in parallel blocks unzip to the same content as a sequential write")
+        void parallelDeflateMatchesSequentialWrite() throws Exception {
+            ExcelWorkbook workbook = largeWorkbook();
+            ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+            new StreamingWorkbookWriter().write(workbook, sequential);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            ByteArrayOutputStream parallel = new ByteArrayOutputStream();
+            try {
+                new StreamingWorkbookWriter(true, executor).write(workbook, parallel);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            Map<String, String> parallelEntries = entries(parallel.toByteArray());
+            assertThat(parallelEntries).isEqualTo(entries(sequential.toByteArray()));
+            assertThat(parallelEntries.get("xl/worksheets/sheet1.xml").length()).isGreaterThan(4 * ParallelDeflater.BLOCK_SIZE);
+            // Blocks share a dictionary with their predecessor, so the ratio stays close to a single stream
+            assertThat(parallel.size()).isLessThan(sequential.size() * 11 / 10);
+            try (XSSFWorkbook poiWorkbook = new XSSFWorkbook(new ByteArrayInputStream(parallel.toByteArray()))) {
+                assertThat(poiWorkbook.getSheet("Large").getRow(20_000).getCell(0).getStringCellValue()).isEqualTo("customer-19999");
+            }
+        }
+
+        @Test
+        @DisplayName("Level 0 stores every part uncompressed")
+        void storedParts() throws Exception {
+            ExcelWorkbook workbook = largeWorkbook();
+            ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+            new StreamingWorkbookWriter().write(workbook, deflated);
+
+            ExecutorService executor = Executors.newFixedThreadPool(2);
+            File sequentialFile = tempDir.resolve("stored.xlsx").toFile();
+            File concurrentFile = tempDir.resolve("stored-concurrent.xlsx").toFile();
+            try {
+                new StreamingWorkbookWriter(true, null, Deflater.NO_COMPRESSION).write(workbook, sequentialFile);
+                new StreamingWorkbookWriter(true, executor, Deflater.NO_COMPRESSION).write(workbook, concurrentFile);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            for (File file : Arrays.asList(sequentialFile, concurrentFile)) {
+                try (ZipFile zip = new ZipFile(file)) {
+                    assertThat(Collections.list(zip.entries())).allSatisfy(entry -> {
+                        assertThat(entry.getMethod()).isEqualTo(ZipEntry.STORED);
+                        assertThat(entry.getCompressedSize()).isEqualTo(entry.getSize());
+                    });
+                }
+                byte[] stored = Files.readAllBytes(file.toPath());
+                assertThat(stored.length).isGreaterThan(deflated.size() * 3);
+                assertThat(entries(stored)).isEqualTo(entries(deflated.toByteArray()));
+                assertThat(NinjaExcel.read(file, LargeRowDto.class)).hasSize(20_000);
+            }
+        }
+
+        @Test
+        @DisplayName("Blocks of a spilled buffer inflate back to its content")
+        void deflatesSpilledBuffer() throws Exception {
+            StringBuilder text = new StringBuilder();
+            for (int i = 0; text.length() < 3 * ParallelDeflater.BLOCK_SIZE + 1234; i++) {
+                text.append("<row r=\"").append(i).append("\"><c><v>").append(i * 31 % 977).append("</v></c></row>");
+            }
+            byte[] content = text.toString().getBytes(StandardCharsets.UTF_8);
+            CRC32 crc = new CRC32();
+            crc.update(content);
+
+            ExecutorService executor = Executors.newFixedThreadPool(3);
+            try (SpillingBuffer buffer = new SpillingBuffer(8192)) {
+                buffer.write(content, 0, content.length);
+                buffer.seal();
+                assertThat(buffer.isSpilled()).isTrue();
+
+                ParallelDeflater.DeflatedPart part = new ParallelDeflater(executor, Deflater.BEST_SPEED).deflate(buffer).join();
+                assertThat(part.getSize()).isEqualTo(content.length);
+                assertThat(part.getCrc()).isEqualTo(crc.getValue());
+
+                ByteArrayOutputStream inflated = new ByteArrayOutputStream();
+                try (InflaterInputStream input = new InflaterInputStream(part.newInputStream(), new Inflater(true))) {
+                    byte[] chunk = new byte[8192];
+                    int read;
+                    while ((read = input.read(chunk)) != -1) {
+                        inflated.write(chunk, 0, read);
+                    }
+                }
+                assertThat(inflated.toByteArray()).isEqualTo(content);
+            } finally {
+                executor.shutdownNow();
+            }
+        }
+
+        @Test
+        @DisplayName("Fast write options leave data cells unstyled and strings inline")
+        void fastWriteOptions() throws Exception {
+            ExcelWorkbook workbook = ExcelWorkbook.builder().sheet("Orders", orders()).build();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            NinjaExcel.writeStreaming(workbook, output, WriteOptions.fast());
+
+            Map<String, String> parts = entries(output.toByteArray());
+            assertThat(parts).doesNotContainKey("xl/sharedStrings.xml");
+            String sheetXml = parts.get("xl/worksheets/sheet1.xml");
+            assertThat(sheetXml).contains("<c r=\"A2\"><v>1</v></c>").doesNotContain("s=\"2\"").doesNotContain("<c r=\"C4\"");
+
+            File file = tempDir.resolve("fast.xlsx").toFile();
+            Files.write(file.toPath(), output.toByteArray());
+            File defaultFile = tempDir.resolve("default.xlsx").toFile();
+            NinjaExcel.writeStreaming(workbook, defaultFile);
+            assertThat(NinjaExcel.read(file, OrderDto.class)).usingRecursiveComparison()
+                    .isEqualTo(NinjaExcel.read(defaultFile, OrderDto.class));
+            try (XSSFWorkbook poiWorkbook = new XSSFWorkbook(new FileInputStream(file))) {
+                XSSFCell dateCell = poiWorkbook.getSheetAt(0).getRow(1).getCell(4);
+                assertThat(dateCell.getCellStyle().getBorderTop()).isEqualTo(BorderStyle.NONE);
+                assertThat(dateCell.getCellStyle().getDataFormatString()).isEqualTo("yyyy-mm-dd");
+            }
+        }
+
+        @Test
+        @DisplayName("Compression levels outside -1 to 9 are rejected")
+        void invalidLevel() {
+            assertThatThrownBy(() -> new StreamingWorkbookWriter(true, null, 10))
+                    .isInstanceOf(DocumentConversionException.class)
+                    .hasMessageContaining("10");
+        }
+    }
+
+    @Nested
+    @DisplayName("Shared strings table")
+    class SharedStringsTest {
+
+        private ExcelWorkbook regionsWorkbook(int sheets) {
+            ExcelWorkbook.WorkbookBuilder builder = ExcelWorkbook.builder();
+            for (int sheet = 0; sheet < sheets; sheet++) {
+                List<List<Object>> rows = new ArrayList<>();
+                for (int row = 0; row < 300; row++) {
+                    rows.add(Arrays.<Object>asList("id-" + sheet + "-" + row, "region-" + (row % 4)));
+                }
+                builder.sheet("Sheet" + sheet, ExcelSheet.builder().name("Sheet" + sheet).headers("Id", "Region").rows(rows).build());
+            }
+            return builder.build();
+        }
+
+        @Test
+        @DisplayName("Indexes stay stable while the table grows")
+        void indexesStayStableWhileGrowing() {
+            SharedStringsBuilder strings = new SharedStringsBuilder();
+            for (int i = 0; i < 10_000; i++) {
+                assertThat(strings.indexOf("value-" + i)).isEqualTo(i);
+            }
+            for (int i = 0; i < 10_000; i += 997) {
+                assertThat(strings.indexOf(new String("value-" + i))).isEqualTo(i);
+            }
+            assertThat(strings.getUniqueCount()).isEqualTo(10_000);
+        }
+
+        @Test
+        @DisplayName("Strings beyond the limit are written inline and read back")
+        void limitFallsBackToInlineStrings() throws Exception {
+            WriteOptions options = WriteOptions.builder().sharedStringsLimit(6).build();
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            new StreamingWorkbookWriter(options).write(regionsWorkbook(1), output);
+
+            Map<String, String> parts = entries(output.toByteArray());
+            assertThat(parts.get("xl/sharedStrings.xml")).contains("uniqueCount=\"6\"").contains("region-0").doesNotContain("region-3");
+            assertThat(parts.get("xl/worksheets/sheet1.xml")).contains("<t>region-3</t>");
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(output.toByteArray()))) {
+                XSSFSheet sheet = workbook.getSheetAt(0);
+                assertThat(sheet.getRow(300).getCell(0).getStringCellValue()).isEqualTo("id-0-299");
+                assertThat(sheet.getRow(4).getCell(1).getStringCellValue()).isEqualTo("region-3");
+                assertThat(sheet.getRow(5).getCell(1).getStringCellValue()).isEqualTo("region-0");
+            }
+        }
+
+        @Test
+        @DisplayName("A limited table is the same for concurrent and sequential writes")
+        void limitedConcurrentWriteMatchesSequentialWrite() throws Exception {
+            WriteOptions options = WriteOptions.builder().sharedStringsLimit(50).build();
+            ExcelWorkbook workbook = regionsWorkbook(4);
+
+            ByteArrayOutputStream sequential = new ByteArrayOutputStream();
+            new StreamingWorkbookWriter(options).write(workbook, sequential);
+
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            ByteArrayOutputStream concurrent = new ByteArrayOutputStream();
+            try {
+                new StreamingWorkbookWriter(options, executor).write(workbook, concurrent);
+            } finally {
+                executor.shutdownNow();
+            }
+
+            assertThat(entries(concurrent.toByteArray())).isEqualTo(entries(sequential.toByteArray()));
+        }
+
+        @Test
+        @DisplayName("Limits below one are rejected")
+        void invalidLimit() {
+            assertThatThrownBy(() -> WriteOptions.builder().sharedStringsLimit(0).build())
+                    .isInstanceOf(DocumentConversionException.class);
+        }
+    }
+
+    public static class LargeRowDto {
+        @ExcelReadColumn(headerName = "Customer")
+        private String customer;
+
+        @ExcelReadColumn(headerName = "Score")
+        private Double score;
+
+        public LargeRowDto() {}
+    }
+
+    private static Map<String, String> entries(byte[] xlsx) throws Exception {
+        Map<String, String> entries = new LinkedHashMap<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                ByteArrayOutputStream content = new ByteArrayOutputStream();
+                byte[] chunk = new byte[8192];
+                int read;
+                while ((read = zip.read(chunk)) != -1) {
+                    content.write(chunk, 0, read);
+                }
+                entries.put(entry.getName(), new String(content.toByteArray(), StandardCharsets.UTF_8));
+            }
+        }
+        return entries;
+    }
+
+    private static List<String> entryNames(byte[] xlsx) throws Exception {
+        List<String> names = new ArrayList<>();
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(xlsx))) {
+            ZipEntry entry;
+            while ((entry = zip.getNextEntry()) != null) {
+                names.add(entry.getName());
+            }
+        }
+        return names;
+    }
+}
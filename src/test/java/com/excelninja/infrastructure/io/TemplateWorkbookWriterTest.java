@@ -0,0 +1,297 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.exception.InvalidDocumentStructureException;
+import com.excelninja.domain.model.ExcelWorkbook;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.ss.usermodel.CellType;
+import org.apache.poi.ss.usermodel.FillPatternType;
+import org.apache.poi.ss.usermodel.IndexedColors;
+import org.apache.poi.xssf.usermodel.XSSFCellStyle;
+import org.apache.poi.xssf.usermodel.XSSFRow;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Template append writer")
+class TemplateWorkbookWriterTest {
+
+    @TempDir
+    Path tempDir;
+
+    public static class SaleDto {
+        @ExcelReadColumn(headerName = "Region")
+        @ExcelWriteColumn(headerName = "Region", order = 1)
+        private String region;
+
+        @ExcelReadColumn(headerName = "Amount")
+        @ExcelWriteColumn(headerName = "Amount", order = 2)
+        private BigDecimal amount;
+
+        @ExcelReadColumn(headerName = "Date")
+        @ExcelWriteColumn(headerName = "Date", order = 3)
+        private LocalDate date;
+
+        public SaleDto() {}
+
+        SaleDto(
+                String region,
+                BigDecimal amount,
+                LocalDate date
+        ) {
+            this.region = region;
+            this.amount = amount;
+            this.date = date;
+        }
+    }
+
+    private static List<SaleDto> sales() {
+        return Arrays.asList(
+                new SaleDto("North & East", new BigDecimal("1200.5"), LocalDate.of(2024, 5, 1)),
+                new SaleDto("South", new BigDecimal("980"), LocalDate.of(2024, 5, 2)),
+                new SaleDto("  West  ", null, null)
+        );
+    }
+
+    /**
+     * A branded template: a styled header, one sample row that carries the column formats, an empty sheet and a
+     * notes sheet that must survive untouched.
+     */
+    private File createTemplate() throws Exception {
+        File template = tempDir.resolve("template.xlsx").toFile();
+        try (XSSFWorkbook workbook = new XSSFWorkbook()) {
+            XSSFCellStyle headerStyle = workbook.createCellStyle();
+            headerStyle.setFillForegroundColor(IndexedColors.LIGHT_BLUE.getIndex());
+            headerStyle.setFillPattern(FillPatternType.SOLID_FOREGROUND);
+            XSSFCellStyle amountStyle = workbook.createCellStyle();
+            amountStyle.setDataFormat(workbook.createDataFormat().getFormat("#,##0.00"));
+            XSSFCellStyle dateStyle = workbook.createCellStyle();
+            dateStyle.setDataFormat(workbook.createDataFormat().getFormat("dd.mm.yyyy"));
+
+            XSSFSheet sales = workbook.createSheet("Sales");
+            XSSFRow header = sales.createRow(0);
+            String[] names = {"Region", "Amount", "Date"};
+            for (int i = 0; i < names.length; i++) {
+                header.createCell(i).setCellValue(names[i]);
+                header.getCell(i).setCellStyle(headerStyle);
+            }
+            XSSFRow sample = sales.createRow(1);
+            sample.createCell(0).setCellValue("Sample");
+            sample.createCell(1).setCellValue(1.5);
+            sample.getCell(1).setCellStyle(amountStyle);
+            sample.createCell(2).setCellValue(LocalDate.of(2024, 4, 30));
+            sample.getCell(2).setCellStyle(dateStyle);
+
+            workbook.createSheet("Empty");
+            workbook.createSheet("Notes").createRow(0).createCell(0).setCellValue("Confidential");
+            workbook.getProperties().getCoreProperties().setTitle("Branded report");
+
+            try (FileOutputStream output = new FileOutputStream(template)) {
+                workbook.write(output);
+            }
+        }
+        return template;
+    }
+
+    @Nested
+    @DisplayName("Appending to template sheets")
+    class AppendTest {
+
+        @Test
+        @DisplayName("Rows follow the last template row and take the formats of its columns")
+        void rowsAreAppendedWithTemplateStyles() throws Exception {
+            File template = createTemplate();
+            File report = tempDir.resolve("report.xlsx").toFile();
+            NinjaExcel.writeFromTemplate(ExcelWorkbook.builder().sheet("Sales", sales()).build(), template, report);
+
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new FileInputStream(report))) {
+                XSSFSheet sheet = workbook.getSheet("Sales");
+                assertThat(sheet.getLastRowNum()).isEqualTo(4);
+                assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("Sample");
+                assertThat(sheet.getRow(2).getCell(0).getStringCellValue()).isEqualTo("North & East");
+                assertThat(sheet.getRow(2).getCell(1).getNumericCellValue()).isEqualTo(1200.5);
+                assertThat(sheet.getRow(2).getCell(1).getCellStyle().getDataFormatString()).isEqualTo("#,##0.00");
+                assertThat(sheet.getRow(3).getCell(2).getLocalDateTimeCellValue().toLocalDate()).isEqualTo(LocalDate.of(2024, 5, 2));
+                assertThat(sheet.getRow(3).getCell(2).getCellStyle().getDataFormatString()).isEqualTo("dd.mm.yyyy");
+                assertThat(sheet.getRow(4).getCell(0).getStringCellValue()).isEqualTo("  West  ");
+                assertThat(sheet.getRow(4).getCell(1).getCellType()).isEqualTo(CellType.BLANK);
+                assertThat(workbook.getSheet("Notes").getRow(0).getCell(0).getStringCellValue()).isEqualTo("Confidential");
+                assertThat(workbook.getProperties().getCoreProperties().getTitle()).isEqualTo("Branded report");
+            }
+
+            assertThat(part(report, "xl/worksheets/sheet1.xml")).contains("<dimension ref=\"A1:C5\"/>");
+            List<SaleDto> read = NinjaExcel.read(report, SaleDto.class);
+            assertThat(read).hasSize(4);
+            assertThat(read.get(1).region).isEqualTo("North & East");
+            assertThat(read.get(1).date).isEqualTo(LocalDate.of(2024, 5, 1));
+        }
+
+        @Test
+        @DisplayName("Parts other than the target sheets are copied byte for byte")
+        void untouchedPartsAreCopiedRaw() throws Exception {
+            File template = createTemplate();
+            ByteArrayOutputStream report = new ByteArrayOutputStream();
+            new TemplateWorkbookWriter(template).write(ExcelWorkbook.builder().sheet("Sales", sales()).build(), report);
+
+            File reportFile = tempDir.resolve("raw.xlsx").toFile();
+            try (FileOutputStream output = new FileOutputStream(reportFile)) {
+                report.writeTo(output);
+            }
+            Map<String, byte[]> original = rawEntries(template);
+            Map<String, byte[]> copied = rawEntries(reportFile);
+            assertThat(copied.keySet()).containsExactlyElementsOf(original.keySet());
+            for (String name : original.keySet()) {
+                if (name.equals("xl/worksheets/sheet1.xml")) {
+                    assertThat(copied.get(name)).isNotEqualTo(original.get(name));
+                } else {
+                    assertThat(copied.get(name)).as(name).isEqualTo(original.get(name));
+                }
+            }
+        }
+
+        @Test
+        @DisplayName("An empty template sheet receives the header row and the data rows")
+        void emptySheetGetsHeader() throws Exception {
+            File template = createTemplate();
+            ByteArrayOutputStream report = new ByteArrayOutputStream();
+            new TemplateWorkbookWriter(template).write(ExcelWorkbook.builder().sheet("Empty", sales()).build(), report);
+
+            try (XSSFWorkbook workbook = new XSSFWorkbook(new ByteArrayInputStream(report.toByteArray()))) {
+                XSSFSheet sheet = workbook.getSheet("Empty");
+                assertThat(sheet.getRow(0).getCell(1).getStringCellValue()).isEqualTo("Amount");
+                assertThat(sheet.getRow(1).getCell(0).getStringCellValue()).isEqualTo("North & East");
+                assertThat(sheet.getLastRowNum()).isEqualTo(3);
+            }
+        }
+
+        @Test
+        @DisplayName("Sheets missing from the template are rejected")
+        void unknownSheet() throws Exception {
+            File template = createTemplate();
+            assertThatThrownBy(() -> new TemplateWorkbookWriter(template)
+                    .write(ExcelWorkbook.builder().sheet("Missing", sales()).build(), new ByteArrayOutputStream()))
+                    .isInstanceOf(DocumentConversionException.class)
+                    .hasMessageContaining("Missing");
+            assertThatThrownBy(() -> NinjaExcel.writeFromTemplate(ExcelWorkbook.builder().sheet("Sales", sales()).build(), template, template))
+                    .isInstanceOf(DocumentConversionException.class);
+        }
+    }
+
+    @Nested
+    @DisplayName("Sheet XML splicing")
+    class SplicerTest {
+
+        @Test
+        @DisplayName("Markup outside the dimension and the splice point is copied verbatim")
+        void splicesRowsAndKeepsOtherMarkup() throws Exception {
+            String sheet = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>"
+                    + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\">"
+                    + "<dimension ref=\"B2:C3\"/><!-- a > comment with \"quotes\" -->"
+                    + "<sheetData><row r=\"2\" spans=\"2:3\"><c r=\"B2\" t=\"inlineStr\"><is><t>x &gt; y</t></is></c></row>"
+                    + "<row r=\"3\"><c r=\"B3\" s=\"4\"><f>IF(A1&gt;0,\"a&gt;\",\"b\")</f><v>1</v></c><c r=\"D3\" s=\"7\"/></row></sheetData>"
+                    + "<mergeCells count=\"1\"><mergeCell ref=\"B2:C2\"/></mergeCells></worksheet>";
+
+            SheetXmlSplicer.SheetLayout layout = SheetXmlSplicer.scan(stream(sheet));
+            assertThat(layout.getLastRowNumber()).isEqualTo(3);
+            assertThat(layout.getLastColumnIndex()).isEqualTo(3);
+            assertThat(layout.getLastRowStyles()).containsExactly(0, 4, 0, 7);
+
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            SheetXmlSplicer.splice(stream(sheet), output, layout, 3, 5,
+                    out -> out.write("<row r=\"5\"/>".getBytes(StandardCharsets.US_ASCII)));
+
+            String expected = sheet.replace("<dimension ref=\"B2:C3\"/>", "<dimension ref=\"B2:D5\"/>")
+                    .replace("</sheetData>", "<row r=\"5\"/></sheetData>");
+            assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8)).isEqualTo(expected);
+        }
+
+        @Test
+        @DisplayName("Self-closing sheetData is expanded and prefixed markup is rejected")
+        void emptyAndPrefixedSheetData() throws Exception {
+            String empty = "<worksheet><dimension ref=\"A1\"/><sheetData/><pageMargins left=\"0.7\"/></worksheet>";
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            SheetXmlSplicer.splice(stream(empty), output, SheetXmlSplicer.scan(stream(empty)), 1, 2,
+                    out -> out.write("<row r=\"1\"/>".getBytes(StandardCharsets.US_ASCII)));
+            assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+                    .isEqualTo("<worksheet><dimension ref=\"A1:B2\"/><sheetData><row r=\"1\"/></sheetData><pageMargins left=\"0.7\"/></worksheet>");
+
+            assertThatThrownBy(() -> SheetXmlSplicer.scan(stream("<x:worksheet><x:sheetData/></x:worksheet>")))
+                    .isInstanceOf(InvalidDocumentStructureException.class);
+        }
+
+        @Test
+        @DisplayName("A dimension with an end tag keeps its form")
+        void dimensionWithEndTag() throws Exception {
+            String sheet = "<worksheet><dimension ref=\"A1:B2\"></dimension><sheetData><row r=\"2\"/></sheetData></worksheet>";
+            ByteArrayOutputStream output = new ByteArrayOutputStream();
+            SheetXmlSplicer.splice(stream(sheet), output, SheetXmlSplicer.scan(stream(sheet)), 2, 3,
+                    out -> out.write("<row r=\"3\"/>".getBytes(StandardCharsets.US_ASCII)));
+            assertThat(new String(output.toByteArray(), StandardCharsets.UTF_8))
+                    .isEqualTo("<worksheet><dimension ref=\"A1:C3\"></dimension><sheetData><row r=\"2\"/><row r=\"3\"/></sheetData></worksheet>");
+        }
+
+        private InputStream stream(String xml) {
+            return new ByteArrayInputStream(xml.getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static String part(
+            File xlsx,
+            String name
+    ) throws Exception {
+        try (ZipFile zip = ZipFile.builder().setFile(xlsx).get();
+             InputStream input = zip.getInputStream(zip.getEntry(name))) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                content.write(chunk, 0, read);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+
+    private static Map<String, byte[]> rawEntries(File xlsx) throws Exception {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (ZipFile zip = ZipFile.builder().setFile(xlsx).get()) {
+            for (ZipArchiveEntry entry : Collections.list(zip.getEntriesInPhysicalOrder())) {
+                try (InputStream input = zip.getRawInputStream(entry)) {
+                    ByteArrayOutputStream content = new ByteArrayOutputStream();
+                    byte[] chunk = new byte[8192];
+                    int read;
+                    while ((read = input.read(chunk)) != -1) {
+                        content.write(chunk, 0, read);
+                    }
+                    entries.put(entry.getName(), content.toByteArray());
+                }
+            }
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,144 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.annotation.ExcelWriteColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ExcelWorkbook;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.ss.usermodel.BorderStyle;
+import org.apache.poi.xssf.usermodel.XSSFSheet;
+import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Appending to existing workbooks")
+class WorkbookAppenderTest {
+
+    @TempDir
+    Path tempDir;
+
+    public static class AuditDto {
+        @ExcelReadColumn(headerName = "Event")
+        @ExcelWriteColumn(headerName = "Event", order = 1)
+        private String event;
+
+        @ExcelReadColumn(headerName = "User")
+        @ExcelWriteColumn(headerName = "User", order = 2)
+        private String user;
+
+        @ExcelReadColumn(headerName = "At")
+        @ExcelWriteColumn(headerName = "At", order = 3)
+        private LocalDateTime at;
+
+        public AuditDto() {}
+
+        AuditDto(
+                String event,
+                String user,
+                LocalDateTime at
+        ) {
+            this.event = event;
+            this.user = user;
+            this.at = at;
+        }
+    }
+
+    private static List<AuditDto> day(int dayOfMonth) {
+        List<AuditDto> events = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            events.add(new AuditDto("event-" + dayOfMonth + "-" + i, "user-" + (i % 5), LocalDateTime.of(2024, 6, dayOfMonth, 8, 0).plusMinutes(i)));
+        }
+        return events;
+    }
+
+    @Test
+    @DisplayName("Daily appends continue the row numbers, keep the row styles and update the dimension")
+    void dailyAppends() throws Exception {
+        File file = tempDir.resolve("audit.xlsx").toFile();
+        NinjaExcel.writeStreaming(ExcelWorkbook.builder().sheet("Audit", day(1)).build(), file);
+        String stylesBefore = part(file, "xl/styles.xml");
+
+        NinjaExcel.append(day(2), "Audit", file);
+        NinjaExcel.append(ExcelWorkbook.builder().sheet("Audit", day(3)).build(), file);
+
+        List<AuditDto> events = NinjaExcel.read(file, AuditDto.class);
+        assertThat(events).hasSize(150);
+        assertThat(events.get(50).event).isEqualTo("event-2-0");
+        assertThat(events.get(149).event).isEqualTo("event-3-49");
+        assertThat(events.get(149).at).isEqualTo(LocalDateTime.of(2024, 6, 3, 8, 49));
+
+        assertThat(part(file, "xl/worksheets/sheet1.xml")).contains("<dimension ref=\"A1:C151\"/>");
+        assertThat(part(file, "xl/styles.xml")).isEqualTo(stylesBefore);
+        try (XSSFWorkbook workbook = new XSSFWorkbook(new FileInputStream(file))) {
+            XSSFSheet sheet = workbook.getSheet("Audit");
+            assertThat(sheet.getLastRowNum()).isEqualTo(150);
+            assertThat(sheet.getRow(150).getCell(0).getCellStyle().getBorderTop()).isEqualTo(BorderStyle.THIN);
+            assertThat(sheet.getRow(150).getCell(2).getCellStyle().getDataFormatString()).isEqualTo("yyyy-mm-dd hh:mm:ss");
+        }
+    }
+
+    @Test
+    @DisplayName("Files written through POI can be appended to")
+    void appendsToPoiWrittenFile() throws Exception {
+        File file = tempDir.resolve("poi.xlsx").toFile();
+        NinjaExcel.write(ExcelWorkbook.builder().sheet("Audit", day(1)).build(), file);
+
+        NinjaExcel.append(day(2), "Audit", file);
+
+        List<AuditDto> events = NinjaExcel.read(file, AuditDto.class);
+        assertThat(events).hasSize(100);
+        assertThat(events.get(99).user).isEqualTo("user-4");
+    }
+
+    @Test
+    @DisplayName("A failed append leaves the file and its directory unchanged")
+    void failedAppendKeepsOriginal() throws Exception {
+        File file = tempDir.resolve("audit.xlsx").toFile();
+        NinjaExcel.writeStreaming(ExcelWorkbook.builder().sheet("Audit", day(1)).build(), file);
+        byte[] before = Files.readAllBytes(file.toPath());
+
+        assertThatThrownBy(() -> NinjaExcel.append(day(2), "Missing", file))
+                .isInstanceOf(DocumentConversionException.class);
+        assertThatThrownBy(() -> NinjaExcel.append(day(2), "Audit", tempDir.resolve("absent.xlsx").toFile()))
+                .isInstanceOf(DocumentConversionException.class);
+
+        assertThat(Files.readAllBytes(file.toPath())).isEqualTo(before);
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertThat(files.map(path -> path.getFileName().toString()).collect(Collectors.toList())).containsExactly("audit.xlsx");
+        }
+    }
+
+    private static String part(
+            File xlsx,
+            String name
+    ) throws Exception {
+        try (ZipFile zip = ZipFile.builder().setFile(xlsx).get();
+             InputStream input = zip.getInputStream(zip.getEntry(name))) {
+            ByteArrayOutputStream content = new ByteArrayOutputStream();
+            byte[] chunk = new byte[8192];
+            int read;
+            while ((read = input.read(chunk)) != -1) {
+                content.write(chunk, 0, read);
+            }
+            return new String(content.toByteArray(), StandardCharsets.UTF_8);
+        }
+    }
+}
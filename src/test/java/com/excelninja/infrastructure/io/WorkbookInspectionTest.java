@@ -0,0 +1,121 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.SheetInspection;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.archivers.zip.ZipFile;
+import org.apache.poi.util.IOUtils;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Workbook inspection")
+class WorkbookInspectionTest {
+
+    @TempDir
+    Path tempDir;
+
+    private File writeOrders(
+            String name,
+            int rowCount
+    ) throws Exception {
+        List<List<Object>> rows = new ArrayList<>();
+        for (int row = 0; row < rowCount; row++) {
+            Object amount = row % 2 == 0 ? (Object) (long) row : (Object) (row + 0.5);
+            rows.add(Arrays.<Object>asList("order-" + row, amount, LocalDate.of(2024, 1, 1).plusDays(row % 365), row % 3 == 0, row % 5 == 0 ? "n/a" : (Object) (long) row));
+        }
+        ExcelWorkbook workbook = ExcelWorkbook.builder()
+                .sheet("Orders", ExcelSheet.builder().name("Orders").headers("Id", "Amount", "Date", "Paid", "Code").rows(rows).build())
+                .build();
+        File file = tempDir.resolve(name).toFile();
+        new StreamingWorkbookWriter().write(workbook, file);
+        return file;
+    }
+
+    @Test
+    @DisplayName("Samples a prefix and counts the remaining rows from the dimension")
+    void samplesPrefix() throws Exception {
+        File file = writeOrders("orders.xlsx", 5000);
+
+        SheetInspection inspection = NinjaExcel.inspect(file, 50).get(0);
+
+        assertThat(inspection.getName()).isEqualTo("Orders");
+        assertThat(inspection.getHeaders()).containsExactly("Id", "Amount", "Date", "Paid", "Code");
+        assertThat(inspection.getRowCount()).isEqualTo(5000);
+        assertThat(inspection.isRowCountExact()).isFalse();
+        assertThat(inspection.getSampledRows()).isEqualTo(50);
+        assertThat(inspection.getColumnTypes()).containsExactly(String.class, Double.class, Date.class, Boolean.class, Object.class);
+    }
+
+    @Test
+    @DisplayName("Counts rows exactly when the whole sheet fits in the sample")
+    void exactCount() throws Exception {
+        File file = writeOrders("small.xlsx", 30);
+
+        SheetInspection inspection = NinjaExcel.inspect(file).get(0);
+
+        assertThat(inspection.getRowCount()).isEqualTo(30);
+        assertThat(inspection.isRowCountExact()).isTrue();
+        assertThat(inspection.getSampledRows()).isEqualTo(30);
+        try (InputStream input = new FileInputStream(file)) {
+            SheetInspection streamed = new StreamingWorkbookReader().inspect(input, 100).get(0);
+            assertThat(streamed.getHeaders()).isEqualTo(inspection.getHeaders());
+            assertThat(streamed.getColumnTypes()).isEqualTo(inspection.getColumnTypes());
+        }
+    }
+
+    @Test
+    @DisplayName("Scans row tags when the sheet has no dimension record")
+    void withoutDimension() throws Exception {
+        File source = writeOrders("source.xlsx", 2000);
+        File file = tempDir.resolve("no-dimension.xlsx").toFile();
+        try (ZipFile zip = ZipFile.builder().setFile(source).get();
+             ZipArchiveOutputStream output = new ZipArchiveOutputStream(file)) {
+            for (ZipArchiveEntry entry : Collections.list(zip.getEntries())) {
+                byte[] content;
+                try (InputStream input = zip.getInputStream(entry)) {
+                    content = IOUtils.toByteArray(input);
+                }
+                if (entry.getName().equals("xl/worksheets/sheet1.xml")) {
+                    String xml = new String(content, StandardCharsets.UTF_8);
+                    content = xml.replaceFirst("<dimension [^>]*/>", "").getBytes(StandardCharsets.UTF_8);
+                }
+                output.putArchiveEntry(new ZipArchiveEntry(entry.getName()));
+                output.write(content);
+                output.closeArchiveEntry();
+            }
+        }
+
+        SheetInspection inspection = NinjaExcel.inspect(file, 10).get(0);
+
+        assertThat(inspection.getRowCount()).isEqualTo(2000);
+        assertThat(inspection.isRowCountExact()).isFalse();
+        assertThat(new StreamingWorkbookReader().getSheetInfo(file).get(0).getRowCount()).isEqualTo(-1);
+    }
+
+    @Test
+    @DisplayName("Rejects a non-positive sample size")
+    void invalidSampleRows() throws Exception {
+        File file = writeOrders("orders.xlsx", 1);
+        assertThatThrownBy(() -> NinjaExcel.inspect(file, 0)).isInstanceOf(DocumentConversionException.class);
+    }
+}
@@ -0,0 +1,505 @@
+package com.excelninja.infrastructure.io;
+
+import com.excelninja.application.facade.NinjaExcel;
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.domain.model.ChunkReader;
+import com.excelninja.domain.model.ExcelSheet;
+import com.excelninja.domain.model.ExcelWorkbook;
+import com.excelninja.domain.model.SheetInfo;
+import com.excelninja.domain.model.SheetVisibility;
+import org.apache.poi.openxml4j.opc.OPCPackage;
+import org.apache.poi.openxml4j.opc.PackageAccess;
+import org.apache.poi.ss.usermodel.DataFormatter;
+import org.apache.poi.ss.usermodel.FormulaError;
+import org.apache.poi.xssf.binary.XSSFBSharedStringsTable;
+import org.apache.poi.xssf.binary.XSSFBSheetHandler;
+import org.apache.poi.xssf.binary.XSSFBStylesTable;
+import org.apache.poi.xssf.eventusermodel.XSSFBReader;
+import org.apache.poi.xssf.usermodel.XSSFComment;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("Binary xlsb reader")
+class XlsbWorkbookReaderTest {
+    private static final int CUSTOM_DATE_STYLE = 1;
+    private static final int BUILTIN_DATE_STYLE = 2;
+
+    @TempDir
+    Path tempDir;
+
+    private static byte[] typedSheet() {
+        Records sheet = new Records().sheetStart(0, 3, 0, 7);
+        sheet.row(0);
+        String[] headers = {"Name", "Count", "Price", "Active", "Since", "Broken", "Label", "Total"};
+        sheet.sharedString(0, 0);
+        for (int col = 1; col < headers.length; col++) {
+            sheet.string(col, headers[col]);
+        }
+        sheet.row(1)
+                .sharedString(0, 1)
+                .rk(1, (10 << 2) | 0x02)
+                .real(2, 1.25, 0)
+                .bool(3, true)
+                .real(4, 45306, CUSTOM_DATE_STYLE)
+                .error(5, FormulaError.DIV0.getCode())
+                .formulaString(6, "alpha-x")
+                .formulaNumber(7, 20);
+        sheet.row(2).blank(0);
+        sheet.row(3)
+                .richString(0, "beta")
+                .rk(1, (1234 << 2) | 0x03)
+                .rk(2, (int) (Double.doubleToLongBits(2.5) >>> 32))
+                .bool(3, false)
+                .rk(4, (45307 << 2) | 0x02, BUILTIN_DATE_STYLE)
+                .error(5, FormulaError.NA.getCode())
+                .formulaString(6, "beta-x")
+                .formulaNumber(7, 24.68);
+        return sheet.sheetEnd();
+    }
+
+    private static byte[] keyValueSheet(
+            String prefix,
+            int rowCount
+    ) {
+        Records sheet = new Records().sheetStart(0, rowCount, 0, 1);
+        sheet.row(0).string(0, "Key").string(1, "Value");
+        for (int r = 1; r <= rowCount; r++) {
+            sheet.row(r).string(0, prefix + "-" + r).rk(1, (r << 2) | 0x02);
+        }
+        return sheet.sheetEnd();
+    }
+
+    private static Date date(
+            int year,
+            int month,
+            int day
+    ) {
+        return Date.from(LocalDate.of(year, month, day).atStartOfDay(ZoneId.systemDefault()).toInstant());
+    }
+
+    @Test
+    @DisplayName("Decodes every cell record type like the xlsx streaming reader")
+    void decodesCellRecords() throws Exception {
+        File file = new Fixture().sheet("Typed", 0, typedSheet()).save(tempDir.resolve("typed.xlsb").toFile());
+
+        ExcelSheet sheet = new XlsbWorkbookReader().readFirstSheet(file);
+
+        assertThat(sheet.getName().getValue()).isEqualTo("Typed");
+        assertThat(sheet.getHeaders().getHeaderNames())
+                .containsExactly("Name", "Count", "Price", "Active", "Since", "Broken", "Label", "Total");
+        assertThat(sheet.getRows().size()).isEqualTo(2);
+        assertThat(sheet.getRows().getRows().get(0).getValues())
+                .containsExactly("alpha", 10L, 1.25, true, date(2024, 1, 15), "ERROR: #DIV/0!", "alpha-x", 20L);
+        assertThat(sheet.getRows().getRows().get(1).getValues())
+                .containsExactly("beta", 12.34, 2.5, false, date(2024, 1, 16), "ERROR: #N/A", "beta-x", 24.68);
+    }
+
+    @Test
+    @DisplayName("The hand-built fixture decodes the same way through POI's push handler")
+    void fixtureMatchesPoi() throws Exception {
+        File file = new Fixture().sheet("Typed", 0, typedSheet()).save(tempDir.resolve("typed.xlsb").toFile());
+
+        Map<String, String> cells = new LinkedHashMap<>();
+        try (OPCPackage pkg = OPCPackage.open(file, PackageAccess.READ)) {
+            XSSFBReader reader = new XSSFBReader(pkg);
+            XSSFBStylesTable styles = new XSSFBStylesTable(reader.getStylesData());
+            XSSFBReader.SheetIterator sheets = reader.getSheetIterator();
+            try (InputStream sheet = sheets.next()) {
+                assertThat(sheets.getSheetName()).isEqualTo("Typed");
+                new XSSFBSheetHandler(sheet, styles, null, new XSSFBSharedStringsTable(pkg), new XSSFBSheetHandler.SheetContentsHandler() {
+                    @Override
+                    public void startRow(int rowNum) {}
+
+                    @Override
+                    public void endRow(int rowNum) {}
+
+                    @Override
+                    public void cell(
+                            String cellReference,
+                            String formattedValue,
+                            XSSFComment comment
+                    ) {
+                        cells.put(cellReference, formattedValue);
+                    }
+
+                    @Override
+                    public void hyperlinkCell(
+                            String cellReference,
+                            String formattedValue,
+                            String url,
+                            String toolTip,
+                            XSSFComment comment
+                    ) {}
+                }, new DataFormatter(), false).parse();
+            }
+            pkg.revert();
+        }
+
+        assertThat(cells).containsEntry("A1", "Name").containsEntry("B2", "10").containsEntry("C2", "1.25")
+                .containsEntry("D2", "TRUE").containsEntry("E2", "2024-01-15").containsEntry("G2", "alpha-x")
+                .containsEntry("B4", "12.34").containsEntry("C4", "2.5")
+                .containsEntry("E4", "1/16/24").containsEntry("H4", "24.68");
+    }
+
+    @Test
+    @DisplayName("Reads sheet names, visibility and dimension row counts")
+    void multipleSheets() throws Exception {
+        File file = new Fixture()
+                .sheet("Orders", 0, keyValueSheet("Orders", 6))
+                .sheet("Lookup", 1, keyValueSheet("Lookup", 6))
+                .sheet("Archive", 2, keyValueSheet("Archive", 7))
+                .save(tempDir.resolve("sheets.xlsb").toFile());
+        XlsbWorkbookReader reader = new XlsbWorkbookReader();
+
+        assertThat(reader.getSheetNames(file)).containsExactly("Orders", "Lookup", "Archive");
+        assertThat(reader.getSheetInfo(file)).containsExactly(
+                new SheetInfo("Orders", SheetVisibility.VISIBLE, 7),
+                new SheetInfo("Lookup", SheetVisibility.HIDDEN, 7),
+                new SheetInfo("Archive", SheetVisibility.VERY_HIDDEN, 8));
+        assertThat(reader.readSheets(file, Arrays.asList("Archive", "Missing", "Orders")))
+                .extracting(sheet -> sheet.getName().getValue())
+                .containsExactly("Archive", "Orders");
+        assertThat(reader.readSheet(file, "Lookup").getCellValue(5, "Key")).isEqualTo("Lookup-6");
+
+        ExcelWorkbook all;
+        try (InputStream input = new FileInputStream(file)) {
+            all = reader.read(input);
+        }
+        assertThat(all.getSheetNames()).containsExactly("Orders", "Lookup", "Archive");
+        assertThat(all.getSheet("Archive").getRows().size()).isEqualTo(7);
+    }
+
+    @Test
+    @DisplayName("Chunks and row callbacks pull records without materializing the sheet")
+    void chunksAndForEach() throws Exception {
+        File file = new Fixture().sheet("Data", 0, keyValueSheet("key", 5000)).save(tempDir.resolve("large.xlsb").toFile());
+        XlsbWorkbookReader reader = new XlsbWorkbookReader();
+
+        List<Integer> chunkSizes = new ArrayList<>();
+        KeyValueDto last = null;
+        try (ChunkReader<KeyValueDto> chunks = reader.readInChunks(file, KeyValueDto.class, 1024)) {
+            while (chunks.hasNext()) {
+                List<KeyValueDto> chunk = chunks.next();
+                chunkSizes.add(chunk.size());
+                last = chunk.get(chunk.size() - 1);
+            }
+        }
+        assertThat(chunkSizes).containsExactly(1024, 1024, 1024, 1024, 904);
+        assertThat(last.key).isEqualTo("key-5000");
+        assertThat(last.value).isEqualTo(5000);
+
+        long[] sum = new long[1];
+        long delivered = reader.forEach(file, KeyValueDto.class, dto -> sum[0] += dto.value);
+        assertThat(delivered).isEqualTo(5000);
+        assertThat(sum[0]).isEqualTo(5000L * 5001 / 2);
+    }
+
+    @Test
+    @DisplayName("NinjaExcel detects xlsb packages by their workbook part, not by extension")
+    void detectsFormatFromWorkbookPart() throws Exception {
+        File misnamed = new Fixture().sheet("Data", 0, keyValueSheet("only", 1)).save(tempDir.resolve("upload.xlsx").toFile());
+
+        assertThat(WorkbookFormat.detect(misnamed)).isEqualTo(WorkbookFormat.XLSB);
+        List<KeyValueDto> dtos = NinjaExcel.read(misnamed, KeyValueDto.class);
+        assertThat(dtos).hasSize(1);
+        assertThat(dtos.get(0).key).isEqualTo("only-1");
+        assertThat(dtos.get(0).value).isEqualTo(1);
+        assertThat(NinjaExcel.getSheetNames(misnamed)).containsExactly("Data");
+        assertThat(NinjaExcel.readAllSheets(misnamed, KeyValueDto.class)).containsOnlyKeys("Data");
+        assertThatThrownBy(() -> NinjaExcel.inspect(misnamed))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("xlsb workbook");
+    }
+
+    public static class KeyValueDto {
+        @ExcelReadColumn(headerName = "Key")
+        private String key;
+
+        @ExcelReadColumn(headerName = "Value")
+        private int value;
+
+        public KeyValueDto() {}
+    }
+
+    /**
+     * Writes BIFF12 records: a varint type, a varint length and the data.
+     */
+    private static final class Records {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        Records record(
+                int type,
+                Data data
+        ) {
+            byte[] bytes = data.output.toByteArray();
+            writeVarInt(type);
+            writeVarInt(bytes.length);
+            output.write(bytes, 0, bytes.length);
+            return this;
+        }
+
+        Records record(int type) {
+            return record(type, new Data());
+        }
+
+        Records sheetStart(
+                int firstRow,
+                int lastRow,
+                int firstColumn,
+                int lastColumn
+        ) {
+            record(129);
+            record(148, new Data().int32(firstRow).int32(lastRow).int32(firstColumn).int32(lastColumn));
+            return record(145);
+        }
+
+        byte[] sheetEnd() {
+            record(146);
+            record(130);
+            return toByteArray();
+        }
+
+        Records row(int row) {
+            return record(0, new Data().int32(row).int32(0).int16(0).int16(0).int8(0).int32(0));
+        }
+
+        Records blank(int col) {
+            return record(1, cell(col, 0));
+        }
+
+        Records rk(
+                int col,
+                int rk
+        ) {
+            return rk(col, rk, 0);
+        }
+
+        Records rk(
+                int col,
+                int rk,
+                int style
+        ) {
+            return record(2, cell(col, style).int32(rk));
+        }
+
+        Records error(
+                int col,
+                int code
+        ) {
+            return record(3, cell(col, 0).int8(code));
+        }
+
+        Records bool(
+                int col,
+                boolean value
+        ) {
+            return record(4, cell(col, 0).int8(value ? 1 : 0));
+        }
+
+        Records real(
+                int col,
+                double value,
+                int style
+        ) {
+            return record(5, cell(col, style).float64(value));
+        }
+
+        Records string(
+                int col,
+                String value
+        ) {
+            return record(6, cell(col, 0).wide(value));
+        }
+
+        Records sharedString(
+                int col,
+                int index
+        ) {
+            return record(7, cell(col, 0).int32(index));
+        }
+
+        Records formulaString(
+                int col,
+                String value
+        ) {
+            return record(8, cell(col, 0).wide(value).int16(0).int32(0));
+        }
+
+        Records formulaNumber(
+                int col,
+                double value
+        ) {
+            return record(9, cell(col, 0).float64(value).int16(0).int32(0));
+        }
+
+        Records richString(
+                int col,
+                String value
+        ) {
+            return record(62, cell(col, 0).int8(0).wide(value));
+        }
+
+        byte[] toByteArray() {
+            return output.toByteArray();
+        }
+
+        private static Data cell(
+                int col,
+                int style
+        ) {
+            return new Data().int32(col).int32(style & 0xFFFFFF);
+        }
+
+        private void writeVarInt(int value) {
+            do {
+                int b = value & 0x7F;
+                value >>>= 7;
+                output.write(value != 0 ? b | 0x80 : b);
+            } while (value != 0);
+        }
+    }
+
+    private static final class Data {
+        private final ByteArrayOutputStream output = new ByteArrayOutputStream();
+
+        Data int8(int value) {
+            output.write(value);
+            return this;
+        }
+
+        Data int16(int value) {
+            return int8(value).int8(value >>> 8);
+        }
+
+        Data int32(int value) {
+            return int16(value).int16(value >>> 16);
+        }
+
+        Data float64(double value) {
+            long bits = Double.doubleToLongBits(value);
+            return int32((int) bits).int32((int) (bits >>> 32));
+        }
+
+        Data wide(String value) {
+            byte[] chars = value.getBytes(StandardCharsets.UTF_16LE);
+            int32(value.length());
+            output.write(chars, 0, chars.length);
+            return this;
+        }
+    }
+
+    /**
+     * Assembles a minimal xlsb package: content types, relationships, workbook, styles, shared strings and sheets.
+     */
+    private static final class Fixture {
+        private static final String RELATIONSHIPS = "http://schemas.openxmlformats.org/officeDocument/2006/relationships/";
+
+        private final List<String> names = new ArrayList<>();
+        private final List<Integer> states = new ArrayList<>();
+        private final List<byte[]> sheets = new ArrayList<>();
+
+        Fixture sheet(
+                String name,
+                int state,
+                byte[] records
+        ) {
+            names.add(name);
+            states.add(state);
+            sheets.add(records);
+            return this;
+        }
+
+        File save(File file) throws IOException {
+            StringBuilder contentTypes = new StringBuilder("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>"
+                    + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+                    + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+                    + "<Default Extension=\"bin\" ContentType=\"application/vnd.ms-excel.sheet.binary.macroEnabled.main\"/>"
+                    + "<Override PartName=\"/xl/styles.bin\" ContentType=\"application/vnd.ms-excel.styles\"/>"
+                    + "<Override PartName=\"/xl/sharedStrings.bin\" ContentType=\"application/vnd.ms-excel.sharedStrings\"/>");
+            StringBuilder workbookRels = new StringBuilder("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                    + "<Relationship Id=\"rIdStyles\" Type=\"" + RELATIONSHIPS + "styles\" Target=\"styles.bin\"/>"
+                    + "<Relationship Id=\"rIdStrings\" Type=\"" + RELATIONSHIPS + "sharedStrings\" Target=\"sharedStrings.bin\"/>");
+            Records workbook = new Records()
+                    .record(131)
+                    .record(153, new Data().int32(0).int32(0).wide(""))
+                    .record(143);
+            for (int i = 0; i < sheets.size(); i++) {
+                int sheetNumber = i + 1;
+                contentTypes.append("<Override PartName=\"/xl/worksheets/sheet").append(sheetNumber)
+                        .append(".bin\" ContentType=\"application/vnd.ms-excel.worksheet\"/>");
+                workbookRels.append("<Relationship Id=\"rId").append(sheetNumber).append("\" Type=\"").append(RELATIONSHIPS)
+                        .append("worksheet\" Target=\"worksheets/sheet").append(sheetNumber).append(".bin\"/>");
+                workbook.record(156, new Data().int32(states.get(i)).int32(sheetNumber).wide("rId" + sheetNumber).wide(names.get(i)));
+            }
+            workbook.record(144).record(132);
+
+            Records styles = new Records()
+                    .record(615, new Data().int32(1))
+                    .record(44, new Data().int16(164).wide("yyyy-mm-dd"))
+                    .record(616)
+                    .record(617, new Data().int32(3))
+                    .record(47, xf(0))
+                    .record(47, xf(164))
+                    .record(47, xf(14))
+                    .record(618);
+            Records strings = new Records()
+                    .record(159, new Data().int32(2).int32(2))
+                    .record(19, new Data().int8(0).wide("Name"))
+                    .record(19, new Data().int8(0).wide("alpha"))
+                    .record(160);
+
+            try (ZipOutputStream zip = new ZipOutputStream(new FileOutputStream(file))) {
+                put(zip, "[Content_Types].xml", (contentTypes + "</Types>").getBytes(StandardCharsets.UTF_8));
+                put(zip, "_rels/.rels", ("<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+                        + "<Relationship Id=\"rId1\" Type=\"" + RELATIONSHIPS + "officeDocument\" Target=\"xl/workbook.bin\"/>"
+                        + "</Relationships>").getBytes(StandardCharsets.UTF_8));
+                put(zip, "xl/workbook.bin", workbook.toByteArray());
+                put(zip, "xl/_rels/workbook.bin.rels", (workbookRels + "</Relationships>").getBytes(StandardCharsets.UTF_8));
+                put(zip, "xl/styles.bin", styles.toByteArray());
+                put(zip, "xl/sharedStrings.bin", strings.toByteArray());
+                for (int i = 0; i < sheets.size(); i++) {
+                    put(zip, "xl/worksheets/sheet" + (i + 1) + ".bin", sheets.get(i));
+                }
+            }
+            return file;
+        }
+
+        private static Data xf(int formatId) {
+            return new Data().int16(0xFFFF).int16(formatId).int16(0).int16(0).int16(0).int8(0).int8(0).int16(0).int16(0);
+        }
+
+        private static void put(
+                ZipOutputStream zip,
+                String name,
+                byte[] content
+        ) throws IOException {
+            zip.putNextEntry(new ZipEntry(name));
+            zip.write(content);
+            zip.closeEntry();
+        }
+    }
+}
@@ -0,0 +1,94 @@
+package com.excelninja.infrastructure.metadata;
+
+import com.excelninja.domain.annotation.ExcelReadColumn;
+import com.excelninja.domain.exception.DocumentConversionException;
+import com.excelninja.infrastructure.converter.DefaultConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class FieldAccessorTest {
+
+    private final DefaultConverter converter = new DefaultConverter();
+
+    public static class PrimitiveDto {
+        @ExcelReadColumn(headerName = "Count")
+        private int count;
+
+        @ExcelReadColumn(headerName = "Total")
+        private long total;
+
+        @ExcelReadColumn(headerName = "Ratio", defaultValue = "0.5")
+        private double ratio;
+
+        @ExcelReadColumn(headerName = "Active")
+        private boolean active;
+
+        @ExcelReadColumn(headerName = "Label")
+        private String label;
+
+        private int setCountCalls;
+
+        public PrimitiveDto() {}
+
+        public void setCount(int count) {
+            this.count = count;
+            this.setCountCalls++;
+        }
+    }
+
+    @Test
+    @DisplayName("Primitive read fields are bound to typed accessors")
+    void primitiveFieldsAreBoundToTypedAccessors() {
+        List<FieldAccessor> accessors = EntityMetadata.of(PrimitiveDto.class).getReadFieldAccessors();
+
+        assertThat(accessors).extracting(FieldAccessor::getKind).containsExactly(
+                FieldAccessor.Kind.INT,
+                FieldAccessor.Kind.LONG,
+                FieldAccessor.Kind.DOUBLE,
+                FieldAccessor.Kind.BOOLEAN,
+                FieldAccessor.Kind.OBJECT
+        );
+    }
+
+    @Test
+    @DisplayName("Typed accessors convert and assign cells through setters and fields")
+    void typedAccessorsAssignValues() {
+        EntityMetadata<PrimitiveDto> metadata = EntityMetadata.of(PrimitiveDto.class);
+        List<FieldMapping> mappings = metadata.getReadFieldMappings();
+        List<FieldAccessor> accessors = metadata.getReadFieldAccessors();
+        PrimitiveDto dto = new PrimitiveDto();
+
+        Object[] cells = {12.0, "9000000000", "", "true", "text"};
+        for (int i = 0; i < cells.length; i++) {
+            mappings.get(i).setValue(dto, cells[i], converter, accessors.get(i));
+        }
+
+        assertThat(dto.count).isEqualTo(12);
+        assertThat(dto.setCountCalls).isEqualTo(1);
+        assertThat(dto.total).isEqualTo(9_000_000_000L);
+        assertThat(dto.ratio).isEqualTo(0.5);
+        assertThat(dto.active).isTrue();
+        assertThat(dto.label).isEqualTo("text");
+    }
+
+    @Test
+    @DisplayName("Invalid primitive cells report the field and value")
+    void invalidPrimitiveCellsAreReported() {
+        EntityMetadata<PrimitiveDto> metadata = EntityMetadata.of(PrimitiveDto.class);
+        FieldMapping countMapping = metadata.getReadFieldMappings().get(0);
+        FieldAccessor countAccessor = metadata.getReadFieldAccessors().get(0);
+
+        assertThatThrownBy(() -> countMapping.setValue(new PrimitiveDto(), "twelve", converter, countAccessor))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("count")
+                .hasMessageContaining("Type conversion failed");
+        assertThatThrownBy(() -> countMapping.setValue(new PrimitiveDto(), null, converter, countAccessor))
+                .isInstanceOf(DocumentConversionException.class)
+                .hasMessageContaining("Failed to set value to field 'count'");
+    }
+}
@@ -0,0 +1,46 @@
+package com.excelninja.infrastructure.util;
+
+import org.apache.poi.ss.usermodel.DateUtil;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Excel serial dates")
+class ExcelDateUtilsTest {
+
+    @Test
+    @DisplayName("Serial numbers match POI for dates around the 1900 leap day bug")
+    void leapDayBug() {
+        assertThat(ExcelDateUtils.toExcelDate(LocalDate.of(1900, 1, 1))).isEqualTo(1.0);
+        assertThat(ExcelDateUtils.toExcelDate(LocalDate.of(1900, 2, 28))).isEqualTo(59.0);
+        assertThat(ExcelDateUtils.toExcelDate(LocalDate.of(1900, 3, 1))).isEqualTo(61.0);
+        assertThat(ExcelDateUtils.toExcelDate(LocalDate.of(1970, 1, 1))).isEqualTo(25569.0);
+        assertThat(ExcelDateUtils.toExcelDate(LocalDateTime.of(1900, 2, 28, 23, 59, 59)))
+                .isEqualTo(DateUtil.getExcelDate(LocalDateTime.of(1900, 2, 28, 23, 59, 59)));
+    }
+
+    @Test
+    @DisplayName("Dates before 1900 are invalid")
+    void datesBefore1900() {
+        assertThat(ExcelDateUtils.toExcelDate(LocalDate.of(1899, 12, 31))).isEqualTo(ExcelDateUtils.INVALID_DATE);
+        assertThat(ExcelDateUtils.toExcelDate(LocalDateTime.of(1899, 12, 31, 12, 0))).isEqualTo(ExcelDateUtils.INVALID_DATE);
+    }
+
+    @Test
+    @DisplayName("Serial numbers equal POI's conversion bit for bit")
+    void matchesPoi() {
+        Random random = new Random(39);
+        for (int i = 0; i < 100_000; i++) {
+            LocalDate date = LocalDate.ofEpochDay(random.nextInt(200_000) - 25_567);
+            LocalDateTime dateTime = date.atStartOfDay().plusNanos((long) (random.nextDouble() * 86_400_000_000_000L));
+
+            assertThat(ExcelDateUtils.toExcelDate(date)).isEqualTo(DateUtil.getExcelDate(date));
+            assertThat(ExcelDateUtils.toExcelDate(dateTime)).isEqualTo(DateUtil.getExcelDate(dateTime));
+        }
+    }
+}